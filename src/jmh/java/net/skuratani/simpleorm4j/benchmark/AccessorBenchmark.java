@@ -0,0 +1,107 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+
+/**
+ * <p>プロパティアクセスベンチマーク</p>
+ * <pre>
+ * カラムメタデータのアクセサ（LambdaMetafactoryで生成）と、リフレクション（Method#invoke）による
+ * プロパティの取得・設定を比較する。
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+	/** エンティティ */
+	private BenchEntity _entity;
+
+	/** String型プロパティのカラムメタデータ */
+	private ColumnMetadata _nameColumn;
+
+	/** long型プロパティのカラムメタデータ */
+	private ColumnMetadata _idColumn;
+
+	/** String型プロパティのゲッタ */
+	private Method _nameGetter;
+
+	/** String型プロパティのセッタ */
+	private Method _nameSetter;
+
+	/** long型プロパティのセッタ */
+	private Method _idSetter;
+
+	/** 設定する値 */
+	private long _id;
+
+	@Setup
+	public void setup() {
+		EntityMetadata metadata = EntityMetadataRegistry.get(BenchEntity.class);
+		for (ColumnMetadata column : metadata.getColumnList()) {
+			if ("name".equals(column.getFieldName())) {
+				_nameColumn = column;
+			} else if ("id".equals(column.getFieldName())) {
+				_idColumn = column;
+			}
+		}
+		_nameGetter = _nameColumn.getGetter();
+		_nameSetter = _nameColumn.getSetter();
+		_idSetter   = _idColumn.getSetter();
+		_entity     = new BenchEntity();
+		_entity.setName("name");
+	}
+
+	@Benchmark
+	public Object getValueAccessor() throws ReflectiveOperationException {
+		return _nameColumn.getValue(_entity);
+	}
+
+	@Benchmark
+	public Object getValueReflection() throws ReflectiveOperationException {
+		return _nameGetter.invoke(_entity);
+	}
+
+	@Benchmark
+	public BenchEntity setValueAccessor() throws ReflectiveOperationException {
+		_nameColumn.setValue(_entity, "value");
+		return _entity;
+	}
+
+	@Benchmark
+	public BenchEntity setValueReflection() throws ReflectiveOperationException {
+		_nameSetter.invoke(_entity, "value");
+		return _entity;
+	}
+
+	@Benchmark
+	public BenchEntity setLongAccessor() throws ReflectiveOperationException {
+		_idColumn.setLong(_entity, ++_id);
+		return _entity;
+	}
+
+	@Benchmark
+	public BenchEntity setLongReflection() throws ReflectiveOperationException {
+		_idSetter.invoke(_entity, ++_id);
+		return _entity;
+	}
+}
@@ -0,0 +1,51 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.lang.reflect.Field;
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * <p>ベンチマークデータクラス</p>
+ * <pre>
+ * ベンチマークで共通に使用するスタブリザルトセット・フィールドを生成する。
+ * </pre>
+ */
+final class BenchData {
+
+	/** {@link BenchEntity}のカラム名（検索結果のカラム順） */
+	static final String[] COLUMN_NAMES = {"id", "name", "NAME_KANA", "age", "score", "registDate"};
+
+	/**
+	 * コンストラクタ
+	 */
+	private BenchData() {}
+
+	/**
+	 * <p>スタブリザルトセット生成</p>
+	 *
+	 * @param  rowCount ROW数
+	 * @return {@link BenchEntity}のカラムを持つスタブリザルトセット
+	 */
+	static StubResultSet createResultSet(int rowCount) {
+		Object[][] rows = new Object[rowCount][];
+		Date registDate = Date.valueOf(LocalDate.of(2024, 4, 1));
+		for (int i = 0; i < rowCount; i++) {
+			rows[i] = new Object[] {(long) i, "name" + i, "kana" + i, 20 + i % 50, i * 1.5D, registDate};
+		}
+		return new StubResultSet(COLUMN_NAMES, rows);
+	}
+
+	/**
+	 * <p>フィールド取得</p>
+	 *
+	 * @param  name フィールド名
+	 * @return {@link BenchEntity}のフィールド
+	 */
+	static Field field(String name) {
+		try {
+			return BenchEntity.class.getDeclaredField(name);
+		} catch (NoSuchFieldException e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.time.LocalDate;
+
+import net.skuratani.simpleorm4j.annotation.Column;
+import net.skuratani.simpleorm4j.annotation.Entity;
+import net.skuratani.simpleorm4j.annotation.Id;
+import net.skuratani.simpleorm4j.annotation.Table;
+
+/**
+ * <p>ベンチマーク用エンティティクラス</p>
+ * <pre>
+ * 主なプロパティ型（long・String・int・double・LocalDate）と、カラム名を指定したプロパティを持つ。
+ * </pre>
+ */
+@Entity
+@Table(name = "BENCH_ENTITY")
+public class BenchEntity {
+
+	/** ID */
+	@Id
+	private long id;
+
+	/** 名前 */
+	private String name;
+
+	/** 名前（カナ） */
+	@Column(name = "NAME_KANA")
+	private String nameKana;
+
+	/** 年齢 */
+	private int age;
+
+	/** スコア */
+	private double score;
+
+	/** 登録日 */
+	private LocalDate registDate;
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getNameKana() {
+		return nameKana;
+	}
+
+	public void setNameKana(String nameKana) {
+		this.nameKana = nameKana;
+	}
+
+	public int getAge() {
+		return age;
+	}
+
+	public void setAge(int age) {
+		this.age = age;
+	}
+
+	public double getScore() {
+		return score;
+	}
+
+	public void setScore(double score) {
+		this.score = score;
+	}
+
+	public LocalDate getRegistDate() {
+		return registDate;
+	}
+
+	public void setRegistDate(LocalDate registDate) {
+		this.registDate = registDate;
+	}
+}
@@ -0,0 +1,116 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.persistence.Query;
+import net.skuratani.simpleorm4j.pool.StatementCache;
+import net.skuratani.simpleorm4j.type.QueryType;
+
+/**
+ * <p>パラメータバインドベンチマーク</p>
+ * <pre>
+ * スタブプリペアドステートメントへのパラメータのバインドを計測する。
+ *    1. bindPositional : 位置指定バインド値（式に指定した値）のバインド
+ *    2. bindNamed      : 名前付プレースホルダへの値の設定（setParameter）とバインド
+ *    3. newQuery       : Queryの生成（SQLの解析を含む）と名前付プレースホルダへの値の設定
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindBenchmark {
+
+	/** 位置指定プレースホルダのSQL */
+	private static final String POSITIONAL_SQL =
+			"SELECT * FROM BENCH_ENTITY WHERE id = ? AND name = ? AND age >= ? AND score < ? AND registDate = ?";
+
+	/** 名前付プレースホルダのSQL */
+	private static final String NAMED_SQL =
+			"SELECT * FROM BENCH_ENTITY WHERE id = :id AND name = :name AND age >= :age OR NAME_KANA = :name";
+
+	/** 位置指定バインド値 */
+	private static final List<Object> BIND_VALUES =
+			Arrays.asList(1L, "name", 20, 1.5D, LocalDate.of(2024, 4, 1));
+
+	/** 位置指定プレースホルダのクエリ */
+	private BenchQuery _positionalQuery;
+
+	/** 名前付プレースホルダのクエリ */
+	private BenchQuery _namedQuery;
+
+	/** 設定する値 */
+	private long _id;
+
+	@Setup
+	public void setup() {
+		_positionalQuery = new BenchQuery(POSITIONAL_SQL, BIND_VALUES);
+		_namedQuery      = new BenchQuery(NAMED_SQL, List.of());
+	}
+
+	@Benchmark
+	public long bindPositional() throws So4jException {
+		return _positionalQuery.bind();
+	}
+
+	@Benchmark
+	public long bindNamed() throws So4jException {
+		_namedQuery.setParameter("id", ++_id);
+		_namedQuery.setParameter("name", "name");
+		_namedQuery.setParameter("age", 20);
+		return _namedQuery.bind();
+	}
+
+	@Benchmark
+	public Query newQuery() {
+		Query query = new BenchQuery(NAMED_SQL, List.of());
+		query.setParameter("id", ++_id);
+		query.setParameter("name", "name");
+		query.setParameter("age", 20);
+		return query;
+	}
+
+	/**
+	 * <p>ベンチマーク用クエリ</p>
+	 * <pre>
+	 * データベースに接続せず、スタブプリペアドステートメントにバインドする。
+	 * </pre>
+	 */
+	static class BenchQuery extends Query {
+
+		BenchQuery(String sql, List<Object> bindValueList) {
+			super(QueryType.SELECT, sql, bindValueList, BenchEntity.class, (Connection) null,
+					new StatementCache(null, 0));
+			_preparedStatement = new StubPreparedStatement(8);
+		}
+
+		/**
+		 * <p>バインド</p>
+		 *
+		 * @return スタブプリペアドステートメントの合計値
+		 * @throws So4jException パラメータのバインドに失敗した場合
+		 */
+		long bind() throws So4jException {
+			this.bindParameter(_parameters);
+			return ((StubPreparedStatement) _preparedStatement).getChecksum();
+		}
+	}
+}
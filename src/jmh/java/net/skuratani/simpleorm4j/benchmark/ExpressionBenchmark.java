@@ -0,0 +1,79 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.skuratani.simpleorm4j.expression.Expression;
+
+/**
+ * <p>式生成ベンチマーク</p>
+ * <pre>
+ * 式表現（{@link Expression}）の生成を計測する。
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionBenchmark {
+
+	/** 名前フィールド */
+	private Field _name;
+
+	/** 年齢フィールド */
+	private Field _age;
+
+	/** IDフィールド */
+	private Field _id;
+
+	/** 比較する値 */
+	private long _value;
+
+	@Setup
+	public void setup() {
+		_name = BenchData.field("name");
+		_age  = BenchData.field("age");
+		_id   = BenchData.field("id");
+	}
+
+	@Benchmark
+	public Expression equal() {
+		return Expression.equal(_id, _value++);
+	}
+
+	@Benchmark
+	public Expression between() {
+		return Expression.between(_age, 20, 30);
+	}
+
+	@Benchmark
+	public Expression in() {
+		return Expression.in(_id, 1L, 2L, 3L, 4L, 5L);
+	}
+
+	@Benchmark
+	public Expression namedPlaceholder() {
+		return Expression.equal(_name, ":name");
+	}
+
+	@Benchmark
+	public Expression and() {
+		return Expression.and(
+				Expression.equal(_id, _value++),
+				Expression.greaterEqual(_age, 20),
+				Expression.like(_name, "name%"));
+	}
+}
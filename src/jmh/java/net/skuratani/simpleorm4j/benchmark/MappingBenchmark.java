@@ -0,0 +1,111 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.mapper.EntityPropertyRowMapper;
+import net.skuratani.simpleorm4j.mapper.MapRowMapper;
+
+/**
+ * <p>ROWマッピングベンチマーク</p>
+ * <pre>
+ * スタブリザルトセットの{@value #ROWS}件のROWをマッピングし、1ROWあたりの時間を計測する。
+ *    1. entityMapRow       : エンティティへのマッピング（マッピングプラン生成済み）
+ *    2. entityMapRowReuse  : エンティティへのマッピング（インスタンス再利用）
+ *    3. entityMapRowCold   : 検索毎にROWマッパを生成する場合（マッピングプランの生成を含む）
+ *    4. mapMapRow          : Mapへのマッピング
+ *    5. mapMapRowReuse     : Mapへのマッピング（インスタンス再利用）
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+	/** ROW数 */
+	static final int ROWS = 100;
+
+	/** リザルトセット */
+	private StubResultSet _resultSet;
+
+	/** エンティティROWマッパ */
+	private EntityPropertyRowMapper<BenchEntity> _entityMapper;
+
+	/** MapROWマッパ */
+	@SuppressWarnings("rawtypes")
+	private MapRowMapper<Map> _mapMapper;
+
+	@Setup
+	public void setup() throws Exception {
+		_resultSet    = BenchData.createResultSet(ROWS);
+		_entityMapper = new EntityPropertyRowMapper<>(BenchEntity.class);
+		_mapMapper    = new MapRowMapper<>(Map.class);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void entityMapRow(Blackhole bh) throws SQLException, So4jException {
+		_resultSet.beforeFirst();
+		while (_resultSet.next()) {
+			bh.consume(_entityMapper.mapRow(_resultSet));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void entityMapRowReuse(Blackhole bh) throws SQLException, So4jException {
+		BenchEntity instance = new BenchEntity();
+		_resultSet.beforeFirst();
+		while (_resultSet.next()) {
+			bh.consume(_entityMapper.mapRow(_resultSet, instance));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void entityMapRowCold(Blackhole bh) throws SQLException, So4jException {
+		EntityPropertyRowMapper<BenchEntity> mapper = new EntityPropertyRowMapper<>(BenchEntity.class);
+		_resultSet.beforeFirst();
+		while (_resultSet.next()) {
+			bh.consume(mapper.mapRow(_resultSet));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void mapMapRow(Blackhole bh) throws SQLException, So4jException {
+		_resultSet.beforeFirst();
+		while (_resultSet.next()) {
+			bh.consume(_mapMapper.mapRow(_resultSet));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ROWS)
+	public void mapMapRowReuse(Blackhole bh) throws SQLException, So4jException {
+		Map<?, ?> instance = new HashMap<>();
+		_resultSet.beforeFirst();
+		while (_resultSet.next()) {
+			bh.consume(_mapMapper.mapRow(_resultSet, instance));
+		}
+	}
+}
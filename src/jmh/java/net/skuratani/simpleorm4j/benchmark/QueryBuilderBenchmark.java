@@ -0,0 +1,135 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.skuratani.simpleorm4j.builder.QueryBuilder;
+import net.skuratani.simpleorm4j.expression.Expression;
+import net.skuratani.simpleorm4j.persistence.Criteria;
+
+/**
+ * <p>SQL生成ベンチマーク</p>
+ * <pre>
+ * Criteriaからの検索SQLの生成を計測する。
+ *    1. createSql         : SQLキャッシュを使用した生成（フィンガープリント生成・バインド値収集を含む）
+ *    2. createSqlUncached : SQLキャッシュを使用しない生成
+ *    3. criteriaAndSql    : 式・Criteriaの生成からSQLの生成まで（アプリケーションの1回の検索に相当）
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBuilderBenchmark {
+
+	/** 名前フィールド */
+	private Field _name;
+
+	/** 年齢フィールド */
+	private Field _age;
+
+	/** IDフィールド */
+	private Field _id;
+
+	/** Criteria */
+	private Criteria _criteria;
+
+	/** 検索条件の値 */
+	private int _value;
+
+	@Setup
+	public void setup() {
+		_name     = BenchData.field("name");
+		_age      = BenchData.field("age");
+		_id       = BenchData.field("id");
+		_criteria = this.createCriteria(20);
+	}
+
+	/**
+	 * <p>Criteria生成</p>
+	 *
+	 * @param  age 検索条件の年齢
+	 * @return Criteria
+	 */
+	private Criteria createCriteria(int age) {
+		return new BenchCriteria().select(BenchEntity.class)
+								  .from(BenchEntity.class)
+								  .where(Expression.and(
+										  Expression.greaterEqual(_age, age),
+										  Expression.like(_name, "name%"),
+										  Expression.in(_id, 1L, 2L, 3L)))
+								  .orderyBy(Expression.asc(_id));
+	}
+
+	/**
+	 * <p>SQL生成</p>
+	 * <pre>
+	 * エンティティマネージャと同じ順（クエリ種別判定・SQL生成）で呼び出す。
+	 * </pre>
+	 *
+	 * @param  queryBuilder クエリビルダ
+	 * @return SQL文
+	 */
+	private static String build(QueryBuilder queryBuilder) {
+		queryBuilder.judgeQueryType();
+		return queryBuilder.createSql();
+	}
+
+	@Benchmark
+	public String createSql() {
+		return build(new QueryBuilder(_criteria));
+	}
+
+	@Benchmark
+	public String createSqlUncached() {
+		return build(new UncachedQueryBuilder(_criteria));
+	}
+
+	@Benchmark
+	public String criteriaAndSql() {
+		return build(new QueryBuilder(this.createCriteria(_value++ & 63)));
+	}
+
+	/**
+	 * <p>ベンチマーク用Criteria</p>
+	 * <pre>
+	 * エンティティマネージャを生成せずにCriteriaを生成する。
+	 * </pre>
+	 */
+	static class BenchCriteria extends Criteria {
+
+		BenchCriteria() {
+			super();
+		}
+	}
+
+	/**
+	 * <p>SQLキャッシュを使用しないクエリビルダ</p>
+	 */
+	static class UncachedQueryBuilder extends QueryBuilder {
+
+		UncachedQueryBuilder(Criteria criteria) {
+			super(criteria);
+		}
+
+		@Override
+		public String createSql() {
+			_bindValueList = new ArrayList<>();
+			return this.generateSql();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * <p>スタブプリペアドステートメントクラス</p>
+ * <pre>
+ * バインドした値をパラメータインデックス毎の配列に保持するのみのプリペアドステートメント。
+ * データベースに接続せずにパラメータバインドを計測する為に使用する。
+ * プリミティブ型の値はボクシングせずに、合計値（{@link StubPreparedStatement#getChecksum()}）に加算する。
+ * </pre>
+ */
+public class StubPreparedStatement extends UnsupportedPreparedStatement {
+
+	/** バインド値（パラメータインデックス - 1） */
+	protected final Object[] _values;
+
+	/** プリミティブ型のバインド値の合計 */
+	protected long _checksum;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param parameterCount パラメータ数
+	 */
+	public StubPreparedStatement(int parameterCount) {
+		_values = new Object[parameterCount];
+	}
+
+	/**
+	 * <p>バインド値取得</p>
+	 *
+	 * @param  parameterIndex パラメータインデックス（1始まり）
+	 * @return バインド値（プリミティブ型・nullの場合はnull）
+	 */
+	public Object getValue(int parameterIndex) {
+		return _values[parameterIndex - 1];
+	}
+
+	/**
+	 * <p>合計値取得</p>
+	 *
+	 * @return プリミティブ型のバインド値の合計
+	 */
+	public long getChecksum() {
+		return _checksum;
+	}
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		_values[parameterIndex - 1] = null;
+	}
+
+	@Override
+	public void setString(int parameterIndex, String x) throws SQLException {
+		_values[parameterIndex - 1] = x;
+	}
+
+	@Override
+	public void setInt(int parameterIndex, int x) throws SQLException {
+		_checksum += x;
+	}
+
+	@Override
+	public void setLong(int parameterIndex, long x) throws SQLException {
+		_checksum += x;
+	}
+
+	@Override
+	public void setFloat(int parameterIndex, float x) throws SQLException {
+		_checksum += (long) x;
+	}
+
+	@Override
+	public void setDouble(int parameterIndex, double x) throws SQLException {
+		_checksum += (long) x;
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+		_values[parameterIndex - 1] = x;
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException {
+		_values[parameterIndex - 1] = x;
+	}
+
+	@Override
+	public void clearParameters() throws SQLException {
+		_checksum = 0L;
+	}
+}
@@ -0,0 +1,172 @@
+package net.skuratani.simpleorm4j.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * <p>スタブリザルトセットクラス</p>
+ * <pre>
+ * メモリ上のROWデータを返却するリザルトセット。データベースに接続せずにROWマッパを計測する為に使用する。
+ * 値の取得はボクシング・変換を行わずに配列の要素を返却し、計測対象外の割り当てが発生しない様にする。
+ * {@link StubResultSet#beforeFirst()}で先頭に戻し、同じインスタンスを繰り返し使用できる。
+ * </pre>
+ */
+public class StubResultSet extends UnsupportedResultSet {
+
+	/** カラム名 */
+	protected final String[] _columnNames;
+
+	/** ROWデータ */
+	protected final Object[][] _rows;
+
+	/** メタデータ */
+	protected final ResultSetMetaData _metaData;
+
+	/** 現在のROW位置（0始まり、先頭の前は-1） */
+	protected int _cursor = -1;
+
+	/** 最後に取得した値がnullか */
+	protected boolean _wasNull;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param columnNames カラム名（カラムラベルと同じ）
+	 * @param rows        ROWデータ（カラム名の順）
+	 */
+	public StubResultSet(String[] columnNames, Object[][] rows) {
+		_columnNames = columnNames;
+		_rows        = rows;
+		_metaData    = createMetaData(columnNames);
+	}
+
+	/**
+	 * <p>メタデータ生成</p>
+	 * <pre>
+	 * カラム数・カラム名・カラムラベルのみを返却するメタデータを生成する。
+	 * メタデータはマッピングプランの生成時のみ参照する為、動的プロキシとする。
+	 * </pre>
+	 *
+	 * @param  columnNames カラム名
+	 * @return メタデータ
+	 */
+	protected static ResultSetMetaData createMetaData(String[] columnNames) {
+		return (ResultSetMetaData) Proxy.newProxyInstance(
+				ResultSetMetaData.class.getClassLoader(),
+				new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getColumnCount":
+							return columnNames.length;
+						case "getColumnName":
+						case "getColumnLabel":
+							return columnNames[(Integer) args[0] - 1];
+						default:
+							throw unsupported();
+					}
+				});
+	}
+
+	/**
+	 * <p>ROW数取得</p>
+	 *
+	 * @return ROW数
+	 */
+	public int getRowCount() {
+		return _rows.length;
+	}
+
+	@Override
+	public boolean next() throws SQLException {
+		if (_cursor < _rows.length) {
+			_cursor++;
+		}
+		return _cursor < _rows.length;
+	}
+
+	@Override
+	public void beforeFirst() throws SQLException {
+		_cursor = -1;
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		return _metaData;
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		for (int i = 0; i < _columnNames.length; i++) {
+			if (_columnNames[i].equalsIgnoreCase(columnLabel)) {
+				return i + 1;
+			}
+		}
+		throw new SQLException("column is not found. label : " + columnLabel);
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		return _wasNull;
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		Object value = _rows[_cursor][columnIndex - 1];
+		_wasNull = value == null;
+		return value;
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		Object value = this.getObject(columnIndex);
+		return value != null ? value.toString() : null;
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		Object value = this.getObject(columnIndex);
+		return value != null ? ((Number) value).intValue() : 0;
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		Object value = this.getObject(columnIndex);
+		return value != null ? ((Number) value).longValue() : 0L;
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		Object value = this.getObject(columnIndex);
+		return value != null ? ((Number) value).floatValue() : 0F;
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		Object value = this.getObject(columnIndex);
+		return value != null ? ((Number) value).doubleValue() : 0D;
+	}
+
+	@Override
+	public Date getDate(int columnIndex) throws SQLException {
+		return (Date) this.getObject(columnIndex);
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		return (Timestamp) this.getObject(columnIndex);
+	}
+
+	@Override
+	public void close() throws SQLException {
+		_cursor = _rows.length;
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		return false;
+	}
+}
@@ -0,0 +1,22 @@
+package net.skuratani.simpleorm4j.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>2次キャッシュ アノテーション</p>
+ * <pre>
+ * エンティティマネージャ間で共有する2次キャッシュに、エンティティを保持する場合に指定するアノテーションです。
+ * マスタテーブルなど、更新が少なく頻繁に参照するエンティティに指定します。
+ * 1. maxEntries ：保持する最大件数（省略時は設定ファイルのcacheMaxEntries）
+ * 2. ttlSeconds ：保持する秒数（省略時は設定ファイルのcacheTtlSeconds、0の場合は期限なし）
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE})
+public @interface Cacheable {
+	int maxEntries() default -1;
+	long ttlSeconds() default -1;
+}
@@ -0,0 +1,27 @@
+package net.skuratani.simpleorm4j.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import net.skuratani.simpleorm4j.type.FetchType;
+
+/**
+ * <p>多対一関連 アノテーション</p>
+ * <pre>
+ * フィールドが外部キーで参照する関連エンティティ（主キーが1カラムのエンティティ）であることを示すアノテーションです。
+ * 指定したフィールドはカラムとして扱わず、SELECT・INSERT・UPDATEの対象外になります。
+ * 1. joinField ：外部キーの値を保持する同じエンティティのフィールド名
+ * 2. fetch     ：取得種別（省略時はLAZY）
+ * 関連エンティティは、検索結果の外部キーの値をまとめたIN句で取得します。
+ * LAZYの場合は、識別マップに保持している関連エンティティのみを設定し、それ以外はnullのままとして
+ * EntityManager#fetchで参照した時に取得します（エンティティクラスのプロキシは生成しません）。
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface ManyToOne {
+	String joinField();
+	FetchType fetch() default FetchType.LAZY;
+}
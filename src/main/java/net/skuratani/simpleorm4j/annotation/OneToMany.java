@@ -0,0 +1,27 @@
+package net.skuratani.simpleorm4j.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import net.skuratani.simpleorm4j.type.FetchType;
+
+/**
+ * <p>一対多関連 アノテーション</p>
+ * <pre>
+ * フィールドが主キーを参照する関連エンティティのリスト（List型）であることを示すアノテーションです。
+ * 指定したフィールドはカラムとして扱わず、SELECT・INSERT・UPDATEの対象外になります。
+ * 1. mappedBy     ：関連先エンティティの外部キーのフィールド名
+ * 2. targetEntity ：関連先エンティティクラス（省略時はListの型引数）
+ * 3. fetch        ：取得種別（省略時はLAZY）
+ * 関連エンティティは、検索結果の主キーの値をまとめたIN句で取得します。
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface OneToMany {
+	String mappedBy();
+	Class<?> targetEntity() default void.class;
+	FetchType fetch() default FetchType.LAZY;
+}
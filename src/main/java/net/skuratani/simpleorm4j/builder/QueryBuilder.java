@@ -1,7 +1,7 @@
 package net.skuratani.simpleorm4j.builder;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -9,17 +9,16 @@ import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
-import net.skuratani.simpleorm4j.annotation.GenerateValue;
-import net.skuratani.simpleorm4j.annotation.Table;
 import net.skuratani.simpleorm4j.expression.Expression;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
 import net.skuratani.simpleorm4j.persistence.Criteria;
-import net.skuratani.simpleorm4j.type.GenerationType;
 import net.skuratani.simpleorm4j.type.JoinType;
 import net.skuratani.simpleorm4j.type.QueryType;
 import net.skuratani.simpleorm4j.util.AnnotationUtil;
 import net.skuratani.simpleorm4j.util.FieldUtil;
+import net.skuratani.simpleorm4j.util.TableNameUtil;
 
 /**
  * <p>クエリ生成クラス</p>
@@ -29,8 +28,13 @@ import net.skuratani.simpleorm4j.util.FieldUtil;
  * クエリインスタンスを生成します。
  *    1. クエリ種別
  *    2. SQL文
- *    3. マッピングエンティティクラス
- *    4. データベース接続
+ *    3. バインド値リスト
+ *    4. マッピングエンティティクラス
+ *    5. データベース接続
+ * SQL文には式（Expression）の値を直接埋め込まずに「?」を出力し、
+ * 値はSQL文の「?」の順にバインド値リストに格納する。
+ * 生成したSQL文とマッピングエンティティクラスは、Criteriaの構造（フィンガープリント）をキーとして
+ * SQLキャッシュ（{@link SqlCache}）にキャッシュし、同じ構造のCriteriaではSQL文の生成を省略する。
  * </pre>
  */
 public class QueryBuilder {
@@ -41,6 +45,15 @@ public class QueryBuilder {
 	/** クエリ種別 */
 	protected QueryType _queryType;
 
+	/** バインド値リスト（SQL文の「?」の順） */
+	protected List<Object> _bindValueList = new ArrayList<>();
+
+	/** SQLキャッシュエントリ（キャッシュを使用しない場合はnull） */
+	protected SqlCache.Entry _cacheEntry;
+
+	/** SQLキャッシュ */
+	private static final SqlCache SQL_CACHE = new SqlCache();
+
 	/** ラインフィード */
 	private static final String LF = System.lineSeparator();
 
@@ -117,12 +130,43 @@ public class QueryBuilder {
 	 * <p>SQL文生成</p>
 	 * <pre>
 	 * Criteriaのクエリ情報からデータベースに発行するSQL文を生成する。
+	 * SQLキャッシュが有効な場合は、Criteriaのフィンガープリントでキャッシュを検索し、
+	 * ヒットした場合はキャッシュのSQL文を返却する（バインド値リストのみ収集する）。
 	 * </pre>
 	 *
 	 * @return SQL文
 	 */
 	public String createSql() {
 
+		_bindValueList = new ArrayList<>();
+		_cacheEntry    = null;
+		if (_queryType == null || !SQL_CACHE.isEnabled()) {
+			return this.generateSql();
+		}
+
+		Object fingerprint = this.createFingerprint();
+		SqlCache.Entry entry = SQL_CACHE.get(fingerprint);
+		if (entry != null) {
+			this.collectBindValues();
+		} else {
+			String sql = this.generateSql();
+			entry = new SqlCache.Entry(_queryType, sql, this.judgeEntityClass(), this.collectTables());
+			SQL_CACHE.put(fingerprint, entry);
+		}
+		_cacheEntry = entry;
+
+		return entry._sql;
+	}
+
+	/**
+	 * <p>SQL文生成処理</p>
+	 * <pre>
+	 * クエリ種別に応じて、Criteriaのクエリ情報からSQL文を生成する。
+	 * </pre>
+	 *
+	 * @return SQL文
+	 */
+	protected String generateSql() {
 		if (_queryType == QueryType.SELECT) {
 			return this.generateSelectQuery();
 		} else if (_queryType == QueryType.INSERT) {
@@ -136,15 +180,105 @@ public class QueryBuilder {
 		return "";
 	}
 
+	/**
+	 * <p>バインド値リスト取得</p>
+	 * <pre>
+	 * {@link QueryBuilder#createSql()}で生成したSQL文の「?」に、順にバインドする値のリストを取得する。
+	 * </pre>
+	 *
+	 * @return バインド値リスト
+	 */
+	public List<Object> getBindValueList() {
+		return _bindValueList;
+	}
+
+	/**
+	 * <p>参照テーブル取得</p>
+	 * <pre>
+	 * Criteriaのクエリ情報から、クエリが参照・更新するテーブル名を取得する。
+	 *    1. SELECT : FROM句・JOIN句のテーブル
+	 *    2. INSERT・UPDATE・DELETE : 対象テーブル
+	 * テーブル名は{@link TableNameUtil#normalize(String)}で正規化する（クエリ結果キャッシュの破棄単位）。
+	 * SQLキャッシュから取得した場合は、キャッシュのテーブル名を返却する。
+	 * </pre>
+	 *
+	 * @return テーブル名の配列
+	 */
+	public String[] getTables() {
+		if (_cacheEntry != null) {
+			return _cacheEntry._tables;
+		}
+		return this.collectTables();
+	}
+
+	/**
+	 * <p>参照テーブル収集</p>
+	 *
+	 * @return テーブル名の配列
+	 */
+	protected String[] collectTables() {
+		List<String> tableList = new ArrayList<>();
+		QueryType queryType = this.judgeQueryType();
+		if (queryType == null) {
+			return new String[0];
+		}
+		switch (queryType) {
+			case SELECT:
+				if (_criteria.getFrom() != null) {
+					tableList.add(TableNameUtil.normalize(this.getFromTable()));
+				}
+				for (Map<String, Object> m : _criteria.getJoinTableList()) {
+					String table = TableNameUtil.normalize(
+							EntityMetadataRegistry.get((Class<?>) m.get("joinClass")).getTableName());
+					if (!tableList.contains(table)) {
+						tableList.add(table);
+					}
+				}
+				break;
+			case INSERT:
+				tableList.add(TableNameUtil.normalize(this.getInsertTable()));
+				break;
+			case UPDATE:
+				tableList.add(TableNameUtil.normalize(this.getUpdateTable()));
+				break;
+			case DELETE:
+				tableList.add(TableNameUtil.normalize(this.getDeleteTable()));
+				break;
+			default:
+				break;
+		}
+		return tableList.toArray(new String[tableList.size()]);
+	}
+
+	/**
+	 * <p>式の出力</p>
+	 * <pre>
+	 * 式文字列を返却し、式のバインド値をバインド値リストに追加する。
+	 * SQL文の生成順（「?」の出現順）に呼び出すこと。
+	 * </pre>
+	 *
+	 * @param  expression 式
+	 * @return 式文字列
+	 */
+	protected String appendExpression(Expression expression) {
+		_bindValueList.addAll(expression.getBindValueList());
+		return expression.getExpressionStr();
+	}
+
 	/**
 	 * <p>エンティティクラス判定</p>
 	 * <pre>
 	 * Criteriaのクエリ情報から、ROWデータをマッピングするエンティティクラスを判定する。
+	 * 複数のエンティティクラスのみを指定した場合は、ROW毎にエンティティの配列（Object[]）にマッピングする。
 	 * </pre>
 	 *
 	 * @return ROWデータをマッピングするエンティティクラス
 	 */
 	public Class<?> judgeEntityClass() {
+		// SQLキャッシュから取得した場合
+		if (_cacheEntry != null) {
+			return _cacheEntry._entityClass;
+		}
 		// SELECTの場合
 		if (_queryType == QueryType.SELECT) {
 			// エンティティークラスのみ指定の場合
@@ -152,6 +286,9 @@ public class QueryBuilder {
 				&& _criteria.getSelectList().get(0) instanceof Class
 				&& AnnotationUtil.hasEntityAnnotation((Class<?>) _criteria.getSelectList().get(0))) {
 				return (Class<?>) _criteria.getSelectList().get(0);
+			// 複数のエンティティクラスのみ指定の場合
+			} else if (this.isMultiEntityClassSelect()) {
+				return Object[].class;
 			// 単一のエンティティクラスの複数フィールド（単一フィールド含む）指定の場合
 			} else if (   this.isFieldAll(_criteria.getSelectList())
 					   && this.isSameEntity(_criteria.getSelectList())
@@ -167,6 +304,196 @@ public class QueryBuilder {
 		return null;
 	}
 
+	/**
+	 * <p>SQLキャッシュ取得</p>
+	 *
+	 * @return SQLキャッシュ
+	 */
+	public static SqlCache getSqlCache() {
+		return SQL_CACHE;
+	}
+
+	/**
+	 * <p>フィンガープリント生成</p>
+	 * <pre>
+	 * SQL文の生成に使用するCriteriaの構造を、以下の情報のリストとして生成する。
+	 * 式（Expression）は式文字列（値は「?」）のみを使用する為、値が異なる同じ構造のCriteriaは
+	 * 同じフィンガープリントとなる。
+	 *    1. クエリ種別
+	 *    2. 検索カラム・検索テーブル・結合テーブル・結合条件
+	 *    3. WHERE式・GROUP BY・HAVING式・ORDER BY
+	 *    4. 登録テーブル・value式・更新テーブル・set式・削除テーブル
+	 * </pre>
+	 *
+	 * @return フィンガープリント
+	 */
+	protected Object createFingerprint() {
+		List<Object> fingerprint = new ArrayList<>();
+		fingerprint.add(_queryType);
+		if (_criteria.getSelectList() != null) {
+			List<Object> selectList = new ArrayList<>(_criteria.getSelectList().size());
+			for (Object o : _criteria.getSelectList()) {
+				selectList.add(o instanceof Expression ? ((Expression) o).getExpressionStr()
+						: o instanceof Field || o instanceof Class ? o : "");
+			}
+			fingerprint.add(selectList);
+		}
+		fingerprint.add(_criteria.getFrom());
+		List<Object> joinList = new ArrayList<>();
+		for (Map<String, Object> m : _criteria.getJoinTableList()) {
+			joinList.add(m.get("joinType"));
+			joinList.add(m.get("joinClass"));
+			joinList.add(((Expression) m.get("joinExpression")).getExpressionStr());
+		}
+		fingerprint.add(joinList);
+		fingerprint.add(this.toExpressionStrList(_criteria.getWhereExpressionList()));
+		fingerprint.add(new ArrayList<>(_criteria.getGroupByList()));
+		fingerprint.add(this.toExpressionStrList(_criteria.getHavingExpressionList()));
+		fingerprint.add(this.toExpressionStrList(_criteria.getOrderByList()));
+		fingerprint.add(_criteria.getInsert());
+		fingerprint.add(this.toExpressionStrList(_criteria.getValueExpressionList()));
+		for (List<Expression> valueExpressionList : _criteria.getAdditionalValueList()) {
+			fingerprint.add(this.toExpressionStrList(valueExpressionList));
+		}
+		fingerprint.add(_criteria.getUpdate());
+		fingerprint.add(this.toExpressionStrList(_criteria.getSetExpressionList()));
+		fingerprint.add(_criteria.getDelete());
+		return fingerprint;
+	}
+
+	/**
+	 * <p>式文字列リスト変換</p>
+	 *
+	 * @param  expressionList 式リスト
+	 * @return 式文字列リスト
+	 */
+	protected List<String> toExpressionStrList(List<Expression> expressionList) {
+		List<String> expressionStrList = new ArrayList<>(expressionList.size());
+		for (Expression e : expressionList) {
+			expressionStrList.add(e.getExpressionStr());
+		}
+		return expressionStrList;
+	}
+
+	/**
+	 * <p>バインド値収集</p>
+	 * <pre>
+	 * SQLキャッシュにヒットした場合に、SQL文を生成せずにバインド値リストのみを収集する。
+	 * 収集順はSQL文の生成順（「?」の出現順）と一致させること。
+	 * </pre>
+	 */
+	protected void collectBindValues() {
+		switch (_queryType) {
+			case SELECT:
+				if (!this.isEntityClassSelect()) {
+					for (Object o : _criteria.getSelectList()) {
+						if (o instanceof Expression) {
+							this.appendExpression((Expression) o);
+						}
+					}
+				}
+				for (Map<String, Object> m : _criteria.getJoinTableList()) {
+					this.appendExpression((Expression) m.get("joinExpression"));
+				}
+				_criteria.getWhereExpressionList().forEach(this::appendExpression);
+				_criteria.getHavingExpressionList().forEach(this::appendExpression);
+				_criteria.getOrderByList().forEach(this::appendExpression);
+				break;
+			case INSERT:
+				this.collectEqualBindValues(_criteria.getValueExpressionList());
+				for (List<Expression> valueExpressionList : _criteria.getAdditionalValueList()) {
+					this.collectEqualBindValues(valueExpressionList);
+				}
+				break;
+			case UPDATE:
+				this.collectEqualBindValues(_criteria.getSetExpressionList());
+				_criteria.getWhereExpressionList().forEach(this::appendExpression);
+				break;
+			case DELETE:
+				_criteria.getWhereExpressionList().forEach(this::appendExpression);
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * <p>等価式のバインド値収集</p>
+	 *
+	 * @param expressionList value式・set式リスト
+	 */
+	protected void collectEqualBindValues(List<Expression> expressionList) {
+		for (Expression e : expressionList) {
+			if (this.isEqualExpression(e)) {
+				this.appendExpression(e);
+			}
+		}
+	}
+
+	/**
+	 * <p>等価式判定</p>
+	 *
+	 * @param  e 式
+	 * @return boolean
+	 *            true  : 等価式（フィールド = 値）
+	 *            false : 上記以外
+	 */
+	protected boolean isEqualExpression(Expression e) {
+		return "=".equals(e.getExpressionStr().split("\\s")[1]);
+	}
+
+	/**
+	 * <p>エンティティクラス検索判定</p>
+	 *
+	 * @return boolean
+	 *            true  : エンティティクラスのみ指定の検索
+	 *            false : 上記以外
+	 */
+	protected boolean isEntityClassSelect() {
+		return _criteria.getSelectList().size() == 1
+			&& _criteria.getSelectList().get(0) instanceof Class
+			&& AnnotationUtil.hasEntityAnnotation((Class<?>) _criteria.getSelectList().get(0));
+	}
+
+	/**
+	 * <p>複数エンティティクラス指定判定</p>
+	 * <pre>
+	 * {@link Criteria#select(Object...)}で、2つ以上のエンティティクラスのみを指定したかを判定する。
+	 * </pre>
+	 *
+	 * @return boolean
+	 *            true  : 2つ以上のエンティティクラスのみ指定
+	 *            false : 上記以外
+	 */
+	protected boolean isMultiEntityClassSelect() {
+		List<?> selectList = _criteria.getSelectList();
+		if (selectList == null || selectList.size() < 2) {
+			return false;
+		}
+		for (Object o : selectList) {
+			if (!(o instanceof Class) || !AnnotationUtil.hasEntityAnnotation((Class<?>) o)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * <p>検索エンティティクラス取得</p>
+	 * <pre>
+	 * 複数のエンティティクラスのみを指定した検索で、ROWの配列の各要素にマッピングするエンティティクラスを取得する。
+	 * 検索カラムは、指定したエンティティクラスの順に各エンティティの全カラムを並べる。
+	 * </pre>
+	 *
+	 * @return エンティティクラス配列（指定順、複数のエンティティクラスのみを指定した検索でない場合はnull）
+	 */
+	public Class<?>[] getSelectEntityClasses() {
+		if (!this.isMultiEntityClassSelect()) {
+			return null;
+		}
+		return _criteria.getSelectList().toArray(new Class<?>[0]);
+	}
+
 	/**
 	 * <p>検索指定が全てフィールドか判定</p>
 	 * <pre>
@@ -247,10 +574,13 @@ public class QueryBuilder {
 	 */
 	protected String createSelectColumn() {
 		// エンティティークラスのみ指定の場合
-		if (   _criteria.getSelectList().size() == 1
-			&& _criteria.getSelectList().get(0) instanceof Class
-			&& AnnotationUtil.hasEntityAnnotation((Class<?>) _criteria.getSelectList().get(0))) {
+		if (this.isEntityClassSelect()) {
 			return this.getColumnsInClass((Class<?>) _criteria.getSelectList().get(0));
+		// 複数のエンティティクラスのみ指定の場合（指定順に各エンティティの全カラム）
+		} else if (this.isMultiEntityClassSelect()) {
+			return _criteria.getSelectList().stream()
+											.map(o -> this.getColumnsInClass((Class<?>) o))
+											.collect(Collectors.joining(","));
 		// それ以外
 		} else {
 			return this.getColumns(_criteria.getSelectList());
@@ -278,7 +608,7 @@ public class QueryBuilder {
 								if (o instanceof Field) {
 									return FieldUtil.getFiledName((Field) o);
 								} else if (o instanceof Expression) {
-									return ((Expression) o).getExpressionStr();
+									return appendExpression((Expression) o);
 								} else {
 									return "";
 								}
@@ -296,9 +626,7 @@ public class QueryBuilder {
 	 * @return エンティティクラスから抽出した検索カラムリスト
 	 */
 	protected String getColumnsInClass(Class<?> clazz) {
-		return Stream.of(clazz.getDeclaredFields())
-					 .map(f -> FieldUtil.getFiledName(f))
-					 .collect(Collectors.joining(","));
+		return EntityMetadataRegistry.get(clazz).getSelectColumns();
 	}
 
 	/**
@@ -310,9 +638,7 @@ public class QueryBuilder {
 	 * @return 検索テーブル名
 	 */
 	protected String getFromTable() {
-		return AnnotationUtil.hasTableAnnotation(_criteria.getFrom())
-					? ((Table) _criteria.getFrom().getDeclaredAnnotation(Table.class)).name()
-					: _criteria.getFrom().getSimpleName();
+		return EntityMetadataRegistry.get(_criteria.getFrom()).getTableName();
 	}
 
 	/**
@@ -348,13 +674,11 @@ public class QueryBuilder {
 								builder.append(this.getJoinTable((Class<?>) m.get("joinClass")));
 								builder.append(LF);
 								builder.append("ON ");
-								builder.append(((Expression) m.get("joinExpression")).getExpressionStr());
+								builder.append(appendExpression((Expression) m.get("joinExpression")));
 								return builder.toString();
 							}
 							private String getJoinTable(Class<?> clazz) {
-								return AnnotationUtil.hasTableAnnotation(clazz)
-											? clazz.getDeclaredAnnotation(Table.class).name()
-											: clazz.getSimpleName();
+								return EntityMetadataRegistry.get(clazz).getTableName();
 							}
 						}).collect(Collectors.joining(LF));
 	}
@@ -369,7 +693,7 @@ public class QueryBuilder {
 	 */
 	protected String createWhereExpression() {
 		return "WHERE" + LF +  _criteria.getWhereExpressionList().stream()
-							   .map(e -> e.getExpressionStr())
+							   .map(e -> this.appendExpression(e))
 							   .collect(Collectors.joining(" AND "));
 	}
 
@@ -397,7 +721,7 @@ public class QueryBuilder {
 	 */
 	protected String createHavingExpression() {
 		return "HAVING" + LF +  _criteria.getHavingExpressionList().stream()
-							   .map(e -> e.getExpressionStr())
+							   .map(e -> this.appendExpression(e))
 							   .collect(Collectors.joining(" AND "));
 	}
 
@@ -411,7 +735,7 @@ public class QueryBuilder {
 	 */
 	protected String createOrderByExpression() {
 		return "ORDER BY" + LF + _criteria.getOrderByList().stream()
-								 .map(e -> e.getExpressionStr())
+								 .map(e -> this.appendExpression(e))
 								 .collect(Collectors.joining(","));
 	}
 
@@ -429,7 +753,13 @@ public class QueryBuilder {
 		builder.append("INSERT INTO " + this.getInsertTable() + LF);
 		builder.append("(" + this.createInsertColumns() + ")" + LF);
 		builder.append("VALUES" + LF);
-		builder.append("(" + this.createInsertValues() + ")" + LF);
+		builder.append("(" + this.createInsertValues() + ")");
+		// 複数行INSERTの場合
+		for (List<Expression> valueExpressionList : _criteria.getAdditionalValueList()) {
+			builder.append("," + LF);
+			builder.append("(" + this.createInsertValues(valueExpressionList) + ")");
+		}
+		builder.append(LF);
 
 		return builder.toString();
 	}
@@ -443,9 +773,7 @@ public class QueryBuilder {
 	 * @return 検索テーブル名
 	 */
 	protected String getInsertTable() {
-		return AnnotationUtil.hasTableAnnotation(_criteria.getInsert())
-					? ((Table) _criteria.getInsert().getDeclaredAnnotation(Table.class)).name()
-					: _criteria.getInsert().getSimpleName();
+		return EntityMetadataRegistry.get(_criteria.getInsert()).getTableName();
 	}
 
 	/**
@@ -458,14 +786,8 @@ public class QueryBuilder {
 	 */
 	protected String createInsertColumns() {
 
-		String sequenceField = "";
-		for (Field field : _criteria.getInsert().getDeclaredFields()) {
-			if (AnnotationUtil.hasGenerationValueAnnotation(field)) {
-				Annotation annotation = field.getDeclaredAnnotation(GenerateValue.class);
-				sequenceField = ((GenerateValue) annotation).strategy() == GenerationType.SEQUENCE
-								? FieldUtil.getFiledName(field) : "";
-			}
-		}
+		ColumnMetadata sequenceColumn = EntityMetadataRegistry.get(_criteria.getInsert()).getSequenceColumn();
+		String sequenceField = sequenceColumn != null ? sequenceColumn.getQualifiedName() : "";
 
 		return (!"".equals(sequenceField) ? sequenceField + "," : "") +
 							_criteria.getValueExpressionList().stream()
@@ -491,22 +813,30 @@ public class QueryBuilder {
 	 * @return 登録値
 	 */
 	protected String createInsertValues() {
+		return this.createInsertValues(_criteria.getValueExpressionList());
+	}
 
-		String sequence = "";
-		for (Field field : _criteria.getInsert().getDeclaredFields()) {
-			if (AnnotationUtil.hasGenerationValueAnnotation(field)) {
-				Annotation annotation = field.getDeclaredAnnotation(GenerateValue.class);
-				sequence = ((GenerateValue) annotation).strategy() == GenerationType.SEQUENCE
-							? ((GenerateValue) annotation).sequence() + ".NEXTVAL" : "";
-			}
-		}
+	/**
+	 * <p>登録値生成</p>
+	 * <pre>
+	 * value式リストから、1行分の登録値を生成する。
+	 * </pre>
+	 *
+	 * @param  valueExpressionList value式リスト
+	 * @return 登録値
+	 */
+	protected String createInsertValues(List<Expression> valueExpressionList) {
+
+		ColumnMetadata sequenceColumn = EntityMetadataRegistry.get(_criteria.getInsert()).getSequenceColumn();
+		String sequence = sequenceColumn != null ? sequenceColumn.getSequence() + ".NEXTVAL" : "";
 
 		return (!"".equals(sequence) ? sequence + "," : "") +
-							 _criteria.getValueExpressionList().stream()
+							 valueExpressionList.stream()
 							 .map(new Function<Expression, String>() {
 								@Override
 								public String apply(Expression e) {
-									if ("=".equals(e.getExpressionStr().split("\\s")[1])) {
+									if (isEqualExpression(e)) {
+										_bindValueList.addAll(e.getBindValueList());
 										return e.getExpressionStr().split("\\s", 3)[2];
 									} else {
 										return "";
@@ -544,9 +874,7 @@ public class QueryBuilder {
 	 * @return 検索テーブル名
 	 */
 	protected String getUpdateTable() {
-		return AnnotationUtil.hasTableAnnotation(_criteria.getUpdate())
-					? ((Table) _criteria.getUpdate().getDeclaredAnnotation(Table.class)).name()
-					: _criteria.getUpdate().getSimpleName();
+		return EntityMetadataRegistry.get(_criteria.getUpdate()).getTableName();
 	}
 
 	/**
@@ -559,9 +887,9 @@ public class QueryBuilder {
 	 */
 	protected String createUpdateExpression() {
 		return _criteria.getSetExpressionList().stream()
-						.filter(e -> "=".equals(e.getExpressionStr().split("\\s")[1]))
+						.filter(e -> this.isEqualExpression(e))
 						// 「テーブ名.カラム名」から「テーブル名.」を削除する（PostgreSQL対応）
-						.map(e -> e.getExpressionStr().replaceFirst("[0-9a-zA-Z_\\-]+?\\.", ""))
+						.map(e -> this.appendExpression(e).replaceFirst("[0-9a-zA-Z_\\-]+?\\.", ""))
 						.collect(Collectors.joining(","));
 	}
 
@@ -593,9 +921,7 @@ public class QueryBuilder {
 	 * @return 検索テーブル名
 	 */
 	protected String getDeleteTable() {
-		return AnnotationUtil.hasTableAnnotation(_criteria.getDelete())
-					? ((Table) _criteria.getDelete().getDeclaredAnnotation(Table.class)).name()
-					: _criteria.getDelete().getSimpleName();
+		return EntityMetadataRegistry.get(_criteria.getDelete()).getTableName();
 	}
 
 }
@@ -0,0 +1,160 @@
+package net.skuratani.simpleorm4j.builder;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.type.QueryType;
+
+/**
+ * <p>SQLキャッシュクラス</p>
+ * <pre>
+ * Criteriaの構造（フィンガープリント）をキーとして、生成したSQL文とマッピングエンティティクラスを
+ * キャッシュする。同じ構造のCriteriaからクエリを生成する場合は、SQL文の生成を省略する。
+ * キャッシュサイズ（設定ファイルのsqlCacheSize）を超えた場合は、任意の1件を破棄する。
+ * 本クラスはスレッドセーフで、全てのエンティティマネージャで共有する。
+ * </pre>
+ */
+public class SqlCache {
+
+	/** キャッシュ */
+	protected final ConcurrentHashMap<Object, Entry> _cache = new ConcurrentHashMap<>();
+
+	/** ヒット件数 */
+	protected final LongAdder _hitCount = new LongAdder();
+
+	/** ミス件数 */
+	protected final LongAdder _missCount = new LongAdder();
+
+	/** 破棄件数 */
+	protected final LongAdder _evictionCount = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 */
+	SqlCache() {}
+
+	/**
+	 * <p>キャッシュ有効判定</p>
+	 *
+	 * @return boolean
+	 *           true  : キャッシュする
+	 *           false : キャッシュしない
+	 */
+	public boolean isEnabled() {
+		return 0 < ConfigLoader.getConfig().getSqlCacheSize();
+	}
+
+	/**
+	 * <p>キャッシュ取得</p>
+	 *
+	 * @param  fingerprint Criteriaのフィンガープリント
+	 * @return キャッシュエントリ（存在しない場合はnull）
+	 */
+	Entry get(Object fingerprint) {
+		Entry entry = _cache.get(fingerprint);
+		if (entry != null) {
+			_hitCount.increment();
+		} else {
+			_missCount.increment();
+		}
+		return entry;
+	}
+
+	/**
+	 * <p>キャッシュ登録</p>
+	 *
+	 * @param fingerprint Criteriaのフィンガープリント
+	 * @param entry       キャッシュエントリ
+	 */
+	void put(Object fingerprint, Entry entry) {
+		int maxSize = ConfigLoader.getConfig().getSqlCacheSize();
+		while (maxSize <= _cache.size()) {
+			Iterator<Object> iterator = _cache.keySet().iterator();
+			if (!iterator.hasNext()) {
+				break;
+			}
+			if (_cache.remove(iterator.next()) != null) {
+				_evictionCount.increment();
+			}
+		}
+		_cache.put(fingerprint, entry);
+	}
+
+	/**
+	 * <p>キャッシュクリア</p>
+	 */
+	public void clear() {
+		_cache.clear();
+	}
+
+	/**
+	 * <p>キャッシュ件数取得</p>
+	 *
+	 * @return キャッシュ件数
+	 */
+	public int size() {
+		return _cache.size();
+	}
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return ヒット件数
+	 */
+	public long getHitCount() {
+		return _hitCount.sum();
+	}
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return ミス件数
+	 */
+	public long getMissCount() {
+		return _missCount.sum();
+	}
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return 破棄件数
+	 */
+	public long getEvictionCount() {
+		return _evictionCount.sum();
+	}
+
+	/**
+	 * <p>キャッシュエントリ</p>
+	 */
+	static final class Entry {
+
+		/** クエリ種別 */
+		final QueryType _queryType;
+
+		/** SQL文 */
+		final String _sql;
+
+		/** マッピングエンティティクラス */
+		final Class<?> _entityClass;
+
+		/** 参照テーブル（正規化済み） */
+		final String[] _tables;
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param queryType   クエリ種別
+		 * @param sql         SQL文
+		 * @param entityClass マッピングエンティティクラス
+		 * @param tables      参照テーブル
+		 */
+		Entry(QueryType queryType, String sql, Class<?> entityClass, String[] tables) {
+			_queryType   = queryType;
+			_sql         = sql;
+			_entityClass = entityClass;
+			_tables      = tables;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * <p>2次キャッシュ統計情報クラス</p>
+ * <pre>
+ * 2次キャッシュ領域（エンティティクラス）毎の件数・ヒット率を保持する不変クラス。
+ * </pre>
+ */
+public final class CacheStatistics {
+
+	/** エンティティクラス名 */
+	private final String _entityClass;
+
+	/** 保持件数 */
+	private final int _size;
+
+	/** 最大件数 */
+	private final int _maxEntries;
+
+	/** ヒット件数 */
+	private final long _hitCount;
+
+	/** ミス件数 */
+	private final long _missCount;
+
+	/** 登録件数 */
+	private final long _putCount;
+
+	/** 破棄件数（最大件数・保持時間による破棄） */
+	private final long _evictionCount;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param entityClass   エンティティクラス名
+	 * @param size          保持件数
+	 * @param maxEntries    最大件数
+	 * @param hitCount      ヒット件数
+	 * @param missCount     ミス件数
+	 * @param putCount      登録件数
+	 * @param evictionCount 破棄件数
+	 */
+	@ConstructorProperties({ "entityClass", "size", "maxEntries", "hitCount", "missCount", "putCount",
+			"evictionCount" })
+	public CacheStatistics(String entityClass, int size, int maxEntries, long hitCount, long missCount, long putCount,
+			long evictionCount) {
+		_entityClass   = entityClass;
+		_size          = size;
+		_maxEntries    = maxEntries;
+		_hitCount      = hitCount;
+		_missCount     = missCount;
+		_putCount      = putCount;
+		_evictionCount = evictionCount;
+	}
+
+	/**
+	 * <p>エンティティクラス名取得</p>
+	 *
+	 * @return エンティティクラス名
+	 */
+	public String getEntityClass() {
+		return _entityClass;
+	}
+
+	/**
+	 * <p>保持件数取得</p>
+	 *
+	 * @return 保持件数
+	 */
+	public int getSize() {
+		return _size;
+	}
+
+	/**
+	 * <p>最大件数取得</p>
+	 *
+	 * @return 最大件数
+	 */
+	public int getMaxEntries() {
+		return _maxEntries;
+	}
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return ヒット件数
+	 */
+	public long getHitCount() {
+		return _hitCount;
+	}
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return ミス件数
+	 */
+	public long getMissCount() {
+		return _missCount;
+	}
+
+	/**
+	 * <p>登録件数取得</p>
+	 *
+	 * @return 登録件数
+	 */
+	public long getPutCount() {
+		return _putCount;
+	}
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return 最大件数・保持時間による破棄件数
+	 */
+	public long getEvictionCount() {
+		return _evictionCount;
+	}
+
+	/**
+	 * <p>ヒット率取得</p>
+	 *
+	 * @return ヒット件数 / (ヒット件数 + ミス件数)（取得していない場合は0）
+	 */
+	public double getHitRatio() {
+		long total = _hitCount + _missCount;
+		return 0L < total ? (double) _hitCount / total : 0.0;
+	}
+
+	/**
+	 * <p>文字列表現取得</p>
+	 *
+	 * @return 統計情報の文字列表現
+	 */
+	@Override
+	public String toString() {
+		return _entityClass
+				+ " : size=" + _size + "/" + _maxEntries
+				+ ", hits=" + _hitCount
+				+ ", misses=" + _missCount
+				+ ", hitRatio=" + String.format("%.3f", this.getHitRatio())
+				+ ", puts=" + _putCount
+				+ ", evictions=" + _evictionCount;
+	}
+}
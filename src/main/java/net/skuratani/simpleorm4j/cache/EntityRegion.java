@@ -0,0 +1,291 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.lang.reflect.Constructor;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.util.TableNameUtil;
+
+/**
+ * <p>2次キャッシュ領域クラス</p>
+ * <pre>
+ * 1つのエンティティクラスの2次キャッシュ。主キーの値をキーとして、エンティティのプロパティ値の配列（コピー）を保持する。
+ *    1. 取得時は新しいインスタンスを生成してプロパティ値を設定する（エンティティマネージャ間でインスタンスを共有しない）
+ *    2. キーのハッシュ値で分割したセグメント（ストライプ）毎にロックし、セグメント毎にLRUで破棄する
+ *    3. 保持秒数を超えたエントリは、取得時に破棄する
+ *    4. 破棄する毎に世代番号を進め、検索前の世代番号と異なる場合は検索結果を登録しない
+ *       （検索中に他のスレッドが更新・破棄した場合に、古いデータを登録しない為）
+ * </pre>
+ */
+public class EntityRegion {
+
+	/** 最大セグメント数 */
+	private static final int MAX_SEGMENTS = 16;
+
+	/** エンティティクラス */
+	protected final Class<?> _entityClass;
+
+	/** テーブル名（正規化済み） */
+	protected final String _tableName;
+
+	/** 保持するカラム（スーパークラスのフィールドを含む） */
+	protected final ColumnMetadata[] _columns;
+
+	/** 主キーのカラム */
+	protected final ColumnMetadata[] _idColumns;
+
+	/** デフォルトコンストラクタ */
+	protected final Constructor<?> _constructor;
+
+	/** セグメント */
+	protected final LruSegment<CacheEntry>[] _segments;
+
+	/** 最大件数 */
+	protected final int _maxEntries;
+
+	/** 保持時間（ナノ秒、0の場合は期限なし） */
+	protected final long _ttlNanos;
+
+	/** 世代番号 */
+	protected final AtomicLong _generation = new AtomicLong();
+
+	/** ヒット件数 */
+	protected final LongAdder _hitCount = new LongAdder();
+
+	/** ミス件数 */
+	protected final LongAdder _missCount = new LongAdder();
+
+	/** 登録件数 */
+	protected final LongAdder _putCount = new LongAdder();
+
+	/** 破棄件数（最大件数・保持時間による破棄） */
+	protected final LongAdder _evictionCount = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param  metadata   エンティティメタデータ
+	 * @param  maxEntries 最大件数
+	 * @param  ttlSeconds 保持秒数（0以下の場合は期限なし）
+	 * @throws NoSuchMethodException デフォルトコンストラクタが存在しない場合
+	 */
+	public EntityRegion(EntityMetadata metadata, int maxEntries, long ttlSeconds) throws NoSuchMethodException {
+		List<ColumnMetadata> columnList = metadata.getMappingColumnList();
+		_entityClass = metadata.getEntityClass();
+		_tableName   = TableNameUtil.normalize(metadata.getTableName());
+		_columns     = columnList.toArray(new ColumnMetadata[0]);
+		_idColumns   = metadata.getIdColumnList().toArray(new ColumnMetadata[0]);
+		_constructor = _entityClass.getConstructor();
+		_maxEntries  = Math.max(maxEntries, 1);
+		_ttlNanos    = 0L < ttlSeconds ? TimeUnit.SECONDS.toNanos(ttlSeconds) : 0L;
+		_segments    = LruSegment.create(_maxEntries, MAX_SEGMENTS, _evictionCount);
+	}
+
+	/**
+	 * <p>エンティティインスタンス取得</p>
+	 *
+	 * @param  ids 主キーの値（@Idフィールドの宣言順）
+	 * @return 保持しているプロパティ値を設定した新しいインスタンス（保持していない場合はnull）
+	 * @throws ReflectiveOperationException インスタンスの生成・セッタメソッドの実行に失敗した場合
+	 */
+	public Object get(Object[] ids) throws ReflectiveOperationException {
+		Object key = ids != null && ids.length == _idColumns.length ? IdentityMap.toKey(ids) : null;
+		Object[] values = key != null ? this.getValues(key) : null;
+		if (values == null) {
+			_missCount.increment();
+			return null;
+		}
+		_hitCount.increment();
+		Object entity = _constructor.newInstance();
+		for (int i = 0; i < _columns.length; i++) {
+			_columns[i].setValue(entity, values[i]);
+		}
+		return entity;
+	}
+
+	/**
+	 * <p>エンティティインスタンス登録</p>
+	 * <pre>
+	 * 世代番号が引数の世代番号と異なる場合（検索後に更新・破棄された場合）は登録しない。
+	 * </pre>
+	 *
+	 * @param  entity     エンティティインスタンス
+	 * @param  generation 検索前の世代番号（{@link EntityRegion#getGeneration()}）
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void put(Object entity, long generation) throws ReflectiveOperationException {
+		Object key = this.createKey(entity);
+		if (key == null) {
+			return;
+		}
+		Object[] values = new Object[_columns.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = _columns[i].getValue(entity);
+		}
+		long expireAt = 0L < _ttlNanos ? System.nanoTime() + _ttlNanos : 0L;
+		LruSegment<CacheEntry> segment = LruSegment.select(_segments, key);
+		synchronized (segment) {
+			if (_generation.get() != generation) {
+				return;
+			}
+			segment.put(key, new CacheEntry(values, expireAt));
+		}
+		_putCount.increment();
+	}
+
+	/**
+	 * <p>エンティティインスタンス破棄</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void evict(Object entity) throws ReflectiveOperationException {
+		Object key = this.createKey(entity);
+		if (key == null) {
+			return;
+		}
+		LruSegment<CacheEntry> segment = LruSegment.select(_segments, key);
+		synchronized (segment) {
+			_generation.incrementAndGet();
+			segment.remove(key);
+		}
+	}
+
+	/**
+	 * <p>クリア</p>
+	 */
+	public void clear() {
+		_generation.incrementAndGet();
+		for (LruSegment<CacheEntry> segment : _segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	/**
+	 * <p>世代番号取得</p>
+	 *
+	 * @return 世代番号（破棄・クリアする毎に増加する）
+	 */
+	public long getGeneration() {
+		return _generation.get();
+	}
+
+	/**
+	 * <p>統計情報取得</p>
+	 *
+	 * @return 2次キャッシュ統計情報
+	 */
+	public CacheStatistics getStatistics() {
+		return new CacheStatistics(_entityClass.getName(), this.size(), _maxEntries,
+				_hitCount.sum(), _missCount.sum(), _putCount.sum(), _evictionCount.sum());
+	}
+
+	/**
+	 * <p>統計情報リセット</p>
+	 */
+	public void resetStatistics() {
+		_hitCount.reset();
+		_missCount.reset();
+		_putCount.reset();
+		_evictionCount.reset();
+	}
+
+	/**
+	 * <p>保持件数取得</p>
+	 *
+	 * @return 保持件数（保持時間を超えたエントリを含む）
+	 */
+	public int size() {
+		int size = 0;
+		for (LruSegment<CacheEntry> segment : _segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * <p>エンティティクラス取得</p>
+	 *
+	 * @return エンティティクラス
+	 */
+	public Class<?> getEntityClass() {
+		return _entityClass;
+	}
+
+	/**
+	 * <p>テーブル名取得</p>
+	 *
+	 * @return テーブル名（{@link TableNameUtil#normalize(String)}で正規化済み）
+	 */
+	public String getTableName() {
+		return _tableName;
+	}
+
+	/**
+	 * <p>キー生成</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @return キー（主キーの値がnullの場合はnull）
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	protected Object createKey(Object entity) throws ReflectiveOperationException {
+		Object[] ids = new Object[_idColumns.length];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = _idColumns[i].getValue(entity);
+		}
+		return IdentityMap.toKey(ids);
+	}
+
+	/**
+	 * <p>プロパティ値取得</p>
+	 *
+	 * @param  key キー
+	 * @return プロパティ値（保持していない場合・保持時間を超えた場合はnull）
+	 */
+	protected Object[] getValues(Object key) {
+		LruSegment<CacheEntry> segment = LruSegment.select(_segments, key);
+		synchronized (segment) {
+			CacheEntry entry = segment.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (0L < _ttlNanos && entry._expireAt - System.nanoTime() < 0L) {
+				segment.remove(key);
+				_evictionCount.increment();
+				return null;
+			}
+			return entry._values;
+		}
+	}
+
+	/**
+	 * <p>キャッシュエントリ</p>
+	 */
+	protected static final class CacheEntry {
+
+		/** プロパティ値（保持するカラムの順） */
+		final Object[] _values;
+
+		/** 有効期限（{@link System#nanoTime()}、0の場合は期限なし） */
+		final long _expireAt;
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param values   プロパティ値
+		 * @param expireAt 有効期限
+		 */
+		CacheEntry(Object[] values, long expireAt) {
+			_values   = values;
+			_expireAt = expireAt;
+		}
+	}
+}
@@ -0,0 +1,434 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+import net.skuratani.simpleorm4j.metadata.PropertyType;
+
+/**
+ * <p>識別マップクラス</p>
+ * <pre>
+ * エンティティマネージャ毎に、エンティティクラスと主キーの値でエンティティインスタンスを保持する（1次キャッシュ）。
+ * 同じエンティティマネージャで同じ主キーのエンティティを検索した場合は、同じインスタンスを返却する。
+ *    1. 主キーがint・long型の1カラムの場合は、ボクシングせずにlong型キーマップ（{@link LongObjectMap}）に保持する
+ *    2. 上記以外の場合は、主キーの値（複合主キーの場合は値のリスト）をキーとしてハッシュマップに保持する
+ *    3. 整数型（Integer・Long・Short・Byte）の主キーの値はLong型に揃えて比較する
+ * 主キーの値がnullのエンティティインスタンスは保持しない。
+ * 設定ファイルのdirtyCheckingがtrueの場合は、登録時にプロパティ値のスナップショット（配列のコピー）を保持し、
+ * 更新時に変更したカラム（{@link IdentityMap#getDirtyColumns(Object)}）の判定に使用する。
+ * 本クラスはスレッドセーフではない（エンティティマネージャと同じく、1つのスレッドで使用する）。
+ * </pre>
+ */
+public class IdentityMap {
+
+	/** エンティティクラス毎のテーブル */
+	protected final Map<Class<?>, EntityTable> _tableMap = new HashMap<>();
+
+	/**
+	 * <p>エンティティインスタンス取得</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @param  ids   主キーの値（@Idフィールドの宣言順）
+	 * @return エンティティインスタンス（保持していない場合はnull）
+	 */
+	public Object get(Class<?> clazz, Object[] ids) {
+		EntityTable table = _tableMap.get(clazz);
+		if (table == null || ids == null || ids.length != table._idColumns.length) {
+			return null;
+		}
+		if (table._longMap != null) {
+			return isIntegral(ids[0]) ? table._longMap.get(((Number) ids[0]).longValue()) : null;
+		}
+		Object key = table.createKey(ids);
+		return key != null ? table._objectMap.get(key) : null;
+	}
+
+	/**
+	 * <p>エンティティインスタンス取得</p>
+	 * <pre>
+	 * 主キーがint・long型の1カラムのエンティティクラスの場合に、ボクシングせずに取得する。
+	 * </pre>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @param  id    主キーの値
+	 * @return エンティティインスタンス（保持していない場合はnull）
+	 */
+	public Object get(Class<?> clazz, long id) {
+		EntityTable table = _tableMap.get(clazz);
+		if (table == null) {
+			return null;
+		}
+		return table._longMap != null ? table._longMap.get(id) : table._objectMap.get(Long.valueOf(id));
+	}
+
+	/**
+	 * <p>数値主キー判定</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return boolean
+	 *           true  : 主キーがint・long型の1カラム
+	 *           false : 上記以外
+	 */
+	public boolean isNumericId(Class<?> clazz) {
+		return this.getTable(clazz)._longMap != null;
+	}
+
+	/**
+	 * <p>エンティティインスタンス登録</p>
+	 * <pre>
+	 * 同じ主キーのエンティティインスタンスを保持している場合は置き換える。
+	 * 主キーがないエンティティクラス・主キーの値がnullの場合は登録しない。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void put(Object entity) throws ReflectiveOperationException {
+		EntityTable table = this.getTable(entity.getClass());
+		Object key = table.createKey(entity);
+		if (key == null) {
+			return;
+		}
+		Object current;
+		if (table._longMap != null) {
+			current = table._longMap.put(((Long) key).longValue(), entity);
+		} else {
+			current = table._objectMap.put(key, entity);
+		}
+		if (current != null && current != entity) {
+			table._snapshotMap.remove(current);
+		}
+		table.snapshot(entity);
+	}
+
+	/**
+	 * <p>エンティティインスタンス登録（未登録時のみ）</p>
+	 * <pre>
+	 * 同じ主キーのエンティティインスタンスを保持している場合は、保持しているインスタンスを返却して登録しない。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @return 保持しているエンティティインスタンス（未登録の場合・登録できない場合は引数のインスタンス）
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public Object putIfAbsent(Object entity) throws ReflectiveOperationException {
+		EntityTable table = this.getTable(entity.getClass());
+		Object key = table.createKey(entity);
+		if (key == null) {
+			return entity;
+		}
+		Object current;
+		if (table._longMap != null) {
+			long id = ((Long) key).longValue();
+			current = table._longMap.get(id);
+			if (current == null) {
+				table._longMap.put(id, entity);
+			}
+		} else {
+			current = table._objectMap.putIfAbsent(key, entity);
+		}
+		if (current != null) {
+			return current;
+		}
+		table.snapshot(entity);
+		return entity;
+	}
+
+	/**
+	 * <p>エンティティインスタンス削除</p>
+	 * <pre>
+	 * 引数のエンティティインスタンスと同じ主キーのエンティティインスタンスを削除する。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void remove(Object entity) throws ReflectiveOperationException {
+		EntityTable table = _tableMap.get(entity.getClass());
+		Object key = table != null ? table.createKey(entity) : null;
+		if (key == null) {
+			return;
+		}
+		Object current;
+		if (table._longMap != null) {
+			current = table._longMap.remove(((Long) key).longValue());
+		} else {
+			current = table._objectMap.remove(key);
+		}
+		if (current != null) {
+			table._snapshotMap.remove(current);
+		}
+	}
+
+	/**
+	 * <p>エンティティインスタンス保持判定</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @return boolean
+	 *           true  : 引数のインスタンスそのものを保持している
+	 *           false : 保持していない（同じ主キーの別のインスタンスを保持している場合を含む）
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public boolean contains(Object entity) throws ReflectiveOperationException {
+		EntityTable table = _tableMap.get(entity.getClass());
+		Object key = table != null ? table.createKey(entity) : null;
+		if (key == null) {
+			return false;
+		}
+		Object current = table._longMap != null ? table._longMap.get(((Long) key).longValue()) : table._objectMap.get(key);
+		return current == entity;
+	}
+
+	/**
+	 * <p>変更カラム取得</p>
+	 * <pre>
+	 * 登録時（検索・登録・更新時）のスナップショットと現在のプロパティ値を比較し、
+	 * 値が異なる主キー以外のカラムを返却する。
+	 * 以下の場合は変更カラムを判定できない為、nullを返却する。
+	 *    1. 引数のインスタンスそのものを保持していない場合（スナップショットがない場合）
+	 *    2. 設定ファイルのdirtyCheckingがfalseの場合
+	 *    3. 主キーの値を変更した場合
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @return 変更カラム（{@link EntityMetadata#getColumnList()}のインデックス、変更がない場合は空）
+	 *         判定できない場合はnull
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public BitSet getDirtyColumns(Object entity) throws ReflectiveOperationException {
+		EntityTable table = _tableMap.get(entity.getClass());
+		Object[] snapshot = table != null ? table._snapshotMap.get(entity) : null;
+		if (snapshot == null || !ConfigLoader.getConfig().isDirtyChecking()) {
+			return null;
+		}
+		BitSet dirtyColumns = new BitSet(snapshot.length);
+		for (int i = 0; i < snapshot.length; i++) {
+			if (!Objects.deepEquals(snapshot[i], table._columns[i].getValue(entity))) {
+				if (table._columns[i].isId()) {
+					return null;
+				}
+				dirtyColumns.set(i);
+			}
+		}
+		return dirtyColumns;
+	}
+
+	/**
+	 * <p>エンティティインスタンス切り離し</p>
+	 * <pre>
+	 * 引数のインスタンスそのものを保持している場合のみ削除する。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void detach(Object entity) throws ReflectiveOperationException {
+		if (this.contains(entity)) {
+			this.remove(entity);
+		}
+	}
+
+	/**
+	 * <p>クリア</p>
+	 */
+	public void clear() {
+		_tableMap.clear();
+	}
+
+	/**
+	 * <p>クリア</p>
+	 *
+	 * @param clazz エンティティクラス
+	 */
+	public void clear(Class<?> clazz) {
+		_tableMap.remove(clazz);
+	}
+
+	/**
+	 * <p>保持件数取得</p>
+	 *
+	 * @return 保持しているエンティティインスタンスの件数
+	 */
+	public int size() {
+		int size = 0;
+		for (EntityTable table : _tableMap.values()) {
+			size += table._longMap != null ? table._longMap.size() : table._objectMap.size();
+		}
+		return size;
+	}
+
+	/**
+	 * <p>テーブル取得</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return エンティティクラスのテーブル（未生成の場合は生成する）
+	 */
+	protected EntityTable getTable(Class<?> clazz) {
+		EntityTable table = _tableMap.get(clazz);
+		if (table == null) {
+			table = new EntityTable(EntityMetadataRegistry.get(clazz));
+			_tableMap.put(clazz, table);
+		}
+		return table;
+	}
+
+	/**
+	 * <p>整数型判定</p>
+	 *
+	 * @param  value 値
+	 * @return boolean
+	 *           true  : Integer・Long・Short・Byte
+	 *           false : 上記以外
+	 */
+	protected static boolean isIntegral(Object value) {
+		return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+	}
+
+	/**
+	 * <p>主キーの値正規化</p>
+	 *
+	 * @param  value 主キーの値
+	 * @return 整数型の場合はLong型、それ以外は引数の値
+	 */
+	protected static Object normalize(Object value) {
+		return isIntegral(value) ? Long.valueOf(((Number) value).longValue()) : value;
+	}
+
+	/**
+	 * <p>キー生成</p>
+	 * <pre>
+	 * 主キーの値を正規化し、1カラムの場合は値、複合主キーの場合は値のリストをキーとする。
+	 * </pre>
+	 *
+	 * @param  ids 主キーの値
+	 * @return キー（主キーの値にnullを含む場合はnull）
+	 */
+	public static Object toKey(Object[] ids) {
+		Object[] values = new Object[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			if (ids[i] == null) {
+				return null;
+			}
+			values[i] = normalize(ids[i]);
+		}
+		return values.length == 1 ? values[0] : Arrays.asList(values);
+	}
+
+	/**
+	 * <p>スナップショット用の値コピー</p>
+	 * <pre>
+	 * 変更可能な値（Date・配列）はコピーし、プロパティ値を直接変更した場合も変更を判定できるようにする。
+	 * </pre>
+	 *
+	 * @param  value プロパティ値
+	 * @return スナップショットに保持する値
+	 */
+	protected static Object copyValue(Object value) {
+		if (value instanceof java.util.Date) {
+			return ((java.util.Date) value).clone();
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).clone();
+		} else if (value instanceof Object[]) {
+			return ((Object[]) value).clone();
+		}
+		return value;
+	}
+
+	/**
+	 * <p>エンティティクラスのテーブル</p>
+	 */
+	protected static class EntityTable {
+
+		/** 主キーのカラム */
+		protected final ColumnMetadata[] _idColumns;
+
+		/** スナップショットのカラム */
+		protected final ColumnMetadata[] _columns;
+
+		/** エンティティインスタンス毎のスナップショット（プロパティ値の配列、カラムの順） */
+		protected final Map<Object, Object[]> _snapshotMap = new IdentityHashMap<>();
+
+		/** long型キーマップ（主キーがint・long型の1カラムの場合） */
+		protected final LongObjectMap<Object> _longMap;
+
+		/** ハッシュマップ（上記以外の場合） */
+		protected final Map<Object, Object> _objectMap;
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param metadata エンティティメタデータ
+		 */
+		protected EntityTable(EntityMetadata metadata) {
+			List<ColumnMetadata> idColumnList = metadata.getIdColumnList();
+			_idColumns = idColumnList.toArray(new ColumnMetadata[0]);
+			_columns   = metadata.getColumnList().toArray(new ColumnMetadata[0]);
+			PropertyType type = _idColumns.length == 1 ? _idColumns[0].getPropertyType() : null;
+			if (type == PropertyType.INT || type == PropertyType.LONG) {
+				_longMap   = new LongObjectMap<>();
+				_objectMap = null;
+			} else {
+				_longMap   = null;
+				_objectMap = new HashMap<>();
+			}
+		}
+
+		/**
+		 * <p>キー生成</p>
+		 *
+		 * @param  entity エンティティインスタンス
+		 * @return キー（主キーがない場合・主キーの値がnullの場合はnull）
+		 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+		 */
+		protected Object createKey(Object entity) throws ReflectiveOperationException {
+			if (_idColumns.length == 0) {
+				return null;
+			}
+			Object[] ids = new Object[_idColumns.length];
+			for (int i = 0; i < ids.length; i++) {
+				ids[i] = _idColumns[i].getValue(entity);
+			}
+			return this.createKey(ids);
+		}
+
+		/**
+		 * <p>スナップショット保持</p>
+		 * <pre>
+		 * 設定ファイルのdirtyCheckingがfalseの場合は、保持しているスナップショットを破棄する。
+		 * </pre>
+		 *
+		 * @param  entity エンティティインスタンス
+		 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+		 */
+		protected void snapshot(Object entity) throws ReflectiveOperationException {
+			if (!ConfigLoader.getConfig().isDirtyChecking()) {
+				_snapshotMap.remove(entity);
+				return;
+			}
+			Object[] values = new Object[_columns.length];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = copyValue(_columns[i].getValue(entity));
+			}
+			_snapshotMap.put(entity, values);
+		}
+
+		/**
+		 * <p>キー生成</p>
+		 *
+		 * @param  ids 主キーの値
+		 * @return キー（主キーの値にnullを含む場合はnull）
+		 */
+		protected Object createKey(Object[] ids) {
+			return toKey(ids);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.util.Arrays;
+
+/**
+ * <p>long型キーマップクラス</p>
+ * <pre>
+ * long型のキーを、ボクシングせずに配列に保持するオープンアドレス法（線形探索）のハッシュマップ。
+ *    1. キー・値はそれぞれlong配列・Object配列に保持し、値がnullの要素を空きとする（null値は格納できない）
+ *    2. 要素数が容量の2/3を超えた場合は、容量を2倍にして再配置する
+ *    3. 削除時は後続の要素を詰め直し（バックワードシフト）、削除済みの印を残さない
+ * 本クラスはスレッドセーフではない。
+ * </pre>
+ *
+ * @param <V> 値の型
+ */
+public class LongObjectMap<V> {
+
+	/** 初期容量 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/** キー */
+	protected long[] _keys;
+
+	/** 値（nullは空き） */
+	protected Object[] _values;
+
+	/** 要素数 */
+	protected int _size;
+
+	/** 再配置する要素数 */
+	protected int _threshold;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 */
+	public LongObjectMap() {
+		this.allocate(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * <p>値取得</p>
+	 *
+	 * @param  key キー
+	 * @return 値（存在しない場合はnull）
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(long key) {
+		int mask = _values.length - 1;
+		for (int i = hash(key) & mask; _values[i] != null; i = (i + 1) & mask) {
+			if (_keys[i] == key) {
+				return (V) _values[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>値設定</p>
+	 *
+	 * @param  key   キー
+	 * @param  value 値（null不可）
+	 * @return 置き換える前の値（存在しない場合はnull）
+	 * @throws NullPointerException 値がnullの場合
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(long key, V value) {
+		if (value == null) {
+			throw new NullPointerException("value is null. key : " + key);
+		}
+		int mask = _values.length - 1;
+		int i = hash(key) & mask;
+		for (; _values[i] != null; i = (i + 1) & mask) {
+			if (_keys[i] == key) {
+				V previous = (V) _values[i];
+				_values[i] = value;
+				return previous;
+			}
+		}
+		_keys[i]   = key;
+		_values[i] = value;
+		if (_threshold < ++_size) {
+			this.rehash(_values.length << 1);
+		}
+		return null;
+	}
+
+	/**
+	 * <p>値削除</p>
+	 *
+	 * @param  key キー
+	 * @return 削除した値（存在しない場合はnull）
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(long key) {
+		int mask = _values.length - 1;
+		for (int i = hash(key) & mask; _values[i] != null; i = (i + 1) & mask) {
+			if (_keys[i] == key) {
+				V previous = (V) _values[i];
+				this.shiftBack(i);
+				_size--;
+				return previous;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>要素数取得</p>
+	 *
+	 * @return 要素数
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 容量が初期容量を超えている場合は、初期容量に戻してメモリを解放する。
+	 * </pre>
+	 */
+	public void clear() {
+		if (DEFAULT_CAPACITY < _values.length) {
+			this.allocate(DEFAULT_CAPACITY);
+		} else {
+			Arrays.fill(_values, null);
+		}
+		_size = 0;
+	}
+
+	/**
+	 * <p>後続要素の詰め直し</p>
+	 * <pre>
+	 * 削除した位置以降の連続する要素のうち、本来の位置（ハッシュ値の位置）から削除位置を経由して
+	 * 探索される要素を削除位置に移動し、探索が途切れない様にする。
+	 * </pre>
+	 *
+	 * @param removed 削除した位置
+	 */
+	protected void shiftBack(int removed) {
+		int mask = _values.length - 1;
+		int gap = removed;
+		for (int i = (gap + 1) & mask; _values[i] != null; i = (i + 1) & mask) {
+			int home = hash(_keys[i]) & mask;
+			// 本来の位置から現在の位置までの探索範囲に空き位置が含まれる場合は移動する
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				_keys[gap]   = _keys[i];
+				_values[gap] = _values[i];
+				gap = i;
+			}
+		}
+		_values[gap] = null;
+	}
+
+	/**
+	 * <p>再配置</p>
+	 *
+	 * @param capacity 新しい容量（2のべき乗）
+	 */
+	protected void rehash(int capacity) {
+		long[] keys = _keys;
+		Object[] values = _values;
+		this.allocate(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < values.length; j++) {
+			if (values[j] != null) {
+				int i = hash(keys[j]) & mask;
+				while (_values[i] != null) {
+					i = (i + 1) & mask;
+				}
+				_keys[i]   = keys[j];
+				_values[i] = values[j];
+			}
+		}
+	}
+
+	/**
+	 * <p>配列確保</p>
+	 *
+	 * @param capacity 容量（2のべき乗）
+	 */
+	protected void allocate(int capacity) {
+		_keys      = new long[capacity];
+		_values    = new Object[capacity];
+		_threshold = capacity / 3 * 2;
+	}
+
+	/**
+	 * <p>ハッシュ値取得</p>
+	 * <pre>
+	 * 連番のキーが連続した位置に集まらない様に、キーのビットを拡散する。
+	 * </pre>
+	 *
+	 * @param  key キー
+	 * @return ハッシュ値
+	 */
+	protected static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+}
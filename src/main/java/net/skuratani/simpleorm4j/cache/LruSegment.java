@@ -0,0 +1,88 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>LRUセグメントクラス</p>
+ * <pre>
+ * アクセス順のLinkedHashMapで、容量を超えた場合に最も古くアクセスしたエントリを破棄する。
+ * キャッシュをキーのハッシュ値で分割（ストライプ）した1区画として使用し、呼び出し元がセグメントをロックして使用する。
+ * </pre>
+ *
+ * @param <V> 値の型
+ */
+final class LruSegment<V> extends LinkedHashMap<Object, V> {
+
+	private static final long serialVersionUID = 1L;
+
+	/** 容量 */
+	private final int _capacity;
+
+	/** 破棄件数 */
+	private final transient LongAdder _evictionCount;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param capacity      容量
+	 * @param evictionCount 破棄件数
+	 */
+	LruSegment(int capacity, LongAdder evictionCount) {
+		super(16, 0.75f, true);
+		_capacity      = capacity;
+		_evictionCount = evictionCount;
+	}
+
+	/**
+	 * <p>最古エントリ破棄判定</p>
+	 *
+	 * @param  eldest 最も古くアクセスしたエントリ
+	 * @return boolean
+	 *           true  : 容量を超えた為に破棄する
+	 *           false : 破棄しない
+	 */
+	@Override
+	protected boolean removeEldestEntry(Map.Entry<Object, V> eldest) {
+		if (_capacity < this.size()) {
+			_evictionCount.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>セグメント生成</p>
+	 * <pre>
+	 * 最大件数が少ない場合はセグメントを分割しない（LRUの精度を保つ）。
+	 * </pre>
+	 *
+	 * @param  maxEntries    最大件数
+	 * @param  maxSegments   最大セグメント数（2のべき乗）
+	 * @param  evictionCount 破棄件数
+	 * @return セグメント（数は2のべき乗）
+	 */
+	@SuppressWarnings("unchecked")
+	static <V> LruSegment<V>[] create(int maxEntries, int maxSegments, LongAdder evictionCount) {
+		int segmentCount = Math.min(Integer.highestOneBit(Math.max(maxEntries / 64, 1)), maxSegments);
+		int capacity = (maxEntries + segmentCount - 1) / segmentCount;
+		LruSegment<V>[] segments = (LruSegment<V>[]) new LruSegment<?>[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			segments[i] = new LruSegment<>(capacity, evictionCount);
+		}
+		return segments;
+	}
+
+	/**
+	 * <p>セグメント選択</p>
+	 *
+	 * @param  segments セグメント（数は2のべき乗）
+	 * @param  key      キー
+	 * @return キーのハッシュ値に対応するセグメント
+	 */
+	static <V> LruSegment<V> select(LruSegment<V>[] segments, Object key) {
+		int h = key.hashCode();
+		return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+	}
+}
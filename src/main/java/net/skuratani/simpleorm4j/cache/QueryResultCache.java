@@ -0,0 +1,506 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+import net.skuratani.simpleorm4j.util.AnnotationUtil;
+import net.skuratani.simpleorm4j.util.TableNameUtil;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
+
+/**
+ * <p>クエリ結果キャッシュクラス</p>
+ * <pre>
+ * エンティティマネージャ間（プロセス全体）で共有する、発行SQLとバインド値をキーとした検索結果のキャッシュ。
+ * {@link net.skuratani.simpleorm4j.persistence.Query#setCacheable(boolean)}を指定した検索のみを対象とする（オプトイン）。
+ *    1. 検索結果は参照したテーブル名と、検索前のテーブル毎の版数とともに保持する
+ *    2. 登録・更新・削除時に対象テーブルの版数を進め、版数が異なる検索結果は取得時に無効とする
+ *       （検索中に他のスレッドが更新した場合も、古い検索結果を返却しない）
+ *    3. エンティティはプロパティ値の配列（コピー）、MapはMapのコピーで保持し、取得時は新しいインスタンスを返却する
+ *    4. キーのハッシュ値で分割したセグメント（ストライプ）毎にロックし、セグメント毎にLRUで破棄する
+ *    5. 保持秒数を超えた検索結果・最大ROW数を超えた検索結果は保持しない
+ * 最大件数は初めて検索結果を登録する時の設定ファイルのqueryCacheMaxEntriesとし、設定ファイルの再読み込みは反映されない。
+ * 初めて検索結果を登録する時に、JMX（プラットフォームMBeanサーバ）に登録する。
+ * </pre>
+ */
+public final class QueryResultCache implements QueryResultCacheMXBean {
+
+	/** JMXオブジェクト名 */
+	public static final String OBJECT_NAME = "net.skuratani.simpleorm4j:type=QueryResultCache";
+
+	/** 最大セグメント数 */
+	private static final int MAX_SEGMENTS = 16;
+
+	/** クエリ結果キャッシュ */
+	private static final QueryResultCache INSTANCE = new QueryResultCache();
+
+	/** テーブル名毎の版数 */
+	private final ConcurrentHashMap<String, AtomicLong> _versionMap = new ConcurrentHashMap<>();
+
+	/** セグメント（未生成の場合はnull） */
+	private volatile LruSegment<CacheEntry>[] _segments;
+
+	/** ヒット件数 */
+	private final LongAdder _hitCount = new LongAdder();
+
+	/** ミス件数 */
+	private final LongAdder _missCount = new LongAdder();
+
+	/** 登録件数 */
+	private final LongAdder _putCount = new LongAdder();
+
+	/** 無効化件数 */
+	private final LongAdder _invalidationCount = new LongAdder();
+
+	/** 破棄件数（最大件数・保持時間による破棄） */
+	private final LongAdder _evictionCount = new LongAdder();
+
+	/** JMX登録済みフラグ */
+	private volatile boolean _registered;
+
+	/**
+	 * コンストラクタ
+	 */
+	private QueryResultCache() {}
+
+	/**
+	 * <p>クエリ結果キャッシュ取得</p>
+	 *
+	 * @return クエリ結果キャッシュ
+	 */
+	public static QueryResultCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * <p>版数取得</p>
+	 * <pre>
+	 * 検索前に取得し、検索結果の登録時に{@link QueryResultCache#put}に渡す。
+	 * </pre>
+	 *
+	 * @param  tables テーブル名（正規化済み）
+	 * @return テーブル毎の版数（テーブルの順）
+	 */
+	public long[] getVersions(String[] tables) {
+		long[] versions = new long[tables.length];
+		for (int i = 0; i < tables.length; i++) {
+			versions[i] = this.getVersion(tables[i]);
+		}
+		return versions;
+	}
+
+	/**
+	 * <p>検索結果取得</p>
+	 * <pre>
+	 * 保持している検索結果のコピーを返却する。
+	 * 登録時にエンティティマネージャの識別マップに保持していた検索結果は、引数の識別マップに登録し、
+	 * 識別マップに同じ主キーのインスタンスがある場合はそのインスタンスを返却する。
+	 * </pre>
+	 *
+	 * @param  key         キー（発行SQL・バインド値等）
+	 * @param  identityMap 識別マップ（識別マップを使用しない場合はnull）
+	 * @return 検索結果のコピー（保持していない場合・無効な場合はnull）
+	 * @throws ReflectiveOperationException インスタンスの生成・セッタメソッドの実行に失敗した場合
+	 */
+	public List<Object> get(Object key, IdentityMap identityMap) throws ReflectiveOperationException {
+		LruSegment<CacheEntry>[] segments = _segments;
+		CacheEntry entry = null;
+		if (segments != null) {
+			LruSegment<CacheEntry> segment = LruSegment.select(segments, key);
+			synchronized (segment) {
+				entry = segment.get(key);
+				if (entry != null && !this.isValid(entry)) {
+					segment.remove(key);
+					entry = null;
+				}
+			}
+		}
+		if (entry == null) {
+			_missCount.increment();
+			return null;
+		}
+		_hitCount.increment();
+		return entry.copy(entry._managed ? identityMap : null);
+	}
+
+	/**
+	 * <p>検索結果登録</p>
+	 * <pre>
+	 * 以下の場合は登録しない。
+	 *    1. 検索結果のROW数が最大ROW数（queryCacheMaxRows）を超えた場合
+	 *    2. ROWがエンティティクラスのインスタンス・Mapでない場合（ユーザ定義のROWマッパなど）
+	 * 検索前の版数と登録時の版数が異なる場合は、取得時に無効とする。
+	 * </pre>
+	 *
+	 * @param  key         キー（発行SQL・バインド値等）
+	 * @param  tables      参照したテーブル名（正規化済み）
+	 * @param  versions    検索前のテーブル毎の版数（{@link QueryResultCache#getVersions(String[])}）
+	 * @param  entityClass マッピングエンティティクラス
+	 * @param  resultList  検索結果
+	 * @param  identityMap 検索したエンティティマネージャの識別マップ（識別マップを使用しない場合はnull）
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void put(Object key, String[] tables, long[] versions, Class<?> entityClass, List<?> resultList,
+			IdentityMap identityMap) throws ReflectiveOperationException {
+		ConfigVO config = ConfigLoader.getConfig();
+		if (config.getQueryCacheMaxRows() < resultList.size()) {
+			return;
+		}
+		CacheEntry entry = CacheEntry.create(tables, versions, entityClass, resultList, identityMap,
+				0L < config.getQueryCacheTtlSeconds()
+						? System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getQueryCacheTtlSeconds()) : 0L);
+		if (entry == null) {
+			return;
+		}
+		LruSegment<CacheEntry> segment = LruSegment.select(this.getSegments(), key);
+		synchronized (segment) {
+			segment.put(key, entry);
+		}
+		_putCount.increment();
+	}
+
+	/**
+	 * <p>テーブル単位の無効化</p>
+	 * <pre>
+	 * テーブルの版数を進め、テーブルを参照した検索結果を無効にする。
+	 * 無効にした検索結果は、取得時・最大件数による破棄時にメモリから破棄する。
+	 * </pre>
+	 *
+	 * @param tableName テーブル名（nullの場合は何もしない）
+	 */
+	public void invalidate(String tableName) {
+		if (tableName == null) {
+			return;
+		}
+		_versionMap.computeIfAbsent(TableNameUtil.normalize(tableName), k -> new AtomicLong()).incrementAndGet();
+		_invalidationCount.increment();
+	}
+
+	/**
+	 * <p>版数取得</p>
+	 *
+	 * @param  table テーブル名（正規化済み）
+	 * @return 版数（更新していないテーブルは0）
+	 */
+	private long getVersion(String table) {
+		AtomicLong version = _versionMap.get(table);
+		return version != null ? version.get() : 0L;
+	}
+
+	/**
+	 * <p>有効判定</p>
+	 *
+	 * @param  entry 検索結果
+	 * @return boolean
+	 *           true  : 有効
+	 *           false : 無効（テーブルを更新した場合・保持時間を超えた場合）
+	 */
+	private boolean isValid(CacheEntry entry) {
+		if (entry._expireAt != 0L && entry._expireAt - System.nanoTime() < 0L) {
+			_evictionCount.increment();
+			return false;
+		}
+		for (int i = 0; i < entry._tables.length; i++) {
+			if (this.getVersion(entry._tables[i]) != entry._versions[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * <p>セグメント取得</p>
+	 * <pre>
+	 * 初回呼び出し時に、設定ファイルの最大件数で生成してJMXに登録する。
+	 * </pre>
+	 *
+	 * @return セグメント
+	 */
+	private LruSegment<CacheEntry>[] getSegments() {
+		LruSegment<CacheEntry>[] segments = _segments;
+		if (segments == null) {
+			synchronized (this) {
+				segments = _segments;
+				if (segments == null) {
+					int maxEntries = Math.max(ConfigLoader.getConfig().getQueryCacheMaxEntries(), 1);
+					segments  = LruSegment.create(maxEntries, MAX_SEGMENTS, _evictionCount);
+					_segments = segments;
+				}
+			}
+			this.registerMBean();
+		}
+		return segments;
+	}
+
+	/**
+	 * <p>JMX登録</p>
+	 * <pre>
+	 * 登録に失敗した場合（同じオブジェクト名が登録済みの場合など）は、JMXに公開しない。
+	 * </pre>
+	 */
+	private synchronized void registerMBean() {
+		if (_registered) {
+			return;
+		}
+		_registered = true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(this, name);
+			}
+		} catch (JMException | SecurityException e) {
+			// JMXには公開しない
+		}
+	}
+
+	/**
+	 * <p>保持件数取得</p>
+	 *
+	 * @return 保持している検索結果の件数（破棄前の無効な検索結果を含む）
+	 */
+	@Override
+	public int getSize() {
+		LruSegment<CacheEntry>[] segments = _segments;
+		int size = 0;
+		if (segments != null) {
+			for (LruSegment<CacheEntry> segment : segments) {
+				synchronized (segment) {
+					size += segment.size();
+				}
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return ヒット件数
+	 */
+	@Override
+	public long getHitCount() {
+		return _hitCount.sum();
+	}
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return ミス件数（無効になった検索結果の参照を含む）
+	 */
+	@Override
+	public long getMissCount() {
+		return _missCount.sum();
+	}
+
+	/**
+	 * <p>ヒット率取得</p>
+	 *
+	 * @return ヒット率（取得していない場合は0）
+	 */
+	@Override
+	public double getHitRatio() {
+		long hitCount = _hitCount.sum();
+		long total = hitCount + _missCount.sum();
+		return 0L < total ? (double) hitCount / total : 0.0;
+	}
+
+	/**
+	 * <p>登録件数取得</p>
+	 *
+	 * @return 登録件数
+	 */
+	@Override
+	public long getPutCount() {
+		return _putCount.sum();
+	}
+
+	/**
+	 * <p>無効化件数取得</p>
+	 *
+	 * @return テーブルの更新による無効化の件数
+	 */
+	@Override
+	public long getInvalidationCount() {
+		return _invalidationCount.sum();
+	}
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return 最大件数・保持時間による破棄の件数
+	 */
+	@Override
+	public long getEvictionCount() {
+		return _evictionCount.sum();
+	}
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 全ての検索結果を破棄する。
+	 * </pre>
+	 */
+	@Override
+	public void clear() {
+		LruSegment<CacheEntry>[] segments = _segments;
+		if (segments != null) {
+			for (LruSegment<CacheEntry> segment : segments) {
+				synchronized (segment) {
+					segment.clear();
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>統計情報リセット</p>
+	 */
+	@Override
+	public void resetStatistics() {
+		_hitCount.reset();
+		_missCount.reset();
+		_putCount.reset();
+		_invalidationCount.reset();
+		_evictionCount.reset();
+	}
+
+	/**
+	 * <p>キャッシュエントリ</p>
+	 */
+	private static final class CacheEntry {
+
+		/** 参照したテーブル名 */
+		final String[] _tables;
+
+		/** 検索前のテーブル毎の版数 */
+		final long[] _versions;
+
+		/** 有効期限（{@link System#nanoTime()}、0の場合は期限なし） */
+		final long _expireAt;
+
+		/** 保持するカラム（Mapの場合はnull） */
+		final ColumnMetadata[] _columns;
+
+		/** デフォルトコンストラクタ（Mapの場合はnull） */
+		final Constructor<?> _constructor;
+
+		/** 識別マップ登録フラグ（登録時にエンティティマネージャの識別マップに保持していた） */
+		final boolean _managed;
+
+		/** ROW（エンティティの場合はプロパティ値の配列、Mapの場合はMapのコピー） */
+		final Object[] _rows;
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param tables      参照したテーブル名
+		 * @param versions    検索前のテーブル毎の版数
+		 * @param expireAt    有効期限
+		 * @param columns     保持するカラム
+		 * @param constructor デフォルトコンストラクタ
+		 * @param managed     識別マップ登録フラグ
+		 * @param rows        ROW
+		 */
+		CacheEntry(String[] tables, long[] versions, long expireAt, ColumnMetadata[] columns,
+				Constructor<?> constructor, boolean managed, Object[] rows) {
+			_tables      = tables;
+			_versions    = versions;
+			_expireAt    = expireAt;
+			_columns     = columns;
+			_constructor = constructor;
+			_managed     = managed;
+			_rows        = rows;
+		}
+
+		/**
+		 * <p>キャッシュエントリ生成</p>
+		 *
+		 * @param  tables      参照したテーブル名
+		 * @param  versions    検索前のテーブル毎の版数
+		 * @param  entityClass マッピングエンティティクラス
+		 * @param  resultList  検索結果
+		 * @param  identityMap 識別マップ（識別マップを使用しない場合はnull）
+		 * @param  expireAt    有効期限
+		 * @return キャッシュエントリ（保持できない検索結果の場合はnull）
+		 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+		 */
+		static CacheEntry create(String[] tables, long[] versions, Class<?> entityClass, List<?> resultList,
+				IdentityMap identityMap, long expireAt) throws ReflectiveOperationException {
+			Object[] rows = new Object[resultList.size()];
+
+			// エンティティの場合
+			if (entityClass != null && AnnotationUtil.hasEntityAnnotation(entityClass)) {
+				ColumnMetadata[] columns = EntityMetadataRegistry.get(entityClass).getMappingColumnList()
+						.toArray(new ColumnMetadata[0]);
+				Constructor<?> constructor;
+				try {
+					constructor = entityClass.getConstructor();
+				} catch (NoSuchMethodException e) {
+					return null;
+				}
+				for (int i = 0; i < rows.length; i++) {
+					Object entity = resultList.get(i);
+					if (!entityClass.isInstance(entity)) {
+						return null;
+					}
+					Object[] values = new Object[columns.length];
+					for (int j = 0; j < columns.length; j++) {
+						values[j] = columns[j].getValue(entity);
+					}
+					rows[i] = values;
+				}
+				boolean managed = identityMap != null && 0 < rows.length && identityMap.contains(resultList.get(0));
+				return new CacheEntry(tables, versions, expireAt, columns, constructor, managed, rows);
+			}
+
+			// Mapの場合
+			for (int i = 0; i < rows.length; i++) {
+				Object row = resultList.get(i);
+				if (!(row instanceof Map)) {
+					return null;
+				}
+				rows[i] = new HashMap<>((Map<?, ?>) row);
+			}
+			return new CacheEntry(tables, versions, expireAt, null, null, false, rows);
+		}
+
+		/**
+		 * <p>検索結果のコピー生成</p>
+		 *
+		 * @param  identityMap 登録する識別マップ（登録しない場合はnull）
+		 * @return 検索結果のコピー
+		 * @throws ReflectiveOperationException インスタンスの生成・セッタメソッドの実行に失敗した場合
+		 */
+		List<Object> copy(IdentityMap identityMap) throws ReflectiveOperationException {
+			List<Object> resultList = new ArrayList<>(_rows.length);
+			for (Object row : _rows) {
+				if (_columns == null) {
+					resultList.add(new HashMap<>((Map<?, ?>) row));
+					continue;
+				}
+				Object[] values = (Object[]) row;
+				Object entity = _constructor.newInstance();
+				for (int i = 0; i < _columns.length; i++) {
+					_columns[i].setValue(entity, values[i]);
+				}
+				resultList.add(identityMap != null ? identityMap.putIfAbsent(entity) : entity);
+			}
+			return resultList;
+		}
+	}
+}
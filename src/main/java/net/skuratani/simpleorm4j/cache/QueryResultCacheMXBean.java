@@ -0,0 +1,73 @@
+package net.skuratani.simpleorm4j.cache;
+
+/**
+ * <p>クエリ結果キャッシュMXBeanインタフェース</p>
+ * <pre>
+ * クエリ結果キャッシュの統計情報をJMXで公開する。
+ * オブジェクト名は「net.skuratani.simpleorm4j:type=QueryResultCache」。
+ * </pre>
+ */
+public interface QueryResultCacheMXBean {
+
+	/**
+	 * <p>保持件数取得</p>
+	 *
+	 * @return 保持している検索結果の件数（破棄前の無効な検索結果を含む）
+	 */
+	int getSize();
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return ヒット件数
+	 */
+	long getHitCount();
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return ミス件数（無効になった検索結果の参照を含む）
+	 */
+	long getMissCount();
+
+	/**
+	 * <p>ヒット率取得</p>
+	 *
+	 * @return ヒット率（取得していない場合は0）
+	 */
+	double getHitRatio();
+
+	/**
+	 * <p>登録件数取得</p>
+	 *
+	 * @return 登録件数
+	 */
+	long getPutCount();
+
+	/**
+	 * <p>無効化件数取得</p>
+	 *
+	 * @return テーブルの更新による無効化の件数
+	 */
+	long getInvalidationCount();
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return 最大件数・保持時間による破棄の件数
+	 */
+	long getEvictionCount();
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 全ての検索結果を破棄する。
+	 * </pre>
+	 */
+	void clear();
+
+	/**
+	 * <p>統計情報リセット</p>
+	 */
+	void resetStatistics();
+}
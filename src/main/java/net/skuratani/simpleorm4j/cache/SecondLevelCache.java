@@ -0,0 +1,275 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.skuratani.simpleorm4j.annotation.Cacheable;
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+import net.skuratani.simpleorm4j.util.TableNameUtil;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
+
+/**
+ * <p>2次キャッシュクラス</p>
+ * <pre>
+ * エンティティマネージャ間（プロセス全体）で共有する、エンティティクラスと主キーの値をキーとしたキャッシュ。
+ * 以下のエンティティクラスのみを対象とし（オプトイン）、エンティティクラス毎に2次キャッシュ領域（{@link EntityRegion}）を生成する。
+ *    1. Cacheableアノテーションを指定したエンティティクラス
+ *    2. 設定ファイルのcacheEntitiesに指定したエンティティクラス
+ * 最大件数・保持秒数はCacheableアノテーションの値、省略した場合は設定ファイルのcacheMaxEntries・cacheTtlSecondsとする。
+ * 2次キャッシュ領域は初めて参照した時に生成する為、設定ファイルの再読み込みは生成済みの領域に反映されない。
+ * 初めて2次キャッシュ領域を生成する時に、JMX（プラットフォームMBeanサーバ）に登録する。
+ * </pre>
+ */
+public final class SecondLevelCache implements SecondLevelCacheMXBean {
+
+	/** JMXオブジェクト名 */
+	public static final String OBJECT_NAME = "net.skuratani.simpleorm4j:type=SecondLevelCache";
+
+	/** 2次キャッシュ */
+	private static final SecondLevelCache INSTANCE = new SecondLevelCache();
+
+	/** エンティティクラス毎の2次キャッシュ領域（対象外の場合は空） */
+	private final ConcurrentHashMap<Class<?>, Optional<EntityRegion>> _regionMap = new ConcurrentHashMap<>();
+
+	/** テーブル名毎の2次キャッシュ領域 */
+	private final ConcurrentHashMap<String, List<EntityRegion>> _tableMap = new ConcurrentHashMap<>();
+
+	/** JMX登録済みフラグ */
+	private volatile boolean _registered;
+
+	/**
+	 * コンストラクタ
+	 */
+	private SecondLevelCache() {}
+
+	/**
+	 * <p>2次キャッシュ取得</p>
+	 *
+	 * @return 2次キャッシュ
+	 */
+	public static SecondLevelCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * <p>2次キャッシュ領域取得</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return 2次キャッシュ領域（2次キャッシュの対象外の場合はnull）
+	 */
+	public EntityRegion getRegion(Class<?> clazz) {
+		Optional<EntityRegion> region = _regionMap.get(clazz);
+		if (region == null) {
+			region = _regionMap.computeIfAbsent(clazz, this::createRegion);
+		}
+		return region.orElse(null);
+	}
+
+	/**
+	 * <p>2次キャッシュ領域生成</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return 2次キャッシュ領域（2次キャッシュの対象外の場合・主キー・デフォルトコンストラクタがない場合は空）
+	 */
+	private Optional<EntityRegion> createRegion(Class<?> clazz) {
+		ConfigVO config = ConfigLoader.getConfig();
+		Cacheable cacheable = clazz.getAnnotation(Cacheable.class);
+		if (cacheable == null && !isConfigured(config.getCacheEntities(), clazz)) {
+			return Optional.empty();
+		}
+		EntityMetadata metadata = EntityMetadataRegistry.get(clazz);
+		if (!metadata.isEntity() || metadata.getIdColumnList().isEmpty()) {
+			return Optional.empty();
+		}
+		int maxEntries = cacheable != null && 0 <= cacheable.maxEntries()
+							? cacheable.maxEntries() : config.getCacheMaxEntries();
+		long ttlSeconds = cacheable != null && 0L <= cacheable.ttlSeconds()
+							? cacheable.ttlSeconds() : config.getCacheTtlSeconds();
+		EntityRegion region;
+		try {
+			region = new EntityRegion(metadata, maxEntries, ttlSeconds);
+		} catch (NoSuchMethodException e) {
+			return Optional.empty();
+		}
+		_tableMap.computeIfAbsent(region.getTableName(), k -> new CopyOnWriteArrayList<>())
+				 .add(region);
+		if (!_registered) {
+			this.registerMBean();
+		}
+		return Optional.of(region);
+	}
+
+	/**
+	 * <p>設定ファイル指定判定</p>
+	 *
+	 * @param  cacheEntities 設定ファイルのcacheEntities（カンマ区切りのクラス名）
+	 * @param  clazz         エンティティクラス
+	 * @return boolean
+	 *           true  : 指定されている
+	 *           false : 指定されていない
+	 */
+	private static boolean isConfigured(String cacheEntities, Class<?> clazz) {
+		if (cacheEntities == null) {
+			return false;
+		}
+		for (String name : cacheEntities.split(",")) {
+			if (clazz.getName().equals(name.trim())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>テーブル単位の破棄</p>
+	 * <pre>
+	 * テーブルに対応する全ての2次キャッシュ領域をクリアする。
+	 * 主キーを特定できない一括更新・削除（Queryで実行したUPDATE・DELETE文など）の実行後に使用する。
+	 * テーブル名はスキーマ名・引用符を除き、大文字小文字を区別せずに比較する。
+	 * </pre>
+	 *
+	 * @param  tableName テーブル名
+	 * @return クリアした2次キャッシュ領域（対応する領域がない場合は空のリスト）
+	 */
+	public List<EntityRegion> evictTable(String tableName) {
+		if (tableName == null || _tableMap.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<EntityRegion> regionList = _tableMap.get(TableNameUtil.normalize(tableName));
+		if (regionList == null) {
+			return Collections.emptyList();
+		}
+		for (EntityRegion region : regionList) {
+			region.clear();
+		}
+		return regionList;
+	}
+
+	/**
+	 * <p>エンティティクラス単位の破棄</p>
+	 *
+	 * @param clazz エンティティクラス
+	 */
+	public void evict(Class<?> clazz) {
+		Optional<EntityRegion> region = _regionMap.get(clazz);
+		if (region != null && region.isPresent()) {
+			region.get().clear();
+		}
+	}
+
+	/**
+	 * <p>JMX登録</p>
+	 * <pre>
+	 * 登録に失敗した場合（同じオブジェクト名が登録済みの場合など）は、JMXに公開しない。
+	 * </pre>
+	 */
+	private synchronized void registerMBean() {
+		if (_registered) {
+			return;
+		}
+		_registered = true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(this, name);
+			}
+		} catch (JMException | SecurityException e) {
+			// JMXには公開しない
+		}
+	}
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return 全てのエンティティクラスのヒット件数
+	 */
+	@Override
+	public long getHitCount() {
+		long hitCount = 0L;
+		for (CacheStatistics statistics : this.getStatistics()) {
+			hitCount += statistics.getHitCount();
+		}
+		return hitCount;
+	}
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return 全てのエンティティクラスのミス件数
+	 */
+	@Override
+	public long getMissCount() {
+		long missCount = 0L;
+		for (CacheStatistics statistics : this.getStatistics()) {
+			missCount += statistics.getMissCount();
+		}
+		return missCount;
+	}
+
+	/**
+	 * <p>ヒット率取得</p>
+	 *
+	 * @return 全てのエンティティクラスのヒット率（取得していない場合は0）
+	 */
+	@Override
+	public double getHitRatio() {
+		long hitCount = 0L;
+		long total = 0L;
+		for (CacheStatistics statistics : this.getStatistics()) {
+			hitCount += statistics.getHitCount();
+			total    += statistics.getHitCount() + statistics.getMissCount();
+		}
+		return 0L < total ? (double) hitCount / total : 0.0;
+	}
+
+	/**
+	 * <p>統計情報取得</p>
+	 *
+	 * @return エンティティクラス毎の統計情報（エンティティクラス名の順）
+	 */
+	@Override
+	public List<CacheStatistics> getStatistics() {
+		List<CacheStatistics> statisticsList = new ArrayList<>();
+		for (Optional<EntityRegion> region : _regionMap.values()) {
+			region.ifPresent(r -> statisticsList.add(r.getStatistics()));
+		}
+		statisticsList.sort(Comparator.comparing(CacheStatistics::getEntityClass));
+		return statisticsList;
+	}
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 全てのエンティティクラスのキャッシュを破棄する。
+	 * </pre>
+	 */
+	@Override
+	public void clear() {
+		for (Optional<EntityRegion> region : _regionMap.values()) {
+			region.ifPresent(EntityRegion::clear);
+		}
+	}
+
+	/**
+	 * <p>統計情報リセット</p>
+	 */
+	@Override
+	public void resetStatistics() {
+		for (Optional<EntityRegion> region : _regionMap.values()) {
+			region.ifPresent(EntityRegion::resetStatistics);
+		}
+	}
+}
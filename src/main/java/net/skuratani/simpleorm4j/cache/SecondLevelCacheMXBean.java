@@ -0,0 +1,54 @@
+package net.skuratani.simpleorm4j.cache;
+
+import java.util.List;
+
+/**
+ * <p>2次キャッシュMXBeanインタフェース</p>
+ * <pre>
+ * 2次キャッシュの統計情報をJMXで公開する。
+ * オブジェクト名は「net.skuratani.simpleorm4j:type=SecondLevelCache」。
+ * </pre>
+ */
+public interface SecondLevelCacheMXBean {
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return 全てのエンティティクラスのヒット件数
+	 */
+	long getHitCount();
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return 全てのエンティティクラスのミス件数
+	 */
+	long getMissCount();
+
+	/**
+	 * <p>ヒット率取得</p>
+	 *
+	 * @return 全てのエンティティクラスのヒット率（取得していない場合は0）
+	 */
+	double getHitRatio();
+
+	/**
+	 * <p>統計情報取得</p>
+	 *
+	 * @return エンティティクラス毎の統計情報（エンティティクラス名の順）
+	 */
+	List<CacheStatistics> getStatistics();
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 全てのエンティティクラスのキャッシュを破棄する。
+	 * </pre>
+	 */
+	void clear();
+
+	/**
+	 * <p>統計情報リセット</p>
+	 */
+	void resetStatistics();
+}
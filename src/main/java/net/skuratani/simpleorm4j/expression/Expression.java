@@ -1,9 +1,10 @@
 package net.skuratani.simpleorm4j.expression;
 
 import java.lang.reflect.Field;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
 
 import net.skuratani.simpleorm4j.util.FieldUtil;
 
@@ -36,20 +37,48 @@ import net.skuratani.simpleorm4j.util.FieldUtil;
  *    20. avg(AVG(A))：平均値式
  *    21. max(MAX(A))：最大値式
  *    22. min(MIN(A))：最小値式
+ * 式に指定した値は、SQL文に直接埋め込まずにバインド値として保持し、式文字列には「?」を出力する。
+ * (ex.) Expression.equal(School.class.getDeclaredField("name"), "ABC")
+ *       → (SQL) SCHOOL.NAME = ?  (バインド値) ["ABC"]
+ * 以下の値はバインド値とせず、式文字列に直接出力する。
+ *    1. 名前付きプレースホルダ（:名前）
+ *    2. エンティティフィールド（テーブル名.カラム名）
+ *    3. null（NULL）
+ * エンティティインスタンスから取得した値等、内容を問わずにバインド値とする場合は、
+ * equalValue・inValuesを使用する（null・「:名前」形式の文字列もバインド値とする）。
  * </pre>
  */
 public class Expression {
 
+	/** 名前付きプレースホルダのパターン */
+	private static final Pattern NAMED_PLACEHOLDER = Pattern.compile(":[0-9a-zA-Z_]+");
+
 	/** 式文字列 */
 	protected String _expressionStr;
 
+	/** バインド値リスト（式文字列の「?」の順） */
+	protected List<Object> _bindValueList;
+
 	/**
 	 * <p>コンストラクタ</p>
 	 *
 	 * @param expressionStr 式文字列
 	 */
 	protected Expression(String expressionStr) {
+		this(expressionStr, Collections.emptyList());
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param expressionStr 式文字列
+	 * @param bindValueList バインド値リスト（式文字列の「?」の順）
+	 */
+	protected Expression(String expressionStr, List<Object> bindValueList) {
 		_expressionStr = expressionStr;
+		_bindValueList = bindValueList.isEmpty()
+							? Collections.emptyList()
+							: Collections.unmodifiableList(bindValueList);
 	}
 
 	/**
@@ -70,6 +99,15 @@ public class Expression {
 		this._expressionStr = _expressionStr;
 	}
 
+	/**
+	 * <p>バインド値リスト取得</p>
+	 *
+	 * @return バインド値リスト（式文字列の「?」の順）
+	 */
+	public List<Object> getBindValueList() {
+		return _bindValueList;
+	}
+
 	/**
 	 * <p>等価式</p>
 	 *
@@ -81,6 +119,26 @@ public class Expression {
 		return generateSimpleExpression(field, obj, "=");
 	}
 
+	/**
+	 * <p>等価式（値バインド）</p>
+	 * <pre>
+	 * 値の内容を問わずに、値をバインド値とした等価式を生成する。(ex.) MST_SCHOOL.NAME = ?
+	 * 名前付きプレースホルダ形式の文字列（:名前）・nullも、そのままバインド値とする。
+	 * </pre>
+	 *
+	 * @param  field エンティティフィールド
+	 * @param  value 値
+	 * @return 等価式
+	 */
+	public static Expression equalValue(Field field, Object value) {
+		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
+		builder.append(FieldUtil.getFiledName(field));
+		builder.append(" = ");
+		appendBindValue(builder, value, bindValueList);
+		return new Expression(builder.toString(), bindValueList);
+	}
+
 	/**
 	 * <p>大なり式</p>
 	 *
@@ -143,7 +201,7 @@ public class Expression {
 	 * @return NOT式
 	 */
 	public static Expression not(Expression expression) {
-		return new Expression("NOT(" + expression.getExpressionStr() + ")");
+		return new Expression("NOT(" + expression.getExpressionStr() + ")", expression.getBindValueList());
 	}
 
 	/**
@@ -176,16 +234,13 @@ public class Expression {
 	 */
 	public static Expression between(Field field, Object min, Object max) {
 		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
 		builder.append(FieldUtil.getFiledName(field));
 		builder.append(" BETWEEN ");
-		builder.append(min instanceof String
-					? ((String) min).matches(":[0-9a-zA-Z_]+") ? min.toString() : "'" + min.toString() + "'"
-					: min.toString());
+		appendValue(builder, min, bindValueList);
 		builder.append(" AND ");
-		builder.append(max instanceof String
-					? ((String) max).matches(":[0-9a-zA-Z_]+") ? max.toString() : "'" + max.toString() + "'"
-					: max.toString());
-		return new Expression(builder.toString());
+		appendValue(builder, max, bindValueList);
+		return new Expression(builder.toString(), bindValueList);
 	}
 
 	/**
@@ -197,18 +252,42 @@ public class Expression {
 	 */
 	public static Expression in(Field field, Object... objs) {
 		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
+		builder.append(FieldUtil.getFiledName(field));
+		builder.append(" IN (");
+		for (int i = 0; i < objs.length; i++) {
+			if (0 < i) {
+				builder.append(",");
+			}
+			appendValue(builder, objs[i], bindValueList);
+		}
+		builder.append(")");
+		return new Expression(builder.toString(), bindValueList);
+	}
+
+	/**
+	 * <p>IN式（値バインド）</p>
+	 * <pre>
+	 * 値の内容を問わずに、全ての値をバインド値としたIN式を生成する。(ex.) MST_SCHOOL.ID IN (?,?)
+	 * </pre>
+	 *
+	 * @param  field  エンティティフィールド
+	 * @param  values 値配列
+	 * @return IN式
+	 */
+	public static Expression inValues(Field field, Object... values) {
+		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
 		builder.append(FieldUtil.getFiledName(field));
 		builder.append(" IN (");
-		builder.append(Stream.of(objs).map(new Function<Object, String>(){
-							@Override
-							public String apply(Object o) {
-								return o instanceof String
-									? ((String) o).matches(":[0-9a-zA-Z_]+") ? o.toString() : "'" + o.toString() + "'"
-									: o.toString();
-							}
-					   }).collect(Collectors.joining(",")));
+		for (int i = 0; i < values.length; i++) {
+			if (0 < i) {
+				builder.append(",");
+			}
+			appendBindValue(builder, values[i], bindValueList);
+		}
 		builder.append(")");
-		return new Expression(builder.toString());
+		return new Expression(builder.toString(), bindValueList);
 	}
 
 	/**
@@ -220,10 +299,11 @@ public class Expression {
 	 */
 	public static Expression like(Field field, String match) {
 		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
 		builder.append(FieldUtil.getFiledName(field));
 		builder.append(" LIKE ");
-		builder.append(match.matches(":[0-9a-zA-Z_]+") ? match.toString() : "'" + match.toString() + "'");
-		return new Expression(builder.toString());
+		appendValue(builder, match, bindValueList);
+		return new Expression(builder.toString(), bindValueList);
 	}
 
 	/**
@@ -236,12 +316,7 @@ public class Expression {
 	 * @return AND式
 	 */
 	public static Expression and(Expression... expressions) {
-		StringBuilder builder = new StringBuilder();
-		builder.append("(");
-		builder.append(Stream.of(expressions).map(e -> e.getExpressionStr())
-											 .collect(Collectors.joining(" AND ")));
-		builder.append(")");
-		return new Expression(builder.toString());
+		return join(expressions, " AND ");
 	}
 
 	/**
@@ -254,12 +329,7 @@ public class Expression {
 	 * @return OR式
 	 */
 	public static Expression or(Expression... expressions) {
-		StringBuilder builder = new StringBuilder();
-		builder.append("(");
-		builder.append(Stream.of(expressions).map(e -> e.getExpressionStr())
-				 							 .collect(Collectors.joining(" OR ")));
-		builder.append(")");
-		return new Expression(builder.toString());
+		return join(expressions, " OR ");
 	}
 
 	/**
@@ -298,7 +368,10 @@ public class Expression {
 							   : obj instanceof Expression
 							  		? ((Expression) obj).getExpressionStr()
 							  		: obj.toString())
-							   + " AS " + aliasName);
+							   + " AS " + aliasName,
+							   obj instanceof Expression
+							   	? ((Expression) obj).getBindValueList()
+							   	: Collections.emptyList());
 	}
 
 	/**
@@ -371,16 +444,80 @@ public class Expression {
 	protected static Expression generateSimpleExpression(Field field, Object obj, String operator) {
 
 		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
 		builder.append(FieldUtil.getFiledName(field));
 		builder.append(" " + operator + " ");
-		builder.append(obj instanceof String
-					? ((String) obj).matches(":[0-9a-zA-Z_]+") ? obj.toString() : "'" + obj.toString() + "'"
-					: obj instanceof Field ? FieldUtil.getFiledName((Field) obj)
-										   : obj);
+		appendValue(builder, obj, bindValueList);
 
-		return new Expression(builder.toString());
+		return new Expression(builder.toString(), bindValueList);
 	}
 
-}
+	/**
+	 * <p>式の結合</p>
+	 * <pre>
+	 * 式配列をパーレン（丸括弧）で括って、演算子で結合する。バインド値は式配列の順に結合する。
+	 * </pre>
+	 *
+	 * @param  expressions 式配列
+	 * @param  operator    結合演算子
+	 * @return 結合した式
+	 */
+	protected static Expression join(Expression[] expressions, String operator) {
+
+		StringBuilder builder = new StringBuilder();
+		List<Object> bindValueList = new ArrayList<>();
+		builder.append("(");
+		for (int i = 0; i < expressions.length; i++) {
+			if (0 < i) {
+				builder.append(operator);
+			}
+			builder.append(expressions[i].getExpressionStr());
+			bindValueList.addAll(expressions[i].getBindValueList());
+		}
+		builder.append(")");
 
+		return new Expression(builder.toString(), bindValueList);
+	}
 
+	/**
+	 * <p>値の出力</p>
+	 * <pre>
+	 * 式文字列に値を出力する。
+	 *    1. 名前付きプレースホルダ（:名前）：そのまま出力する
+	 *    2. エンティティフィールド        ：テーブル名.カラム名を出力する
+	 *    3. null                          ：NULLを出力する
+	 *    4. 上記以外                      ：「?」を出力し、値をバインド値リストに追加する
+	 * </pre>
+	 *
+	 * @param builder       式文字列
+	 * @param obj           値
+	 * @param bindValueList バインド値リスト
+	 */
+	protected static void appendValue(StringBuilder builder, Object obj, List<Object> bindValueList) {
+		if (obj instanceof String && NAMED_PLACEHOLDER.matcher((String) obj).matches()) {
+			builder.append(obj);
+		} else if (obj instanceof Field) {
+			builder.append(FieldUtil.getFiledName((Field) obj));
+		} else if (obj == null) {
+			builder.append("NULL");
+		} else {
+			appendBindValue(builder, obj, bindValueList);
+		}
+	}
+
+	/**
+	 * <p>バインド値の出力</p>
+	 * <pre>
+	 * 式文字列に「?」を出力し、値（nullを含む）をバインド値リストに追加する。
+	 * </pre>
+	 *
+	 * @param builder       式文字列
+	 * @param obj           値
+	 * @param bindValueList バインド値リスト
+	 */
+	protected static void appendBindValue(StringBuilder builder, Object obj, List<Object> bindValueList) {
+		builder.append("?");
+		bindValueList.add(obj);
+	}
+
+}
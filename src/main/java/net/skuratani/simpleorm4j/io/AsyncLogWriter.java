@@ -0,0 +1,262 @@
+package net.skuratani.simpleorm4j.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import net.skuratani.simpleorm4j.type.LogOverflowPolicy;
+
+/**
+ * <p>非同期ログ出力クラス</p>
+ * <pre>
+ * 呼び出し元スレッドはログをリングバッファに格納するのみで、出力は出力スレッド（デーモンスレッド）が行う。
+ *    1. リングバッファは複数の書き込みスレッド・1つの出力スレッドのロックフリーなキューで、
+ *       書き込みスレッドはCASで格納位置を確保する
+ *    2. 出力スレッドはバッチサイズ毎にログをまとめて出力先（{@link LogSink}）に渡す
+ *    3. バッファに空きがない場合は、溢れ時の動作（{@link LogOverflowPolicy}）に従い破棄又は待機する
+ * JVMの終了時は、未出力のログを出力してから出力スレッドを終了する。
+ * </pre>
+ */
+public class AsyncLogWriter {
+
+	/** 出力スレッドの待機時間（ナノ秒） */
+	protected static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	/** 書き込みスレッドの待機時間（ナノ秒、BLOCK時） */
+	protected static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	/** リングバッファ */
+	protected final AtomicReferenceArray<String> _buffer;
+
+	/** インデックスマスク（バッファサイズ - 1） */
+	protected final int _mask;
+
+	/** 次の格納位置 */
+	protected final AtomicLong _tail = new AtomicLong();
+
+	/** 次の読み出し位置（出力スレッドのみ更新する） */
+	protected volatile long _head;
+
+	/** バッチサイズ */
+	protected final int _batchSize;
+
+	/** バッファ溢れ時の動作 */
+	protected final LogOverflowPolicy _overflowPolicy;
+
+	/** 出力先 */
+	protected final LogSink _sink;
+
+	/** 破棄件数 */
+	protected final LongAdder _droppedCount = new LongAdder();
+
+	/** 出力件数 */
+	protected final LongAdder _writtenCount = new LongAdder();
+
+	/** 出力スレッド */
+	protected final Thread _drainer;
+
+	/** JVM終了時の出力スレッド */
+	protected final Thread _shutdownHook;
+
+	/** 終了フラグ */
+	protected volatile boolean _shutdown;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * 出力スレッドを開始する。
+	 * </pre>
+	 *
+	 * @param sink           出力先
+	 * @param bufferSize     バッファサイズ（2のべき乗に切り上げる）
+	 * @param batchSize      バッチサイズ
+	 * @param overflowPolicy バッファ溢れ時の動作
+	 */
+	public AsyncLogWriter(LogSink sink, int bufferSize, int batchSize, LogOverflowPolicy overflowPolicy) {
+		int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+		_buffer         = new AtomicReferenceArray<>(capacity);
+		_mask           = capacity - 1;
+		_batchSize      = Math.max(batchSize, 1);
+		_overflowPolicy = overflowPolicy;
+		_sink           = sink;
+		_drainer        = new Thread(this::drainLoop, "SimpleORM4J-log-writer");
+		_drainer.setDaemon(true);
+		_drainer.start();
+		_shutdownHook   = new Thread(this::shutdown, "SimpleORM4J-log-shutdown");
+		Runtime.getRuntime().addShutdownHook(_shutdownHook);
+	}
+
+	/**
+	 * <p>ログ格納</p>
+	 * <pre>
+	 * ログをリングバッファに格納する。出力は出力スレッドが行う。
+	 * バッファに空きがない場合、DROPの場合は破棄し、BLOCKの場合は空きができるまで待つ。
+	 * 終了後はバッファに空きがない場合に待たずに破棄する。
+	 * </pre>
+	 *
+	 * @param  line ログ
+	 * @return boolean
+	 *           true  : 格納した
+	 *           false : 破棄した
+	 */
+	public boolean offer(String line) {
+		while (true) {
+			long tail = _tail.get();
+			if (tail - _head <= _mask) {
+				if (_tail.compareAndSet(tail, tail + 1)) {
+					_buffer.set((int) (tail & _mask), line);
+					return true;
+				}
+			} else if (_overflowPolicy == LogOverflowPolicy.DROP || _shutdown) {
+				_droppedCount.increment();
+				return false;
+			} else {
+				LockSupport.unpark(_drainer);
+				LockSupport.parkNanos(BLOCK_PARK_NANOS);
+			}
+		}
+	}
+
+	/**
+	 * <p>フラッシュ</p>
+	 * <pre>
+	 * 呼び出し時点までに格納したログが出力されるまで待つ。
+	 * </pre>
+	 *
+	 * @param timeoutMillis 最大待ち時間（ミリ秒）
+	 */
+	public void flush(long timeoutMillis) {
+		long target = _tail.get();
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		while (_head < target && _drainer.isAlive() && System.nanoTime() < deadline) {
+			LockSupport.unpark(_drainer);
+			LockSupport.parkNanos(BLOCK_PARK_NANOS);
+		}
+	}
+
+	/**
+	 * <p>クローズ</p>
+	 * <pre>
+	 * 未出力のログを出力して、出力スレッドを終了する。
+	 * </pre>
+	 */
+	public void close() {
+		try {
+			Runtime.getRuntime().removeShutdownHook(_shutdownHook);
+		} catch (IllegalStateException e) {
+			// JVMの終了中
+		}
+		this.shutdown();
+	}
+
+	/**
+	 * <p>出力スレッド終了</p>
+	 */
+	protected void shutdown() {
+		_shutdown = true;
+		LockSupport.unpark(_drainer);
+		try {
+			_drainer.join(TimeUnit.SECONDS.toMillis(1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return バッファ溢れで破棄したログの件数
+	 */
+	public long getDroppedCount() {
+		return _droppedCount.sum();
+	}
+
+	/**
+	 * <p>出力件数取得</p>
+	 *
+	 * @return 出力したログの件数
+	 */
+	public long getWrittenCount() {
+		return _writtenCount.sum();
+	}
+
+	/**
+	 * <p>未出力件数取得</p>
+	 *
+	 * @return バッファに格納済みで未出力のログの件数
+	 */
+	public int getPendingCount() {
+		return (int) (_tail.get() - _head);
+	}
+
+	/**
+	 * <p>出力スレッド処理</p>
+	 * <pre>
+	 * バッファのログをバッチサイズ毎にまとめて出力する。バッファが空の場合は待機する。
+	 * 終了フラグが立った場合は、バッファのログを全て出力してから終了する。
+	 * </pre>
+	 */
+	protected void drainLoop() {
+		List<String> batch = new ArrayList<>(_batchSize);
+		while (true) {
+			if (0 < this.drain(batch)) {
+				this.write(batch);
+				continue;
+			}
+			if (_shutdown && _head == _tail.get()) {
+				break;
+			}
+			LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+		}
+	}
+
+	/**
+	 * <p>バッファ読み出し</p>
+	 * <pre>
+	 * バッファからバッチサイズまでのログを読み出す。
+	 * 格納位置を確保済みで格納前のログに達した場合は、そこで読み出しを止める。
+	 * </pre>
+	 *
+	 * @param  batch 読み出したログの格納先
+	 * @return 読み出し件数
+	 */
+	protected int drain(List<String> batch) {
+		long head = _head;
+		while (batch.size() < _batchSize) {
+			int index = (int) (head & _mask);
+			String line = _buffer.get(index);
+			if (line == null) {
+				break;
+			}
+			_buffer.lazySet(index, null);
+			batch.add(line);
+			head++;
+		}
+		_head = head;
+		return batch.size();
+	}
+
+	/**
+	 * <p>出力</p>
+	 * <pre>
+	 * 出力先にログを渡す。出力に失敗した場合は、エラーを標準エラー出力に出力してログを破棄する。
+	 * </pre>
+	 *
+	 * @param batch ログ
+	 */
+	protected void write(List<String> batch) {
+		try {
+			_sink.write(batch);
+			_writtenCount.add(batch.size());
+		} catch (Exception e) {
+			_droppedCount.add(batch.size());
+			e.printStackTrace();
+		} finally {
+			batch.clear();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package net.skuratani.simpleorm4j.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * <p>ファイルログ出力先</p>
+ * <pre>
+ * ログをファイルの末尾に追記する（UTF-8）。ファイルが存在しない場合は作成する。
+ * まとめて受け取ったログを書き込んだ後に1度だけフラッシュする。
+ * </pre>
+ */
+public class FileLogSink implements LogSink {
+
+	/** 出力ファイル */
+	protected final Path _path;
+
+	/** 出力バッファ（最初の出力時に開く） */
+	protected BufferedWriter _bufferedWriter;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param path 出力ファイル
+	 */
+	public FileLogSink(Path path) {
+		_path = path;
+	}
+
+	/**
+	 * <p>ログ出力</p>
+	 *
+	 * @param  lines ログ（出力順）
+	 * @throws IOException 出力に失敗した場合
+	 */
+	@Override
+	public void write(List<String> lines) throws IOException {
+		if (_bufferedWriter == null) {
+			Path parent = _path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			_bufferedWriter = Files.newBufferedWriter(_path, StandardCharsets.UTF_8,
+					StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+		}
+		for (String line : lines) {
+			_bufferedWriter.write(line);
+			_bufferedWriter.write(System.lineSeparator());
+		}
+		_bufferedWriter.flush();
+	}
+
+	/**
+	 * <p>出力ファイル取得</p>
+	 *
+	 * @return 出力ファイル
+	 */
+	public Path getPath() {
+		return _path;
+	}
+}
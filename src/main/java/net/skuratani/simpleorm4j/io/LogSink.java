@@ -0,0 +1,23 @@
+package net.skuratani.simpleorm4j.io;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>ログ出力先インタフェース</p>
+ * <pre>
+ * 非同期ログ出力（{@link AsyncLogWriter}）の出力スレッドから、まとめたログを受け取って出力する。
+ * 出力スレッドからのみ呼び出される為、実装クラスはスレッドセーフである必要はない。
+ * 設定ファイルのlogSinkに実装クラス名を指定する場合は、引数なしのpublicコンストラクタを定義すること。
+ * </pre>
+ */
+public interface LogSink {
+
+	/**
+	 * <p>ログ出力</p>
+	 *
+	 * @param  lines ログ（出力順）
+	 * @throws IOException 出力に失敗した場合
+	 */
+	void write(List<String> lines) throws IOException;
+}
@@ -0,0 +1,33 @@
+package net.skuratani.simpleorm4j.io;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.List;
+
+/**
+ * <p>標準出力ログ出力先</p>
+ * <pre>
+ * ログを標準出力に出力する。まとめて受け取ったログを書き込んだ後に1度だけフラッシュする。
+ * </pre>
+ */
+public class StandardOutputLogSink implements LogSink {
+
+	/** 標準出力バッファ */
+	protected final BufferedWriter _bufferedWriter = new BufferedWriter(new OutputStreamWriter(System.out));
+
+	/**
+	 * <p>ログ出力</p>
+	 *
+	 * @param  lines ログ（出力順）
+	 * @throws IOException 出力に失敗した場合
+	 */
+	@Override
+	public void write(List<String> lines) throws IOException {
+		for (String line : lines) {
+			_bufferedWriter.write(line);
+			_bufferedWriter.write(System.lineSeparator());
+		}
+		_bufferedWriter.flush();
+	}
+}
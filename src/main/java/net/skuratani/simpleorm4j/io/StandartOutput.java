@@ -1,23 +1,39 @@
 package net.skuratani.simpleorm4j.io;
 
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
 
 /**
  * <p>標準出力クラス</p>
  * <pre>
  * 標準出力に文字列等を出力する。
+ * 出力は非同期ログ出力（{@link AsyncLogWriter}）を経由し、呼び出し元スレッドでは書き込み・フラッシュを行わない。
+ * 出力先は設定ファイルのlogSink、又は{@link StandartOutput#setLogSink(LogSink)}で変更できる。
+ * SQL実行毎のログ（{@link StandartOutput#writeStatement(String)}）は、設定ファイルの
+ * サンプリング率（logSamplingRate）・出力上限（logRateLimit）に従って間引く。
  * </pre>
  */
 public class StandartOutput {
 
-	/** 標準出力ストリーム */
-	private static final OutputStream standardOut = System.out;
+	/** フラッシュの最大待ち時間（ミリ秒） */
+	private static final long FLUSH_TIMEOUT_MILLIS = 5000L;
+
+	/** 非同期ログ出力 */
+	private static volatile AsyncLogWriter _writer;
+
+	/** 出力上限の計測期間（秒） */
+	private static final AtomicLong _rateWindow = new AtomicLong();
+
+	/** 計測期間内の出力件数 */
+	private static final AtomicInteger _rateCount = new AtomicInteger();
 
-	/** 標準出力バッファ */
-	private static final BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(standardOut));
+	/** サンプリング・出力上限で間引いた件数 */
+	private static final LongAdder _suppressedCount = new LongAdder();
 
 	/**
 	 * <p>標準出力</p>
@@ -28,13 +44,143 @@ public class StandartOutput {
 	 * @param str 出力文字列
 	 */
 	public static void writeln(String str) {
+		getWriter().offer(str);
+	}
+
+	/**
+	 * <p>SQL実行ログ出力</p>
+	 * <pre>
+	 * SQL実行毎のログを出力する。
+	 * サンプリング率の割合で出力し、1秒あたりの件数が出力上限を超えた場合は出力しない。
+	 * </pre>
+	 *
+	 * @param str 出力文字列
+	 */
+	public static void writeStatement(String str) {
+		ConfigVO config = ConfigLoader.getConfig();
+		int samplingRate = config.getLogSamplingRate();
+		if (samplingRate < 100 && samplingRate <= ThreadLocalRandom.current().nextInt(100)) {
+			_suppressedCount.increment();
+			return;
+		}
+		int rateLimit = config.getLogRateLimit();
+		if (0 < rateLimit && !acquireRate(rateLimit)) {
+			_suppressedCount.increment();
+			return;
+		}
+		writeln(str);
+	}
+
+	/**
+	 * <p>出力上限判定</p>
+	 *
+	 * @param  rateLimit 1秒あたりの出力上限
+	 * @return boolean
+	 *           true  : 出力できる
+	 *           false : 出力上限を超えた
+	 */
+	private static boolean acquireRate(int rateLimit) {
+		long second = System.nanoTime() / 1000000000L;
+		long window = _rateWindow.get();
+		if (window != second && _rateWindow.compareAndSet(window, second)) {
+			_rateCount.set(0);
+		}
+		return _rateCount.incrementAndGet() <= rateLimit;
+	}
+
+	/**
+	 * <p>出力先設定</p>
+	 * <pre>
+	 * 未出力のログを現在の出力先に出力してから、出力先を切り替える。
+	 * </pre>
+	 *
+	 * @param sink 出力先
+	 */
+	public static synchronized void setLogSink(LogSink sink) {
+		AsyncLogWriter writer = _writer;
+		_writer = createWriter(sink);
+		if (writer != null) {
+			writer.close();
+		}
+	}
+
+	/**
+	 * <p>フラッシュ</p>
+	 * <pre>
+	 * 呼び出し時点までに出力したログが、出力先に書き込まれるまで待つ。
+	 * </pre>
+	 */
+	public static void flush() {
+		getWriter().flush(FLUSH_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return バッファ溢れ・出力失敗で破棄したログの件数
+	 */
+	public static long getDroppedCount() {
+		return getWriter().getDroppedCount();
+	}
+
+	/**
+	 * <p>間引き件数取得</p>
+	 *
+	 * @return サンプリング・出力上限で出力しなかったSQL実行ログの件数
+	 */
+	public static long getSuppressedCount() {
+		return _suppressedCount.sum();
+	}
+
+	/**
+	 * <p>非同期ログ出力取得</p>
+	 * <pre>
+	 * 初回呼び出し時に、設定ファイルの出力先・バッファサイズで生成する。
+	 * </pre>
+	 *
+	 * @return 非同期ログ出力
+	 */
+	private static AsyncLogWriter getWriter() {
+		AsyncLogWriter writer = _writer;
+		if (writer == null) {
+			synchronized (StandartOutput.class) {
+				writer = _writer;
+				if (writer == null) {
+					writer  = createWriter(createSink(ConfigLoader.getConfig().getLogSink()));
+					_writer = writer;
+				}
+			}
+		}
+		return writer;
+	}
+
+	/**
+	 * <p>非同期ログ出力生成</p>
+	 *
+	 * @param  sink 出力先
+	 * @return 非同期ログ出力
+	 */
+	private static AsyncLogWriter createWriter(LogSink sink) {
+		ConfigVO config = ConfigLoader.getConfig();
+		return new AsyncLogWriter(sink, config.getLogBufferSize(), config.getLogBatchSize(),
+				config.getLogOverflowPolicy());
+	}
+
+	/**
+	 * <p>出力先生成</p>
+	 *
+	 * @param  className 出力先クラス名（nullの場合は標準出力）
+	 * @return 出力先
+	 * @throws RuntimeException 出力先クラスのインスタンス生成に失敗した場合
+	 */
+	private static LogSink createSink(String className) {
+		if (className == null || className.trim().isEmpty()) {
+			return new StandardOutputLogSink();
+		}
 		try {
-			bufferedWriter.write(str);
-			bufferedWriter.write(System.lineSeparator());
-			bufferedWriter.flush();
-		} catch (IOException ioe) {
-			ioe.printStackTrace();
-			throw new RuntimeException(ioe.getMessage(), ioe);
+			return (LogSink) Class.forName(className.trim()).getConstructor().newInstance();
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new RuntimeException(e.getMessage(), e);
 		}
 	}
 }
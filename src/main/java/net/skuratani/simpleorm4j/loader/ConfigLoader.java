@@ -2,8 +2,20 @@ package net.skuratani.simpleorm4j.loader;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.Properties;
 
+import net.skuratani.simpleorm4j.io.StandartOutput;
 import net.skuratani.simpleorm4j.vo.ConfigVO;
 
 /**
@@ -11,6 +23,10 @@ import net.skuratani.simpleorm4j.vo.ConfigVO;
  * <pre>
  * 設定ファイル（so4j.xml）からデータベース情報（DNS・URL・ユーザ・パスワードなど）の
  * 読み込みを実行するクラス。
+ * 設定ファイルは1度だけ読み込み、不変の設定ファイルVO（スナップショット）として保持する。
+ * {@link ConfigLoader#getConfig()}は保持したスナップショットを返却する（volatileフィールドの読み込みのみ）。
+ * 設定ファイルのconfigWatchにtrueを指定した場合は、設定ファイルの変更を監視して再読み込みし、
+ * スナップショットを差し替える。
  * </pre>
  */
 public class ConfigLoader {
@@ -19,21 +35,36 @@ public class ConfigLoader {
 	protected static final String CONFIG_FILE_NAME = "so4j.xml";
 
 	/** 設定ファイルローダ */
-	protected static ConfigLoader _configLoader = new ConfigLoader();
+	protected static volatile ConfigLoader _configLoader = new ConfigLoader();
+
+	/** 設定ファイルVO（スナップショット） */
+	protected static volatile ConfigVO _config = _configLoader._snapshot;
+
+	/** 設定ファイル監視スレッド */
+	private static Thread _watcher;
 
 	/** 設定ファイルプロパティ */
 	protected Properties _properties = new Properties();
 
+	/** 読み込んだ設定ファイルVO */
+	protected final ConfigVO _snapshot;
+
+	static {
+		if (_config.isConfigWatch()) {
+			startWatch();
+		}
+	}
+
 	/**
 	 * コンストラクタ
 	 */
 	protected ConfigLoader() {
-		try {
-			InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(CONFIG_FILE_NAME);
+		try (InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(CONFIG_FILE_NAME)) {
 			_properties.loadFromXML(inputStream);
 		} catch (IOException ioe) {
 			throw new RuntimeException(ioe.getMessage(), ioe);
 		}
+		_snapshot = ConfigVO.mapProps(_properties);
 	}
 
 	/**
@@ -42,7 +73,120 @@ public class ConfigLoader {
 	 * @return 設定ファイルプロパティをマッピングした設定ファイルVO
 	 */
 	public static ConfigVO getConfig() {
-		return ConfigVO.mapProps(_configLoader.getProperties());
+		return _config;
+	}
+
+	/**
+	 * <p>設定ファイル再読み込み</p>
+	 * <pre>
+	 * 設定ファイルを読み込み直し、設定ファイルVOを差し替える。
+	 * 読み込みに失敗した場合は、差し替えずに現在の設定ファイルVOを使用する。
+	 * 再読み込み後の設定は、以降に参照する箇所（冗長モード・フェッチサイズ・バッチサイズ・キャッシュサイズ等）に反映される。
+	 * コネクションプール・ステートメントキャッシュの設定など、生成時に参照する設定は既存のインスタンスには反映されない。
+	 * </pre>
+	 *
+	 * @return 再読み込み後の設定ファイルVO
+	 * @throws RuntimeException 設定ファイルの読み込みに失敗した場合
+	 */
+	public static synchronized ConfigVO reload() {
+		ConfigLoader configLoader = new ConfigLoader();
+		_configLoader = configLoader;
+		_config       = configLoader._snapshot;
+
+		// デバッグ情報
+		if (_config.isVerbose()) {
+			StandartOutput.writeln("SimpleORM4J : reload config : " + CONFIG_FILE_NAME);
+		}
+
+		return _config;
+	}
+
+	/**
+	 * <p>設定ファイル監視開始</p>
+	 * <pre>
+	 * 設定ファイルのあるディレクトリを監視するデーモンスレッドを開始し、設定ファイルの変更時に再読み込みする。
+	 * 設定ファイルがファイルシステム上に存在しない場合（jarファイル内など）は監視しない。
+	 * 監視中の場合は何もしない。
+	 * </pre>
+	 */
+	public static synchronized void startWatch() {
+		if (_watcher != null) {
+			return;
+		}
+		Path configFile = findConfigFile();
+		if (configFile == null) {
+			return;
+		}
+		_watcher = new Thread(() -> watch(configFile), "SimpleORM4J-config-watcher");
+		_watcher.setDaemon(true);
+		_watcher.start();
+	}
+
+	/**
+	 * <p>設定ファイル監視終了</p>
+	 */
+	public static synchronized void stopWatch() {
+		if (_watcher != null) {
+			_watcher.interrupt();
+			_watcher = null;
+		}
+	}
+
+	/**
+	 * <p>設定ファイルパス取得</p>
+	 *
+	 * @return 設定ファイルのパス（ファイルシステム上に存在しない場合はnull）
+	 */
+	protected static Path findConfigFile() {
+		URL url = ConfigLoader.class.getClassLoader().getResource(CONFIG_FILE_NAME);
+		if (url == null || !"file".equals(url.getProtocol())) {
+			return null;
+		}
+		try {
+			Path path = Paths.get(url.toURI());
+			return Files.isRegularFile(path) ? path : null;
+		} catch (URISyntaxException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>設定ファイル監視処理</p>
+	 * <pre>
+	 * 設定ファイルの作成・変更イベントを検知した場合に再読み込みする。
+	 * 書き込み途中などで読み込みに失敗した場合は、次の変更イベントで再度読み込む。
+	 * </pre>
+	 *
+	 * @param configFile 設定ファイルのパス
+	 */
+	private static void watch(Path configFile) {
+		try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+			configFile.getParent().register(watchService,
+					StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+			while (!Thread.currentThread().isInterrupted()) {
+				WatchKey key = watchService.take();
+				boolean changed = false;
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (configFile.getFileName().equals(event.context())) {
+						changed = true;
+					}
+				}
+				if (changed) {
+					try {
+						reload();
+					} catch (RuntimeException e) {
+						StandartOutput.writeln("SimpleORM4J : failed to reload config : " + e.getMessage());
+					}
+				}
+				if (!key.reset()) {
+					break;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// 監視終了
+		} catch (IOException ioe) {
+			StandartOutput.writeln("SimpleORM4J : failed to watch config : " + ioe.getMessage());
+		}
 	}
 
 	/**
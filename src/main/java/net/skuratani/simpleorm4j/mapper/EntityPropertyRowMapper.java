@@ -1,16 +1,16 @@
 package net.skuratani.simpleorm4j.mapper;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
-import net.skuratani.simpleorm4j.annotation.Column;
+import net.skuratani.simpleorm4j.cache.IdentityMap;
 import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
 
 /**
  * <p>エンティティプロパティROWマッパ</p>
@@ -31,17 +31,62 @@ public class EntityPropertyRowMapper<T> implements IfRowMapper<T> {
 	/** マッピング対象クラス */
 	protected Class<T> _clazz;
 
+	/** エンティティメタデータ */
+	protected EntityMetadata _metadata;
+
+	/** デフォルトコンストラクタ */
+	protected Constructor<T> _constructor;
+
+	/** マッピングプランの生成元リザルトセット */
+	protected ResultSet _planResultSet;
+
+	/** マッピングプラン */
+	protected MappingPlan _plan;
+
+	/** マッピングプラン固定フラグ（全てのリザルトセットに同じマッピングプランを使用する） */
+	protected boolean _planFixed;
+
+	/** 識別マップ（nullの場合は識別マップを使用しない） */
+	protected IdentityMap _identityMap;
+
+	/** 本マッパで生成して識別マップに登録したインスタンス（管理済みインスタンスを計数しない場合はnull） */
+	protected Set<Object> _mappedSet;
+
+	/** 識別マップから返却した管理済みインスタンス数（本マッパで生成したインスタンスを除く） */
+	protected int _managedCount;
+
 	/**
 	 * <p>コンストラクタ</p>
 	 *
 	 * @param clazz マッピングエンティティクラス
 	 */
 	public EntityPropertyRowMapper(Class<T> clazz) {
-		_clazz = clazz;
+		_clazz    = clazz;
+		_metadata = EntityMetadataRegistry.get(clazz);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * 生成済みのマッピングプランを全てのリザルトセットに使用する。
+	 * 同じSQL文（検索カラムの並びが同じ）のリザルトセットのみをマッピングする場合に使用する。
+	 * </pre>
+	 *
+	 * @param clazz マッピングエンティティクラス
+	 * @param plan  マッピングプラン
+	 */
+	public EntityPropertyRowMapper(Class<T> clazz, MappingPlan plan) {
+		this(clazz);
+		_plan      = plan;
+		_planFixed = true;
 	}
 
 	/**
 	 * <p>ROWマップ処理</p>
+	 * <pre>
+	 * リザルトセット毎に、最初のROWのマッピング時にマッピングプランを生成し、
+	 * 以降のROWはマッピングプランに従ってマッピングする。
+	 * </pre>
 	 *
 	 * @param  resultSet リザルトセット
 	 * @return マッピングインスタンス
@@ -51,56 +96,36 @@ public class EntityPropertyRowMapper<T> implements IfRowMapper<T> {
 	 *                       エンティティフィールドのセッタメソッドの実行に失敗した場合
 	 */
 	public T mapRow(ResultSet resultSet) throws So4jException {
+		return this.mapRow(resultSet, null);
+	}
 
-		try {
-			// フィールドリスト
-			Field[] fields = this.getAllFields();
-			// メタデータ
-			ResultSetMetaData rsmd = resultSet.getMetaData();
+	/**
+	 * <p>ROWマップ処理（インスタンス再利用）</p>
+	 * <pre>
+	 * 引数のインスタンスのプロパティに、ROWデータを上書きしてマッピングする。
+	 * 検索カラムに対応しないプロパティは、前のROWの値のまま変更しない。
+	 * </pre>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @param  instance  再利用するインスタンス（nullの場合は新しいインスタンスを生成する）
+	 * @return マッピングインスタンス
+	 * @throws So4jException クラスインスタンスの生成の失敗した場合<br>
+	 * 　　　　　　　　　　    リザルトセットからメタデータの取得に失敗した場合<br>
+	 *                       エンティティフィールドのセッタメソッドの実行に失敗した場合
+	 */
+	@Override
+	public T mapRow(ResultSet resultSet, T instance) throws So4jException {
 
+		try {
+			// 識別マップ
+			if (instance == null && _identityMap != null) {
+				return this.mapIdentity(resultSet);
+			}
 			// ユーザインスタンス
-			T instance = _clazz.getConstructor().newInstance();
-			for (int i = 1; i <= rsmd.getColumnCount(); i++) {
-				for (Field field : fields) {
-					if (   rsmd.getColumnName(i).equals(field.getName())
-						|| rsmd.getColumnName(i).equals(
-								field.getAnnotation(Column.class) != null
-									? field.getAnnotation(Column.class).name() : "")) {
-
-						PropertyDescriptor prop = new PropertyDescriptor(field.getName(), instance.getClass());
-						Method setter = prop.getWriteMethod();
-						// String型
-						if (field.getType().getSimpleName().equals("String")) {
-							setter.invoke(instance, String.valueOf(resultSet.getString(i)));
-						// int型
-						} else if (   field.getType().getSimpleName().equals("int")
-								   || field.getType().getSimpleName().equals("Integer")) {
-							setter.invoke(instance, Integer.valueOf(resultSet.getInt(i)));
-						// long型
-						} else if (   field.getType().getSimpleName().equals("long")
-								   || field.getType().getSimpleName().equals("Long")) {
-							setter.invoke(instance, Long.valueOf(resultSet.getInt(i)));
-						// float型
-						} else if (   field.getType().getSimpleName().equals("float")
-								   || field.getType().getSimpleName().equals("Float")) {
-							setter.invoke(instance, Float.valueOf(resultSet.getInt(i)));
-						// double型
-						} else if (   field.getType().getSimpleName().equals("double")
-								   || field.getType().getSimpleName().equals("Double")) {
-							setter.invoke(instance, Double.valueOf(resultSet.getInt(i)));
-						// LocalDate型
-						} else if (field.getType().getSimpleName().equals("LocalDate")) {
-							setter.invoke(instance, resultSet.getDate(i).toLocalDate());
-						// LocalDateTime型
-						} else if (field.getType().getSimpleName().equals("LocalDateTime")) {
-							setter.invoke(instance, resultSet.getTimestamp(i).toLocalDateTime());
-						// その他
-						} else {
-							setter.invoke(instance, resultSet.getObject(i));
-						}
-					}
-				}
+			if (instance == null) {
+				instance = this.newInstance();
 			}
+			this.getMappingPlan(resultSet).apply(instance, resultSet);
 			return instance;
 		} catch (Exception e) {
 			throw new So4jException(e.getMessage(), e);
@@ -108,19 +133,132 @@ public class EntityPropertyRowMapper<T> implements IfRowMapper<T> {
 	}
 
 	/**
-	 * <p>全フィールドの配列を取得</p>
+	 * <p>ROWマップ処理（識別マップ）</p>
 	 * <pre>
-	 * コンストラクタ引数のクラスに定義されている全フィールド配列を取得する。
-	 * ※スーパークラスも含めて全て取得する。
+	 * 識別マップに同じ主キーのインスタンスを保持している場合は、保持しているインスタンスを返却する（ROWデータで上書きしない）。
+	 * 保持していない場合は、新しいインスタンスにマッピングして識別マップに登録する。
+	 *    1. 主キーがint・long型の1カラムの場合は、インスタンスを生成する前に主キーのカラム値のみで識別マップを検索する
+	 *    2. エンティティの一部のプロパティのみを検索した場合は、識別マップを使用しない
 	 * </pre>
 	 *
-	 * @return フィールド配列
+	 * @param  resultSet リザルトセット
+	 * @return マッピングインスタンス
+	 * @throws SQLException                 カラム値の取得に失敗した場合
+	 * @throws ReflectiveOperationException インスタンスの生成・セッタメソッドの実行に失敗した場合
+	 */
+	protected T mapIdentity(ResultSet resultSet) throws SQLException, ReflectiveOperationException {
+		MappingPlan plan = this.getMappingPlan(resultSet);
+		int[] idIndexes = plan.getIdIndexes();
+		if (idIndexes != null && idIndexes.length == 1 && _identityMap.isNumericId(_clazz)) {
+			long id = resultSet.getLong(idIndexes[0]);
+			Object current = resultSet.wasNull() ? null : _identityMap.get(_clazz, id);
+			if (current != null) {
+				this.countManaged(current);
+				return _clazz.cast(current);
+			}
+		}
+		T instance = this.newInstance();
+		plan.apply(instance, resultSet);
+		if (idIndexes == null) {
+			return instance;
+		}
+		Object current = _identityMap.putIfAbsent(instance);
+		if (current == instance) {
+			if (_mappedSet != null) {
+				_mappedSet.add(instance);
+			}
+		} else {
+			this.countManaged(current);
+		}
+		return _clazz.cast(current);
+	}
+
+	/**
+	 * <p>管理済みインスタンス計数</p>
+	 *
+	 * @param current 識別マップから返却するインスタンス
+	 */
+	private void countManaged(Object current) {
+		if (_mappedSet != null && !_mappedSet.contains(current)) {
+			_managedCount++;
+		}
+	}
+
+	/**
+	 * <p>識別マップ設定</p>
+	 * <pre>
+	 * 識別マップを設定した場合、{@link EntityPropertyRowMapper#mapRow(ResultSet)}は同じ主キーのROWに
+	 * 同じインスタンスを返却する。インスタンスを再利用するマッピングには使用しない。
+	 * </pre>
+	 *
+	 * @param identityMap 識別マップ（nullの場合は使用しない）
+	 */
+	public void setIdentityMap(IdentityMap identityMap) {
+		_identityMap = identityMap;
+	}
+
+	/**
+	 * <p>管理済みインスタンス計数設定</p>
+	 * <pre>
+	 * 識別マップが保持していたインスタンス（本マッパで生成したインスタンス以外）を返却した件数を計数する。
+	 * 管理済みインスタンスはROWデータで上書きしない為、プロパティ値がROWデータと一致するとは限らない。
+	 * クエリ結果キャッシュへの登録可否の判定に使用する。
+	 * </pre>
+	 *
+	 * @param countManaged true : 計数する、false : 計数しない
+	 */
+	public void setCountManaged(boolean countManaged) {
+		_mappedSet    = countManaged ? Collections.newSetFromMap(new IdentityHashMap<>()) : null;
+		_managedCount = 0;
+	}
+
+	/**
+	 * <p>管理済みインスタンス数取得</p>
+	 *
+	 * @return 識別マップから返却した管理済みインスタンス数（計数しない場合は0）
+	 */
+	public int getManagedCount() {
+		return _managedCount;
+	}
+
+	/**
+	 * <p>マッピングプラン取得</p>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @return マッピングプラン（リザルトセットが切り替わった場合は再生成する）
+	 * @throws SQLException リザルトセットからメタデータの取得に失敗した場合
+	 */
+	protected MappingPlan getMappingPlan(ResultSet resultSet) throws SQLException {
+		if (_planFixed) {
+			return _plan;
+		}
+		if (_plan == null || _planResultSet != resultSet) {
+			_plan          = MappingPlan.create(_metadata, resultSet.getMetaData());
+			_planResultSet = resultSet;
+		}
+		return _plan;
+	}
+
+	/**
+	 * <p>マッピングプラン取得</p>
+	 *
+	 * @return 最後にマッピングしたリザルトセットのマッピングプラン（未マッピングの場合はnull）
+	 */
+	public MappingPlan getMappingPlan() {
+		return _plan;
+	}
+
+	/**
+	 * <p>インスタンス生成</p>
+	 *
+	 * @return マッピングインスタンス
+	 * @throws ReflectiveOperationException デフォルトコンストラクタが存在しない場合<br>
+	 *                                      インスタンスの生成に失敗した場合
 	 */
-	protected Field[] getAllFields() {
-		List<Field> fieldList = new ArrayList<Field>();
-		for (Class<?> clazz = _clazz; clazz != null; clazz = clazz.getSuperclass()) {
-			fieldList.addAll(Arrays.asList(clazz.getDeclaredFields()));
+	protected T newInstance() throws ReflectiveOperationException {
+		if (_constructor == null) {
+			_constructor = _clazz.getConstructor();
 		}
-		return fieldList.toArray(new Field[0]);
+		return _constructor.newInstance();
 	}
 }
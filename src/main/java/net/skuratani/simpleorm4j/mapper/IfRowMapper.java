@@ -20,4 +20,20 @@ public interface IfRowMapper<T> {
 	 * @throws So4jException SimpleORM4J例外
 	 */
 	public T mapRow(ResultSet resultSet) throws So4jException;
+
+	/**
+	 * <p>ROWマップ処理（インスタンス再利用）</p>
+	 * <pre>
+	 * 引数のインスタンスにROWデータを上書きしてマッピングする。
+	 * インスタンスを再利用できないROWマッパは、新しいインスタンスにマッピングする。
+	 * </pre>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @param  instance  再利用するインスタンス（nullの場合は新しいインスタンスにマッピングする）
+	 * @return マップ済みインスタンス
+	 * @throws So4jException SimpleORM4J例外
+	 */
+	public default T mapRow(ResultSet resultSet, T instance) throws So4jException {
+		return this.mapRow(resultSet);
+	}
 }
@@ -2,6 +2,7 @@ package net.skuratani.simpleorm4j.mapper;
 
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,6 +21,12 @@ public class MapRowMapper<T> implements IfRowMapper<T> {
 	/** マッピング対象クラス */
 	protected Class<T> _clazz;
 
+	/** カラムラベルの取得元リザルトセット */
+	protected ResultSet _labelResultSet;
+
+	/** カラムラベル */
+	protected String[] _labels;
+
 	/**
 	 * <p>コンストラクタ</p>
 	 *
@@ -37,40 +44,67 @@ public class MapRowMapper<T> implements IfRowMapper<T> {
 	 * @throws So4jException リザルトセットからメタデータの取得に失敗した場合<br>
 	 *                       リザルトセットからデータの取得に失敗した場合
 	 */
-	@SuppressWarnings("unchecked")
 	public T mapRow(ResultSet resultSet) throws So4jException {
+		return this.mapRow(resultSet, null);
+	}
+
+	/**
+	 * <p>ROWマップ処理（インスタンス再利用）</p>
+	 * <pre>
+	 * 引数のMapをクリアして、ROWデータをマッピングする。
+	 * </pre>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @param  instance  再利用するMap（nullの場合は新しいMapを生成する）
+	 * @return マッピングインスタンス
+	 * @throws So4jException リザルトセットからメタデータの取得に失敗した場合<br>
+	 *                       リザルトセットからデータの取得に失敗した場合
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T mapRow(ResultSet resultSet, T instance) throws So4jException {
 
 		try {
-			// メタデータ
-			ResultSetMetaData rsmd = resultSet.getMetaData();
+			// カラムラベル
+			String[] labels = this.getColumnLabels(resultSet);
 
 			// ユーザインスタンス
-			Map<String, Object> rowMap = new HashMap<>();
-			for (int i = 1; i <= rsmd.getColumnCount(); i++) {
-				String key = rsmd.getColumnLabel(i);
-				// String型
-				if (resultSet.getObject(i) instanceof String) {
-					rowMap.put(key, String.valueOf(resultSet.getString(i)));
-				// int型
-				} else if (resultSet.getObject(i) instanceof Integer) {
-					rowMap.put(key, Integer.valueOf(resultSet.getInt(i)));
-				// long型
-				} else if (resultSet.getObject(i) instanceof Long) {
-					rowMap.put(key, Long.valueOf(resultSet.getInt(i)));
-				// float型
-				} else if (resultSet.getObject(i) instanceof Float) {
-					rowMap.put(key, Float.valueOf(resultSet.getInt(i)));
-				// double型
-				} else if (resultSet.getObject(i) instanceof Double) {
-					rowMap.put(key, Double.valueOf(resultSet.getInt(i)));
-				// その他
-				} else {
-					rowMap.put(key, resultSet.getObject(i));
-				}
+			Map<String, Object> rowMap;
+			if (instance == null) {
+				rowMap = new HashMap<>(labels.length * 4 / 3 + 1);
+			} else {
+				rowMap = (Map<String, Object>) instance;
+				rowMap.clear();
+			}
+			for (int i = 1; i <= labels.length; i++) {
+				rowMap.put(labels[i - 1], resultSet.getObject(i));
 			}
 			return (T) rowMap;
 		} catch (Exception e) {
 			throw new So4jException(e.getMessage(), e);
 		}
 	}
+
+	/**
+	 * <p>カラムラベル取得</p>
+	 * <pre>
+	 * リザルトセット毎に、最初のROWのマッピング時にメタデータからカラムラベルを取得して保持する。
+	 * </pre>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @return カラムラベル配列（カラムインデックス - 1の順）
+	 * @throws SQLException リザルトセットからメタデータの取得に失敗した場合
+	 */
+	protected String[] getColumnLabels(ResultSet resultSet) throws SQLException {
+		if (_labels == null || _labelResultSet != resultSet) {
+			ResultSetMetaData rsmd = resultSet.getMetaData();
+			String[] labels = new String[rsmd.getColumnCount()];
+			for (int i = 1; i <= labels.length; i++) {
+				labels[i - 1] = rsmd.getColumnLabel(i);
+			}
+			_labels         = labels;
+			_labelResultSet = resultSet;
+		}
+		return _labels;
+	}
 }
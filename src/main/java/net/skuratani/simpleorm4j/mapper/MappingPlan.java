@@ -0,0 +1,203 @@
+package net.skuratani.simpleorm4j.mapper;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+
+/**
+ * <p>マッピングプランクラス</p>
+ * <pre>
+ * リザルトセットのカラムとエンティティのプロパティの対応を、リザルトセットのメタデータから1度だけ解決し、
+ * カラムインデックスとプロパティの型に応じたセッタ（スロット）の配列として保持する。
+ * ROW毎のマッピングは、メタデータの参照・カラム名の比較を行わずにスロットの配列を順に実行する。
+ * </pre>
+ */
+public final class MappingPlan {
+
+	/** カラムインデックス（スロットの順） */
+	private final int[] _indexes;
+
+	/** スロット */
+	private final Slot[] _slots;
+
+	/** 主キーのカラムインデックス（主キーの順、エンティティの全プロパティをマッピングしない場合はnull） */
+	private final int[] _idIndexes;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param indexes   カラムインデックス
+	 * @param slots     スロット
+	 * @param idIndexes 主キーのカラムインデックス
+	 */
+	private MappingPlan(int[] indexes, Slot[] slots, int[] idIndexes) {
+		_indexes   = indexes;
+		_slots     = slots;
+		_idIndexes = idIndexes;
+	}
+
+	/**
+	 * <p>マッピングプラン生成</p>
+	 * <pre>
+	 * リザルトセットの全カラムを対象として、マッピングプランを生成する。
+	 * </pre>
+	 *
+	 * @param  metadata エンティティメタデータ
+	 * @param  rsmd     リザルトセットのメタデータ
+	 * @return マッピングプラン
+	 * @throws SQLException メタデータの取得に失敗した場合
+	 */
+	public static MappingPlan create(EntityMetadata metadata, ResultSetMetaData rsmd) throws SQLException {
+		return create(metadata, rsmd, 1, rsmd.getColumnCount());
+	}
+
+	/**
+	 * <p>マッピングプラン生成</p>
+	 * <pre>
+	 * リザルトセットの指定範囲のカラムを対象として、マッピングプランを生成する。
+	 * 検索カラム名と一致するフィールド名、又はColumnアノテーションのname属性を持つプロパティにマッピングする。
+	 * </pre>
+	 *
+	 * @param  metadata  エンティティメタデータ
+	 * @param  rsmd      リザルトセットのメタデータ
+	 * @param  fromIndex 開始カラムインデックス（1始まり、範囲に含む）
+	 * @param  toIndex   終了カラムインデックス（範囲に含む）
+	 * @return マッピングプラン
+	 * @throws SQLException メタデータの取得に失敗した場合
+	 */
+	public static MappingPlan create(EntityMetadata metadata, ResultSetMetaData rsmd, int fromIndex, int toIndex)
+			throws SQLException {
+		List<Integer> indexList = new ArrayList<>();
+		List<Slot> slotList = new ArrayList<>();
+		List<ColumnMetadata> idColumnList = metadata.getIdColumnList();
+		int[] idIndexes = new int[idColumnList.size()];
+		Set<ColumnMetadata> mappedColumns = new HashSet<>();
+		for (int i = fromIndex; i <= toIndex; i++) {
+			ColumnMetadata[] columns = metadata.getMappingColumns(rsmd.getColumnName(i));
+			if (columns == null) {
+				continue;
+			}
+			for (ColumnMetadata column : columns) {
+				indexList.add(i);
+				slotList.add(createSlot(column));
+				if (mappedColumns.add(column) && column.isId()) {
+					idIndexes[idColumnList.indexOf(column)] = i;
+				}
+			}
+		}
+		int[] indexes = new int[indexList.size()];
+		for (int i = 0; i < indexes.length; i++) {
+			indexes[i] = indexList.get(i);
+		}
+		boolean identifiable = !idColumnList.isEmpty()
+								&& mappedColumns.containsAll(idColumnList)
+								&& mappedColumns.containsAll(metadata.getMappingColumnList());
+		return new MappingPlan(indexes, slotList.toArray(new Slot[0]), identifiable ? idIndexes : null);
+	}
+
+	/**
+	 * <p>スロット生成</p>
+	 * <pre>
+	 * プロパティ型種別に応じて、リザルトセットからカラム値を取得してプロパティに設定するスロットを生成する。
+	 * int・long・double型のプロパティは、値をボクシングせずに設定する。
+	 * </pre>
+	 *
+	 * @param  column カラムメタデータ
+	 * @return スロット
+	 */
+	static Slot createSlot(ColumnMetadata column) {
+		switch (column.getPropertyType()) {
+			// String型
+			case STRING:
+				return (instance, rs, index) -> column.setValue(instance, String.valueOf(rs.getString(index)));
+			// int型
+			case INT:
+				return (instance, rs, index) -> column.setInt(instance, rs.getInt(index));
+			// long型
+			case LONG:
+				return (instance, rs, index) -> column.setLong(instance, rs.getLong(index));
+			// float型
+			case FLOAT:
+				return (instance, rs, index) -> column.setValue(instance, Float.valueOf(rs.getFloat(index)));
+			// double型
+			case DOUBLE:
+				return (instance, rs, index) -> column.setDouble(instance, rs.getDouble(index));
+			// LocalDate型
+			case LOCAL_DATE:
+				return (instance, rs, index) -> column.setValue(instance, rs.getDate(index).toLocalDate());
+			// LocalDateTime型
+			case LOCAL_DATE_TIME:
+				return (instance, rs, index) -> column.setValue(instance, rs.getTimestamp(index).toLocalDateTime());
+			// その他
+			default:
+				return (instance, rs, index) -> column.setValue(instance, rs.getObject(index));
+		}
+	}
+
+	/**
+	 * <p>ROWマッピング</p>
+	 * <pre>
+	 * リザルトセットの現在のROWの値を、インスタンスのプロパティに設定する。
+	 * </pre>
+	 *
+	 * @param  instance  マッピングインスタンス
+	 * @param  resultSet リザルトセット
+	 * @throws SQLException                 カラム値の取得に失敗した場合
+	 * @throws ReflectiveOperationException セッタメソッドの実行に失敗した場合
+	 */
+	public void apply(Object instance, ResultSet resultSet) throws SQLException, ReflectiveOperationException {
+		for (int i = 0; i < _slots.length; i++) {
+			_slots[i].set(instance, resultSet, _indexes[i]);
+		}
+	}
+
+	/**
+	 * <p>主キーカラムインデックス取得</p>
+	 * <pre>
+	 * エンティティの全てのプロパティ（主キーを含む）をマッピングする場合のみ、主キーのカラムインデックスを返却する。
+	 * 一部のプロパティのみを検索した場合は、識別マップに登録できない（不完全なインスタンスになる）為、nullとする。
+	 * </pre>
+	 *
+	 * @return 主キーのカラムインデックス（主キーの順、エンティティの全プロパティをマッピングしない場合はnull）
+	 */
+	int[] getIdIndexes() {
+		return _idIndexes;
+	}
+
+	/**
+	 * <p>スロット数取得</p>
+	 *
+	 * @return スロット数（マッピングするプロパティ数）
+	 */
+	public int size() {
+		return _slots.length;
+	}
+
+	/**
+	 * <p>スロット</p>
+	 * <pre>
+	 * リザルトセットの1カラムの値を、プロパティの型に応じた取得メソッドで取得して設定する。
+	 * </pre>
+	 */
+	@FunctionalInterface
+	interface Slot {
+
+		/**
+		 * <p>カラム値設定</p>
+		 *
+		 * @param  instance  マッピングインスタンス
+		 * @param  resultSet リザルトセット
+		 * @param  index     カラムインデックス
+		 * @throws SQLException                 カラム値の取得に失敗した場合
+		 * @throws ReflectiveOperationException セッタメソッドの実行に失敗した場合
+		 */
+		void set(Object instance, ResultSet resultSet, int index) throws SQLException, ReflectiveOperationException;
+	}
+}
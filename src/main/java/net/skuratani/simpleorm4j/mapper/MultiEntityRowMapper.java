@@ -0,0 +1,387 @@
+package net.skuratani.simpleorm4j.mapper;
+
+import java.lang.reflect.Constructor;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import net.skuratani.simpleorm4j.cache.IdentityMap;
+import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+import net.skuratani.simpleorm4j.metadata.RelationMetadata;
+import net.skuratani.simpleorm4j.persistence.LazyList;
+
+/**
+ * <p>複数エンティティROWマッパ</p>
+ * <pre>
+ * 複数のエンティティクラスを指定して結合した検索ROWデータを、エンティティクラス毎のカラム範囲から
+ * 各エンティティにマッピングし、エンティティの配列（指定順）を返却する。
+ *    1. 検索カラムは、指定したエンティティクラスの順に各エンティティの全カラムを並べたものとする
+ *       （異なるテーブルの同じ名前のカラムは、カラム範囲で区別する）
+ *    2. 同じリザルトセットで同じ主キーのROWには、同じインスタンスを返却する（親エンティティの重複排除）
+ *    3. 主キーがnullのカラム範囲（外部結合で結合先がないROW）は、nullとする
+ *    4. 同じROWのエンティティ間に関連（ManyToOne・OneToMany）がある場合は、外部キーの値が一致する
+ *       関連エンティティを関連フィールドに設定する（1回の検索でオブジェクトグラフを組み立てる）
+ * (ex.) select(School.class, Student.class) → [School, Student]
+ * </pre>
+ */
+public class MultiEntityRowMapper implements IfRowMapper<Object[]> {
+
+	/** マッピング対象クラス（指定順） */
+	protected final Class<?>[] _classes;
+
+	/** エンティティメタデータ（指定順） */
+	protected final EntityMetadata[] _metadata;
+
+	/** デフォルトコンストラクタ（指定順） */
+	protected final Constructor<?>[] _constructors;
+
+	/** 同じROWのエンティティ間の関連 */
+	protected final List<Link> _linkList = new ArrayList<>();
+
+	/** マッピングプランの生成元リザルトセット */
+	protected ResultSet _planResultSet;
+
+	/** マッピングプラン（指定順） */
+	protected MappingPlan[] _plans;
+
+	/** カラム範囲（指定順、開始カラムインデックス・終了カラムインデックス） */
+	protected int[][] _ranges;
+
+	/** マッピング済みインスタンス（指定順、主キー毎、リザルトセット毎に破棄） */
+	protected List<Map<Object, Object>> _instanceMapList;
+
+	/** 識別マップ（nullの場合は識別マップを使用しない） */
+	protected IdentityMap _identityMap;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param classes マッピングエンティティクラス（検索カラムの順）
+	 */
+	public MultiEntityRowMapper(Class<?>... classes) {
+		_classes      = classes.clone();
+		_metadata     = new EntityMetadata[classes.length];
+		_constructors = new Constructor<?>[classes.length];
+		for (int i = 0; i < classes.length; i++) {
+			_metadata[i] = EntityMetadataRegistry.get(classes[i]);
+		}
+		for (int i = 0; i < classes.length; i++) {
+			for (RelationMetadata relation : _metadata[i].getRelationList()) {
+				for (int j = 0; j < classes.length; j++) {
+					if (i != j && relation.getTargetClass() == classes[j]) {
+						Link link = Link.create(relation, i, _metadata[i], j, _metadata[j]);
+						if (link != null) {
+							_linkList.add(link);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>ROWマップ処理</p>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @return エンティティ配列（指定順、結合先がない場合の要素はnull）
+	 * @throws So4jException 検索カラム数がエンティティのカラム数の合計と一致しない場合<br>
+	 *                       クラスインスタンスの生成の失敗した場合<br>
+	 *                       リザルトセットからデータの取得に失敗した場合<br>
+	 *                       エンティティフィールドのセッタメソッドの実行に失敗した場合
+	 */
+	@Override
+	public Object[] mapRow(ResultSet resultSet) throws So4jException {
+
+		try {
+			MappingPlan[] plans = this.getMappingPlans(resultSet);
+			Object[] row = new Object[_classes.length];
+			for (int i = 0; i < row.length; i++) {
+				row[i] = this.mapEntity(i, plans[i], resultSet);
+			}
+			for (Link link : _linkList) {
+				link.apply(row);
+			}
+			return row;
+		} catch (So4jException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>エンティティマッピング</p>
+	 * <pre>
+	 * 同じリザルトセットでマッピング済み、又は識別マップに保持している同じ主キーのインスタンスがある場合は、
+	 * 保持しているインスタンスを返却する（ROWデータで上書きしない）。
+	 * </pre>
+	 *
+	 * @param  index     エンティティクラスのインデックス（指定順）
+	 * @param  plan      マッピングプラン
+	 * @param  resultSet リザルトセット
+	 * @return エンティティインスタンス（主キー、又は全てのカラム値がnullの場合はnull）
+	 * @throws SQLException                 カラム値の取得に失敗した場合
+	 * @throws ReflectiveOperationException インスタンスの生成・セッタメソッドの実行に失敗した場合
+	 */
+	protected Object mapEntity(int index, MappingPlan plan, ResultSet resultSet)
+			throws SQLException, ReflectiveOperationException {
+
+		// 主キーを解決できない場合（一部のプロパティのみマッピングする場合）は、重複排除しない
+		int[] idIndexes = plan.getIdIndexes();
+		if (idIndexes == null) {
+			for (int i = _ranges[index][0]; i <= _ranges[index][1]; i++) {
+				if (resultSet.getObject(i) != null) {
+					Object instance = this.newInstance(index);
+					plan.apply(instance, resultSet);
+					return instance;
+				}
+			}
+			return null;
+		}
+
+		Object[] ids = new Object[idIndexes.length];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = resultSet.getObject(idIndexes[i]);
+			if (ids[i] == null) {
+				return null;
+			}
+		}
+		Map<Object, Object> instanceMap = _instanceMapList.get(index);
+		Object key = IdentityMap.toKey(ids);
+		Object instance = instanceMap.get(key);
+		if (instance == null) {
+			instance = _identityMap != null ? _identityMap.get(_classes[index], ids) : null;
+			if (instance == null) {
+				instance = this.newInstance(index);
+				plan.apply(instance, resultSet);
+				if (_identityMap != null) {
+					instance = _identityMap.putIfAbsent(instance);
+				}
+			}
+			instanceMap.put(key, instance);
+		}
+		return instance;
+	}
+
+	/**
+	 * <p>識別マップ設定</p>
+	 * <pre>
+	 * 識別マップを設定した場合、エンティティマネージャ内で同じ主キーのROWに同じインスタンスを返却する。
+	 * </pre>
+	 *
+	 * @param identityMap 識別マップ（nullの場合は使用しない）
+	 */
+	public void setIdentityMap(IdentityMap identityMap) {
+		_identityMap = identityMap;
+	}
+
+	/**
+	 * <p>マッピングプラン取得</p>
+	 * <pre>
+	 * リザルトセット毎に、エンティティクラス毎のカラム範囲からマッピングプランを生成する。
+	 * リザルトセットが切り替わった場合は、マッピング済みインスタンス・収集中の関連も破棄する。
+	 * </pre>
+	 *
+	 * @param  resultSet リザルトセット
+	 * @return マッピングプラン（指定順）
+	 * @throws SQLException  リザルトセットからメタデータの取得に失敗した場合
+	 * @throws So4jException 検索カラム数がエンティティのカラム数の合計と一致しない場合
+	 */
+	protected MappingPlan[] getMappingPlans(ResultSet resultSet) throws SQLException, So4jException {
+		if (_plans != null && _planResultSet == resultSet) {
+			return _plans;
+		}
+		ResultSetMetaData rsmd = resultSet.getMetaData();
+		int columnCount = 0;
+		for (EntityMetadata metadata : _metadata) {
+			columnCount += metadata.getColumnList().size();
+		}
+		if (columnCount != rsmd.getColumnCount()) {
+			String message = "mismatch the number of columns."
+								+ " expected : " + columnCount + ", actual : " + rsmd.getColumnCount();
+			throw new So4jException(message, new IllegalArgumentException(message));
+		}
+
+		MappingPlan[] plans = new MappingPlan[_classes.length];
+		int[][] ranges = new int[_classes.length][];
+		List<Map<Object, Object>> instanceMapList = new ArrayList<>(_classes.length);
+		int fromIndex = 1;
+		for (int i = 0; i < plans.length; i++) {
+			int toIndex = fromIndex + _metadata[i].getColumnList().size() - 1;
+			plans[i]  = MappingPlan.create(_metadata[i], rsmd, fromIndex, toIndex);
+			ranges[i] = new int[] { fromIndex, toIndex };
+			instanceMapList.add(new HashMap<>());
+			fromIndex = toIndex + 1;
+		}
+		for (Link link : _linkList) {
+			link.reset();
+		}
+		_plans           = plans;
+		_ranges          = ranges;
+		_instanceMapList = instanceMapList;
+		_planResultSet   = resultSet;
+		return plans;
+	}
+
+	/**
+	 * <p>インスタンス生成</p>
+	 *
+	 * @param  index エンティティクラスのインデックス（指定順）
+	 * @return エンティティインスタンス
+	 * @throws ReflectiveOperationException デフォルトコンストラクタが存在しない場合<br>
+	 *                                      インスタンスの生成に失敗した場合
+	 */
+	protected Object newInstance(int index) throws ReflectiveOperationException {
+		if (_constructors[index] == null) {
+			_constructors[index] = _classes[index].getConstructor();
+		}
+		return _constructors[index].newInstance();
+	}
+
+	/**
+	 * <p>同じROWのエンティティ間の関連</p>
+	 * <pre>
+	 * 関連元・関連先のエンティティが同じROWにあり、外部キーの値が主キーの値と一致する場合に関連を設定する。
+	 *    1. 多対一関連：関連フィールドが未設定の場合に、関連先のエンティティを設定する
+	 *    2. 一対多関連：リザルトセットで初めてマッピングした関連元に取得済みの遅延取得リストを設定し、
+	 *                   以降のROWの関連先のエンティティを重複なく追加する
+	 *                   （関連元が取得済みの遅延取得リストを保持している場合は変更しない）
+	 * 主キーが1カラムでない場合・外部キーのフィールドが存在しない場合は、関連を設定しない。
+	 * </pre>
+	 */
+	protected static final class Link {
+
+		/** 関連メタデータ */
+		private final RelationMetadata _relation;
+
+		/** 関連元のインデックス */
+		private final int _ownerIndex;
+
+		/** 関連先のインデックス */
+		private final int _targetIndex;
+
+		/** 外部キーのカラム（多対一は関連元、一対多は関連先のカラム） */
+		private final ColumnMetadata _joinColumn;
+
+		/** 主キーのカラム（多対一は関連先、一対多は関連元のカラム） */
+		private final ColumnMetadata _idColumn;
+
+		/** 関連元毎の収集中の関連先（一対多のみ、収集しない関連元はnull） */
+		private final Map<Object, Set<Object>> _collectedMap = new IdentityHashMap<>();
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param relation    関連メタデータ
+		 * @param ownerIndex  関連元のインデックス
+		 * @param targetIndex 関連先のインデックス
+		 * @param joinColumn  外部キーのカラム
+		 * @param idColumn    主キーのカラム
+		 */
+		private Link(RelationMetadata relation, int ownerIndex, int targetIndex,
+				ColumnMetadata joinColumn, ColumnMetadata idColumn) {
+			_relation    = relation;
+			_ownerIndex  = ownerIndex;
+			_targetIndex = targetIndex;
+			_joinColumn  = joinColumn;
+			_idColumn    = idColumn;
+		}
+
+		/**
+		 * <p>関連生成</p>
+		 *
+		 * @param  relation       関連メタデータ
+		 * @param  ownerIndex     関連元のインデックス
+		 * @param  ownerMetadata  関連元のエンティティメタデータ
+		 * @param  targetIndex    関連先のインデックス
+		 * @param  targetMetadata 関連先のエンティティメタデータ
+		 * @return 関連（外部キー・主キーを解決できない場合はnull）
+		 */
+		static Link create(RelationMetadata relation, int ownerIndex, EntityMetadata ownerMetadata,
+				int targetIndex, EntityMetadata targetMetadata) {
+			EntityMetadata joinMetadata = relation.isCollection() ? targetMetadata : ownerMetadata;
+			EntityMetadata idMetadata = relation.isCollection() ? ownerMetadata : targetMetadata;
+			ColumnMetadata[] joinColumns = joinMetadata.getMappingColumns(relation.getJoinFieldName());
+			if (joinColumns == null || idMetadata.getIdColumnList().size() != 1) {
+				return null;
+			}
+			return new Link(relation, ownerIndex, targetIndex, joinColumns[0], idMetadata.getIdColumnList().get(0));
+		}
+
+		/**
+		 * <p>リセット</p>
+		 */
+		void reset() {
+			_collectedMap.clear();
+		}
+
+		/**
+		 * <p>関連設定</p>
+		 *
+		 * @param  row エンティティ配列
+		 * @throws ReflectiveOperationException 関連フィールド・外部キー・主キーの値の取得・設定に失敗した場合
+		 */
+		@SuppressWarnings("unchecked")
+		void apply(Object[] row) throws ReflectiveOperationException {
+			Object owner = row[_ownerIndex];
+			Object target = row[_targetIndex];
+			if (owner == null) {
+				return;
+			}
+
+			// 多対一関連
+			if (!_relation.isCollection()) {
+				if (   target != null && _relation.getValue(owner) == null
+					&& matches(_joinColumn.getValue(owner), _idColumn.getValue(target))) {
+					_relation.setValue(owner, target);
+				}
+				return;
+			}
+
+			// 一対多関連
+			Set<Object> collected;
+			if (_collectedMap.containsKey(owner)) {
+				collected = _collectedMap.get(owner);
+			} else {
+				Object current = _relation.getValue(owner);
+				if (current instanceof LazyList && ((LazyList<?>) current).isLoaded()) {
+					collected = null;
+				} else {
+					collected = Collections.newSetFromMap(new IdentityHashMap<>());
+					_relation.setValue(owner, new LazyList<>(new ArrayList<>()));
+				}
+				_collectedMap.put(owner, collected);
+			}
+			if (   collected != null && target != null
+				&& matches(_joinColumn.getValue(target), _idColumn.getValue(owner))
+				&& collected.add(target)) {
+				((List<Object>) _relation.getValue(owner)).add(target);
+			}
+		}
+
+		/**
+		 * <p>キー値一致判定</p>
+		 *
+		 * @param  joinValue 外部キーの値
+		 * @param  idValue   主キーの値
+		 * @return boolean
+		 *           true  : 一致（整数型は型に関わらず値で比較する）
+		 *           false : 上記以外、又は外部キーの値がnull
+		 */
+		private static boolean matches(Object joinValue, Object idValue) {
+			return joinValue != null && idValue != null
+				&& Objects.equals(IdentityMap.toKey(new Object[] { joinValue }), IdentityMap.toKey(new Object[] { idValue }));
+		}
+	}
+}
@@ -0,0 +1,291 @@
+package net.skuratani.simpleorm4j.metadata;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+import net.skuratani.simpleorm4j.annotation.GenerateValue;
+import net.skuratani.simpleorm4j.type.GenerationType;
+
+/**
+ * <p>カラムメタデータクラス</p>
+ * <pre>
+ * エンティティフィールドとデータベースカラムの対応情報を保持する不変クラス。
+ * アノテーション・ゲッタメソッド・セッタメソッドの解決は生成時に1度だけ実行する。
+ * プロパティ値の取得・設定は、生成時に作成したアクセサ（{@link PropertyAccessorFactory}）で行い、
+ * アクセサを作成できなかった場合のみリフレクションで行う。
+ * </pre>
+ */
+public final class ColumnMetadata {
+
+	/** エンティティフィールド */
+	private final Field _field;
+
+	/** カラム名（Columnアノテーションのname属性、又はフィールド名） */
+	private final String _columnName;
+
+	/** テーブル名で修飾したカラム名（テーブル名.カラム名） */
+	private final String _qualifiedName;
+
+	/** ゲッタメソッド（存在しない場合はnull） */
+	private final Method _getter;
+
+	/** セッタメソッド（存在しない場合はnull） */
+	private final Method _setter;
+
+	/** 主キーフラグ */
+	private final boolean _id;
+
+	/** 値自動生成アノテーション（指定されていない場合はnull） */
+	private final GenerateValue _generateValue;
+
+	/** プロパティ型種別 */
+	private final PropertyType _propertyType;
+
+	/** ゲッタ */
+	private final Function<Object, Object> _getterAccessor;
+
+	/** セッタ */
+	private final BiConsumer<Object, Object> _setterAccessor;
+
+	/** int型セッタ（int・Integer型のプロパティ以外はnull） */
+	private final ObjIntConsumer<Object> _intSetterAccessor;
+
+	/** long型セッタ（long・Long型のプロパティ以外はnull） */
+	private final ObjLongConsumer<Object> _longSetterAccessor;
+
+	/** double型セッタ（double・Double型のプロパティ以外はnull） */
+	private final ObjDoubleConsumer<Object> _doubleSetterAccessor;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param field         エンティティフィールド
+	 * @param columnName    カラム名
+	 * @param qualifiedName テーブル名で修飾したカラム名
+	 * @param getter        ゲッタメソッド
+	 * @param setter        セッタメソッド
+	 * @param id            主キーフラグ
+	 * @param generateValue 値自動生成アノテーション
+	 */
+	ColumnMetadata(Field field, String columnName, String qualifiedName, Method getter, Method setter,
+			boolean id, GenerateValue generateValue) {
+		_field         = field;
+		_columnName    = columnName;
+		_qualifiedName = qualifiedName;
+		_getter        = getter;
+		_setter        = setter;
+		_id            = id;
+		_generateValue = generateValue;
+		_propertyType  = PropertyType.of(field.getType());
+
+		_getterAccessor       = PropertyAccessorFactory.createGetter(getter);
+		_setterAccessor       = PropertyAccessorFactory.createSetter(setter);
+		_intSetterAccessor    = PropertyAccessorFactory.createIntSetter(setter);
+		_longSetterAccessor   = PropertyAccessorFactory.createLongSetter(setter);
+		_doubleSetterAccessor = PropertyAccessorFactory.createDoubleSetter(setter);
+	}
+
+	/**
+	 * <p>エンティティフィールド取得</p>
+	 *
+	 * @return エンティティフィールド
+	 */
+	public Field getField() {
+		return _field;
+	}
+
+	/**
+	 * <p>フィールド名取得</p>
+	 *
+	 * @return フィールド名
+	 */
+	public String getFieldName() {
+		return _field.getName();
+	}
+
+	/**
+	 * <p>カラム名取得</p>
+	 *
+	 * @return カラム名
+	 */
+	public String getColumnName() {
+		return _columnName;
+	}
+
+	/**
+	 * <p>テーブル名で修飾したカラム名取得</p>
+	 *
+	 * @return テーブル名.カラム名
+	 */
+	public String getQualifiedName() {
+		return _qualifiedName;
+	}
+
+	/**
+	 * <p>ゲッタメソッド取得</p>
+	 *
+	 * @return ゲッタメソッド（存在しない場合はnull）
+	 */
+	public Method getGetter() {
+		return _getter;
+	}
+
+	/**
+	 * <p>セッタメソッド取得</p>
+	 *
+	 * @return セッタメソッド（存在しない場合はnull）
+	 */
+	public Method getSetter() {
+		return _setter;
+	}
+
+	/**
+	 * <p>主キー判定</p>
+	 *
+	 * @return boolean
+	 *           true  : 主キー（Idアノテーションあり）
+	 *           false : 上記以外
+	 */
+	public boolean isId() {
+		return _id;
+	}
+
+	/**
+	 * <p>値自動生成判定</p>
+	 *
+	 * @return boolean
+	 *           true  : 値自動生成（GenerateValueアノテーションあり）
+	 *           false : 上記以外
+	 */
+	public boolean isGenerated() {
+		return _generateValue != null;
+	}
+
+	/**
+	 * <p>シーケンス採番判定</p>
+	 *
+	 * @return boolean
+	 *           true  : シーケンスで採番する
+	 *           false : 上記以外
+	 */
+	public boolean isSequence() {
+		return _generateValue != null && _generateValue.strategy() == GenerationType.SEQUENCE;
+	}
+
+	/**
+	 * <p>シーケンス名取得</p>
+	 *
+	 * @return シーケンス名（シーケンス採番でない場合は空文字）
+	 */
+	public String getSequence() {
+		return this.isSequence() ? _generateValue.sequence() : "";
+	}
+
+	/**
+	 * <p>プロパティ型種別取得</p>
+	 *
+	 * @return プロパティ型種別
+	 */
+	public PropertyType getPropertyType() {
+		return _propertyType;
+	}
+
+	/**
+	 * <p>プロパティ値取得</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @return プロパティ値
+	 * @throws ReflectiveOperationException ゲッタメソッドが存在しない場合<br>
+	 *                                      ゲッタメソッドの実行に失敗した場合
+	 */
+	public Object getValue(Object entity) throws ReflectiveOperationException {
+		if (_getterAccessor != null) {
+			return _getterAccessor.apply(entity);
+		}
+		if (_getter == null) {
+			throw new NoSuchMethodException("getter is not found. field : " + _field.getName());
+		}
+		return _getter.invoke(entity, (Object[]) null);
+	}
+
+	/**
+	 * <p>プロパティ値設定</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @param  value  プロパティ値
+	 * @throws ReflectiveOperationException セッタメソッドが存在しない場合<br>
+	 *                                      セッタメソッドの実行に失敗した場合
+	 */
+	public void setValue(Object entity, Object value) throws ReflectiveOperationException {
+		if (_setterAccessor != null) {
+			_setterAccessor.accept(entity, value);
+			return;
+		}
+		if (_setter == null) {
+			throw new NoSuchMethodException("setter is not found. field : " + _field.getName());
+		}
+		_setter.invoke(entity, value);
+	}
+
+	/**
+	 * <p>int型プロパティ値設定</p>
+	 * <pre>
+	 * int型セッタが存在する場合は、値をボクシングせずに設定する。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @param  value  プロパティ値
+	 * @throws ReflectiveOperationException セッタメソッドが存在しない場合<br>
+	 *                                      セッタメソッドの実行に失敗した場合
+	 */
+	public void setInt(Object entity, int value) throws ReflectiveOperationException {
+		if (_intSetterAccessor != null) {
+			_intSetterAccessor.accept(entity, value);
+		} else {
+			this.setValue(entity, Integer.valueOf(value));
+		}
+	}
+
+	/**
+	 * <p>long型プロパティ値設定</p>
+	 * <pre>
+	 * long型セッタが存在する場合は、値をボクシングせずに設定する。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @param  value  プロパティ値
+	 * @throws ReflectiveOperationException セッタメソッドが存在しない場合<br>
+	 *                                      セッタメソッドの実行に失敗した場合
+	 */
+	public void setLong(Object entity, long value) throws ReflectiveOperationException {
+		if (_longSetterAccessor != null) {
+			_longSetterAccessor.accept(entity, value);
+		} else {
+			this.setValue(entity, Long.valueOf(value));
+		}
+	}
+
+	/**
+	 * <p>double型プロパティ値設定</p>
+	 * <pre>
+	 * double型セッタが存在する場合は、値をボクシングせずに設定する。
+	 * </pre>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @param  value  プロパティ値
+	 * @throws ReflectiveOperationException セッタメソッドが存在しない場合<br>
+	 *                                      セッタメソッドの実行に失敗した場合
+	 */
+	public void setDouble(Object entity, double value) throws ReflectiveOperationException {
+		if (_doubleSetterAccessor != null) {
+			_doubleSetterAccessor.accept(entity, value);
+		} else {
+			this.setValue(entity, Double.valueOf(value));
+		}
+	}
+}
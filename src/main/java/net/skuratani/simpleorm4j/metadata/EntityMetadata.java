@@ -0,0 +1,301 @@
+package net.skuratani.simpleorm4j.metadata;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import net.skuratani.simpleorm4j.annotation.Column;
+import net.skuratani.simpleorm4j.annotation.Entity;
+import net.skuratani.simpleorm4j.annotation.GenerateValue;
+import net.skuratani.simpleorm4j.annotation.Id;
+import net.skuratani.simpleorm4j.annotation.Table;
+
+/**
+ * <p>エンティティメタデータクラス</p>
+ * <pre>
+ * エンティティクラスとデータベーステーブルの対応情報を保持する不変クラス。
+ * 以下の情報をクラス毎に1度だけ解決し、{@link EntityMetadataRegistry}で共有する。
+ *    1. テーブル名
+ *    2. カラムリスト（フィールドの宣言順）
+ *    3. 主キーカラムリスト
+ *    4. 値自動生成カラムリスト
+ *    5. 各カラムのゲッタメソッド・セッタメソッド
+ *    6. 関連リスト（ManyToOne・OneToManyアノテーションを指定したフィールド）
+ * static・syntheticフィールド、関連フィールドはカラムとして扱わない。
+ * </pre>
+ */
+public final class EntityMetadata {
+
+	/** エンティティクラス */
+	private final Class<?> _entityClass;
+
+	/** エンティティ判定（Entityアノテーションあり） */
+	private final boolean _entity;
+
+	/** テーブル名 */
+	private final String _tableName;
+
+	/** カラムリスト（宣言フィールドのみ、宣言順） */
+	private final List<ColumnMetadata> _columnList;
+
+	/** 主キーカラムリスト */
+	private final List<ColumnMetadata> _idColumnList;
+
+	/** 値自動生成カラムリスト */
+	private final List<ColumnMetadata> _generatedColumnList;
+
+	/** シーケンス採番カラム（存在しない場合はnull） */
+	private final ColumnMetadata _sequenceColumn;
+
+	/** マッピングカラムリスト（スーパークラスのフィールドを含む） */
+	private final List<ColumnMetadata> _mappingColumnList;
+
+	/** フィールドとカラムの対応 */
+	private final Map<Field, ColumnMetadata> _columnMap;
+
+	/** 検索カラム名・フィールド名とマッピングカラムの対応 */
+	private final Map<String, ColumnMetadata[]> _mappingColumnMap;
+
+	/** 検索カラムリスト文字列（テーブル名.カラム名のカンマ区切り） */
+	private final String _selectColumns;
+
+	/** 関連リスト（スーパークラスのフィールドを含む） */
+	private final List<RelationMetadata> _relationList;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param clazz エンティティクラス
+	 */
+	EntityMetadata(Class<?> clazz) {
+		_entityClass = clazz;
+		_entity      = clazz.isAnnotationPresent(Entity.class);
+		_tableName   = clazz.isAnnotationPresent(Table.class)
+							? clazz.getDeclaredAnnotation(Table.class).name()
+							: clazz.getSimpleName();
+
+		List<ColumnMetadata> columnList = new ArrayList<>();
+		List<ColumnMetadata> mappingColumnList = new ArrayList<>();
+		List<RelationMetadata> relationList = new ArrayList<>();
+		for (Class<?> c = clazz; c != null; c = c.getSuperclass()) {
+			String tableName = c.isAnnotationPresent(Table.class)
+									? c.getDeclaredAnnotation(Table.class).name()
+									: c.getSimpleName();
+			boolean entity = c.isAnnotationPresent(Entity.class);
+			for (Field field : c.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+					continue;
+				}
+				if (RelationMetadata.isRelation(field)) {
+					relationList.add(new RelationMetadata(createColumn(clazz, field, tableName, entity)));
+					continue;
+				}
+				ColumnMetadata column = createColumn(clazz, field, tableName, entity);
+				if (c == clazz) {
+					columnList.add(column);
+				}
+				mappingColumnList.add(column);
+			}
+		}
+
+		_columnList          = Collections.unmodifiableList(columnList);
+		_mappingColumnList   = Collections.unmodifiableList(mappingColumnList);
+		_relationList        = Collections.unmodifiableList(relationList);
+		_idColumnList        = Collections.unmodifiableList(
+									columnList.stream().filter(ColumnMetadata::isId).collect(Collectors.toList()));
+		_generatedColumnList = Collections.unmodifiableList(
+									columnList.stream().filter(ColumnMetadata::isGenerated).collect(Collectors.toList()));
+
+		ColumnMetadata sequenceColumn = null;
+		Map<Field, ColumnMetadata> columnMap = new HashMap<>();
+		for (ColumnMetadata column : columnList) {
+			columnMap.put(column.getField(), column);
+			if (column.isGenerated()) {
+				sequenceColumn = column.isSequence() ? column : null;
+			}
+		}
+		_sequenceColumn = sequenceColumn;
+		_columnMap      = Collections.unmodifiableMap(columnMap);
+
+		Map<String, List<ColumnMetadata>> nameMap = new HashMap<>();
+		for (ColumnMetadata column : mappingColumnList) {
+			nameMap.computeIfAbsent(column.getFieldName(), k -> new ArrayList<>()).add(column);
+			if (column.getField().isAnnotationPresent(Column.class)
+				&& !column.getColumnName().equals(column.getFieldName())) {
+				nameMap.computeIfAbsent(column.getColumnName(), k -> new ArrayList<>()).add(column);
+			}
+		}
+		Map<String, ColumnMetadata[]> mappingColumnMap = new HashMap<>();
+		for (Map.Entry<String, List<ColumnMetadata>> entry : nameMap.entrySet()) {
+			mappingColumnMap.put(entry.getKey(), entry.getValue().toArray(new ColumnMetadata[0]));
+		}
+		_mappingColumnMap = Collections.unmodifiableMap(mappingColumnMap);
+
+		_selectColumns = columnList.stream()
+								   .map(ColumnMetadata::getQualifiedName)
+								   .collect(Collectors.joining(","));
+	}
+
+	/**
+	 * <p>カラムメタデータ生成</p>
+	 *
+	 * @param  clazz     エンティティクラス（ゲッタ・セッタメソッドの探索対象）
+	 * @param  field     フィールド
+	 * @param  tableName フィールドを宣言したクラスのテーブル名
+	 * @param  entity    フィールドを宣言したクラスがエンティティか
+	 * @return カラムメタデータ
+	 */
+	private static ColumnMetadata createColumn(Class<?> clazz, Field field, String tableName, boolean entity) {
+		String columnName = field.isAnnotationPresent(Column.class)
+								? field.getDeclaredAnnotation(Column.class).name()
+								: field.getName();
+		String qualifiedName = entity ? tableName + "." + columnName : "";
+		String capitalized = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+
+		Method getter = findMethod(clazz, "get" + capitalized);
+		if (getter == null && (field.getType() == boolean.class)) {
+			getter = findMethod(clazz, "is" + capitalized);
+		}
+		Method setter = findMethod(clazz, "set" + capitalized, field.getType());
+
+		return new ColumnMetadata(field, columnName, qualifiedName, getter, setter,
+				field.isAnnotationPresent(Id.class), field.getDeclaredAnnotation(GenerateValue.class));
+	}
+
+	/**
+	 * <p>publicメソッド探索</p>
+	 *
+	 * @param  clazz          探索対象クラス
+	 * @param  name           メソッド名
+	 * @param  parameterTypes 引数型
+	 * @return メソッド（存在しない場合はnull）
+	 */
+	private static Method findMethod(Class<?> clazz, String name, Class<?>... parameterTypes) {
+		try {
+			return clazz.getMethod(name, parameterTypes);
+		} catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>エンティティクラス取得</p>
+	 *
+	 * @return エンティティクラス
+	 */
+	public Class<?> getEntityClass() {
+		return _entityClass;
+	}
+
+	/**
+	 * <p>エンティティ判定</p>
+	 *
+	 * @return boolean
+	 *           true  : Entityアノテーションあり
+	 *           false : 上記以外
+	 */
+	public boolean isEntity() {
+		return _entity;
+	}
+
+	/**
+	 * <p>テーブル名取得</p>
+	 *
+	 * @return テーブル名（Tableアノテーションのname属性、又はクラス名）
+	 */
+	public String getTableName() {
+		return _tableName;
+	}
+
+	/**
+	 * <p>カラムリスト取得</p>
+	 *
+	 * @return カラムリスト（宣言フィールドのみ、宣言順）
+	 */
+	public List<ColumnMetadata> getColumnList() {
+		return _columnList;
+	}
+
+	/**
+	 * <p>主キーカラムリスト取得</p>
+	 *
+	 * @return 主キーカラムリスト
+	 */
+	public List<ColumnMetadata> getIdColumnList() {
+		return _idColumnList;
+	}
+
+	/**
+	 * <p>値自動生成カラムリスト取得</p>
+	 *
+	 * @return 値自動生成カラムリスト
+	 */
+	public List<ColumnMetadata> getGeneratedColumnList() {
+		return _generatedColumnList;
+	}
+
+	/**
+	 * <p>シーケンス採番カラム取得</p>
+	 *
+	 * @return シーケンス採番カラム（存在しない場合はnull）
+	 */
+	public ColumnMetadata getSequenceColumn() {
+		return _sequenceColumn;
+	}
+
+	/**
+	 * <p>マッピングカラムリスト取得</p>
+	 *
+	 * @return マッピングカラムリスト（スーパークラスのフィールドを含む）
+	 */
+	public List<ColumnMetadata> getMappingColumnList() {
+		return _mappingColumnList;
+	}
+
+	/**
+	 * <p>カラム取得</p>
+	 *
+	 * @param  field エンティティフィールド
+	 * @return カラムメタデータ（本クラスで宣言されたフィールドでない場合はnull）
+	 */
+	public ColumnMetadata getColumn(Field field) {
+		return _columnMap.get(field);
+	}
+
+	/**
+	 * <p>マッピングカラム取得</p>
+	 * <pre>
+	 * 検索カラム名と一致するフィールド名、又はColumnアノテーションのname属性を持つカラムを取得する。
+	 * </pre>
+	 *
+	 * @param  name 検索カラム名
+	 * @return マッピングカラム配列（存在しない場合はnull）
+	 */
+	public ColumnMetadata[] getMappingColumns(String name) {
+		return _mappingColumnMap.get(name);
+	}
+
+	/**
+	 * <p>検索カラムリスト文字列取得</p>
+	 *
+	 * @return テーブル名.カラム名のカンマ区切り
+	 */
+	public String getSelectColumns() {
+		return _selectColumns;
+	}
+
+	/**
+	 * <p>関連リスト取得</p>
+	 *
+	 * @return 関連リスト（スーパークラスのフィールドを含む、関連がない場合は空のリスト）
+	 */
+	public List<RelationMetadata> getRelationList() {
+		return _relationList;
+	}
+}
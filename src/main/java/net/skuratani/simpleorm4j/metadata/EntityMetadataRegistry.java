@@ -0,0 +1,35 @@
+package net.skuratani.simpleorm4j.metadata;
+
+/**
+ * <p>エンティティメタデータレジストリ</p>
+ * <pre>
+ * エンティティクラス毎のメタデータを保持する。
+ * メタデータはクラス毎に初回参照時に1度だけ生成し、ClassValueでクラスに紐付けて保持する。
+ * （クラスがアンロードされた場合は、メタデータも合わせて破棄される）
+ * </pre>
+ */
+public class EntityMetadataRegistry {
+
+	/** メタデータ */
+	private static final ClassValue<EntityMetadata> METADATA = new ClassValue<EntityMetadata>() {
+		@Override
+		protected EntityMetadata computeValue(Class<?> type) {
+			return new EntityMetadata(type);
+		}
+	};
+
+	/**
+	 * コンストラクタ
+	 */
+	protected EntityMetadataRegistry() {}
+
+	/**
+	 * <p>エンティティメタデータ取得</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return エンティティメタデータ
+	 */
+	public static EntityMetadata get(Class<?> clazz) {
+		return METADATA.get(clazz);
+	}
+}
@@ -0,0 +1,261 @@
+package net.skuratani.simpleorm4j.metadata;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * <p>プロパティアクセサ生成クラス</p>
+ * <pre>
+ * ゲッタメソッド・セッタメソッドから、リフレクション（Method#invoke）を経由せずに
+ * 呼び出せる関数型インタフェースの実装を生成する。
+ *    1. LambdaMetafactoryでゲッタ・セッタを直接呼び出すクラスを生成する
+ *    2. 上記に失敗した場合（エンティティクラスにアクセスできない場合等）は、
+ *       MethodHandleを呼び出す実装とする
+ * int・long・double用のセッタは、値をボクシングせずに渡す。
+ * </pre>
+ */
+final class PropertyAccessorFactory {
+
+	/** 自クラスのルックアップ */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/**
+	 * コンストラクタ
+	 */
+	private PropertyAccessorFactory() {}
+
+	/**
+	 * <p>ゲッタ生成</p>
+	 *
+	 * @param  getter ゲッタメソッド（nullの場合はnullを返却する）
+	 * @return ゲッタ
+	 */
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> createGetter(Method getter) {
+		if (getter == null) {
+			return null;
+		}
+		MethodHandle handle = unreflect(getter);
+		if (handle == null) {
+			return null;
+		}
+		try {
+			return (Function<Object, Object>) metafactory(getter, handle, "apply",
+					MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class),
+					handle.type().wrap());
+		} catch (Throwable t) {
+			MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+			return entity -> {
+				try {
+					return generic.invokeExact(entity);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+			};
+		}
+	}
+
+	/**
+	 * <p>セッタ生成</p>
+	 *
+	 * @param  setter セッタメソッド（nullの場合はnullを返却する）
+	 * @return セッタ
+	 */
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> createSetter(Method setter) {
+		if (setter == null) {
+			return null;
+		}
+		MethodHandle handle = unreflect(setter);
+		if (handle == null) {
+			return null;
+		}
+		try {
+			return (BiConsumer<Object, Object>) metafactory(setter, handle, "accept",
+					MethodType.methodType(BiConsumer.class),
+					MethodType.methodType(void.class, Object.class, Object.class),
+					MethodType.methodType(void.class, setter.getDeclaringClass(),
+							MethodType.methodType(setter.getParameterTypes()[0]).wrap().returnType()));
+		} catch (Throwable t) {
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+			return (entity, value) -> {
+				try {
+					generic.invokeExact(entity, value);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+			};
+		}
+	}
+
+	/**
+	 * <p>int型セッタ生成</p>
+	 *
+	 * @param  setter セッタメソッド（int・Integer型の引数を持つもの。nullの場合はnullを返却する）
+	 * @return int型セッタ
+	 */
+	@SuppressWarnings("unchecked")
+	static ObjIntConsumer<Object> createIntSetter(Method setter) {
+		MethodHandle handle = unreflectPrimitiveSetter(setter, int.class, Integer.class);
+		if (handle == null) {
+			return null;
+		}
+		try {
+			return (ObjIntConsumer<Object>) metafactory(setter, handle, "accept",
+					MethodType.methodType(ObjIntConsumer.class),
+					MethodType.methodType(void.class, Object.class, int.class),
+					MethodType.methodType(void.class, setter.getDeclaringClass(), int.class));
+		} catch (Throwable t) {
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, int.class));
+			return (entity, value) -> {
+				try {
+					generic.invokeExact(entity, value);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+			};
+		}
+	}
+
+	/**
+	 * <p>long型セッタ生成</p>
+	 *
+	 * @param  setter セッタメソッド（long・Long型の引数を持つもの。nullの場合はnullを返却する）
+	 * @return long型セッタ
+	 */
+	@SuppressWarnings("unchecked")
+	static ObjLongConsumer<Object> createLongSetter(Method setter) {
+		MethodHandle handle = unreflectPrimitiveSetter(setter, long.class, Long.class);
+		if (handle == null) {
+			return null;
+		}
+		try {
+			return (ObjLongConsumer<Object>) metafactory(setter, handle, "accept",
+					MethodType.methodType(ObjLongConsumer.class),
+					MethodType.methodType(void.class, Object.class, long.class),
+					MethodType.methodType(void.class, setter.getDeclaringClass(), long.class));
+		} catch (Throwable t) {
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, long.class));
+			return (entity, value) -> {
+				try {
+					generic.invokeExact(entity, value);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+			};
+		}
+	}
+
+	/**
+	 * <p>double型セッタ生成</p>
+	 *
+	 * @param  setter セッタメソッド（double・Double型の引数を持つもの。nullの場合はnullを返却する）
+	 * @return double型セッタ
+	 */
+	@SuppressWarnings("unchecked")
+	static ObjDoubleConsumer<Object> createDoubleSetter(Method setter) {
+		MethodHandle handle = unreflectPrimitiveSetter(setter, double.class, Double.class);
+		if (handle == null) {
+			return null;
+		}
+		try {
+			return (ObjDoubleConsumer<Object>) metafactory(setter, handle, "accept",
+					MethodType.methodType(ObjDoubleConsumer.class),
+					MethodType.methodType(void.class, Object.class, double.class),
+					MethodType.methodType(void.class, setter.getDeclaringClass(), double.class));
+		} catch (Throwable t) {
+			MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, double.class));
+			return (entity, value) -> {
+				try {
+					generic.invokeExact(entity, value);
+				} catch (Throwable e) {
+					throw rethrow(e);
+				}
+			};
+		}
+	}
+
+	/**
+	 * <p>プリミティブ型セッタのMethodHandle取得</p>
+	 *
+	 * @param  setter        セッタメソッド
+	 * @param  primitiveType プリミティブ型
+	 * @param  wrapperType   ラッパー型
+	 * @return MethodHandle（引数の型が一致しない場合・アクセスできない場合はnull）
+	 */
+	private static MethodHandle unreflectPrimitiveSetter(Method setter, Class<?> primitiveType, Class<?> wrapperType) {
+		if (setter == null) {
+			return null;
+		}
+		Class<?> parameterType = setter.getParameterTypes()[0];
+		if (parameterType != primitiveType && parameterType != wrapperType) {
+			return null;
+		}
+		return unreflect(setter);
+	}
+
+	/**
+	 * <p>MethodHandle取得</p>
+	 *
+	 * @param  method メソッド
+	 * @return MethodHandle（アクセスできない場合はnull）
+	 */
+	private static MethodHandle unreflect(Method method) {
+		try {
+			return LOOKUP.unreflect(method);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>関数型インタフェース実装生成</p>
+	 * <pre>
+	 * エンティティクラスのルックアップでLambdaMetafactoryを呼び出し、
+	 * MethodHandleを直接呼び出す関数型インタフェースの実装を生成する。
+	 * </pre>
+	 *
+	 * @param  method              ゲッタメソッド・セッタメソッド
+	 * @param  handle              メソッドのMethodHandle
+	 * @param  interfaceMethodName 関数型インタフェースのメソッド名
+	 * @param  factoryType         ファクトリの型（引数なし、関数型インタフェースを返却）
+	 * @param  samMethodType       関数型インタフェースのメソッドの型（消去後）
+	 * @param  instantiatedType    関数型インタフェースのメソッドの型（具象）
+	 * @return 関数型インタフェースの実装
+	 * @throws Throwable 生成に失敗した場合
+	 */
+	private static Object metafactory(Method method, MethodHandle handle, String interfaceMethodName,
+			MethodType factoryType, MethodType samMethodType, MethodType instantiatedType) throws Throwable {
+		MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+		CallSite site = LambdaMetafactory.metafactory(lookup, interfaceMethodName,
+				factoryType, samMethodType, handle, instantiatedType);
+		return site.getTarget().invoke();
+	}
+
+	/**
+	 * <p>例外再送出</p>
+	 *
+	 * @param  t ゲッタメソッド・セッタメソッドが送出した例外
+	 * @return 非検査例外（検査例外の場合はUndeclaredThrowableExceptionで包む）
+	 */
+	private static RuntimeException rethrow(Throwable t) {
+		if (t instanceof RuntimeException) {
+			return (RuntimeException) t;
+		}
+		if (t instanceof Error) {
+			throw (Error) t;
+		}
+		return new UndeclaredThrowableException(t);
+	}
+}
@@ -0,0 +1,47 @@
+package net.skuratani.simpleorm4j.metadata;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * <p>プロパティ型種別</p>
+ * <pre>
+ * エンティティフィールドの型を、リザルトセットからの値の取得方法ごとに分類する。
+ *    1. STRING          ：String
+ *    2. INT             ：int・Integer
+ *    3. LONG            ：long・Long
+ *    4. FLOAT           ：float・Float
+ *    5. DOUBLE          ：double・Double
+ *    6. LOCAL_DATE      ：LocalDate
+ *    7. LOCAL_DATE_TIME ：LocalDateTime
+ *    8. OTHER           ：上記以外
+ * </pre>
+ */
+public enum PropertyType {
+	STRING, INT, LONG, FLOAT, DOUBLE, LOCAL_DATE, LOCAL_DATE_TIME, OTHER;
+
+	/**
+	 * <p>プロパティ型種別判定</p>
+	 *
+	 * @param  type フィールドの型
+	 * @return プロパティ型種別
+	 */
+	public static PropertyType of(Class<?> type) {
+		if (type == String.class) {
+			return STRING;
+		} else if (type == int.class || type == Integer.class) {
+			return INT;
+		} else if (type == long.class || type == Long.class) {
+			return LONG;
+		} else if (type == float.class || type == Float.class) {
+			return FLOAT;
+		} else if (type == double.class || type == Double.class) {
+			return DOUBLE;
+		} else if (type == LocalDate.class) {
+			return LOCAL_DATE;
+		} else if (type == LocalDateTime.class) {
+			return LOCAL_DATE_TIME;
+		}
+		return OTHER;
+	}
+}
@@ -0,0 +1,167 @@
+package net.skuratani.simpleorm4j.metadata;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import net.skuratani.simpleorm4j.annotation.ManyToOne;
+import net.skuratani.simpleorm4j.annotation.OneToMany;
+import net.skuratani.simpleorm4j.type.FetchType;
+
+/**
+ * <p>関連メタデータクラス</p>
+ * <pre>
+ * ManyToOne・OneToManyアノテーションを指定したフィールドと関連先エンティティの対応情報を保持する不変クラス。
+ * 外部キーのフィールドは名前のみ保持し、カラムメタデータは参照時にエンティティメタデータから取得する
+ * （相互に関連するエンティティのメタデータを生成中に参照しない為）。
+ * </pre>
+ */
+public final class RelationMetadata {
+
+	/** 関連フィールドのアクセサ */
+	private final ColumnMetadata _property;
+
+	/** 一対多関連フラグ */
+	private final boolean _collection;
+
+	/** 関連先エンティティクラス（解決できない場合はnull） */
+	private final Class<?> _targetClass;
+
+	/** 外部キーのフィールド名（多対一は関連元、一対多は関連先のフィールド） */
+	private final String _joinFieldName;
+
+	/** 取得種別 */
+	private final FetchType _fetchType;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param property 関連フィールドのアクセサ
+	 */
+	RelationMetadata(ColumnMetadata property) {
+		Field field = property.getField();
+		_property = property;
+		if (field.isAnnotationPresent(ManyToOne.class)) {
+			ManyToOne manyToOne = field.getDeclaredAnnotation(ManyToOne.class);
+			_collection    = false;
+			_targetClass   = field.getType();
+			_joinFieldName = manyToOne.joinField();
+			_fetchType     = manyToOne.fetch();
+		} else {
+			OneToMany oneToMany = field.getDeclaredAnnotation(OneToMany.class);
+			_collection    = true;
+			_targetClass   = oneToMany.targetEntity() != void.class
+								? oneToMany.targetEntity()
+								: elementType(field);
+			_joinFieldName = oneToMany.mappedBy();
+			_fetchType     = oneToMany.fetch();
+		}
+	}
+
+	/**
+	 * <p>関連フィールド判定</p>
+	 *
+	 * @param  field フィールド
+	 * @return boolean
+	 *           true  : ManyToOne・OneToManyアノテーションあり
+	 *           false : 上記以外
+	 */
+	static boolean isRelation(Field field) {
+		return field.isAnnotationPresent(ManyToOne.class) || field.isAnnotationPresent(OneToMany.class);
+	}
+
+	/**
+	 * <p>リスト要素型取得</p>
+	 *
+	 * @param  field リスト型のフィールド
+	 * @return 型引数のクラス（解決できない場合はnull）
+	 */
+	private static Class<?> elementType(Field field) {
+		Type type = field.getGenericType();
+		if (type instanceof ParameterizedType) {
+			Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+			if (arguments.length == 1 && arguments[0] instanceof Class) {
+				return (Class<?>) arguments[0];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>関連フィールド取得</p>
+	 *
+	 * @return 関連フィールド
+	 */
+	public Field getField() {
+		return _property.getField();
+	}
+
+	/**
+	 * <p>フィールド名取得</p>
+	 *
+	 * @return 関連フィールド名
+	 */
+	public String getFieldName() {
+		return _property.getFieldName();
+	}
+
+	/**
+	 * <p>一対多関連判定</p>
+	 *
+	 * @return boolean
+	 *           true  : 一対多関連（OneToMany）
+	 *           false : 多対一関連（ManyToOne）
+	 */
+	public boolean isCollection() {
+		return _collection;
+	}
+
+	/**
+	 * <p>関連先エンティティクラス取得</p>
+	 *
+	 * @return 関連先エンティティクラス（Listの型引数を解決できない場合はnull）
+	 */
+	public Class<?> getTargetClass() {
+		return _targetClass;
+	}
+
+	/**
+	 * <p>外部キーのフィールド名取得</p>
+	 *
+	 * @return 多対一関連はjoinField、一対多関連はmappedByのフィールド名
+	 */
+	public String getJoinFieldName() {
+		return _joinFieldName;
+	}
+
+	/**
+	 * <p>取得種別取得</p>
+	 *
+	 * @return 取得種別
+	 */
+	public FetchType getFetchType() {
+		return _fetchType;
+	}
+
+	/**
+	 * <p>関連値取得</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @return 関連エンティティ、又は関連エンティティのリスト
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	public Object getValue(Object entity) throws ReflectiveOperationException {
+		return _property.getValue(entity);
+	}
+
+	/**
+	 * <p>関連値設定</p>
+	 *
+	 * @param  entity エンティティインスタンス
+	 * @param  value  関連エンティティ、又は関連エンティティのリスト
+	 * @throws ReflectiveOperationException セッタメソッドの実行に失敗した場合
+	 */
+	public void setValue(Object entity, Object value) throws ReflectiveOperationException {
+		_property.setValue(entity, value);
+	}
+}
@@ -0,0 +1,145 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>処理時間ヒストグラムクラス</p>
+ * <pre>
+ * 処理時間（ナノ秒）を対数・線形のバケットに集計する。
+ * 2のべき乗毎の区間を4つに分割したバケット（相対誤差25%以内）に、ロックを使用せずに加算する。
+ *    (ex.) 0～3ns：1ns毎、4～7ns：1ns毎、8～15ns：2ns毎、16～31ns：4ns毎 ...
+ * 件数・合計・最大値は正確な値を保持し、パーセンタイルはバケットの上限値（最大値を超えない）で近似する。
+ * </pre>
+ */
+public class LatencyHistogram {
+
+	/** 2のべき乗毎の区間の分割数（ビット数） */
+	private static final int SUB_BUCKET_BITS = 2;
+
+	/** 2のべき乗毎の区間の分割数 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/** バケット数 */
+	private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (64 - SUB_BUCKET_BITS + 1);
+
+	/** バケット毎の件数 */
+	protected final AtomicLongArray _buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	/** 件数 */
+	protected final LongAdder _count = new LongAdder();
+
+	/** 合計（ナノ秒） */
+	protected final LongAdder _sum = new LongAdder();
+
+	/** 最大値（ナノ秒） */
+	protected final AtomicLong _max = new AtomicLong();
+
+	/**
+	 * <p>処理時間記録</p>
+	 *
+	 * @param nanos 処理時間（ナノ秒、負の値は0とする）
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0L);
+		_buckets.incrementAndGet(bucketIndex(value));
+		_count.increment();
+		_sum.add(value);
+		long max = _max.get();
+		while (max < value && !_max.compareAndSet(max, value)) {
+			max = _max.get();
+		}
+	}
+
+	/**
+	 * <p>スナップショット取得</p>
+	 * <pre>
+	 * 記録中の値は、スナップショットに含まれない場合がある。
+	 * </pre>
+	 *
+	 * @return 処理時間スナップショット
+	 */
+	public LatencySnapshot snapshot() {
+		long[] buckets = new long[BUCKET_COUNT];
+		long total = 0L;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets[i] = _buckets.get(i);
+			total += buckets[i];
+		}
+		long max = _max.get();
+		return new LatencySnapshot(
+				_count.sum(),
+				_sum.sum(),
+				max,
+				Math.min(percentile(buckets, total, 0.50), max),
+				Math.min(percentile(buckets, total, 0.90), max),
+				Math.min(percentile(buckets, total, 0.99), max));
+	}
+
+	/**
+	 * <p>リセット</p>
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			_buckets.set(i, 0L);
+		}
+		_count.reset();
+		_sum.reset();
+		_max.set(0L);
+	}
+
+	/**
+	 * <p>バケットインデックス取得</p>
+	 *
+	 * @param  value 処理時間（ナノ秒、0以上）
+	 * @return バケットインデックス
+	 */
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return SUB_BUCKET_COUNT * (exponent - SUB_BUCKET_BITS + 1) + subBucket;
+	}
+
+	/**
+	 * <p>バケット上限値取得</p>
+	 *
+	 * @param  index バケットインデックス
+	 * @return バケットに含まれる最大の処理時間（ナノ秒）
+	 */
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+		long upperBound = lowerBound + (1L << shift) - 1;
+		return upperBound < lowerBound ? Long.MAX_VALUE : upperBound;
+	}
+
+	/**
+	 * <p>パーセンタイル取得</p>
+	 *
+	 * @param  buckets バケット毎の件数
+	 * @param  total   件数
+	 * @param  ratio   割合（0～1）
+	 * @return パーセンタイル値（ナノ秒、件数が0の場合は0）
+	 */
+	private static long percentile(long[] buckets, long total, double ratio) {
+		if (total == 0L) {
+			return 0L;
+		}
+		long rank = Math.max((long) Math.ceil(total * ratio), 1L);
+		long cumulative = 0L;
+		for (int i = 0; i < buckets.length; i++) {
+			cumulative += buckets[i];
+			if (rank <= cumulative) {
+				return bucketUpperBound(i);
+			}
+		}
+		return bucketUpperBound(buckets.length - 1);
+	}
+}
@@ -0,0 +1,125 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * <p>処理時間スナップショットクラス</p>
+ * <pre>
+ * {@link LatencyHistogram}のある時点の集計値を保持する不変クラス。
+ * 時間の単位は全てナノ秒。
+ * </pre>
+ */
+public final class LatencySnapshot {
+
+	/** 件数 */
+	private final long _count;
+
+	/** 合計 */
+	private final long _total;
+
+	/** 最大値 */
+	private final long _max;
+
+	/** 50パーセンタイル */
+	private final long _p50;
+
+	/** 90パーセンタイル */
+	private final long _p90;
+
+	/** 99パーセンタイル */
+	private final long _p99;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param count 件数
+	 * @param total 合計
+	 * @param max   最大値
+	 * @param p50   50パーセンタイル
+	 * @param p90   90パーセンタイル
+	 * @param p99   99パーセンタイル
+	 */
+	@ConstructorProperties({ "count", "total", "max", "p50", "p90", "p99" })
+	public LatencySnapshot(long count, long total, long max, long p50, long p90, long p99) {
+		_count = count;
+		_total = total;
+		_max   = max;
+		_p50   = p50;
+		_p90   = p90;
+		_p99   = p99;
+	}
+
+	/**
+	 * <p>件数取得</p>
+	 *
+	 * @return 件数
+	 */
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * <p>合計取得</p>
+	 *
+	 * @return 合計（ナノ秒）
+	 */
+	public long getTotal() {
+		return _total;
+	}
+
+	/**
+	 * <p>平均取得</p>
+	 *
+	 * @return 平均（ナノ秒、件数が0の場合は0）
+	 */
+	public long getMean() {
+		return _count == 0L ? 0L : _total / _count;
+	}
+
+	/**
+	 * <p>最大値取得</p>
+	 *
+	 * @return 最大値（ナノ秒）
+	 */
+	public long getMax() {
+		return _max;
+	}
+
+	/**
+	 * <p>50パーセンタイル取得</p>
+	 *
+	 * @return 50パーセンタイル（ナノ秒）
+	 */
+	public long getP50() {
+		return _p50;
+	}
+
+	/**
+	 * <p>90パーセンタイル取得</p>
+	 *
+	 * @return 90パーセンタイル（ナノ秒）
+	 */
+	public long getP90() {
+		return _p90;
+	}
+
+	/**
+	 * <p>99パーセンタイル取得</p>
+	 *
+	 * @return 99パーセンタイル（ナノ秒）
+	 */
+	public long getP99() {
+		return _p99;
+	}
+
+	/**
+	 * <p>文字列変換</p>
+	 *
+	 * @return 集計値の文字列
+	 */
+	@Override
+	public String toString() {
+		return "count=" + _count + ", mean=" + this.getMean() + "ns, p50=" + _p50 + "ns, p90=" + _p90
+				+ "ns, p99=" + _p99 + "ns, max=" + _max + "ns";
+	}
+}
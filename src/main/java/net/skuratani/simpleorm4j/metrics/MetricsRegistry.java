@@ -0,0 +1,269 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+
+/**
+ * <p>SQL実行メトリクスレジストリクラス</p>
+ * <pre>
+ * SQLフィンガープリント毎のSQL実行メトリクス（{@link StatementMetrics}）を保持する。
+ *    1. SQLフィンガープリントは、発行SQLの空白を1つにまとめ、リテラルを「?」に、
+ *       IN句・複数行VALUES句の「?」の並びを1つにまとめたもの
+ *    2. 発行SQLとSQLフィンガープリントの対応はキャッシュし、2回目以降は発行SQLの検索のみとする
+ *       （最大SQL数を超えて集計しない発行SQLもキャッシュする。キャッシュが上限件数に達した場合は任意の1件を破棄する）
+ *    3. 設定ファイルのmetricsEnabledがfalseの場合は、{@link MetricsRegistry#get(String)}がnullを返却し、
+ *       呼び出し元は時刻の取得・記録を行わない
+ * 初めてメトリクスを記録する時に、JMX（プラットフォームMBeanサーバ）に登録する。
+ * </pre>
+ */
+public final class MetricsRegistry implements StatementMetricsMXBean {
+
+	/** JMXオブジェクト名 */
+	public static final String OBJECT_NAME = "net.skuratani.simpleorm4j:type=StatementMetrics";
+
+	/** 空白 */
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	/** 「?」の並び */
+	private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+	/** 「(?)」の並び（複数行VALUES句） */
+	private static final Pattern VALUES_LIST = Pattern.compile("\\(\\?\\)(\\s*,\\s*\\(\\?\\))+");
+
+	/** 集計対象外の発行SQLのメトリクス（最大SQL数を超えた発行SQLの目印。集計しない） */
+	private static final StatementMetrics OVERFLOW = new StatementMetrics("");
+
+	/** レジストリ */
+	private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+	/** 発行SQL毎のメトリクス */
+	private final ConcurrentHashMap<String, StatementMetrics> _sqlMap = new ConcurrentHashMap<>();
+
+	/** SQLフィンガープリント毎のメトリクス */
+	private final ConcurrentHashMap<String, StatementMetrics> _fingerprintMap = new ConcurrentHashMap<>();
+
+	/** 集計対象外件数 */
+	private final LongAdder _overflowCount = new LongAdder();
+
+	/** JMX登録済みフラグ */
+	private volatile boolean _registered;
+
+	/**
+	 * コンストラクタ
+	 */
+	private MetricsRegistry() {}
+
+	/**
+	 * <p>レジストリ取得</p>
+	 *
+	 * @return SQL実行メトリクスレジストリ
+	 */
+	public static MetricsRegistry getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * <p>SQL実行メトリクス取得</p>
+	 *
+	 * @param  sql 発行SQL
+	 * @return SQL実行メトリクス（メトリクスが無効の場合・最大SQL数を超えた場合はnull）
+	 */
+	public static StatementMetrics get(String sql) {
+		if (!ConfigLoader.getConfig().isMetricsEnabled()) {
+			return null;
+		}
+		StatementMetrics metrics = INSTANCE._sqlMap.get(sql);
+		if (metrics == null) {
+			metrics = INSTANCE.register(sql);
+		}
+		if (metrics == OVERFLOW) {
+			INSTANCE._overflowCount.increment();
+			return null;
+		}
+		return metrics;
+	}
+
+	/**
+	 * <p>SQL実行メトリクス登録</p>
+	 * <pre>
+	 * 最大SQL数を超えた場合も、発行SQLの正規化を繰り返さないように、集計対象外の目印を発行SQLに対応付ける。
+	 * 発行SQLの対応が上限件数（最大SQL数の4倍）に達している場合は、任意の1件を破棄してから登録する。
+	 * </pre>
+	 *
+	 * @param  sql 発行SQL
+	 * @return SQL実行メトリクス（最大SQL数を超えた場合は集計対象外の目印）
+	 */
+	private StatementMetrics register(String sql) {
+		if (!_registered) {
+			this.registerMBean();
+		}
+		int maxStatements = ConfigLoader.getConfig().getMetricsMaxStatements();
+		String fingerprint = normalize(sql);
+		StatementMetrics metrics = _fingerprintMap.get(fingerprint);
+		if (metrics == null) {
+			metrics = maxStatements <= _fingerprintMap.size()
+						? OVERFLOW
+						: _fingerprintMap.computeIfAbsent(fingerprint, StatementMetrics::new);
+		}
+		while (maxStatements * 4 <= _sqlMap.size()) {
+			Iterator<String> iterator = _sqlMap.keySet().iterator();
+			if (!iterator.hasNext()) {
+				break;
+			}
+			_sqlMap.remove(iterator.next());
+		}
+		_sqlMap.put(sql, metrics);
+		return metrics;
+	}
+
+	/**
+	 * <p>JMX登録</p>
+	 * <pre>
+	 * 登録に失敗した場合（同じオブジェクト名が登録済みの場合など）は、JMXに公開しない。
+	 * </pre>
+	 */
+	private synchronized void registerMBean() {
+		if (_registered) {
+			return;
+		}
+		_registered = true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(this, name);
+			}
+		} catch (JMException | SecurityException e) {
+			// JMXには公開しない
+		}
+	}
+
+	/**
+	 * <p>SQL正規化</p>
+	 *
+	 * @param  sql 発行SQL
+	 * @return SQLフィンガープリント
+	 */
+	public static String normalize(String sql) {
+		StringBuilder builder = new StringBuilder(sql.length());
+		int length = sql.length();
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i);
+			// 文字列リテラル
+			if (c == '\'') {
+				int end = i + 1;
+				while (end < length) {
+					if (sql.charAt(end) == '\'') {
+						if (end + 1 < length && sql.charAt(end + 1) == '\'') {
+							end += 2;
+							continue;
+						}
+						break;
+					}
+					end++;
+				}
+				builder.append('?');
+				i = Math.min(end + 1, length);
+			// 数値リテラル（識別子の一部は除く）
+			} else if (Character.isDigit(c)
+					&& (i == 0 || !(Character.isLetterOrDigit(sql.charAt(i - 1)) || sql.charAt(i - 1) == '_'))) {
+				int end = i + 1;
+				while (end < length && (Character.isDigit(sql.charAt(end)) || sql.charAt(end) == '.')) {
+					end++;
+				}
+				builder.append('?');
+				i = end;
+			} else {
+				builder.append(c);
+				i++;
+			}
+		}
+		String fingerprint = WHITESPACE.matcher(builder).replaceAll(" ").trim();
+		fingerprint = PLACEHOLDER_LIST.matcher(fingerprint).replaceAll("(?)");
+		return VALUES_LIST.matcher(fingerprint).replaceAll("(?)");
+	}
+
+	/**
+	 * <p>メトリクス有効判定</p>
+	 *
+	 * @return boolean
+	 *           true  : 集計する
+	 *           false : 集計しない
+	 */
+	@Override
+	public boolean isEnabled() {
+		return ConfigLoader.getConfig().isMetricsEnabled();
+	}
+
+	/**
+	 * <p>集計SQL数取得</p>
+	 *
+	 * @return 集計中のSQLフィンガープリントの数
+	 */
+	@Override
+	public int getStatementCount() {
+		return _fingerprintMap.size();
+	}
+
+	/**
+	 * <p>集計対象外件数取得</p>
+	 *
+	 * @return 最大SQL数を超えた為に集計しなかった実行件数
+	 */
+	@Override
+	public long getOverflowCount() {
+		return _overflowCount.sum();
+	}
+
+	/**
+	 * <p>スナップショット取得</p>
+	 *
+	 * @return SQLフィンガープリント毎のスナップショット（合計時間の降順）
+	 */
+	@Override
+	public List<StatementMetricsSnapshot> getSnapshots() {
+		List<StatementMetricsSnapshot> snapshots = new ArrayList<>(_fingerprintMap.size());
+		for (StatementMetrics metrics : _fingerprintMap.values()) {
+			snapshots.add(metrics.snapshot());
+		}
+		snapshots.sort(Comparator.comparingLong((StatementMetricsSnapshot s) -> s.getTotal().getTotal()).reversed());
+		return snapshots;
+	}
+
+	/**
+	 * <p>スナップショット取得</p>
+	 *
+	 * @param  sql 発行SQL（正規化前）
+	 * @return SQLフィンガープリントのスナップショット（集計していない場合はnull）
+	 */
+	public StatementMetricsSnapshot getSnapshot(String sql) {
+		StatementMetrics metrics = _fingerprintMap.get(normalize(sql));
+		return metrics != null ? metrics.snapshot() : null;
+	}
+
+	/**
+	 * <p>リセット</p>
+	 * <pre>
+	 * 全てのSQLフィンガープリントの集計値を破棄する。
+	 * </pre>
+	 */
+	@Override
+	public void reset() {
+		_sqlMap.clear();
+		_fingerprintMap.clear();
+		_overflowCount.reset();
+	}
+}
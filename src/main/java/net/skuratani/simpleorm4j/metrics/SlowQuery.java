@@ -0,0 +1,168 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.beans.ConstructorProperties;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>スロークエリクラス</p>
+ * <pre>
+ * 処理時間がスロークエリ閾値を超えた1回のSQL実行の記録を保持する不変クラス。
+ * </pre>
+ */
+public final class SlowQuery {
+
+	/** 実行終了時刻（エポックミリ秒） */
+	private final long _timestamp;
+
+	/** 発行SQL */
+	private final String _sql;
+
+	/** バインド値（バッチ実行の場合は最初のバッチ） */
+	private final List<String> _bindValues;
+
+	/** 処理時間（ナノ秒） */
+	private final long _elapsed;
+
+	/** 検索・登録・更新・削除件数 */
+	private final long _rows;
+
+	/** バッチ件数（バッチ実行以外は0） */
+	private final int _batchCount;
+
+	/** 実行元エンティティマネージャ */
+	private final String _entityManager;
+
+	/** 実行スレッド */
+	private final String _thread;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param timestamp     実行終了時刻（エポックミリ秒）
+	 * @param sql           発行SQL
+	 * @param bindValues    バインド値（バッチ実行の場合は最初のバッチ）
+	 * @param elapsed       処理時間（ナノ秒）
+	 * @param rows          検索・登録・更新・削除件数
+	 * @param batchCount    バッチ件数（バッチ実行以外は0）
+	 * @param entityManager 実行元エンティティマネージャ
+	 * @param thread        実行スレッド
+	 */
+	@ConstructorProperties({ "timestamp", "sql", "bindValues", "elapsed", "rows", "batchCount", "entityManager",
+			"thread" })
+	public SlowQuery(long timestamp, String sql, List<String> bindValues, long elapsed, long rows, int batchCount,
+			String entityManager, String thread) {
+		_timestamp     = timestamp;
+		_sql           = sql;
+		_bindValues    = Collections.unmodifiableList(bindValues);
+		_elapsed       = elapsed;
+		_rows          = rows;
+		_batchCount    = batchCount;
+		_entityManager = entityManager;
+		_thread        = thread;
+	}
+
+	/**
+	 * <p>実行終了時刻取得</p>
+	 *
+	 * @return 実行終了時刻（エポックミリ秒）
+	 */
+	public long getTimestamp() {
+		return _timestamp;
+	}
+
+	/**
+	 * <p>発行SQL取得</p>
+	 *
+	 * @return 発行SQL
+	 */
+	public String getSql() {
+		return _sql;
+	}
+
+	/**
+	 * <p>バインド値取得</p>
+	 * <pre>
+	 * 位置指定バインド値・名前付プレースホルダの値（名前=値）の文字列表現。
+	 * バインド値を秘匿する設定の場合は、値の型のみとする。
+	 * </pre>
+	 *
+	 * @return バインド値（バッチ実行の場合は最初のバッチ）
+	 */
+	public List<String> getBindValues() {
+		return _bindValues;
+	}
+
+	/**
+	 * <p>処理時間取得</p>
+	 *
+	 * @return プリペアドステートメントの取得からマッピング終了までの時間（ナノ秒）
+	 */
+	public long getElapsed() {
+		return _elapsed;
+	}
+
+	/**
+	 * <p>検索・登録・更新・削除件数取得</p>
+	 *
+	 * @return 検索・登録・更新・削除件数
+	 */
+	public long getRows() {
+		return _rows;
+	}
+
+	/**
+	 * <p>バッチ件数取得</p>
+	 *
+	 * @return バッチ件数（バッチ実行以外は0）
+	 */
+	public int getBatchCount() {
+		return _batchCount;
+	}
+
+	/**
+	 * <p>実行元エンティティマネージャ取得</p>
+	 *
+	 * @return 実行元エンティティマネージャ（クラス名@識別ハッシュコード、不明な場合はnull）
+	 */
+	public String getEntityManager() {
+		return _entityManager;
+	}
+
+	/**
+	 * <p>実行スレッド取得</p>
+	 *
+	 * @return 実行スレッド名
+	 */
+	public String getThread() {
+		return _thread;
+	}
+
+	/**
+	 * <p>文字列表現取得</p>
+	 * <pre>
+	 * スロークエリログファイルの1行の形式（発行SQLの改行・空白の並びは空白1つにまとめる）。
+	 * (ex.) 2024-04-01T09:00:00.123Z elapsed=1520.3ms rows=12 em=EntityManager@1b6d3586 thread=main
+	 *       sql=SELECT ... binds=[1, 'abc']
+	 * </pre>
+	 *
+	 * @return 文字列表現
+	 */
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append(Instant.ofEpochMilli(_timestamp))
+			   .append(" elapsed=").append(String.format("%.1f", _elapsed / (double) TimeUnit.MILLISECONDS.toNanos(1)))
+			   .append("ms rows=").append(_rows);
+		if (0 < _batchCount) {
+			builder.append(" batch=").append(_batchCount);
+		}
+		builder.append(" em=").append(_entityManager)
+			   .append(" thread=").append(_thread)
+			   .append(" sql=").append(_sql.replaceAll("\\s+", " ").trim())
+			   .append(" binds=").append(_bindValues);
+		return builder.toString();
+	}
+}
@@ -0,0 +1,262 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import net.skuratani.simpleorm4j.io.AsyncLogWriter;
+import net.skuratani.simpleorm4j.io.FileLogSink;
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.type.LogOverflowPolicy;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
+
+/**
+ * <p>スロークエリログクラス</p>
+ * <pre>
+ * 処理時間が設定ファイルのスロークエリ閾値（slowQueryThreshold）を超えたSQL実行を記録する。
+ *    1. 記録したスロークエリ（{@link SlowQuery}）は、保持件数（slowQueryBufferSize）まで新しい順に保持する
+ *    2. 設定ファイルのslowQueryLogFileを指定した場合は、非同期ログ出力でファイルに追記する
+ *    3. 呼び出し元は閾値以下の実行では処理時間の比較のみを行い、バインド値の文字列化・記録は行わない
+ * 初めてスロークエリを記録する時に、JMX（プラットフォームMBeanサーバ）に登録する。
+ * </pre>
+ */
+public final class SlowQueryLog implements SlowQueryLogMXBean {
+
+	/** JMXオブジェクト名 */
+	public static final String OBJECT_NAME = "net.skuratani.simpleorm4j:type=SlowQueryLog";
+
+	/** バインド値の文字列表現の最大長 */
+	private static final int MAX_VALUE_LENGTH = 100;
+
+	/** ファイル出力のバッファサイズ */
+	private static final int FILE_BUFFER_SIZE = 1024;
+
+	/** ファイル出力のバッチサイズ */
+	private static final int FILE_BATCH_SIZE = 64;
+
+	/** スロークエリログ */
+	private static final SlowQueryLog INSTANCE = new SlowQueryLog();
+
+	/** 保持しているスロークエリ */
+	private final ArrayDeque<SlowQuery> _buffer = new ArrayDeque<>();
+
+	/** 記録件数 */
+	private final LongAdder _recordedCount = new LongAdder();
+
+	/** ファイル出力（ファイルに出力しない場合はnull） */
+	private AsyncLogWriter _writer;
+
+	/** 出力中のファイル */
+	private String _logFile;
+
+	/** JMX登録済みフラグ */
+	private volatile boolean _registered;
+
+	/**
+	 * コンストラクタ
+	 */
+	private SlowQueryLog() {}
+
+	/**
+	 * <p>スロークエリログ取得</p>
+	 *
+	 * @return スロークエリログ
+	 */
+	public static SlowQueryLog getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * <p>スロークエリ閾値取得</p>
+	 *
+	 * @return スロークエリ閾値（ナノ秒、記録しない場合は0）
+	 */
+	public static long getThresholdNanos() {
+		long millis = ConfigLoader.getConfig().getSlowQueryThreshold();
+		return 0L < millis ? TimeUnit.MILLISECONDS.toNanos(millis) : 0L;
+	}
+
+	/**
+	 * <p>バインド値文字列化</p>
+	 * <pre>
+	 * 文字列は「'」で囲み、最大長を超える部分は「...」とする。
+	 * 秘匿する場合は、値の型のみとする。
+	 *    (ex.) 'abc'、12、&lt;String&gt;
+	 * </pre>
+	 *
+	 * @param  value  バインド値
+	 * @param  redact バインド値を秘匿するか
+	 * @return バインド値の文字列表現
+	 */
+	public static String formatBindValue(Object value, boolean redact) {
+		if (value == null) {
+			return "null";
+		}
+		if (redact) {
+			return "<" + value.getClass().getSimpleName() + ">";
+		}
+		String str = String.valueOf(value);
+		if (MAX_VALUE_LENGTH < str.length()) {
+			str = str.substring(0, MAX_VALUE_LENGTH) + "...";
+		}
+		return value instanceof String ? "'" + str + "'" : str;
+	}
+
+	/**
+	 * <p>スロークエリ記録</p>
+	 *
+	 * @param sql           発行SQL
+	 * @param bindValues    バインド値の文字列表現（{@link SlowQueryLog#formatBindValue(Object, boolean)}）
+	 * @param elapsed       処理時間（ナノ秒）
+	 * @param rows          検索・登録・更新・削除件数
+	 * @param batchCount    バッチ件数（バッチ実行以外は0）
+	 * @param entityManager 実行元エンティティマネージャ（不明な場合はnull）
+	 */
+	public void record(String sql, List<String> bindValues, long elapsed, long rows, int batchCount,
+			Object entityManager) {
+		if (!_registered) {
+			this.registerMBean();
+		}
+		SlowQuery slowQuery = new SlowQuery(
+				System.currentTimeMillis(),
+				sql,
+				bindValues,
+				elapsed,
+				rows,
+				batchCount,
+				entityManager != null
+						? entityManager.getClass().getSimpleName() + "@"
+								+ Integer.toHexString(System.identityHashCode(entityManager))
+						: null,
+				Thread.currentThread().getName());
+		_recordedCount.increment();
+
+		ConfigVO config = ConfigLoader.getConfig();
+		AsyncLogWriter writer;
+		synchronized (this) {
+			_buffer.addLast(slowQuery);
+			while (Math.max(config.getSlowQueryBufferSize(), 0) < _buffer.size()) {
+				_buffer.removeFirst();
+			}
+			writer = this.getWriter(config.getSlowQueryLogFile());
+		}
+		if (writer != null) {
+			writer.offer(slowQuery.toString());
+		}
+	}
+
+	/**
+	 * <p>ファイル出力取得</p>
+	 * <pre>
+	 * 出力するファイルが変わった場合（設定ファイルの再読み込み）は、未出力のログを出力してから切り替える。
+	 * </pre>
+	 *
+	 * @param  logFile スロークエリログファイル
+	 * @return ファイル出力（ファイルに出力しない場合はnull）
+	 */
+	private AsyncLogWriter getWriter(String logFile) {
+		String file = logFile != null && !logFile.trim().isEmpty() ? logFile.trim() : null;
+		if (file == null ? _logFile == null : file.equals(_logFile)) {
+			return _writer;
+		}
+		if (_writer != null) {
+			_writer.close();
+		}
+		_logFile = file;
+		_writer  = file != null
+					? new AsyncLogWriter(new FileLogSink(Paths.get(file)), FILE_BUFFER_SIZE, FILE_BATCH_SIZE,
+							LogOverflowPolicy.DROP)
+					: null;
+		return _writer;
+	}
+
+	/**
+	 * <p>フラッシュ</p>
+	 * <pre>
+	 * 呼び出し時点までに記録したスロークエリが、スロークエリログファイルに書き込まれるまで待つ。
+	 * </pre>
+	 *
+	 * @param timeoutMillis 最大待ち時間（ミリ秒）
+	 */
+	public void flush(long timeoutMillis) {
+		AsyncLogWriter writer;
+		synchronized (this) {
+			writer = _writer;
+		}
+		if (writer != null) {
+			writer.flush(timeoutMillis);
+		}
+	}
+
+	/**
+	 * <p>JMX登録</p>
+	 * <pre>
+	 * 登録に失敗した場合（同じオブジェクト名が登録済みの場合など）は、JMXに公開しない。
+	 * </pre>
+	 */
+	private synchronized void registerMBean() {
+		if (_registered) {
+			return;
+		}
+		_registered = true;
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+			if (!server.isRegistered(name)) {
+				server.registerMBean(this, name);
+			}
+		} catch (JMException | SecurityException e) {
+			// JMXには公開しない
+		}
+	}
+
+	/**
+	 * <p>スロークエリ閾値取得</p>
+	 *
+	 * @return スロークエリ閾値（ミリ秒、0以下の場合は記録しない）
+	 */
+	@Override
+	public long getThresholdMillis() {
+		return ConfigLoader.getConfig().getSlowQueryThreshold();
+	}
+
+	/**
+	 * <p>記録件数取得</p>
+	 *
+	 * @return 記録したスロークエリの件数（保持件数を超えて破棄した分を含む）
+	 */
+	@Override
+	public long getRecordedCount() {
+		return _recordedCount.sum();
+	}
+
+	/**
+	 * <p>スロークエリ取得</p>
+	 *
+	 * @return 保持しているスロークエリ（記録順）
+	 */
+	@Override
+	public synchronized List<SlowQuery> getSlowQueries() {
+		return new ArrayList<>(_buffer);
+	}
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 保持しているスロークエリを破棄する。
+	 * </pre>
+	 */
+	@Override
+	public synchronized void clear() {
+		_buffer.clear();
+		_recordedCount.reset();
+	}
+}
@@ -0,0 +1,42 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.util.List;
+
+/**
+ * <p>スロークエリログMXBeanインタフェース</p>
+ * <pre>
+ * スロークエリログをJMXで公開する。
+ * オブジェクト名は「net.skuratani.simpleorm4j:type=SlowQueryLog」。
+ * </pre>
+ */
+public interface SlowQueryLogMXBean {
+
+	/**
+	 * <p>スロークエリ閾値取得</p>
+	 *
+	 * @return スロークエリ閾値（ミリ秒、0以下の場合は記録しない）
+	 */
+	long getThresholdMillis();
+
+	/**
+	 * <p>記録件数取得</p>
+	 *
+	 * @return 記録したスロークエリの件数（保持件数を超えて破棄した分を含む）
+	 */
+	long getRecordedCount();
+
+	/**
+	 * <p>スロークエリ取得</p>
+	 *
+	 * @return 保持しているスロークエリ（記録順）
+	 */
+	List<SlowQuery> getSlowQueries();
+
+	/**
+	 * <p>クリア</p>
+	 * <pre>
+	 * 保持しているスロークエリを破棄する。
+	 * </pre>
+	 */
+	void clear();
+}
@@ -0,0 +1,121 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>SQL実行メトリクスクラス</p>
+ * <pre>
+ * SQLフィンガープリント毎に、以下の処理時間のヒストグラムと件数を集計する。
+ *    1. prepare : プリペアドステートメントの取得（ステートメントキャッシュを含む）
+ *    2. bind    : パラメータのバインド
+ *    3. execute : SQLの実行
+ *    4. map     : 検索結果の読み込み・マッピング（検索のみ）
+ *    5. total   : 上記の合計
+ * 集計はロックを使用せずに行い、複数のスレッドから同時に記録できる。
+ * </pre>
+ */
+public class StatementMetrics {
+
+	/** SQLフィンガープリント */
+	protected final String _fingerprint;
+
+	/** プリペアドステートメント取得時間 */
+	protected final LatencyHistogram _prepare = new LatencyHistogram();
+
+	/** バインド時間 */
+	protected final LatencyHistogram _bind = new LatencyHistogram();
+
+	/** 実行時間 */
+	protected final LatencyHistogram _execute = new LatencyHistogram();
+
+	/** マッピング時間 */
+	protected final LatencyHistogram _map = new LatencyHistogram();
+
+	/** 合計時間 */
+	protected final LatencyHistogram _total = new LatencyHistogram();
+
+	/** 検索・登録・更新・削除件数 */
+	protected final LongAdder _rows = new LongAdder();
+
+	/** エラー件数 */
+	protected final LongAdder _errors = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param fingerprint SQLフィンガープリント
+	 */
+	StatementMetrics(String fingerprint) {
+		_fingerprint = fingerprint;
+	}
+
+	/**
+	 * <p>実行記録</p>
+	 * <pre>
+	 * 各処理の開始・終了時刻（{@link System#nanoTime()}）から処理時間を記録する。
+	 * </pre>
+	 *
+	 * @param start     開始時刻
+	 * @param prepared  プリペアドステートメント取得完了時刻
+	 * @param bound     バインド完了時刻
+	 * @param executed  実行完了時刻
+	 * @param mapped    マッピング完了時刻（マッピングしない場合は実行完了時刻）
+	 * @param rows      検索・登録・更新・削除件数
+	 */
+	public void record(long start, long prepared, long bound, long executed, long mapped, long rows) {
+		_prepare.record(prepared - start);
+		_bind.record(bound - prepared);
+		_execute.record(executed - bound);
+		if (executed < mapped) {
+			_map.record(mapped - executed);
+		}
+		_total.record(mapped - start);
+		_rows.add(rows);
+	}
+
+	/**
+	 * <p>エラー記録</p>
+	 */
+	public void recordError() {
+		_errors.increment();
+	}
+
+	/**
+	 * <p>SQLフィンガープリント取得</p>
+	 *
+	 * @return SQLフィンガープリント
+	 */
+	public String getFingerprint() {
+		return _fingerprint;
+	}
+
+	/**
+	 * <p>スナップショット取得</p>
+	 *
+	 * @return SQL実行メトリクススナップショット
+	 */
+	public StatementMetricsSnapshot snapshot() {
+		return new StatementMetricsSnapshot(
+				_fingerprint,
+				_rows.sum(),
+				_errors.sum(),
+				_prepare.snapshot(),
+				_bind.snapshot(),
+				_execute.snapshot(),
+				_map.snapshot(),
+				_total.snapshot());
+	}
+
+	/**
+	 * <p>リセット</p>
+	 */
+	public void reset() {
+		_prepare.reset();
+		_bind.reset();
+		_execute.reset();
+		_map.reset();
+		_total.reset();
+		_rows.reset();
+		_errors.reset();
+	}
+}
@@ -0,0 +1,51 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.util.List;
+
+/**
+ * <p>SQL実行メトリクスMXBeanインタフェース</p>
+ * <pre>
+ * SQL実行メトリクスをJMXで公開する。
+ * オブジェクト名は「net.skuratani.simpleorm4j:type=StatementMetrics」。
+ * </pre>
+ */
+public interface StatementMetricsMXBean {
+
+	/**
+	 * <p>メトリクス有効判定</p>
+	 *
+	 * @return boolean
+	 *           true  : 集計する
+	 *           false : 集計しない
+	 */
+	boolean isEnabled();
+
+	/**
+	 * <p>集計SQL数取得</p>
+	 *
+	 * @return 集計中のSQLフィンガープリントの数
+	 */
+	int getStatementCount();
+
+	/**
+	 * <p>集計対象外件数取得</p>
+	 *
+	 * @return 最大SQL数を超えた為に集計しなかった実行件数
+	 */
+	long getOverflowCount();
+
+	/**
+	 * <p>スナップショット取得</p>
+	 *
+	 * @return SQLフィンガープリント毎のスナップショット（合計時間の降順）
+	 */
+	List<StatementMetricsSnapshot> getSnapshots();
+
+	/**
+	 * <p>リセット</p>
+	 * <pre>
+	 * 全てのSQLフィンガープリントの集計値を破棄する。
+	 * </pre>
+	 */
+	void reset();
+}
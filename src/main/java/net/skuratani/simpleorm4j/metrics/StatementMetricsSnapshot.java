@@ -0,0 +1,153 @@
+package net.skuratani.simpleorm4j.metrics;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * <p>SQL実行メトリクススナップショットクラス</p>
+ * <pre>
+ * {@link StatementMetrics}のある時点の集計値を保持する不変クラス。
+ * </pre>
+ */
+public final class StatementMetricsSnapshot {
+
+	/** SQLフィンガープリント */
+	private final String _fingerprint;
+
+	/** 検索・登録・更新・削除件数 */
+	private final long _rows;
+
+	/** エラー件数 */
+	private final long _errors;
+
+	/** プリペアドステートメント取得時間 */
+	private final LatencySnapshot _prepare;
+
+	/** バインド時間 */
+	private final LatencySnapshot _bind;
+
+	/** 実行時間 */
+	private final LatencySnapshot _execute;
+
+	/** マッピング時間 */
+	private final LatencySnapshot _map;
+
+	/** 合計時間 */
+	private final LatencySnapshot _total;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param fingerprint SQLフィンガープリント
+	 * @param rows        検索・登録・更新・削除件数
+	 * @param errors      エラー件数
+	 * @param prepare     プリペアドステートメント取得時間
+	 * @param bind        バインド時間
+	 * @param execute     実行時間
+	 * @param map         マッピング時間
+	 * @param total       合計時間
+	 */
+	@ConstructorProperties({ "fingerprint", "rows", "errors", "prepare", "bind", "execute", "map", "total" })
+	public StatementMetricsSnapshot(String fingerprint, long rows, long errors, LatencySnapshot prepare,
+			LatencySnapshot bind, LatencySnapshot execute, LatencySnapshot map, LatencySnapshot total) {
+		_fingerprint = fingerprint;
+		_rows        = rows;
+		_errors      = errors;
+		_prepare     = prepare;
+		_bind        = bind;
+		_execute     = execute;
+		_map         = map;
+		_total       = total;
+	}
+
+	/**
+	 * <p>SQLフィンガープリント取得</p>
+	 *
+	 * @return SQLフィンガープリント
+	 */
+	public String getFingerprint() {
+		return _fingerprint;
+	}
+
+	/**
+	 * <p>実行件数取得</p>
+	 *
+	 * @return 正常に実行した件数
+	 */
+	public long getExecutions() {
+		return _total.getCount();
+	}
+
+	/**
+	 * <p>検索・登録・更新・削除件数取得</p>
+	 *
+	 * @return 検索・登録・更新・削除件数
+	 */
+	public long getRows() {
+		return _rows;
+	}
+
+	/**
+	 * <p>エラー件数取得</p>
+	 *
+	 * @return エラー件数
+	 */
+	public long getErrors() {
+		return _errors;
+	}
+
+	/**
+	 * <p>プリペアドステートメント取得時間取得</p>
+	 *
+	 * @return プリペアドステートメント取得時間
+	 */
+	public LatencySnapshot getPrepare() {
+		return _prepare;
+	}
+
+	/**
+	 * <p>バインド時間取得</p>
+	 *
+	 * @return バインド時間
+	 */
+	public LatencySnapshot getBind() {
+		return _bind;
+	}
+
+	/**
+	 * <p>実行時間取得</p>
+	 *
+	 * @return 実行時間
+	 */
+	public LatencySnapshot getExecute() {
+		return _execute;
+	}
+
+	/**
+	 * <p>マッピング時間取得</p>
+	 *
+	 * @return マッピング時間
+	 */
+	public LatencySnapshot getMap() {
+		return _map;
+	}
+
+	/**
+	 * <p>合計時間取得</p>
+	 *
+	 * @return 合計時間
+	 */
+	public LatencySnapshot getTotal() {
+		return _total;
+	}
+
+	/**
+	 * <p>文字列変換</p>
+	 *
+	 * @return 集計値の文字列
+	 */
+	@Override
+	public String toString() {
+		return _fingerprint + " : executions=" + this.getExecutions() + ", rows=" + _rows + ", errors=" + _errors
+				+ ", total={" + _total + "}";
+	}
+}
@@ -47,6 +47,9 @@ public class Criteria {
 	/** value式リスト */
 	protected List<Expression> _valueExpressionList;
 
+	/** 追加行のvalue式リスト（複数行INSERTの2行目以降） */
+	protected List<List<Expression>> _additionalValueList;
+
 	/** 更新テーブル */
 	protected Class<?> _update;
 
@@ -66,6 +69,7 @@ public class Criteria {
 		_havingExpressionList = new ArrayList<>();
 		_orderByList          = new ArrayList<>();
 		_valueExpressionList  = new ArrayList<>();
+		_additionalValueList  = new ArrayList<>();
 		_setExpressionList    = new ArrayList<>();
 	}
 
@@ -199,6 +203,27 @@ public class Criteria {
 		return this;
 	}
 
+	/**
+	 * <p>VALUE式追加（複数行INSERT）</p>
+	 * <pre>
+	 * {@link Expression#equal(Field, Object)}を使用して登録値を1行分追加する。
+	 * 複数行を追加した場合は、1つのINSERT文で全ての行を登録する。
+	 * (ex.) INSERT INTO TABLE (A,B) VALUES (1,2),(3,4)
+	 * 各行のカラムは1行目と同じ順序で指定する。
+	 * </pre>
+	 *
+	 * @param  valueExpressions VALUE値式配列
+	 * @return Criteriaインスタンス
+	 */
+	public Criteria addValue(Expression... valueExpressions) {
+		if (_valueExpressionList.isEmpty()) {
+			_valueExpressionList = Arrays.asList(valueExpressions);
+		} else {
+			_additionalValueList.add(Arrays.asList(valueExpressions));
+		}
+		return this;
+	}
+
 	/**
 	 * <p>更新テーブル指定</p>
 	 *
@@ -397,6 +422,24 @@ public class Criteria {
 		this._valueExpressionList = valueExpressionList;
 	}
 
+	/**
+	 * <p>追加行のvalue式リスト取得</p>
+	 *
+	 * @return 追加行のvalue式リスト
+	 */
+	public List<List<Expression>> getAdditionalValueList() {
+		return _additionalValueList;
+	}
+
+	/**
+	 * <p>追加行のvalue式リスト設定</p>
+	 *
+	 * @param additionalValueList 追加行のvalue式リスト
+	 */
+	public void setAdditionalValueList(List<List<Expression>> additionalValueList) {
+		this._additionalValueList = additionalValueList;
+	}
+
 	/**
 	 * <p>更新テーブル取得</p>
 	 *
@@ -1,33 +1,42 @@
 package net.skuratani.simpleorm4j.persistence;
 
-import java.beans.IntrospectionException;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.Map;
+import java.util.Set;
 
-import javax.naming.Context;
-import javax.naming.InitialContext;
 import javax.naming.NamingException;
-import javax.sql.DataSource;
 
 import net.skuratani.simpleorm4j.builder.QueryBuilder;
+import net.skuratani.simpleorm4j.cache.EntityRegion;
+import net.skuratani.simpleorm4j.cache.IdentityMap;
+import net.skuratani.simpleorm4j.cache.QueryResultCache;
+import net.skuratani.simpleorm4j.cache.SecondLevelCache;
 import net.skuratani.simpleorm4j.exception.So4jException;
 import net.skuratani.simpleorm4j.expression.Expression;
 import net.skuratani.simpleorm4j.io.StandartOutput;
 import net.skuratani.simpleorm4j.loader.ConfigLoader;
-import net.skuratani.simpleorm4j.util.AnnotationUtil;
+import net.skuratani.simpleorm4j.mapper.EntityPropertyRowMapper;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+import net.skuratani.simpleorm4j.metadata.RelationMetadata;
+import net.skuratani.simpleorm4j.pool.ConnectionFactory;
+import net.skuratani.simpleorm4j.pool.PooledConnection;
+import net.skuratani.simpleorm4j.pool.StatementCache;
+import net.skuratani.simpleorm4j.type.QueryType;
+import net.skuratani.simpleorm4j.util.TableNameUtil;
 import net.skuratani.simpleorm4j.vo.ConfigVO;
 
 /**
@@ -36,60 +45,229 @@ import net.skuratani.simpleorm4j.vo.ConfigVO;
  * データベースと対話するために使用されるクラス。
  * データベースに対する一意なコネクションを管理する。
  * （エンティティマネージャが異なれば、データベースへのコネクションも異なる）
+ * 使用後は{@link EntityManager#close()}でコネクションを解放する。
  * クエリ内容を表現したCriteriaから、データベースに発行するクエリ（Query）を生成する。
+ * 検索・登録・更新したエンティティインスタンスは識別マップ（1次キャッシュ）に保持し、
+ * 同じ主キーのエンティティには同じインスタンスを返却する（設定ファイルのidentityMapがfalseの場合は保持しない）。
+ * 2次キャッシュ（{@link SecondLevelCache}）の対象のエンティティクラスは、主キー検索でエンティティマネージャ間で共有する
+ * 2次キャッシュを参照し、登録・更新・削除時に2次キャッシュから破棄する。
+ * トランザクション中に更新したテーブルは、コミット・ロールバックまで2次キャッシュ・クエリ結果キャッシュを使用しない。
  * </pre>
  */
-public class EntityManager {
+public class EntityManager implements AutoCloseable {
 
 	/** データベース接続 */
 	protected Connection _connection;
 
+	/** プール管理接続（コネクションプール未使用の場合はnull） */
+	protected PooledConnection _pooledConnection;
+
+	/** ステートメントキャッシュ */
+	protected StatementCache _statementCache;
+
+	/** 識別マップ */
+	protected final IdentityMap _identityMap = new IdentityMap();
+
+	/** 未取得の多対一関連（関連フィールド毎に、関連元と一括取得単位の対応） */
+	protected final Map<Field, Map<Object, RelationLoader.ReferenceBatch>> _pendingReferenceMap = new HashMap<>();
+
+	/** クローズ済みフラグ（{@link EntityManager#close()}を実行済み） */
+	protected volatile boolean _closed;
+
+	/** トランザクション使用フラグ（{@link EntityManager#beginTransaction()}を実行済み） */
+	protected boolean _transactional;
+
+	/** トランザクション中に更新したテーブル（正規化済み、コミット・ロールバック時にキャッシュを破棄する） */
+	protected final Set<String> _dirtyTables = new HashSet<>();
+
 	/**
 	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * データベースへの物理接続を生成する。
+	 * </pre>
 	 */
 	protected EntityManager() {
 		try {
 			ConfigVO config = ConfigLoader.getConfig();
-			// データソース指定の場合
-			if (ConfigLoader.getProps().getProperty(ConfigVO.DSN) != null) {
-				Context ctx   = new InitialContext();
-				DataSource ds;
-				try {
-					ds = (DataSource)ctx.lookup(config.getDsn());
-				} catch (NamingException e) {
-					ds = (DataSource)ctx.lookup("java:comp/env/" + config.getDsn());
-				}
-				_connection   = ds.getConnection();
-			// URL指定の場合
-			} else if (ConfigLoader.getProps().getProperty(ConfigVO.URL) != null) {
-				if (   ConfigLoader.getProps().getProperty(ConfigVO.USER) != null
-					&& ConfigLoader.getProps().getProperty(ConfigVO.PASSWORD) != null) {
-					_connection = DriverManager.getConnection(
-							config.getUrl(), config.getUser(), config.getPassword());
-				} else {
-					_connection = DriverManager.getConnection(config.getUrl());
-				}
-			}
-			// オートコミットモード指定
-			if (ConfigLoader.getProps().getProperty(ConfigVO.AUTO_COMMIT) != null) {
-				_connection.setAutoCommit(config.isAutoCommit());
-			}
-			// トランザクション分離レベル指定
-			if (ConfigLoader.getProps().getProperty(ConfigVO.TRANSACTION_ISOLATION) != null) {
-				_connection.setTransactionIsolation(config.getTransactionIsolation());
-			}
+			_connection     = ConnectionFactory.openConnection(config);
+			_statementCache = new StatementCache(_connection, config.getStatementCacheSize());
+		} catch (SQLException | NamingException e) {
+			throw new RuntimeException(e.getMessage(), e);
+		}
+	}
 
-			// デバッグ情報
-			if (config.isVerbose()) {
-				if (ConfigLoader.getProps().getProperty(ConfigVO.DSN) != null) {
-					StandartOutput.writeln("SimpleORM4J : connect database : " + config.getDsn());
-				} else {
-					StandartOutput.writeln("SimpleORM4J : connect database : " + config.getUrl());
-				}
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * コネクションプールから貸し出された接続を使用する。
+	 * </pre>
+	 *
+	 * @param pooledConnection プール管理接続
+	 */
+	protected EntityManager(PooledConnection pooledConnection) {
+		_pooledConnection = pooledConnection;
+		_connection       = pooledConnection.getConnection();
+		_statementCache   = pooledConnection.getStatementCache();
+	}
+
+	/**
+	 * <p>クローズ</p>
+	 * <pre>
+	 * コネクションプールから取得した接続の場合は、接続をプールに返却する。
+	 * 上記以外の場合は、データベース接続をクローズする。
+	 * 識別マップに保持しているエンティティインスタンスは破棄する。
+	 * クローズ済みの場合は何もしない（プールに返却した接続を2度返却しない）。
+	 * クローズ後は接続を参照せず、検索・更新・トランザクション操作はIllegalStateExceptionとする。
+	 * </pre>
+	 */
+	@Override
+	public void close() {
+		if (_closed) {
+			return;
+		}
+		_closed = true;
+		_identityMap.clear();
+		_pendingReferenceMap.clear();
+		try {
+			if (_pooledConnection != null) {
+				_pooledConnection.release();
+			} else if (!_connection.isClosed()) {
+				_statementCache.clear();
+				_connection.close();
 			}
+		} catch (SQLException sqle) {
+			throw new RuntimeException(sqle.getMessage(), sqle);
+		} finally {
+			_pooledConnection = null;
+			_connection       = null;
+			_statementCache   = null;
+		}
+	}
 
-		} catch (SQLException | NamingException e) {
-			throw new RuntimeException(e.getMessage(), e);
+	/**
+	 * <p>クローズ判定</p>
+	 *
+	 * @return boolean
+	 *           true  : クローズ済み
+	 *           false : 上記以外
+	 */
+	public boolean isClosed() {
+		return _closed;
+	}
+
+	/**
+	 * <p>クローズ済みチェック</p>
+	 *
+	 * @throws IllegalStateException クローズ済みの場合
+	 */
+	protected void checkOpen() {
+		if (_closed) {
+			throw new IllegalStateException("entity manager is closed.");
+		}
+	}
+
+	/**
+	 * <p>ステートメントキャッシュ取得</p>
+	 * <pre>
+	 * ヒット・ミス件数からキャッシュサイズを調整する為に使用する。
+	 * </pre>
+	 *
+	 * @return ステートメントキャッシュ
+	 */
+	public StatementCache getStatementCache() {
+		return _statementCache;
+	}
+
+	/**
+	 * <p>識別マップ取得</p>
+	 *
+	 * @return 識別マップ（設定ファイルのidentityMapがfalseの場合はnull）
+	 */
+	IdentityMap getIdentityMap() {
+		return ConfigLoader.getConfig().isIdentityMap() ? _identityMap : null;
+	}
+
+	/**
+	 * <p>未取得の多対一関連登録</p>
+	 *
+	 * @param field 関連フィールド
+	 * @param owner 関連元
+	 * @param batch 一括取得単位
+	 */
+	void addPendingReference(Field field, Object owner, RelationLoader.ReferenceBatch batch) {
+		_pendingReferenceMap.computeIfAbsent(field, k -> new IdentityHashMap<>()).put(owner, batch);
+	}
+
+	/**
+	 * <p>未取得の多対一関連取得</p>
+	 *
+	 * @param  field 関連フィールド
+	 * @param  owner 関連元
+	 * @return 一括取得単位（登録していない場合はnull）
+	 */
+	RelationLoader.ReferenceBatch getPendingReference(Field field, Object owner) {
+		Map<Object, RelationLoader.ReferenceBatch> ownerMap = _pendingReferenceMap.get(field);
+		return ownerMap != null ? ownerMap.get(owner) : null;
+	}
+
+	/**
+	 * <p>未取得の多対一関連登録解除</p>
+	 *
+	 * @param field 関連フィールド
+	 * @param owner 関連元
+	 */
+	void removePendingReference(Field field, Object owner) {
+		Map<Object, RelationLoader.ReferenceBatch> ownerMap = _pendingReferenceMap.get(field);
+		if (ownerMap != null) {
+			ownerMap.remove(owner);
+		}
+	}
+
+	/**
+	 * <p>識別マップクリア</p>
+	 * <pre>
+	 * 識別マップに保持している全てのエンティティインスタンスを切り離す。
+	 * Queryで実行した一括更新・削除や、他のエンティティマネージャでの更新は識別マップに反映されない為、
+	 * 最新のデータを検索し直す場合に使用する。
+	 * </pre>
+	 */
+	public void clear() {
+		_identityMap.clear();
+		_pendingReferenceMap.clear();
+	}
+
+	/**
+	 * <p>エンティティインスタンス切り離し</p>
+	 * <pre>
+	 * 引数のエンティティインスタンスを識別マップから削除する。
+	 * 以降の検索では、同じ主キーのエンティティに新しいインスタンスを返却する。
+	 * </pre>
+	 *
+	 * @param  object エンティティインスタンス
+	 * @throws So4jException ゲッタメソッドの実行に失敗した場合
+	 */
+	public void detach(Object object) throws So4jException {
+		try {
+			_identityMap.detach(object);
+		} catch (ReflectiveOperationException e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>エンティティインスタンス保持判定</p>
+	 *
+	 * @param  object エンティティインスタンス
+	 * @return boolean
+	 *           true  : 識別マップに保持している
+	 *           false : 保持していない
+	 * @throws So4jException ゲッタメソッドの実行に失敗した場合
+	 */
+	public boolean contains(Object object) throws So4jException {
+		try {
+			return _identityMap.contains(object);
+		} catch (ReflectiveOperationException e) {
+			throw new So4jException(e.getMessage(), e);
 		}
 	}
 
@@ -100,8 +278,10 @@ public class EntityManager {
 	 * </pre>
 	 */
 	public void beginTransaction() {
+		this.checkOpen();
 		try {
 			_connection.setAutoCommit(false);
+			_transactional = true;
 		} catch (SQLException sqle) {
 			throw new RuntimeException(sqle.getMessage(), sqle);
 		}
@@ -111,13 +291,17 @@ public class EntityManager {
 	 * <p>コミット</p>
 	 * <pre>
 	 * エンティティマネージャが有するデータベースコネクションのトランザクションをコミットする。
+	 * トランザクション中に更新したテーブルの2次キャッシュ・クエリ結果キャッシュを破棄する。
 	 * </pre>
 	 */
 	public void commit() {
+		this.checkOpen();
 		try {
 			_connection.commit();
 		} catch (SQLException sqle) {
 			throw new RuntimeException(sqle.getMessage(), sqle);
+		} finally {
+			this.clearDirtyTables();
 		}
 	}
 
@@ -125,14 +309,65 @@ public class EntityManager {
 	 * <p>ロールバック</p>
 	 * <pre>
 	 * エンティティマネージャが有するデータベースコネクションのトランザクションをロールバックする。
+	 * トランザクション中に更新したテーブルの2次キャッシュ・クエリ結果キャッシュを破棄する。
 	 * </pre>
 	 */
 	public void rollback() {
+		this.checkOpen();
 		try {
 			_connection.rollback();
 		} catch (SQLException sqle) {
 			throw new RuntimeException(sqle.getMessage(), sqle);
+		} finally {
+			this.clearDirtyTables();
+		}
+	}
+
+	/**
+	 * <p>更新したテーブルの記録</p>
+	 * <pre>
+	 * トランザクション中の場合は、コミット・ロールバックまでテーブルの2次キャッシュ・クエリ結果キャッシュの
+	 * 参照・登録を行わず、コミット・ロールバック時に破棄する。
+	 * （他のエンティティマネージャが、コミット前のデータをキャッシュに登録した場合に備える）
+	 * </pre>
+	 *
+	 * @param tableName 更新したテーブル名
+	 */
+	void markDirtyTable(String tableName) {
+		if (_transactional) {
+			_dirtyTables.add(TableNameUtil.normalize(tableName));
+		}
+	}
+
+	/**
+	 * <p>更新テーブル判定</p>
+	 *
+	 * @param  tables テーブル名（正規化済み）
+	 * @return boolean
+	 *           true  : トランザクション中にいずれかのテーブルを更新した
+	 *           false : 上記以外
+	 */
+	boolean isDirty(String[] tables) {
+		if (_dirtyTables.isEmpty()) {
+			return false;
 		}
+		for (String table : tables) {
+			if (_dirtyTables.contains(table)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>更新したテーブルのキャッシュ破棄</p>
+	 */
+	protected void clearDirtyTables() {
+		for (String table : _dirtyTables) {
+			SecondLevelCache.getInstance().evictTable(table);
+			QueryResultCache.getInstance().invalidate(table);
+		}
+		_dirtyTables.clear();
 	}
 
 	/**
@@ -154,17 +389,22 @@ public class EntityManager {
 	 * @return Queryインスタンス
 	 */
 	public Query createQuery(Criteria criteria) {
+		this.checkOpen();
 		QueryBuilder queryBuilder = new QueryBuilder(criteria);
 		Query query = new Query(
 					queryBuilder.judgeQueryType(),
 					queryBuilder.createSql(),
+					queryBuilder.getBindValueList(),
 					queryBuilder.judgeEntityClass(),
-					_connection
-				);
+					_connection,
+					_statementCache
+				).setEntityManager(this)
+				 .setTables(queryBuilder.getTables())
+				 .setSelectClasses(queryBuilder.getSelectEntityClasses());
 
 		// デバッグ情報
 		if (ConfigLoader.getConfig().isVerbose()) {
-			StandartOutput.writeln("SimpleORM4J : create query : " + System.lineSeparator() + query.getSql());
+			StandartOutput.writeStatement("SimpleORM4J : create query : " + System.lineSeparator() + query.getSql());
 		}
 
 		return query;
@@ -181,13 +421,139 @@ public class EntityManager {
 	 * @return Queryインスタンス
 	 */
 	public Query createRawQuery(String sql, Class<?> entityClass) {
+		this.checkOpen();
 		QueryBuilder queryBuilder = new QueryBuilder();
 		return new Query(
 				queryBuilder.judgeQueryType(sql),
 				sql,
 				entityClass,
-				_connection
-			);
+				_connection,
+				_statementCache
+			).setEntityManager(this);
+	}
+
+	/**
+	 * <p>関連取得</p>
+	 * <pre>
+	 * エンティティインスタンスのManyToOne・OneToManyアノテーションを指定したフィールドの関連エンティティを取得する。
+	 * 多対一関連（LAZY）が未取得の場合は、同じ検索結果で未取得の関連元（外部キーの値が最大で設定ファイルの
+	 * relationBatchSize件）の関連エンティティを、IN句の1回の検索でまとめて取得して関連フィールドに設定する。
+	 * 一対多関連が未取得の場合は、遅延取得リストの関連エンティティを取得する。
+	 * 取得済みの場合は、SQLを発行せずに関連フィールドの値を返却する。
+	 * (ex.) School school = (School) em.fetch(student, "school");
+	 * </pre>
+	 *
+	 * @param  entity    エンティティインスタンス
+	 * @param  fieldName 関連フィールド名
+	 * @return 関連エンティティ、又は関連エンティティのリスト（外部キーの値がnullの場合・存在しない場合はnull）
+	 * @throws So4jException 関連フィールドが存在しない場合<br>
+	 *                       関連エンティティの検索に失敗した場合
+	 */
+	public Object fetch(Object entity, String fieldName) throws So4jException {
+		this.checkOpen();
+
+		EntityMetadata metadata = EntityMetadataRegistry.get(entity.getClass());
+		RelationMetadata relation = null;
+		for (RelationMetadata r : metadata.getRelationList()) {
+			if (r.getFieldName().equals(fieldName)) {
+				relation = r;
+				break;
+			}
+		}
+		if (relation == null) {
+			String message = "relation field is not found. class : " + entity.getClass().getName()
+								+ ", field : " + fieldName;
+			throw new So4jException(message, new IllegalArgumentException(message));
+		}
+
+		try {
+			Object value = relation.getValue(entity);
+			if (value == null && !relation.isCollection()) {
+				value = RelationLoader.fetchReference(this, metadata, relation, entity);
+			} else if (value instanceof LazyList) {
+				((LazyList<?>) value).size();
+			}
+			return value;
+		} catch (ReflectiveOperationException e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>主キー検索</p>
+	 * <pre>
+	 * 主キーの値でエンティティを1件検索する。
+	 * エンティティクラス毎に生成済みのSQL（SELECT 全カラム FROM テーブル WHERE 主キー = ?）と
+	 * マッピングプランを使用し、Criteria・式の生成、SQL文の生成・解析を行わない。
+	 * プリペアドステートメントはステートメントキャッシュから取得し、最大取得件数は1件とする。
+	 * 複合主キーの場合は、@Idフィールドの宣言順に値を指定する。
+	 * 識別マップに同じ主キーのエンティティインスタンスを保持している場合は、SQLを発行せずに返却する。
+	 * 2次キャッシュの対象のエンティティクラスの場合は、2次キャッシュを参照し、検索結果を2次キャッシュに登録する。
+	 * (ex.) User user = em.find(User.class, 42);
+	 * </pre>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @param  ids   主キーの値（@Idフィールドの宣言順）
+	 * @return エンティティインスタンス（存在しない場合はnull）
+	 * @throws So4jException エンティティクラスに主キーがない場合<br>
+	 *                       主キーの値の数が主キーのカラム数と一致しない場合<br>
+	 *                       SQL文の実行に失敗した場合
+	 */
+	public <T> T find(Class<T> clazz, Object... ids) throws So4jException {
+		this.checkOpen();
+
+		FindStatement findStatement = FindStatement.get(clazz);
+		ParsedSql parsedSql = findStatement.getParsedSql();
+		int idCount = ids != null ? ids.length : 0;
+		if (parsedSql == null || idCount != findStatement.getIdCount()) {
+			String message = parsedSql == null
+								? "entity class has no id field. class : " + clazz.getName()
+								: "mismatch the number of id values."
+										+ " expected : " + findStatement.getIdCount() + ", actual : " + idCount;
+			throw new So4jException(message, new IllegalArgumentException(message));
+		}
+
+		IdentityMap identityMap = this.getIdentityMap();
+		Object current = identityMap != null ? identityMap.get(clazz, ids) : null;
+		if (current != null) {
+			return clazz.cast(current);
+		}
+
+		// 2次キャッシュ（トランザクション中に更新した場合は参照しない）
+		EntityRegion region = SecondLevelCache.getInstance().getRegion(clazz);
+		boolean shared = region != null && !_dirtyTables.contains(region.getTableName());
+		long generation = 0L;
+		try {
+			if (shared) {
+				generation = region.getGeneration();
+				Object cached = region.get(ids);
+				if (cached != null) {
+					if (identityMap != null) {
+						identityMap.put(cached);
+					}
+					RelationLoader.load(this, clazz, Collections.singletonList(cached));
+					return clazz.cast(cached);
+				}
+			}
+		} catch (ReflectiveOperationException e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+
+		EntityPropertyRowMapper<?> rowMapper = findStatement.createRowMapper();
+		Query query = new Query(QueryType.SELECT, parsedSql, ids, FindStatement.NO_PARAMETERS, clazz, rowMapper,
+				_connection, _statementCache).setEntityManager(this).setMaxRows(1);
+		Object entity = query.getSingleResult();
+		findStatement.keepMappingPlan(rowMapper);
+
+		try {
+			if (shared && entity != null) {
+				region.put(entity, generation);
+			}
+		} catch (ReflectiveOperationException e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+
+		return clazz.cast(entity);
 	}
 
 	/**
@@ -195,6 +561,7 @@ public class EntityManager {
 	 * <pre>
 	 * エンティティインスタンスから登録クエリを生成・実行して、引数のエンティティデータを
 	 * データベースに登録する。
+	 * 主キーが自動採番でない場合は、引数のエンティティインスタンスを識別マップに登録する。
 	 * </pre>
 	 *
 	 * @param  object エンティティインスタンス
@@ -202,43 +569,25 @@ public class EntityManager {
 	 * @throws So4jException SQL文の実行に失敗した場合
 	 */
 	public int persist(Object object) throws So4jException {
+		this.checkOpen();
 
 		try {
 			Class<?> clazz = object.getClass();
+			EntityMetadata metadata = EntityMetadataRegistry.get(clazz);
 			Criteria criteria = new Criteria();
 			criteria.insert(clazz);
-			List<Object> paramList = new ArrayList<>();
-			List<Expression> expressionList =
-					  Stream.of(clazz.getDeclaredFields())
-					  		.filter(f -> !AnnotationUtil.hasGenerationValueAnnotation(f))
-							.map(new Function<Field, Expression>() {
-								int i = 1;
-								@Override
-								public Expression apply(Field f) {
-									try {
-										PropertyDescriptor prop = new PropertyDescriptor(f.getName(), object.getClass());
-										Method getter = prop.getReadMethod();
-										Object value = getter.invoke(object, (Object[]) null);
-										if (value instanceof Date || value instanceof LocalDate || value instanceof LocalDateTime) {
-											paramList.add(value);
-											return Expression.equal(f, String.valueOf(":" + i++));
-										} else {
-											return Expression.equal(f, value);
-										}
-									} catch (IntrospectionException | IllegalAccessException |
-											IllegalArgumentException | InvocationTargetException e) {
-										e.printStackTrace();
-										return null;
-									}
-								}
-							}).collect(Collectors.toList());
+			List<Expression> expressionList = new ArrayList<>();
+			for (ColumnMetadata column : metadata.getColumnList()) {
+				if (!column.isGenerated()) {
+					expressionList.add(Expression.equalValue(column.getField(), column.getValue(object)));
+				}
+			}
 			criteria.value(expressionList.toArray(new Expression[0]));
 
-			Query query = this.createQuery(criteria);
-			for (int i = 1; i <= paramList.size(); i++) {
-				query.setParameter(String.valueOf(i), paramList.get(i - 1));
-			}
-			return query.executeUpdate();
+			Query query = this.createQuery(criteria).markEntityWrite();
+			int count = query.executeUpdate();
+			this.attach(object, QueryType.INSERT, count);
+			return count;
 
 		} catch (Exception e) {
 			throw new So4jException(e.getMessage(), e);
@@ -249,6 +598,9 @@ public class EntityManager {
 	 * <p>エンティティインスタンス更新</p>
 	 * <pre>
 	 * エンティティインスタンスから更新クエリを生成・実行して、引数のエンティティデータを更新する。
+	 * 更新した場合は、引数のエンティティインスタンスを識別マップに登録する（同じ主キーのインスタンスを置き換える）。
+	 * 識別マップに保持しているインスタンスの場合は、検索・登録・更新時から変更したカラムのみを更新し、
+	 * 変更したカラムがない場合はSQLを発行せずに1を返却する（{@link IdentityMap#getDirtyColumns(Object)}）。
 	 * </pre>
 	 *
 	 * @param  object エンティティインスタンス
@@ -256,63 +608,37 @@ public class EntityManager {
 	 * @throws So4jException SQL文の実行に失敗した場合
 	 */
 	public int merge(Object object) throws So4jException {
+		this.checkOpen();
 
 		try {
+			BitSet dirtyColumns = this.getDirtyColumns(object);
+			if (dirtyColumns != null && dirtyColumns.isEmpty()) {
+				// デバッグ情報
+				if (ConfigLoader.getConfig().isVerbose()) {
+					StandartOutput.writeStatement("SimpleORM4J : skip merge (not modified) : " + object.getClass().getName());
+				}
+				return 1;
+			}
+
 			Class<?> clazz = object.getClass();
+			EntityMetadata metadata = EntityMetadataRegistry.get(clazz);
 			Criteria criteria = new Criteria();
 			criteria.update(clazz);
-			List<Object> paramList = new ArrayList<>();
-			List<Expression> setExpressionList =
-					  Stream.of(clazz.getDeclaredFields())
-					  		.filter(f -> !AnnotationUtil.hasIdAnnotation(f))
-							.map(new Function<Field, Expression>() {
-								int i = 1;
-								@Override
-								public Expression apply(Field f) {
-									try {
-										PropertyDescriptor prop = new PropertyDescriptor(f.getName(), object.getClass());
-										Method getter = prop.getReadMethod();
-										Object value = getter.invoke(object, (Object[]) null);
-										if (value instanceof Date || value instanceof LocalDate || value instanceof LocalDateTime) {
-											paramList.add(value);
-											return Expression.equal(f, String.valueOf(":" + i++));
-										} else {
-											return Expression.equal(f, value);
-										}
-									} catch (IntrospectionException | IllegalAccessException |
-											IllegalArgumentException | InvocationTargetException e) {
-										e.printStackTrace();
-										return null;
-									}
-								}
-							}).collect(Collectors.toList());
+			List<Expression> setExpressionList = new ArrayList<>();
+			List<ColumnMetadata> columnList = metadata.getColumnList();
+			for (int i = 0; i < columnList.size(); i++) {
+				ColumnMetadata column = columnList.get(i);
+				if (!column.isId() && (dirtyColumns == null || dirtyColumns.get(i))) {
+					setExpressionList.add(Expression.equalValue(column.getField(), column.getValue(object)));
+				}
+			}
 			criteria.set(setExpressionList.toArray(new Expression[0]));
+			criteria.where(this.createIdExpressions(metadata, object));
 
-			List<Expression> whereExpressionList =
-					Stream.of(clazz.getDeclaredFields())
-						  .filter(f -> AnnotationUtil.hasIdAnnotation(f))
-						  .map(new Function<Field, Expression>() {
-							  @Override
-								public Expression apply(Field f) {
-									try {
-										PropertyDescriptor prop = new PropertyDescriptor(f.getName(), object.getClass());
-										Method getter = prop.getReadMethod();
-										Object value = getter.invoke(object, (Object[]) null);
-										return Expression.equal(f, value);
-									} catch (IntrospectionException | IllegalAccessException |
-											IllegalArgumentException | InvocationTargetException e) {
-										e.printStackTrace();
-										return null;
-									}
-								}
-						  }).collect(Collectors.toList());
-			criteria.where(whereExpressionList.toArray(new Expression[0]));
-
-			Query query = this.createQuery(criteria);
-			for (int i = 1; i <= paramList.size(); i++) {
-				query.setParameter(String.valueOf(i), paramList.get(i - 1));
-			}
-			return query.executeUpdate();
+			Query query = this.createQuery(criteria).markEntityWrite();
+			int count = query.executeUpdate();
+			this.attach(object, QueryType.UPDATE, count);
+			return count;
 
 		} catch (Exception e) {
 			throw new So4jException(e.getMessage(), e);
@@ -323,6 +649,7 @@ public class EntityManager {
 	 * <p>エンティティインスタンス削除</p>
 	 * <pre>
 	 * エンティティインスタンスから削除クエリを生成・実行して、引数のエンティティデータを削除する。
+	 * 同じ主キーのエンティティインスタンスを識別マップから削除する。
 	 * </pre>
 	 *
 	 * @param  object エンティティインスタンス
@@ -330,38 +657,542 @@ public class EntityManager {
 	 * @throws So4jException SQL文の実行に失敗した場合
 	 */
 	public int remove(Object object) throws So4jException {
+		this.checkOpen();
 
 		try {
 			Class<?> clazz = object.getClass();
 			Criteria criteria = new Criteria();
 			criteria.delete(clazz);
-			List<Expression> whereExpressionList =
-					Stream.of(clazz.getDeclaredFields())
-						  .filter(f -> AnnotationUtil.hasIdAnnotation(f))
-						  .map(new Function<Field, Expression>() {
-							  @Override
-								public Expression apply(Field f) {
-									try {
-										PropertyDescriptor prop = new PropertyDescriptor(f.getName(), object.getClass());
-										Method getter = prop.getReadMethod();
-										Object value = getter.invoke(object, (Object[]) null);
-										return Expression.equal(f, value);
-									} catch (IntrospectionException | IllegalAccessException |
-											IllegalArgumentException | InvocationTargetException e) {
-										e.printStackTrace();
-										return null;
-									}
-								}
-						  }).collect(Collectors.toList());
-			criteria.where(whereExpressionList.toArray(new Expression[0]));
-
-			Query query = this.createQuery(criteria);
-			return query.executeUpdate();
+			criteria.where(this.createIdExpressions(EntityMetadataRegistry.get(clazz), object));
+
+			Query query = this.createQuery(criteria).markEntityWrite();
+			int count = query.executeUpdate();
+			this.attach(object, QueryType.DELETE, count);
+			return count;
 
 		} catch (Exception e) {
 			throw new So4jException(e.getMessage(), e);
 		}
 	}
-}
 
+	/**
+	 * <p>識別マップ反映</p>
+	 * <pre>
+	 * 登録・更新・削除したエンティティインスタンスを識別マップに反映し、2次キャッシュから破棄する。
+	 *    1. INSERT：主キーが自動採番でない場合に登録する（採番した値はインスタンスに設定されない為）
+	 *    2. UPDATE：更新した場合に登録する（同じ主キーのインスタンスを置き換える）
+	 *    3. DELETE：同じ主キーのインスタンスを削除する
+	 * 件数が0の場合（該当データなし）は登録しない。
+	 * </pre>
+	 *
+	 * @param  object    エンティティインスタンス
+	 * @param  queryType クエリ種別（INSERT・UPDATE・DELETE）
+	 * @param  count     登録・更新・削除件数（バッチ実行で件数が不明の場合は負の値）
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	protected void attach(Object object, QueryType queryType, int count) throws ReflectiveOperationException {
+		EntityRegion region = SecondLevelCache.getInstance().getRegion(object.getClass());
+		if (region != null) {
+			region.evict(object);
+		}
+		IdentityMap identityMap = this.getIdentityMap();
+		if (identityMap == null) {
+			return;
+		}
+		if (queryType == QueryType.DELETE) {
+			identityMap.remove(object);
+		} else if (count != 0 && (queryType == QueryType.UPDATE || !hasGeneratedId(object.getClass()))) {
+			identityMap.put(object);
+		}
+	}
+
+	/**
+	 * <p>変更カラム取得</p>
+	 *
+	 * @param  object エンティティインスタンス
+	 * @return 変更カラム（{@link EntityMetadata#getColumnList()}のインデックス）
+	 *         識別マップが無効の場合・判定できない場合はnull
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	protected BitSet getDirtyColumns(Object object) throws ReflectiveOperationException {
+		IdentityMap identityMap = this.getIdentityMap();
+		return identityMap != null ? identityMap.getDirtyColumns(object) : null;
+	}
+
+	/**
+	 * <p>自動採番主キー判定</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return boolean
+	 *           true  : 主キーに自動採番（GenerateValue）のカラムを含む
+	 *           false : 上記以外
+	 */
+	protected static boolean hasGeneratedId(Class<?> clazz) {
+		for (ColumnMetadata column : EntityMetadataRegistry.get(clazz).getIdColumnList()) {
+			if (column.isGenerated()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * <p>主キー条件式生成</p>
+	 *
+	 * @param  metadata エンティティメタデータ
+	 * @param  object   エンティティインスタンス
+	 * @return 主キーの等価式配列
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	protected Expression[] createIdExpressions(EntityMetadata metadata, Object object) throws ReflectiveOperationException {
+		List<ColumnMetadata> idColumnList = metadata.getIdColumnList();
+		Expression[] expressions = new Expression[idColumnList.size()];
+		for (int i = 0; i < expressions.length; i++) {
+			ColumnMetadata column = idColumnList.get(i);
+			expressions[i] = Expression.equalValue(column.getField(), column.getValue(object));
+		}
+		return expressions;
+	}
+
+	/**
+	 * <p>エンティティインスタンス一括登録</p>
+	 * <pre>
+	 * エンティティクラス毎に登録クエリを1度だけ生成し、各エンティティインスタンスの値を
+	 * JDBCバッチ更新でバインド・実行して、引数のエンティティデータをデータベースに登録する。
+	 * 設定ファイルのバッチサイズ（batchSize）に達する毎にバッチを実行する。
+	 * </pre>
+	 *
+	 * @param  objects エンティティインスタンスのコレクション
+	 * @return エンティティインスタンス毎の登録件数（コレクションの順序）
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	public int[] persistAll(Collection<?> objects) throws So4jException {
+		return this.executeEntityBatch(objects, QueryType.INSERT);
+	}
+
+	/**
+	 * <p>エンティティインスタンス一括更新</p>
+	 * <pre>
+	 * エンティティクラス・変更カラムの組み合わせ毎に更新クエリを1度だけ生成し、各エンティティインスタンスの値を
+	 * JDBCバッチ更新でバインド・実行して、引数のエンティティデータを更新する。
+	 * 設定ファイルのバッチサイズ（batchSize）に達する毎にバッチを実行する。
+	 * 変更カラムの判定は{@link EntityManager#merge(Object)}と同様で、変更したカラムがないインスタンスは更新しない（件数は1）。
+	 * 変更カラムが異なるインスタンスは別のバッチで実行する為、実行順はコレクションの順序と異なる場合がある。
+	 * </pre>
+	 *
+	 * @param  objects エンティティインスタンスのコレクション
+	 * @return エンティティインスタンス毎の更新件数（コレクションの順序）
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	public int[] mergeAll(Collection<?> objects) throws So4jException {
+		this.checkOpen();
+
+		try {
+			int batchSize = Math.max(ConfigLoader.getConfig().getBatchSize(), 1);
+			int[] updatedCounts = new int[objects.size()];
+
+			Map<List<Object>, EntityBatch> batchMap = new LinkedHashMap<>();
+			int index = 0;
+			for (Object object : objects) {
+				BitSet dirtyColumns = this.getDirtyColumns(object);
+				if (dirtyColumns != null && dirtyColumns.isEmpty()) {
+					updatedCounts[index++] = 1;
+					continue;
+				}
+				List<Object> batchKey = Arrays.asList(object.getClass(), dirtyColumns);
+				EntityBatch batch = batchMap.get(batchKey);
+				if (batch == null) {
+					batch = this.createUpdateBatch(object.getClass(), dirtyColumns);
+					batch._indexList = new ArrayList<>();
+					batchMap.put(batchKey, batch);
+				}
+				for (ColumnMetadata column : batch._columns) {
+					batch._query.setParameter(column.getFieldName(), column.getValue(object));
+				}
+				batch._query.addBatch();
+				batch._indexList.add(index++);
+				if (batchSize <= batch._query.getBatchCount()) {
+					this.flushUpdateBatch(batch, updatedCounts);
+				}
+			}
+			for (EntityBatch batch : batchMap.values()) {
+				if (0 < batch._query.getBatchCount()) {
+					this.flushUpdateBatch(batch, updatedCounts);
+				}
+			}
+
+			index = 0;
+			for (Object object : objects) {
+				this.attach(object, QueryType.UPDATE, updatedCounts[index++]);
+			}
+
+			return updatedCounts;
+
+		} catch (Exception e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>エンティティインスタンス一括削除</p>
+	 * <pre>
+	 * エンティティクラス毎に削除クエリを1度だけ生成し、各エンティティインスタンスの値を
+	 * JDBCバッチ更新でバインド・実行して、引数のエンティティデータを削除する。
+	 * 設定ファイルのバッチサイズ（batchSize）に達する毎にバッチを実行する。
+	 * </pre>
+	 *
+	 * @param  objects エンティティインスタンスのコレクション
+	 * @return エンティティインスタンス毎の削除件数（コレクションの順序）
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	public int[] removeAll(Collection<?> objects) throws So4jException {
+		return this.executeEntityBatch(objects, QueryType.DELETE);
+	}
+
+	/**
+	 * <p>エンティティインスタンス一括登録（複数行INSERT）</p>
+	 * <pre>
+	 * 同じエンティティクラスのエンティティインスタンスを、1つのINSERT文で複数行まとめて登録する。
+	 * (ex.) INSERT INTO TABLE (A,B) VALUES (?,?),(?,?),(?,?)
+	 * 1文のバインドパラメータ数が設定ファイルの最大バインドパラメータ数（maxParametersPerStatement）を
+	 * 超えないように行を分割し、分割した単位毎に1回ずつ実行する。
+	 * JDBCバッチ更新の効果が小さいドライバで、往復回数を削減する為に使用する。
+	 * 主キーが自動採番でない場合は、全ての登録後にエンティティインスタンスを識別マップに登録する。
+	 * </pre>
+	 *
+	 * @param  objects エンティティインスタンスのコレクション
+	 * @return 登録件数
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	public int persistAllMultiRow(Collection<?> objects) throws So4jException {
+		this.checkOpen();
+
+		try {
+			int maxParameters = Math.max(ConfigLoader.getConfig().getMaxParametersPerStatement(), 1);
+			int insertedCount = 0;
+
+			Map<Class<?>, EntityBatch> batchMap = new HashMap<>();
+			List<Object> chunkList = new ArrayList<>();
+			EntityBatch batch = null;
+			for (Object object : objects) {
+				if (batch == null || batch._entityClass != object.getClass()) {
+					if (!chunkList.isEmpty()) {
+						insertedCount += this.executeMultiRowInsert(batch, chunkList);
+						chunkList.clear();
+					}
+					Class<?> clazz = object.getClass();
+					batch = batchMap.get(clazz);
+					if (batch == null) {
+						batch = this.createEntityBatchFields(clazz, QueryType.INSERT);
+						batch._rowCount = Math.max(maxParameters / Math.max(batch._columns.length, 1), 1);
+						batchMap.put(clazz, batch);
+					}
+				}
+				chunkList.add(object);
+				if (batch._rowCount <= chunkList.size()) {
+					insertedCount += this.executeMultiRowInsert(batch, chunkList);
+					chunkList.clear();
+				}
+			}
+			if (!chunkList.isEmpty()) {
+				insertedCount += this.executeMultiRowInsert(batch, chunkList);
+			}
+
+			for (Object object : objects) {
+				this.attach(object, QueryType.INSERT, -1);
+			}
+
+			return insertedCount;
+
+		} catch (Exception e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>複数行INSERT実行</p>
+	 * <pre>
+	 * 行毎に名前付きプレースホルダ（r行番号_フィールド名）を割り当てた複数行INSERT文を生成・実行する。
+	 * 最大行数のクエリはエンティティクラス毎に1度だけ生成して再利用し、
+	 * 最大行数に満たない最後のチャンクのみ、その行数でクエリを生成する。
+	 * </pre>
+	 *
+	 * @param  batch     バインドするカラム
+	 * @param  chunkList 登録するエンティティインスタンスのリスト
+	 * @return 登録件数
+	 * @throws Exception SQL文の実行に失敗した場合<br>
+	 *                   ゲッタメソッドの実行に失敗した場合
+	 */
+	protected int executeMultiRowInsert(EntityBatch batch, List<Object> chunkList) throws Exception {
+
+		Query query = chunkList.size() == batch._rowCount ? batch._query : null;
+		if (query == null) {
+			Criteria criteria = new Criteria();
+			criteria.insert(batch._entityClass);
+			for (int row = 0; row < chunkList.size(); row++) {
+				Expression[] expressions = new Expression[batch._columns.length];
+				for (int i = 0; i < batch._columns.length; i++) {
+					expressions[i] = Expression.equal(batch._columns[i].getField(),
+							":r" + row + "_" + batch._columns[i].getFieldName());
+				}
+				criteria.addValue(expressions);
+			}
+			query = this.createQuery(criteria);
+			if (chunkList.size() == batch._rowCount) {
+				batch._query = query;
+			}
+		}
+
+		query.clearParameters();
+		for (int row = 0; row < chunkList.size(); row++) {
+			Object object = chunkList.get(row);
+			for (int i = 0; i < batch._columns.length; i++) {
+				query.setParameter("r" + row + "_" + batch._columns[i].getFieldName(),
+						batch._columns[i].getValue(object));
+			}
+		}
+		return query.executeUpdate();
+	}
+
+	/**
+	 * <p>エンティティインスタンスのバッチ実行</p>
+	 * <pre>
+	 * コレクションの順序を保ったまま、エンティティクラスが切り替わる毎・バッチサイズに達する毎に
+	 * バッチを実行する。バッチクエリはエンティティクラス毎に1度だけ生成する。
+	 * 全てのバッチの実行後に、エンティティインスタンスを識別マップに反映する。
+	 * </pre>
+	 *
+	 * @param  objects   エンティティインスタンスのコレクション
+	 * @param  queryType クエリ種別（INSERT・UPDATE・DELETE）
+	 * @return エンティティインスタンス毎の登録・更新・削除件数（コレクションの順序）
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	protected int[] executeEntityBatch(Collection<?> objects, QueryType queryType) throws So4jException {
+		this.checkOpen();
+
+		try {
+			int batchSize = Math.max(ConfigLoader.getConfig().getBatchSize(), 1);
+			int[] updatedCounts = new int[objects.size()];
+			int countIndex = 0;
+
+			Map<Class<?>, EntityBatch> batchMap = new HashMap<>();
+			EntityBatch batch = null;
+			for (Object object : objects) {
+				if (batch == null || batch._entityClass != object.getClass()) {
+					if (batch != null && 0 < batch._query.getBatchCount()) {
+						countIndex = this.flushEntityBatch(batch, updatedCounts, countIndex);
+					}
+					Class<?> clazz = object.getClass();
+					batch = batchMap.get(clazz);
+					if (batch == null) {
+						batch = this.createEntityBatch(clazz, queryType);
+						batchMap.put(clazz, batch);
+					}
+				}
+				for (ColumnMetadata column : batch._columns) {
+					batch._query.setParameter(column.getFieldName(), column.getValue(object));
+				}
+				batch._query.addBatch();
+				if (batchSize <= batch._query.getBatchCount()) {
+					countIndex = this.flushEntityBatch(batch, updatedCounts, countIndex);
+				}
+			}
+			if (batch != null && 0 < batch._query.getBatchCount()) {
+				this.flushEntityBatch(batch, updatedCounts, countIndex);
+			}
+
+			int index = 0;
+			for (Object object : objects) {
+				this.attach(object, queryType, updatedCounts[index++]);
+			}
+
+			return updatedCounts;
+
+		} catch (Exception e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>バッチクエリ生成</p>
+	 * <pre>
+	 * エンティティクラスのフィールド毎に名前付きプレースホルダ（フィールド名）を割り当てた
+	 * 登録・更新・削除クエリを生成する。
+	 *    1. INSERT：自動採番（GenerateValue）以外のフィールドを登録値とする
+	 *    2. UPDATE：主キー（Id）以外のフィールドを更新値、主キーを条件とする
+	 *    3. DELETE：主キー（Id）を条件とする
+	 * </pre>
+	 *
+	 * @param  clazz     エンティティクラス
+	 * @param  queryType クエリ種別（INSERT・UPDATE・DELETE）
+	 * @return バッチクエリ
+	 */
+	protected EntityBatch createEntityBatch(Class<?> clazz, QueryType queryType) {
+
+		EntityBatch batch = this.createEntityBatchFields(clazz, queryType);
+		List<ColumnMetadata> valueColumnList = new ArrayList<>();
+		List<ColumnMetadata> idColumnList = new ArrayList<>();
+		for (ColumnMetadata column : batch._columns) {
+			if (queryType != QueryType.INSERT && column.isId()) {
+				idColumnList.add(column);
+			} else {
+				valueColumnList.add(column);
+			}
+		}
+
+		Criteria criteria = new Criteria();
+		if (queryType == QueryType.INSERT) {
+			criteria.insert(clazz);
+			criteria.value(this.createPlaceholderExpressions(valueColumnList));
+		} else if (queryType == QueryType.UPDATE) {
+			criteria.update(clazz);
+			criteria.set(this.createPlaceholderExpressions(valueColumnList));
+			criteria.where(this.createPlaceholderExpressions(idColumnList));
+		} else {
+			criteria.delete(clazz);
+			criteria.where(this.createPlaceholderExpressions(idColumnList));
+		}
+		batch._query = this.createQuery(criteria);
+
+		return batch;
+	}
+
+	/**
+	 * <p>更新バッチクエリ生成</p>
+	 * <pre>
+	 * 変更カラムを更新値、主キーを条件とした更新クエリを生成する。
+	 * 変更カラムがnullの場合は、主キー以外の全てのカラムを更新値とする。
+	 * </pre>
+	 *
+	 * @param  clazz        エンティティクラス
+	 * @param  dirtyColumns 変更カラム（{@link EntityMetadata#getColumnList()}のインデックス）
+	 * @return バッチクエリ
+	 */
+	protected EntityBatch createUpdateBatch(Class<?> clazz, BitSet dirtyColumns) {
+
+		if (dirtyColumns == null) {
+			return this.createEntityBatch(clazz, QueryType.UPDATE);
+		}
+
+		EntityMetadata metadata = EntityMetadataRegistry.get(clazz);
+		List<ColumnMetadata> valueColumnList = new ArrayList<>();
+		for (int i = dirtyColumns.nextSetBit(0); 0 <= i; i = dirtyColumns.nextSetBit(i + 1)) {
+			valueColumnList.add(metadata.getColumnList().get(i));
+		}
+
+		Criteria criteria = new Criteria();
+		criteria.update(clazz);
+		criteria.set(this.createPlaceholderExpressions(valueColumnList));
+		criteria.where(this.createPlaceholderExpressions(metadata.getIdColumnList()));
+
+		List<ColumnMetadata> columnList = new ArrayList<>(valueColumnList);
+		columnList.addAll(metadata.getIdColumnList());
+		EntityBatch batch = new EntityBatch();
+		batch._entityClass = clazz;
+		batch._columns     = columnList.toArray(new ColumnMetadata[0]);
+		batch._query       = this.createQuery(criteria);
+		return batch;
+	}
+
+	/**
+	 * <p>バインドカラム取得</p>
+	 * <pre>
+	 * クエリ種別に応じて、バインドするカラムを以下の順序で取得する。
+	 *    1. INSERT：自動採番（GenerateValue）以外のカラム
+	 *    2. UPDATE：主キー（Id）以外のカラム、主キーのカラム
+	 *    3. DELETE：主キー（Id）のカラム
+	 * </pre>
+	 *
+	 * @param  clazz     エンティティクラス
+	 * @param  queryType クエリ種別（INSERT・UPDATE・DELETE）
+	 * @return バインドするカラム（クエリ未生成）
+	 */
+	protected EntityBatch createEntityBatchFields(Class<?> clazz, QueryType queryType) {
+
+		EntityMetadata metadata = EntityMetadataRegistry.get(clazz);
+		List<ColumnMetadata> columnList = new ArrayList<>();
+		for (ColumnMetadata column : metadata.getColumnList()) {
+			if (queryType == QueryType.INSERT) {
+				if (!column.isGenerated()) {
+					columnList.add(column);
+				}
+			} else if (queryType == QueryType.UPDATE && !column.isId()) {
+				columnList.add(column);
+			}
+		}
+		if (queryType != QueryType.INSERT) {
+			columnList.addAll(metadata.getIdColumnList());
+		}
+
+		EntityBatch batch = new EntityBatch();
+		batch._entityClass = clazz;
+		batch._columns     = columnList.toArray(new ColumnMetadata[0]);
+		return batch;
+	}
 
+	/**
+	 * <p>名前付きプレースホルダ式生成</p>
+	 *
+	 * @param  columnList カラムメタデータリスト
+	 * @return フィールド名を名前付きプレースホルダとした等価式配列
+	 */
+	protected Expression[] createPlaceholderExpressions(List<ColumnMetadata> columnList) {
+		return columnList.stream()
+						 .map(c -> Expression.equal(c.getField(), ":" + c.getFieldName()))
+						 .toArray(Expression[]::new);
+	}
+
+	/**
+	 * <p>バッチ実行・件数格納</p>
+	 *
+	 * @param  batch         バッチクエリ
+	 * @param  updatedCounts 件数格納配列
+	 * @param  countIndex    格納開始位置
+	 * @return 次の格納開始位置
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	protected int flushEntityBatch(EntityBatch batch, int[] updatedCounts, int countIndex) throws So4jException {
+		int[] counts = batch._query.executeBatch();
+		System.arraycopy(counts, 0, updatedCounts, countIndex, counts.length);
+		return countIndex + counts.length;
+	}
+
+	/**
+	 * <p>更新バッチ実行・件数格納</p>
+	 *
+	 * @param  batch         バッチクエリ
+	 * @param  updatedCounts 件数格納配列
+	 * @throws So4jException SQL文の実行に失敗した場合
+	 */
+	protected void flushUpdateBatch(EntityBatch batch, int[] updatedCounts) throws So4jException {
+		int[] counts = batch._query.executeBatch();
+		for (int i = 0; i < counts.length; i++) {
+			updatedCounts[batch._indexList.get(i)] = counts[i];
+		}
+		batch._indexList.clear();
+	}
+
+	/**
+	 * <p>バッチクエリ</p>
+	 * <pre>
+	 * エンティティクラス毎に生成したバッチクエリと、バインドするカラムを保持する。
+	 * </pre>
+	 */
+	protected static class EntityBatch {
+
+		/** エンティティクラス */
+		protected Class<?> _entityClass;
+
+		/** バッチクエリ（複数行INSERTの場合は最大行数のクエリ） */
+		protected Query _query;
+
+		/** 複数行INSERTの1文あたりの最大行数 */
+		protected int _rowCount;
+
+		/** バインドするカラム（名前付きプレースホルダの順） */
+		protected ColumnMetadata[] _columns;
+
+		/** バッチに追加したエンティティインスタンスの位置（一括更新の場合） */
+		protected List<Integer> _indexList;
+	}
+}
@@ -1,13 +1,27 @@
 package net.skuratani.simpleorm4j.persistence;
 
+import java.sql.SQLException;
+
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.pool.ConnectionPool;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
+
 /**
  * <p>エンティティマネージャ生成クラス</p>
  * <pre>
  * エンティティマネージャの生成を実行する。
+ * 設定ファイルでコネクションプールの最大接続数（poolMaxSize）が指定されている場合は、
+ * 本クラスが保持するコネクションプールから接続を取得してエンティティマネージャを生成する。
  * </pre>
  */
 public class EntityManagerFactory {
 
+	/** コネクションプール */
+	private static volatile ConnectionPool _connectionPool;
+
+	/** コネクションプール未使用フラグ */
+	private static volatile boolean _poolDisabled;
+
 	/**
 	 * コンストラクタ
 	 */
@@ -19,6 +33,57 @@ public class EntityManagerFactory {
 	 * @return エンティティマネージャインスタンス
 	 */
 	public static EntityManager createEntityManager() {
-		return new EntityManager();
+		ConnectionPool pool = getConnectionPool();
+		if (pool == null) {
+			return new EntityManager();
+		}
+		try {
+			return new EntityManager(pool.borrow());
+		} catch (SQLException sqle) {
+			throw new RuntimeException(sqle.getMessage(), sqle);
+		}
+	}
+
+	/**
+	 * <p>コネクションプール取得</p>
+	 * <pre>
+	 * 初回呼び出し時にコネクションプールを生成する。
+	 * 設定ファイルでコネクションプールが有効になっていない場合はnullを返却する。
+	 * </pre>
+	 *
+	 * @return コネクションプール（プール未使用の場合はnull）
+	 */
+	public static ConnectionPool getConnectionPool() {
+		ConnectionPool pool = _connectionPool;
+		if (pool == null && !_poolDisabled) {
+			synchronized (EntityManagerFactory.class) {
+				pool = _connectionPool;
+				if (pool == null) {
+					ConfigVO config = ConfigLoader.getConfig();
+					if (config.getPoolMaxSize() <= 0) {
+						_poolDisabled = true;
+						return null;
+					}
+					pool = new ConnectionPool(config);
+					_connectionPool = pool;
+				}
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * <p>シャットダウン</p>
+	 * <pre>
+	 * コネクションプールをシャットダウンし、プールしている接続をクローズする。
+	 * </pre>
+	 */
+	public static void shutdown() {
+		synchronized (EntityManagerFactory.class) {
+			if (_connectionPool != null) {
+				_connectionPool.shutdown();
+				_connectionPool = null;
+			}
+		}
 	}
 }
@@ -0,0 +1,128 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import net.skuratani.simpleorm4j.mapper.EntityPropertyRowMapper;
+import net.skuratani.simpleorm4j.mapper.MappingPlan;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+
+/**
+ * <p>主キー検索ステートメントクラス</p>
+ * <pre>
+ * {@link EntityManager#find(Class, Object...)}で使用する、エンティティクラス毎の主キー検索の情報を保持する。
+ *    1. 解析済みSQL（SELECT 全カラム FROM テーブル WHERE 主キー = ? AND ...）
+ *    2. マッピングプラン（最初の検索で生成し、以降の検索で再利用する）
+ * エンティティクラス毎に1度だけ生成し（ClassValue）、全てのエンティティマネージャで共有する。
+ * </pre>
+ */
+final class FindStatement {
+
+	/** エンティティクラス毎の主キー検索ステートメント */
+	private static final ClassValue<FindStatement> STATEMENTS = new ClassValue<FindStatement>() {
+		@Override
+		protected FindStatement computeValue(Class<?> clazz) {
+			return new FindStatement(EntityMetadataRegistry.get(clazz));
+		}
+	};
+
+	/** 名前付プレースホルダのパラメータ（主キー検索は名前付プレースホルダを持たない） */
+	static final Object[] NO_PARAMETERS = new Object[0];
+
+	/** エンティティクラス */
+	private final Class<?> _entityClass;
+
+	/** 主キーのカラムメタデータ（@Idフィールドの宣言順） */
+	private final List<ColumnMetadata> _idColumnList;
+
+	/** 解析済みSQL（主キーがない場合はnull） */
+	private final ParsedSql _parsedSql;
+
+	/** マッピングプラン（未生成の場合はnull） */
+	private volatile MappingPlan _mappingPlan;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param metadata エンティティメタデータ
+	 */
+	private FindStatement(EntityMetadata metadata) {
+		String lf = System.lineSeparator();
+		_entityClass  = metadata.getEntityClass();
+		_idColumnList = metadata.getIdColumnList();
+		_parsedSql    = metadata.isEntity() && !_idColumnList.isEmpty()
+							? ParsedSql.parse("SELECT" + lf
+									+ metadata.getSelectColumns() + lf
+									+ "FROM" + lf
+									+ metadata.getTableName() + lf
+									+ "WHERE" + lf
+									+ _idColumnList.stream()
+												   .map(c -> c.getQualifiedName() + " = ?")
+												   .collect(Collectors.joining(" AND ")) + lf)
+							: null;
+	}
+
+	/**
+	 * <p>主キー検索ステートメント取得</p>
+	 *
+	 * @param  clazz エンティティクラス
+	 * @return 主キー検索ステートメント
+	 */
+	static FindStatement get(Class<?> clazz) {
+		return STATEMENTS.get(clazz);
+	}
+
+	/**
+	 * <p>主キー数取得</p>
+	 *
+	 * @return 主キーのカラム数
+	 */
+	int getIdCount() {
+		return _idColumnList.size();
+	}
+
+	/**
+	 * <p>主キーカラムリスト取得</p>
+	 *
+	 * @return 主キーのカラムメタデータ（@Idフィールドの宣言順）
+	 */
+	List<ColumnMetadata> getIdColumnList() {
+		return _idColumnList;
+	}
+
+	/**
+	 * <p>解析済みSQL取得</p>
+	 *
+	 * @return 解析済みSQL（エンティティでない場合・主キーがない場合はnull）
+	 */
+	ParsedSql getParsedSql() {
+		return _parsedSql;
+	}
+
+	/**
+	 * <p>ROWマッパ生成</p>
+	 *
+	 * @return マッピングプランを生成済みの場合は、マッピングプランを再利用するROWマッパ
+	 */
+	EntityPropertyRowMapper<?> createRowMapper() {
+		MappingPlan plan = _mappingPlan;
+		return plan != null ? new EntityPropertyRowMapper<>(_entityClass, plan)
+							: new EntityPropertyRowMapper<>(_entityClass);
+	}
+
+	/**
+	 * <p>マッピングプラン保持</p>
+	 * <pre>
+	 * 最初の検索で生成したマッピングプランを、以降の検索の為に保持する。
+	 * </pre>
+	 *
+	 * @param rowMapper 検索に使用したROWマッパ
+	 */
+	void keepMappingPlan(EntityPropertyRowMapper<?> rowMapper) {
+		if (_mappingPlan == null) {
+			_mappingPlan = rowMapper.getMappingPlan();
+		}
+	}
+}
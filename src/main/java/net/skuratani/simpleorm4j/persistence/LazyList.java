@@ -0,0 +1,131 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import java.util.AbstractList;
+import java.util.List;
+
+import net.skuratani.simpleorm4j.exception.So4jException;
+
+/**
+ * <p>遅延取得リスト</p>
+ * <pre>
+ * OneToManyアノテーションを指定したフィールドに設定する関連エンティティのリスト。
+ * 初めて要素を参照した時に、同じ検索結果で未取得の関連元（最大で設定ファイルのrelationBatchSize件）の
+ * 関連エンティティを、主キーの値をまとめたIN句の1回の検索で取得する。
+ * 関連エンティティの取得は、検索したエンティティマネージャで行う為、エンティティマネージャを
+ * クローズした後に初めて参照した場合は、IllegalStateExceptionをスローする。
+ * </pre>
+ */
+public class LazyList<E> extends AbstractList<E> {
+
+	/** 一括取得単位 */
+	protected final RelationLoader.CollectionBatch _batch;
+
+	/** 関連元の主キーの値 */
+	protected final Object _ownerId;
+
+	/** 関連エンティティのリスト（未取得の場合はnull） */
+	protected List<E> _list;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param batch   一括取得単位
+	 * @param ownerId 関連元の主キーの値
+	 */
+	LazyList(RelationLoader.CollectionBatch batch, Object ownerId) {
+		_batch   = batch;
+		_ownerId = ownerId;
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * 取得済みの関連エンティティのリストを保持する（テーブル結合した検索結果から関連を設定する場合）。
+	 * </pre>
+	 *
+	 * @param list 関連エンティティのリスト
+	 */
+	public LazyList(List<E> list) {
+		_batch   = null;
+		_ownerId = null;
+		_list    = list;
+	}
+
+	/**
+	 * <p>取得済み判定</p>
+	 *
+	 * @return boolean
+	 *           true  : 関連エンティティを取得済み
+	 *           false : 未取得
+	 */
+	public boolean isLoaded() {
+		return _list != null;
+	}
+
+	/**
+	 * <p>関連元の主キーの値取得</p>
+	 *
+	 * @return 関連元の主キーの値
+	 */
+	Object getOwnerId() {
+		return _ownerId;
+	}
+
+	/**
+	 * <p>関連エンティティ設定</p>
+	 *
+	 * @param list 関連エンティティのリスト
+	 */
+	void setLoaded(List<E> list) {
+		_list = list;
+	}
+
+	/**
+	 * <p>関連エンティティのリスト取得</p>
+	 * <pre>
+	 * 未取得の場合は、同じ一括取得単位の関連元とまとめて取得する。
+	 * </pre>
+	 *
+	 * @return 関連エンティティのリスト
+	 * @throws IllegalStateException 未取得で、エンティティマネージャをクローズした場合<br>
+	 *                               関連エンティティの検索に失敗した場合
+	 */
+	protected List<E> list() {
+		if (_list == null) {
+			try {
+				_batch.fetch(this);
+			} catch (So4jException e) {
+				throw new IllegalStateException(e.getMessage(), e);
+			}
+		}
+		return _list;
+	}
+
+	@Override
+	public E get(int index) {
+		return this.list().get(index);
+	}
+
+	@Override
+	public int size() {
+		return this.list().size();
+	}
+
+	@Override
+	public E set(int index, E element) {
+		return this.list().set(index, element);
+	}
+
+	@Override
+	public void add(int index, E element) {
+		this.list().add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public E remove(int index) {
+		E element = this.list().remove(index);
+		modCount++;
+		return element;
+	}
+}
@@ -0,0 +1,299 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>解析済みSQLクラス</p>
+ * <pre>
+ * 名前付きプレースホルダ（:名前）を含むSQLを1度だけ解析し、以下の情報を保持する不変クラス。
+ *    1. 名前付きプレースホルダを「?」に変更したJDBC用SQL
+ *    2. プレースホルダ名と、JDBCのパラメータインデックス（1始まり）の対応
+ *    3. 位置指定プレースホルダ（?）のパラメータインデックス
+ *    4. 登録・更新・削除文の対象テーブル名
+ * 同じ名前のプレースホルダが複数ある場合は、全てのパラメータインデックスを保持する。
+ * 以下の箇所はプレースホルダとして扱わない。
+ *    1. 文字列リテラル（'...'）・引用符付き識別子（"..."）の中
+ *    2. コメント（-- ...・/* ... * /）の中
+ *    3. 型キャスト（::）
+ * 解析結果は元のSQLをキーとしてキャッシュする。上限件数を超えた場合は、任意の1件を破棄する。
+ * </pre>
+ */
+public final class ParsedSql {
+
+	/** キャッシュの上限件数（超えた場合は任意の1件を破棄する） */
+	private static final int CACHE_LIMIT = 1024;
+
+	/** 解析済みSQLキャッシュ */
+	private static final Map<String, ParsedSql> CACHE = new ConcurrentHashMap<>();
+
+	/** 登録・更新・削除文の対象テーブル */
+	private static final Pattern WRITE_TABLE = Pattern.compile(
+			"^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s+FROM|MERGE\\s+INTO)\\s+([^\\s(]+)", Pattern.CASE_INSENSITIVE);
+
+	/** 元のSQL */
+	private final String _sql;
+
+	/** JDBC用SQL */
+	private final String _jdbcSql;
+
+	/** プレースホルダ名（出現順、重複なし） */
+	private final String[] _names;
+
+	/** プレースホルダ名と名前インデックスの対応 */
+	private final Map<String, Integer> _nameIndexMap;
+
+	/** 名前インデックス毎のパラメータインデックス */
+	private final int[][] _positions;
+
+	/** 位置指定プレースホルダのパラメータインデックス（出現順） */
+	private final int[] _positionalPositions;
+
+	/** パラメータ数（「?」の数） */
+	private final int _parameterCount;
+
+	/** 登録・更新・削除文の対象テーブル名（検索文などの場合はnull） */
+	private final String _writeTable;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param sql            元のSQL
+	 * @param jdbcSql        JDBC用SQL
+	 * @param positionMap    プレースホルダ名とパラメータインデックスの対応（出現順）
+	 * @param positionalList 位置指定プレースホルダのパラメータインデックス（出現順）
+	 * @param parameterCount パラメータ数
+	 */
+	private ParsedSql(String sql, String jdbcSql, LinkedHashMap<String, List<Integer>> positionMap,
+			List<Integer> positionalList, int parameterCount) {
+		_sql                 = sql;
+		_jdbcSql             = jdbcSql;
+		_parameterCount      = parameterCount;
+		_positionalPositions = positionalList.stream().mapToInt(Integer::intValue).toArray();
+		_names               = positionMap.keySet().toArray(new String[0]);
+		_positions           = new int[_names.length][];
+		Map<String, Integer> nameIndexMap = new HashMap<>();
+		for (int i = 0; i < _names.length; i++) {
+			List<Integer> positionList = positionMap.get(_names[i]);
+			_positions[i] = new int[positionList.size()];
+			for (int j = 0; j < _positions[i].length; j++) {
+				_positions[i][j] = positionList.get(j);
+			}
+			nameIndexMap.put(_names[i], i);
+		}
+		_nameIndexMap = Collections.unmodifiableMap(nameIndexMap);
+		Matcher matcher = WRITE_TABLE.matcher(sql);
+		_writeTable   = matcher.find() ? matcher.group(1) : null;
+	}
+
+	/**
+	 * <p>SQL解析</p>
+	 * <pre>
+	 * キャッシュに解析結果が存在する場合は、キャッシュの解析結果を返却する。
+	 * キャッシュが上限件数に達している場合は、任意の1件を破棄してから登録する
+	 * （全件をクリアすると、使用中のSQLも全て再解析になる為）。
+	 * </pre>
+	 *
+	 * @param  sql 名前付きプレースホルダを含むSQL
+	 * @return 解析済みSQL
+	 */
+	public static ParsedSql parse(String sql) {
+		ParsedSql parsedSql = CACHE.get(sql);
+		if (parsedSql == null) {
+			parsedSql = doParse(sql);
+			while (CACHE_LIMIT <= CACHE.size()) {
+				Iterator<String> iterator = CACHE.keySet().iterator();
+				if (!iterator.hasNext()) {
+					break;
+				}
+				CACHE.remove(iterator.next());
+			}
+			CACHE.put(sql, parsedSql);
+		}
+		return parsedSql;
+	}
+
+	/**
+	 * <p>SQL解析処理</p>
+	 *
+	 * @param  sql 名前付きプレースホルダを含むSQL
+	 * @return 解析済みSQL
+	 */
+	private static ParsedSql doParse(String sql) {
+		StringBuilder builder = new StringBuilder(sql.length());
+		LinkedHashMap<String, List<Integer>> positionMap = new LinkedHashMap<>();
+		List<Integer> positionalList = new ArrayList<>();
+		int parameterCount = 0;
+
+		int length = sql.length();
+		int i = 0;
+		while (i < length) {
+			char c = sql.charAt(i);
+			// 文字列リテラル・引用符付き識別子
+			if (c == '\'' || c == '"') {
+				int end = i + 1;
+				while (end < length) {
+					if (sql.charAt(end) == c) {
+						// 引用符の連続（エスケープ）
+						if (end + 1 < length && sql.charAt(end + 1) == c) {
+							end += 2;
+							continue;
+						}
+						break;
+					}
+					end++;
+				}
+				end = Math.min(end + 1, length);
+				builder.append(sql, i, end);
+				i = end;
+			// 行コメント
+			} else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+				int end = sql.indexOf('\n', i);
+				end = end < 0 ? length : end;
+				builder.append(sql, i, end);
+				i = end;
+			// ブロックコメント
+			} else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+				int end = sql.indexOf("*/", i + 2);
+				end = end < 0 ? length : end + 2;
+				builder.append(sql, i, end);
+				i = end;
+			// 型キャスト
+			} else if (c == ':' && i + 1 < length && sql.charAt(i + 1) == ':') {
+				builder.append("::");
+				i += 2;
+			// 位置指定プレースホルダ
+			} else if (c == '?') {
+				positionalList.add(++parameterCount);
+				builder.append('?');
+				i++;
+			// 名前付きプレースホルダ
+			} else if (c == ':' && i + 1 < length && isNameChar(sql.charAt(i + 1))) {
+				int end = i + 1;
+				while (end < length && isNameChar(sql.charAt(end))) {
+					end++;
+				}
+				String name = sql.substring(i + 1, end);
+				positionMap.computeIfAbsent(name, k -> new ArrayList<>()).add(++parameterCount);
+				builder.append('?');
+				i = end;
+			} else {
+				builder.append(c);
+				i++;
+			}
+		}
+
+		return new ParsedSql(sql, builder.toString(), positionMap, positionalList, parameterCount);
+	}
+
+	/**
+	 * <p>プレースホルダ名の構成文字判定</p>
+	 *
+	 * @param  c 文字
+	 * @return boolean
+	 *           true  : 英数字・アンダースコア
+	 *           false : 上記以外
+	 */
+	private static boolean isNameChar(char c) {
+		return ('0' <= c && c <= '9') || ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || c == '_';
+	}
+
+	/**
+	 * <p>元のSQL取得</p>
+	 *
+	 * @return 元のSQL
+	 */
+	public String getSql() {
+		return _sql;
+	}
+
+	/**
+	 * <p>JDBC用SQL取得</p>
+	 *
+	 * @return 名前付きプレースホルダを「?」に変更したSQL
+	 */
+	public String getJdbcSql() {
+		return _jdbcSql;
+	}
+
+	/**
+	 * <p>プレースホルダ名数取得</p>
+	 *
+	 * @return プレースホルダ名の数（重複なし）
+	 */
+	public int getNameCount() {
+		return _names.length;
+	}
+
+	/**
+	 * <p>プレースホルダ名取得</p>
+	 *
+	 * @param  nameIndex 名前インデックス
+	 * @return プレースホルダ名
+	 */
+	public String getName(int nameIndex) {
+		return _names[nameIndex];
+	}
+
+	/**
+	 * <p>名前インデックス取得</p>
+	 *
+	 * @param  name プレースホルダ名
+	 * @return 名前インデックス（存在しない場合は-1）
+	 */
+	public int indexOf(String name) {
+		Integer index = _nameIndexMap.get(name);
+		return index != null ? index : -1;
+	}
+
+	/**
+	 * <p>パラメータインデックス取得</p>
+	 * <pre>
+	 * バインド毎の配列の複製を避ける為、保持している配列を返却する。呼び出し元で変更しないこと。
+	 * </pre>
+	 *
+	 * @param  nameIndex 名前インデックス
+	 * @return JDBCのパラメータインデックス（1始まり）の配列（読み取り専用）
+	 */
+	public int[] getPositions(int nameIndex) {
+		return _positions[nameIndex];
+	}
+
+	/**
+	 * <p>位置指定プレースホルダのパラメータインデックス取得</p>
+	 * <pre>
+	 * バインド毎の配列の複製を避ける為、保持している配列を返却する。呼び出し元で変更しないこと。
+	 * </pre>
+	 *
+	 * @return 位置指定プレースホルダ（?）のパラメータインデックス（1始まり、出現順）の配列（読み取り専用）
+	 */
+	public int[] getPositionalPositions() {
+		return _positionalPositions;
+	}
+
+	/**
+	 * <p>パラメータ数取得</p>
+	 *
+	 * @return パラメータ数（「?」の数）
+	 */
+	public int getParameterCount() {
+		return _parameterCount;
+	}
+
+	/**
+	 * <p>対象テーブル名取得</p>
+	 *
+	 * @return 登録・更新・削除文の対象テーブル名（検索文などの場合はnull）
+	 */
+	public String getWriteTable() {
+		return _writeTable;
+	}
+}
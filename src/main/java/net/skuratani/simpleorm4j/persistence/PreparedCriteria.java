@@ -0,0 +1,352 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import net.skuratani.simpleorm4j.builder.QueryBuilder;
+import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.mapper.EntityPropertyRowMapper;
+import net.skuratani.simpleorm4j.mapper.IfRowMapper;
+import net.skuratani.simpleorm4j.mapper.MapRowMapper;
+import net.skuratani.simpleorm4j.mapper.MappingPlan;
+import net.skuratani.simpleorm4j.type.QueryType;
+import net.skuratani.simpleorm4j.util.AnnotationUtil;
+
+/**
+ * <p>コンパイル済みCriteriaクラス</p>
+ * <pre>
+ * 名前付きプレースホルダを含むCriteriaを1度だけSQL文に変換し、以下の情報を保持する不変クラス。
+ *    1. クエリ種別・マッピングエンティティクラス
+ *    2. 解析済みSQL（JDBC用SQL・プレースホルダのパラメータインデックス）
+ *    3. 式に指定した値（位置指定バインド値）
+ *    4. マッピングプラン（最初の検索で生成し、以降の検索で再利用する）
+ *    5. 参照テーブル（クエリ結果キャッシュの破棄単位）
+ * 実行時はQueryBuilderによるSQL文の生成・SQL文の解析を行わず、値のバインドとSQLの発行のみを行う。
+ * 本クラスはスレッドセーフで、複数のスレッド・エンティティマネージャで共有できる。
+ * (ex.) PreparedCriteria template = PreparedCriteria.compile(criteria);
+ *       List&lt;?&gt; resultList = template.bind("id", 42).getResultList(em);
+ * </pre>
+ */
+public final class PreparedCriteria {
+
+	/** クエリ種別 */
+	private final QueryType _queryType;
+
+	/** 解析済みSQL */
+	private final ParsedSql _parsedSql;
+
+	/** 位置指定バインド値（発行SQLの位置指定プレースホルダ（?）の順） */
+	private final Object[] _positionalValues;
+
+	/** マッピングエンティティクラス */
+	private final Class<?> _entityClass;
+
+	/** 参照テーブル（正規化済み） */
+	private final String[] _tables;
+
+	/** 検索エンティティクラス（複数のエンティティクラスを指定した検索の場合のみ） */
+	private final Class<?>[] _selectClasses;
+
+	/** マッピングプラン（未生成の場合はnull） */
+	private volatile MappingPlan _mappingPlan;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param criteria Criteriaインスタンス
+	 */
+	private PreparedCriteria(Criteria criteria) {
+		QueryBuilder queryBuilder = new QueryBuilder(criteria);
+		_queryType        = queryBuilder.judgeQueryType();
+		_parsedSql        = ParsedSql.parse(queryBuilder.createSql());
+		_positionalValues = queryBuilder.getBindValueList().toArray();
+		_entityClass      = queryBuilder.judgeEntityClass();
+		_tables           = queryBuilder.getTables();
+		_selectClasses    = queryBuilder.getSelectEntityClasses();
+	}
+
+	/**
+	 * <p>Criteriaコンパイル</p>
+	 * <pre>
+	 * Criteriaの設定情報からSQL文を生成・解析し、コンパイル済みCriteriaを生成する。
+	 * コンパイル後にCriteriaを変更しても、コンパイル済みCriteriaには反映されない。
+	 * </pre>
+	 *
+	 * @param  criteria Criteriaインスタンス
+	 * @return コンパイル済みCriteria
+	 */
+	public static PreparedCriteria compile(Criteria criteria) {
+		return new PreparedCriteria(criteria);
+	}
+
+	/**
+	 * <p>SQLバインドパラメータ設定</p>
+	 * <pre>
+	 * 本インスタンスは変更せず、パラメータを設定したバインド済みCriteriaを返却する。
+	 * </pre>
+	 *
+	 * @param  paramName プレースホルダ名
+	 * @param  value     プレースホルダにバインドする値
+	 * @return バインド済みCriteria
+	 * @throws IllegalArgumentException 発行SQLに存在しないプレースホルダ名の場合
+	 */
+	public Binding bind(String paramName, Object value) {
+		Object[] parameters = new Object[_parsedSql.getNameCount()];
+		Arrays.fill(parameters, Query.UNSET);
+		return new Binding(parameters).bind(paramName, value);
+	}
+
+	/**
+	 * <p>SQLバインドパラメータ一括設定</p>
+	 *
+	 * @param  parameterMap プレースホルダ名とバインドする値のマップ
+	 * @return バインド済みCriteria
+	 * @throws IllegalArgumentException 発行SQLに存在しないプレースホルダ名の場合
+	 */
+	public Binding bind(Map<String, ?> parameterMap) {
+		Object[] parameters = new Object[_parsedSql.getNameCount()];
+		Arrays.fill(parameters, Query.UNSET);
+		for (Map.Entry<String, ?> entry : parameterMap.entrySet()) {
+			parameters[this.indexOf(entry.getKey())] = entry.getValue();
+		}
+		return new Binding(parameters);
+	}
+
+	/**
+	 * <p>検索結果リスト取得</p>
+	 * <pre>
+	 * パラメータをバインドせずに検索する。
+	 * </pre>
+	 *
+	 * @param  em エンティティマネージャ
+	 * @return 検索結果をエンティティにマッピングしたリスト
+	 * @throws So4jException {@link Query#getResultList()}と同様
+	 */
+	public List<?> getResultList(EntityManager em) throws So4jException {
+		return this.bind(Map.of()).getResultList(em);
+	}
+
+	/**
+	 * <p>登録・更新・削除処理</p>
+	 * <pre>
+	 * パラメータをバインドせずに実行する。
+	 * </pre>
+	 *
+	 * @param  em エンティティマネージャ
+	 * @return 登録・更新・削除件数
+	 * @throws So4jException {@link Query#executeUpdate()}と同様
+	 */
+	public int executeUpdate(EntityManager em) throws So4jException {
+		return this.bind(Map.of()).executeUpdate(em);
+	}
+
+	/**
+	 * <p>発行SQL取得</p>
+	 *
+	 * @return SQL文（名前付きプレースホルダを含む）
+	 */
+	public String getSql() {
+		return _parsedSql.getSql();
+	}
+
+	/**
+	 * <p>クエリ種別取得</p>
+	 *
+	 * @return クエリ種別
+	 */
+	public QueryType getQueryType() {
+		return _queryType;
+	}
+
+	/**
+	 * <p>名前インデックス取得</p>
+	 *
+	 * @param  paramName プレースホルダ名
+	 * @return 名前インデックス
+	 * @throws IllegalArgumentException 発行SQLに存在しないプレースホルダ名の場合
+	 */
+	private int indexOf(String paramName) {
+		int nameIndex = _parsedSql.indexOf(paramName);
+		if (nameIndex < 0) {
+			throw new IllegalArgumentException("named placeholder is not found. name : " + paramName);
+		}
+		return nameIndex;
+	}
+
+	/**
+	 * <p>ROWマッパ生成</p>
+	 * <pre>
+	 * マッピングプランが生成済みの場合は、マッピングプランを固定したROWマッパを生成する。
+	 * </pre>
+	 *
+	 * @return ROWマッパ（マッピングできないエンティティクラスの場合はnull）
+	 */
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private IfRowMapper<?> createRowMapper() {
+		if (_entityClass == null) {
+			return null;
+		}
+		if (AnnotationUtil.hasEntityAnnotation(_entityClass)) {
+			MappingPlan plan = _mappingPlan;
+			return plan != null ? new EntityPropertyRowMapper(_entityClass, plan)
+								: new EntityPropertyRowMapper(_entityClass);
+		} else if ("Map".equals(_entityClass.getSimpleName())) {
+			return new MapRowMapper<>(Map.class);
+		}
+		return null;
+	}
+
+	/**
+	 * <p>マッピングプラン保持</p>
+	 * <pre>
+	 * 最初の検索で生成したマッピングプランを、以降の検索の為に保持する。
+	 * </pre>
+	 *
+	 * @param rowMapper 検索に使用したROWマッパ
+	 */
+	private void keepMappingPlan(IfRowMapper<?> rowMapper) {
+		if (_mappingPlan == null && rowMapper instanceof EntityPropertyRowMapper) {
+			_mappingPlan = ((EntityPropertyRowMapper<?>) rowMapper).getMappingPlan();
+		}
+	}
+
+	/**
+	 * <p>バインド済みCriteriaクラス</p>
+	 * <pre>
+	 * コンパイル済みCriteriaと、プレースホルダにバインドするパラメータを保持する不変クラス。
+	 * {@link Binding#bind(String, Object)}・{@link Binding#setCacheable(boolean)}は、
+	 * 設定を追加した新しいインスタンスを返却する。
+	 * </pre>
+	 */
+	public final class Binding {
+
+		/** バインドパラメータ（名前インデックス毎、未設定の場合はUNSET） */
+		private final Object[] _parameters;
+
+		/** クエリ結果キャッシュ使用フラグ */
+		private final boolean _cacheable;
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param parameters バインドパラメータ
+		 */
+		private Binding(Object[] parameters) {
+			this(parameters, false);
+		}
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param parameters バインドパラメータ
+		 * @param cacheable  クエリ結果キャッシュ使用フラグ
+		 */
+		private Binding(Object[] parameters, boolean cacheable) {
+			_parameters = parameters;
+			_cacheable  = cacheable;
+		}
+
+		/**
+		 * <p>SQLバインドパラメータ設定</p>
+		 *
+		 * @param  paramName プレースホルダ名
+		 * @param  value     プレースホルダにバインドする値
+		 * @return パラメータを追加したバインド済みCriteria
+		 * @throws IllegalArgumentException 発行SQLに存在しないプレースホルダ名の場合
+		 */
+		public Binding bind(String paramName, Object value) {
+			Object[] parameters = _parameters.clone();
+			parameters[indexOf(paramName)] = value;
+			return new Binding(parameters, _cacheable);
+		}
+
+		/**
+		 * <p>クエリ結果キャッシュ使用設定</p>
+		 *
+		 * @param  cacheable クエリ結果キャッシュを使用するか（{@link Query#setCacheable(boolean)}と同様）
+		 * @return クエリ結果キャッシュの使用を設定したバインド済みCriteria
+		 */
+		public Binding setCacheable(boolean cacheable) {
+			return new Binding(_parameters, cacheable);
+		}
+
+		/**
+		 * <p>検索結果（1件）取得</p>
+		 *
+		 * @param  em エンティティマネージャ
+		 * @return 検索結果をエンティティにマッピングした1件データ（0件の場合はnull）
+		 * @throws So4jException {@link Query#getSingleResult()}と同様
+		 */
+		public Object getSingleResult(EntityManager em) throws So4jException {
+			List<?> resultList = this.getResultList(em);
+			return resultList != null && 0 < resultList.size() ? resultList.get(0) : null;
+		}
+
+		/**
+		 * <p>検索結果リスト取得</p>
+		 *
+		 * @param  em エンティティマネージャ
+		 * @return 検索結果をエンティティにマッピングしたリスト
+		 * @throws So4jException {@link Query#getResultList()}と同様
+		 */
+		public List<?> getResultList(EntityManager em) throws So4jException {
+			IfRowMapper<?> rowMapper = createRowMapper();
+			List<?> resultList = this.createQuery(em, rowMapper).getResultList();
+			keepMappingPlan(rowMapper);
+			return resultList;
+		}
+
+		/**
+		 * <p>検索結果ストリーム取得</p>
+		 *
+		 * @param  em エンティティマネージャ
+		 * @return 検索結果をエンティティにマッピングするストリーム
+		 * @throws So4jException {@link Query#getResultStream()}と同様
+		 */
+		public Stream<?> getResultStream(EntityManager em) throws So4jException {
+			return this.createQuery(em, createRowMapper()).getResultStream();
+		}
+
+		/**
+		 * <p>検索結果ROW毎処理</p>
+		 *
+		 * @param  em      エンティティマネージャ
+		 * @param  handler ROWハンドラ
+		 * @return 処理件数
+		 * @throws So4jException {@link Query#forEach(RowHandler)}と同様
+		 */
+		public <T> long forEach(EntityManager em, RowHandler<T> handler) throws So4jException {
+			IfRowMapper<?> rowMapper = createRowMapper();
+			long count = this.createQuery(em, rowMapper).forEach(handler);
+			keepMappingPlan(rowMapper);
+			return count;
+		}
+
+		/**
+		 * <p>登録・更新・削除処理</p>
+		 *
+		 * @param  em エンティティマネージャ
+		 * @return 登録・更新・削除件数
+		 * @throws So4jException {@link Query#executeUpdate()}と同様
+		 */
+		public int executeUpdate(EntityManager em) throws So4jException {
+			return this.createQuery(em, null).executeUpdate();
+		}
+
+		/**
+		 * <p>Queryインスタンス生成</p>
+		 *
+		 * @param  em        エンティティマネージャ
+		 * @param  rowMapper ROWマッパ
+		 * @return Queryインスタンス
+		 */
+		private Query createQuery(EntityManager em, IfRowMapper<?> rowMapper) {
+			em.checkOpen();
+			return new Query(_queryType, _parsedSql, _positionalValues, _parameters, _entityClass, rowMapper,
+					em._connection, em._statementCache).setEntityManager(em).setTables(_tables)
+					.setSelectClasses(_selectClasses).setCacheable(_cacheable);
+		}
+	}
+}
@@ -4,25 +4,41 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import net.skuratani.simpleorm4j.cache.IdentityMap;
+import net.skuratani.simpleorm4j.cache.QueryResultCache;
+import net.skuratani.simpleorm4j.cache.SecondLevelCache;
 import net.skuratani.simpleorm4j.exception.So4jException;
 import net.skuratani.simpleorm4j.io.StandartOutput;
 import net.skuratani.simpleorm4j.loader.ConfigLoader;
 import net.skuratani.simpleorm4j.mapper.EntityPropertyRowMapper;
 import net.skuratani.simpleorm4j.mapper.IfRowMapper;
 import net.skuratani.simpleorm4j.mapper.MapRowMapper;
+import net.skuratani.simpleorm4j.mapper.MultiEntityRowMapper;
+import net.skuratani.simpleorm4j.metrics.MetricsRegistry;
+import net.skuratani.simpleorm4j.metrics.SlowQueryLog;
+import net.skuratani.simpleorm4j.metrics.StatementMetrics;
+import net.skuratani.simpleorm4j.pool.StatementCache;
 import net.skuratani.simpleorm4j.type.QueryType;
 import net.skuratani.simpleorm4j.util.AnnotationUtil;
+import net.skuratani.simpleorm4j.util.TableNameUtil;
 
 /**
  * <p>データベースに発行するクエリを表現するクラス</p>
@@ -39,8 +55,17 @@ public class Query {
 	/** 発行SQL */
 	protected String _sql;
 
-	/** バインドパラメータリスト */
-	protected List<Map<String, Object>> _paramList = new ArrayList<>();
+	/** 解析済みSQL */
+	protected ParsedSql _parsedSql;
+
+	/** バインドパラメータ（名前インデックス毎、未設定の場合はUNSET） */
+	protected Object[] _parameters;
+
+	/** 位置指定バインド値（位置指定プレースホルダ（?）の順） */
+	protected Object[] _positionalValues;
+
+	/** バッチパラメータリスト */
+	protected List<Object[]> _batchList = new ArrayList<>();
 
 	/** マッピングエンティティ */
 	protected Class<?> _entityClass;
@@ -48,6 +73,9 @@ public class Query {
 	/** コネクション */
 	protected Connection _connection;
 
+	/** ステートメントキャッシュ */
+	protected StatementCache _statementCache;
+
 	/** プリペアドステートメント */
 	protected PreparedStatement _preparedStatement;
 
@@ -57,6 +85,36 @@ public class Query {
 	/** 検索結果リスト */
 	List<Object> _resultList;
 
+	/** 未設定パラメータ */
+	protected static final Object UNSET = new Object();
+
+	/** フェッチサイズ（0以下の場合は設定ファイルのフェッチサイズ） */
+	protected int _fetchSize;
+
+	/** 最大取得件数（0以下の場合は制限しない） */
+	protected int _maxRows;
+
+	/** ROWマッパ（nullの場合はマッピングエンティティクラスから生成する） */
+	protected IfRowMapper<?> _rowMapper;
+
+	/** 実行元エンティティマネージャ（スロークエリの記録・キャッシュの破棄用） */
+	protected EntityManager _entityManager;
+
+	/** エンティティ単位の登録・更新・削除フラグ（2次キャッシュを主キー単位で破棄する） */
+	protected boolean _entityWrite;
+
+	/** 参照テーブル（正規化済み、nullの場合は発行SQLから抽出する） */
+	protected String[] _tables;
+
+	/** クエリ結果キャッシュ使用フラグ */
+	protected boolean _cacheable;
+
+	/** 検索エンティティクラス（複数のエンティティクラスを指定した検索の場合のみ、指定順） */
+	protected Class<?>[] _selectClasses;
+
+	/** 関連取得フラグ（関連エンティティの検索では、関連を{@link RelationLoader}が続けて取得する為false） */
+	protected boolean _loadRelations = true;
+
 	/**
 	 * <p>コンストラクタ</p>
 	 *
@@ -66,10 +124,71 @@ public class Query {
 	 * @param connection  データベースコネクション
 	 */
 	public Query(QueryType queryType, String sql, Class<?> entityClass, Connection connection) {
-		_queryType   = queryType;
-		_sql         = sql;
-		_entityClass = entityClass;
-		_connection  = connection;
+		this(queryType, sql, entityClass, connection, new StatementCache(connection, 0));
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param queryType      クエリ種別
+	 * @param sql            発行SQL
+	 * @param entityClass    マッピングエンティティクラス
+	 * @param connection     データベースコネクション
+	 * @param statementCache ステートメントキャッシュ
+	 */
+	public Query(QueryType queryType, String sql, Class<?> entityClass, Connection connection,
+			StatementCache statementCache) {
+		this(queryType, sql, Collections.emptyList(), entityClass, connection, statementCache);
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param queryType      クエリ種別
+	 * @param sql            発行SQL
+	 * @param bindValueList  位置指定バインド値リスト（発行SQLの位置指定プレースホルダ（?）の順）
+	 * @param entityClass    マッピングエンティティクラス
+	 * @param connection     データベースコネクション
+	 * @param statementCache ステートメントキャッシュ
+	 */
+	public Query(QueryType queryType, String sql, List<Object> bindValueList, Class<?> entityClass,
+			Connection connection, StatementCache statementCache) {
+		_queryType        = queryType;
+		_sql              = sql;
+		_parsedSql        = ParsedSql.parse(sql);
+		_parameters       = this.createParameters();
+		_positionalValues = bindValueList.toArray();
+		_entityClass      = entityClass;
+		_connection       = connection;
+		_statementCache   = statementCache;
+	}
+
+	/**
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * コンパイル済みCriteria（{@link PreparedCriteria}）から、SQLの解析を行わずに生成する。
+	 * </pre>
+	 *
+	 * @param queryType        クエリ種別
+	 * @param parsedSql        解析済みSQL
+	 * @param positionalValues 位置指定バインド値（発行SQLの位置指定プレースホルダ（?）の順）
+	 * @param parameters       バインドパラメータ（名前インデックス毎）
+	 * @param entityClass      マッピングエンティティクラス
+	 * @param rowMapper        ROWマッパ
+	 * @param connection       データベースコネクション
+	 * @param statementCache   ステートメントキャッシュ
+	 */
+	Query(QueryType queryType, ParsedSql parsedSql, Object[] positionalValues, Object[] parameters,
+			Class<?> entityClass, IfRowMapper<?> rowMapper, Connection connection, StatementCache statementCache) {
+		_queryType        = queryType;
+		_sql              = parsedSql.getSql();
+		_parsedSql        = parsedSql;
+		_parameters       = parameters;
+		_positionalValues = positionalValues;
+		_entityClass      = entityClass;
+		_rowMapper        = rowMapper;
+		_connection       = connection;
+		_statementCache   = statementCache;
 	}
 
 	/**
@@ -94,6 +213,9 @@ public class Query {
 	 * <p>検索結果リスト取得</p>
 	 * <pre>
 	 * Criteriaの設定情報で生成したSQLを発行した検索結果を、エンティティにマッピングしたリストを返却する。
+	 * エンティティの全プロパティを検索した場合は、エンティティマネージャの識別マップに保持しているインスタンスを返却する
+	 * （同じ主キーのエンティティは、同じエンティティマネージャ内で常に同じインスタンスになる）。
+	 * {@link Query#setCacheable(boolean)}を指定した場合は、クエリ結果キャッシュの検索結果（コピー）を返却する。
 	 * </pre>
 	 *
 	 * @return 検索結果をエンティティにマッピングしたリスト
@@ -117,51 +239,478 @@ public class Query {
 	 */
 	protected List<?> selectQuery() throws So4jException {
 
+		// 名前付きプレースホルダを「?」に変更したSQL
+		String sql = _parsedSql.getJdbcSql();
+
+		// クエリ結果キャッシュ（トランザクション中に参照テーブルを更新した場合は使用しない）
+		IdentityMap identityMap = _entityManager != null ? _entityManager.getIdentityMap() : null;
+		String[] tables = _cacheable && _queryType == QueryType.SELECT ? this.getTables() : null;
+		QueryResultCache queryCache = null;
+		Object cacheKey = null;
+		long[] versions = null;
+		if (   tables != null && 0 < tables.length
+			&& (_entityManager == null || !_entityManager.isDirty(tables))) {
+			queryCache = QueryResultCache.getInstance();
+			cacheKey   = this.createCacheKey(sql);
+			try {
+				List<Object> cachedList = queryCache.get(cacheKey, identityMap);
+				if (cachedList != null) {
+					// デバッグ情報
+					if (ConfigLoader.getConfig().isVerbose()) {
+						StandartOutput.writeStatement("SimpleORM4J : hit query cache : count " + cachedList.size());
+					}
+					_resultList = cachedList;
+					this.loadRelations();
+					return _resultList;
+				}
+			} catch (ReflectiveOperationException e) {
+				throw new So4jException(e.getMessage(), e);
+			}
+			versions = queryCache.getVersions(tables);
+		}
+
+		// SQL実行メトリクス（無効の場合はnull）・スロークエリ閾値（無効の場合は0）
+		StatementMetrics metrics = MetricsRegistry.get(sql);
+		long slowThreshold = SlowQueryLog.getThresholdNanos();
+		boolean timed = metrics != null || 0L < slowThreshold;
 		try {
 			// クエリ種別の判定
 			if (_queryType != QueryType.SELECT) {
 				throw new Exception("mismatch the type of executed query." + " query type : " + _queryType.toString());
 			}
 
-			// 名前付きプレースホルダを「?」に変更
-			String sql = this.convertNamedPlaceholder(String.valueOf(_sql));
-
-			// プリペアドステートメントを生成
-			_preparedStatement = _connection.prepareStatement(sql);
+			// プリペアドステートメントを取得
+			long start = nanoTime(timed);
+			_preparedStatement = _statementCache.prepare(sql);
+			if (0 < _maxRows) {
+				_preparedStatement.setMaxRows(_maxRows);
+			}
+			long prepared = nanoTime(timed);
 
 			// パラメータのセット
-			this.bindParameter();
+			this.bindParameter(_parameters);
+			long bound = nanoTime(timed);
 
 			// SQL発行
 			_resultSet = _preparedStatement.executeQuery();
+			long executed = nanoTime(timed);
 
 			// マッピングするエンティティクラスの判定
-			IfRowMapper<?> rowMapper;
-			if (AnnotationUtil.hasEntityAnnotation(_entityClass)) {
-				rowMapper = new EntityPropertyRowMapper<>(_entityClass);
-			} else if ("Map".equals(_entityClass.getSimpleName())) {
-				rowMapper = new MapRowMapper<>(Map.class);
-			} else {
+			IfRowMapper<?> rowMapper = this.createRowMapper();
+			if (rowMapper == null) {
 				return null;
 			}
 
+			// 識別マップの設定（エンティティマネージャが同じ主キーのROWに同じインスタンスを返却する）
+			if (rowMapper instanceof EntityPropertyRowMapper && _entityManager != null) {
+				((EntityPropertyRowMapper<?>) rowMapper).setIdentityMap(identityMap);
+				((EntityPropertyRowMapper<?>) rowMapper).setCountManaged(queryCache != null && identityMap != null);
+			} else if (rowMapper instanceof MultiEntityRowMapper && _entityManager != null) {
+				((MultiEntityRowMapper) rowMapper).setIdentityMap(identityMap);
+			}
+
 			// 結果セットからリストに変換
 			_resultList = new ArrayList<Object>();
 			while (_resultSet.next()) {
 				_resultList.add(rowMapper.mapRow(_resultSet));
 			}
+
+			// SQL実行メトリクス・スロークエリの記録
+			if (timed) {
+				this.recordExecution(metrics, slowThreshold, sql, _parameters, 0,
+						start, prepared, bound, executed, System.nanoTime(), _resultList.size());
+			}
+
+			// クエリ結果キャッシュへの登録（変更した可能性のある管理済みインスタンスを含む場合は登録しない）
+			if (queryCache != null && this.isCacheableResult(rowMapper)) {
+				queryCache.put(cacheKey, tables, versions, _entityClass, _resultList, identityMap);
+			}
 		} catch (Exception e) {
+			if (metrics != null) {
+				metrics.recordError();
+			}
 			throw new So4jException(e.getMessage(), e);
+		} finally {
+			this.closeStatement();
 		}
 
 		// デバッグ情報
 		if (ConfigLoader.getConfig().isVerbose()) {
-			StandartOutput.writeln("SimpleORM4J : fetch resultset : count " + _resultList.size());
+			StandartOutput.writeStatement("SimpleORM4J : fetch resultset : count " + _resultList.size());
 		}
 
+		this.loadRelations();
 		return _resultList;
 	}
 
+	/**
+	 * <p>クエリ結果キャッシュ登録可否判定</p>
+	 * <pre>
+	 * クエリ結果キャッシュには検索結果のエンティティのプロパティ値を登録する。
+	 * 識別マップが保持していたインスタンスはROWデータで上書きしない為、未保存の変更を共有キャッシュに
+	 * 登録しないように、管理済みインスタンスが以下のいずれかに該当する場合は登録しない。
+	 *    1. 変更したカラムがある場合
+	 *    2. 変更カラムを判定できない場合（設定ファイルのdirtyCheckingがfalseの場合等）
+	 * </pre>
+	 *
+	 * @param  rowMapper ROWマッパ
+	 * @return boolean
+	 *           true  : 登録する
+	 *           false : 登録しない
+	 * @throws ReflectiveOperationException ゲッタメソッドの実行に失敗した場合
+	 */
+	protected boolean isCacheableResult(IfRowMapper<?> rowMapper) throws ReflectiveOperationException {
+		if (   !(rowMapper instanceof EntityPropertyRowMapper)
+			|| ((EntityPropertyRowMapper<?>) rowMapper).getManagedCount() == 0) {
+			return true;
+		}
+		for (Object entity : _resultList) {
+			BitSet dirtyColumns = _entityManager.getDirtyColumns(entity);
+			if (dirtyColumns == null || !dirtyColumns.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * <p>関連取得</p>
+	 * <pre>
+	 * 検索結果のエンティティに、ManyToOne・OneToManyアノテーションを指定したフィールドの関連エンティティを設定する
+	 * （{@link RelationLoader}）。
+	 * 複数のエンティティクラスを指定した検索では、結合で設定しなかった関連をエンティティクラス毎に設定する。
+	 * エンティティマネージャで生成したクエリのみ対象とし、ストリーム・イテレータでの検索は対象外とする。
+	 * </pre>
+	 *
+	 * @throws So4jException 関連エンティティの検索に失敗した場合
+	 */
+	protected void loadRelations() throws So4jException {
+		if (   !_loadRelations || _entityManager == null || _entityClass == null
+			|| Map.class.isAssignableFrom(_entityClass)) {
+			return;
+		}
+		if (_entityClass == Object[].class) {
+			RelationLoader.loadRows(_entityManager, _resultList);
+		} else {
+			RelationLoader.load(_entityManager, _entityClass, _resultList);
+		}
+	}
+
+	/**
+	 * <p>検索結果ストリーム取得</p>
+	 * <pre>
+	 * Criteriaの設定情報で生成したSQLを発行し、検索結果を1件ずつエンティティにマッピングするストリームを返却する。
+	 * 検索結果は前方スクロール・読み取り専用のカーソルからフェッチサイズ毎に読み込み、
+	 * 全件をメモリに保持しない。
+	 * ストリームを全件読み終えた場合、又はストリームをクローズした場合にカーソルをクローズする。
+	 * 途中で読み込みを止める場合は、try-with-resources等で必ずストリームをクローズすること。
+	 * (ex.) try (Stream&lt;?&gt; stream = query.getResultStream()) { ... }
+	 * </pre>
+	 *
+	 * @return 検索結果をエンティティにマッピングするストリーム
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       パラメータのバインド処理に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合
+	 */
+	public Stream<?> getResultStream() throws So4jException {
+		ResultIterator<?> iterator = this.getResultIterator();
+		return StreamSupport.stream(
+					Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(iterator::close);
+	}
+
+	/**
+	 * <p>検索結果イテレータ取得</p>
+	 * <pre>
+	 * Criteriaの設定情報で生成したSQLを発行し、検索結果を1件ずつエンティティにマッピングするイテレータを返却する。
+	 * カーソルはステートメントキャッシュを使用せず、専用のプリペアドステートメントで開く。
+	 * 大量件数の逐次処理の為、検索結果は識別マップに登録しない。
+	 * </pre>
+	 *
+	 * @return 検索結果をエンティティにマッピングするイテレータ
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       パラメータのバインド処理に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合
+	 */
+	public ResultIterator<?> getResultIterator() throws So4jException {
+
+		PreparedStatement preparedStatement = null;
+		try {
+			// クエリ種別の判定
+			if (_queryType != QueryType.SELECT) {
+				throw new Exception("mismatch the type of executed query." + " query type : " + _queryType.toString());
+			}
+
+			// マッピングするエンティティクラスの判定
+			IfRowMapper<?> rowMapper = this.createRowMapper();
+			if (rowMapper == null) {
+				throw new Exception("unsupported entity class. class : " + _entityClass.getName());
+			}
+
+			// 名前付きプレースホルダを「?」に変更したSQL
+			String sql = _parsedSql.getJdbcSql();
+
+			// 前方スクロール・読み取り専用のプリペアドステートメントを生成
+			preparedStatement = _connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+			int fetchSize = 0 < _fetchSize ? _fetchSize : ConfigLoader.getConfig().getFetchSize();
+			if (fetchSize != 0) {
+				preparedStatement.setFetchSize(fetchSize);
+			}
+			if (0 < _maxRows) {
+				preparedStatement.setMaxRows(_maxRows);
+			}
+
+			// パラメータのセット
+			_preparedStatement = preparedStatement;
+			this.bindParameter(_parameters);
+			_preparedStatement = null;
+
+			// SQL発行
+			ResultSet resultSet = preparedStatement.executeQuery();
+
+			// デバッグ情報
+			if (ConfigLoader.getConfig().isVerbose()) {
+				StandartOutput.writeStatement("SimpleORM4J : open result cursor : fetch size " + fetchSize);
+			}
+
+			return new ResultIterator<>(preparedStatement, resultSet, rowMapper);
+
+		} catch (Exception e) {
+			_preparedStatement = null;
+			if (preparedStatement != null) {
+				try {
+					preparedStatement.close();
+				} catch (SQLException sqle) {
+					// クローズ失敗は無視する
+				}
+			}
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>検索結果ROW毎処理</p>
+	 * <pre>
+	 * Criteriaの設定情報で生成したSQLを発行し、検索結果を1件読み込む毎にエンティティにマッピングして
+	 * ROWハンドラに渡す。検索結果のリストは生成しない。
+	 * </pre>
+	 *
+	 * @param  handler ROWハンドラ
+	 * @return 処理件数
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       パラメータのバインド処理に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合<br>
+	 *                       ROWハンドラの処理でエラーが発生した場合
+	 */
+	public <T> long forEach(RowHandler<T> handler) throws So4jException {
+		return this.forEach(handler, false);
+	}
+
+	/**
+	 * <p>検索結果ROW毎処理</p>
+	 * <pre>
+	 * Criteriaの設定情報で生成したSQLを発行し、検索結果を1件読み込む毎にエンティティにマッピングして
+	 * ROWハンドラに渡す。検索結果のリストは生成しない。
+	 * インスタンス再利用フラグにtrueを指定すると、全てのROWを1つのインスタンスに上書きしてマッピングする。
+	 * （ROWハンドラに渡したインスタンスは次のROWで上書きされる為、必要な値はROWハンドラ内で複写すること）
+	 * </pre>
+	 *
+	 * @param  handler       ROWハンドラ
+	 * @param  reuseInstance インスタンス再利用フラグ
+	 * @return 処理件数
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       パラメータのバインド処理に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合<br>
+	 *                       ROWハンドラの処理でエラーが発生した場合
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> long forEach(RowHandler<T> handler, boolean reuseInstance) throws So4jException {
+		try (ResultIterator<T> iterator = (ResultIterator<T>) this.getResultIterator()) {
+			iterator.setReuseInstance(reuseInstance);
+			while (iterator.hasNext()) {
+				handler.handleRow(iterator.next());
+			}
+			return iterator.getCount();
+		} catch (IllegalStateException e) {
+			// カーソルの読み込み・マッピングの失敗
+			if (e.getCause() instanceof So4jException) {
+				throw (So4jException) e.getCause();
+			}
+			throw new So4jException(e.getMessage(), e.getCause() != null ? e.getCause() : e);
+		}
+	}
+
+	/**
+	 * <p>検索結果集約</p>
+	 * <pre>
+	 * Criteriaの設定情報で生成したSQLを発行し、検索結果を1件読み込む毎にエンティティにマッピングして
+	 * コレクタに渡し、集約結果を返却する。検索結果のリストは生成しない。
+	 * (ex.) Map&lt;String, Long&gt; count = query.collect(
+	 *           Collectors.groupingBy(Department::getName, Collectors.counting()));
+	 * </pre>
+	 *
+	 * @param  collector コレクタ
+	 * @return 集約結果
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       パラメータのバインド処理に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合
+	 */
+	public <T, A, R> R collect(Collector<? super T, A, R> collector) throws So4jException {
+		return this.collect(collector, false);
+	}
+
+	/**
+	 * <p>検索結果集約</p>
+	 * <pre>
+	 * インスタンス再利用フラグにtrueを指定すると、全てのROWを1つのインスタンスに上書きしてマッピングする。
+	 * インスタンスそのものを保持するコレクタ（Collectors#toList等）には使用しないこと。
+	 * </pre>
+	 *
+	 * @param  collector     コレクタ
+	 * @param  reuseInstance インスタンス再利用フラグ
+	 * @return 集約結果
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       パラメータのバインド処理に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合
+	 */
+	public <T, A, R> R collect(Collector<? super T, A, R> collector, boolean reuseInstance) throws So4jException {
+		A container = collector.supplier().get();
+		BiConsumer<A, ? super T> accumulator = collector.accumulator();
+		this.<T>forEach(row -> accumulator.accept(container, row), reuseInstance);
+		return collector.finisher().apply(container);
+	}
+
+	/**
+	 * <p>フェッチサイズ設定</p>
+	 * <pre>
+	 * {@link Query#getResultStream()}・{@link Query#getResultIterator()}で、
+	 * 1度にデータベースから取得する件数を設定する。
+	 * 設定しない場合は、設定ファイルのフェッチサイズ（fetchSize）を使用する。
+	 * </pre>
+	 *
+	 * @param  fetchSize フェッチサイズ
+	 * @return 本クエリ
+	 */
+	public Query setFetchSize(int fetchSize) {
+		_fetchSize = fetchSize;
+		return this;
+	}
+
+	/**
+	 * <p>最大取得件数設定</p>
+	 * <pre>
+	 * データベースから取得する最大件数（JDBCのmaxRows）を設定する。超えた分のROWは破棄される。
+	 * 0以下の場合は制限しない。
+	 * </pre>
+	 *
+	 * @param  maxRows 最大取得件数
+	 * @return 本クエリ
+	 */
+	public Query setMaxRows(int maxRows) {
+		_maxRows = maxRows;
+		return this;
+	}
+
+	/**
+	 * <p>クエリ結果キャッシュ使用設定</p>
+	 * <pre>
+	 * trueの場合は、{@link Query#getResultList()}・{@link Query#getSingleResult()}の検索結果を
+	 * クエリ結果キャッシュ（{@link QueryResultCache}）に保持し、発行SQL・バインド値が同じ検索では
+	 * SQLを発行せずに保持している検索結果のコピーを返却する。
+	 * 参照テーブル（FROM句・JOIN句）を登録・更新・削除した場合は、保持している検索結果を無効にする。
+	 * エンティティ・Mapにマッピングする検索のみが対象で、ストリーム・ROW毎処理には使用しない。
+	 * </pre>
+	 *
+	 * @param  cacheable クエリ結果キャッシュを使用するか
+	 * @return 本クエリ
+	 */
+	public Query setCacheable(boolean cacheable) {
+		_cacheable = cacheable;
+		return this;
+	}
+
+	/**
+	 * <p>参照テーブル設定</p>
+	 *
+	 * @param  tables 参照テーブル（正規化済み）
+	 * @return 本クエリ
+	 */
+	Query setTables(String[] tables) {
+		_tables = tables;
+		return this;
+	}
+
+	/**
+	 * <p>検索エンティティクラス設定</p>
+	 *
+	 * @param  selectClasses 検索エンティティクラス（複数のエンティティクラスを指定した検索でない場合はnull）
+	 * @return 本クエリ
+	 */
+	Query setSelectClasses(Class<?>[] selectClasses) {
+		_selectClasses = selectClasses;
+		return this;
+	}
+
+	/**
+	 * <p>関連取得設定</p>
+	 *
+	 * @param  loadRelations true : 検索結果の関連を取得する、false : 取得しない
+	 * @return 本クエリ
+	 */
+	Query setLoadRelations(boolean loadRelations) {
+		_loadRelations = loadRelations;
+		return this;
+	}
+
+	/**
+	 * <p>参照テーブル取得</p>
+	 * <pre>
+	 * 設定していない場合（SQL文から生成したクエリ）は、発行SQLのFROM句・JOIN句から抽出する。
+	 * </pre>
+	 *
+	 * @return 参照テーブル（正規化済み）
+	 */
+	protected String[] getTables() {
+		if (_tables == null) {
+			_tables = TableNameUtil.extractTables(_sql);
+		}
+		return _tables;
+	}
+
+	/**
+	 * <p>クエリ結果キャッシュのキー生成</p>
+	 *
+	 * @param  sql 発行SQL
+	 * @return 発行SQL・マッピングエンティティクラス・最大取得件数・バインド値のリスト
+	 */
+	protected Object createCacheKey(String sql) {
+		Object[] key = new Object[3 + _positionalValues.length + _parameters.length];
+		key[0] = sql;
+		key[1] = _entityClass;
+		key[2] = _maxRows;
+		System.arraycopy(_positionalValues, 0, key, 3, _positionalValues.length);
+		System.arraycopy(_parameters, 0, key, 3 + _positionalValues.length, _parameters.length);
+		return Arrays.asList(key);
+	}
+
+	/**
+	 * <p>ROWマッパ生成</p>
+	 *
+	 * @return ROWマッパ（マッピングできないエンティティクラスの場合はnull）
+	 */
+	protected IfRowMapper<?> createRowMapper() {
+		if (_rowMapper != null) {
+			return _rowMapper;
+		}
+		if (AnnotationUtil.hasEntityAnnotation(_entityClass)) {
+			return new EntityPropertyRowMapper<>(_entityClass);
+		} else if (_entityClass == Object[].class && _selectClasses != null) {
+			return new MultiEntityRowMapper(_selectClasses);
+		} else if ("Map".equals(_entityClass.getSimpleName())) {
+			return new MapRowMapper<>(Map.class);
+		}
+		return null;
+	}
 
 	/**
 	 * <p>登録・更新・削除処理</p>
@@ -176,6 +725,13 @@ public class Query {
 	 */
 	public int executeUpdate() throws So4jException {
 
+		// 名前付きプレースホルダを「?」に変更したSQL
+		String sql = _parsedSql.getJdbcSql();
+
+		// SQL実行メトリクス（無効の場合はnull）・スロークエリ閾値（無効の場合は0）
+		StatementMetrics metrics = MetricsRegistry.get(sql);
+		long slowThreshold = SlowQueryLog.getThresholdNanos();
+		boolean timed = metrics != null || 0L < slowThreshold;
 		try {
 			// クエリ種別の判定
 			if (!(   _queryType == QueryType.INSERT
@@ -184,129 +740,360 @@ public class Query {
 				throw new Exception("mismatch the type of executed query." + " query type : " + _queryType.toString());
 			}
 
-			// 名前付きプレースホルダを「?」に変更
-			String sql = this.convertNamedPlaceholder(String.valueOf(_sql));
-
-			// プリペアドステートメントを生成
-			_preparedStatement = _connection.prepareStatement(sql);
+			// プリペアドステートメントを取得
+			long start = nanoTime(timed);
+			_preparedStatement = _statementCache.prepare(sql);
+			long prepared = nanoTime(timed);
 
 			// パラメータのセット
-			this.bindParameter();
+			this.bindParameter(_parameters);
+			long bound = nanoTime(timed);
 
 			// SQL発行
 			int updatedCount = _preparedStatement.executeUpdate();
+			this.invalidateCaches();
+
+			// SQL実行メトリクス・スロークエリの記録
+			if (timed) {
+				long executed = System.nanoTime();
+				this.recordExecution(metrics, slowThreshold, sql, _parameters, 0,
+						start, prepared, bound, executed, executed, updatedCount);
+			}
 
 			// デバッグ情報
 			if (ConfigLoader.getConfig().isVerbose()) {
-				StandartOutput.writeln("SimpleORM4J : execute Query#executeUpdate : count " + updatedCount);
+				StandartOutput.writeStatement("SimpleORM4J : execute Query#executeUpdate : count " + updatedCount);
 			}
 
 			return updatedCount;
 
 		} catch (Exception e) {
+			if (metrics != null) {
+				metrics.recordError();
+			}
 			throw new So4jException(e.getMessage(), e);
+		} finally {
+			this.closeStatement();
 		}
 	}
 
 	/**
-	 * <p>SQLバインドパラメータ設定</p>
+	 * <p>バッチ追加</p>
 	 * <pre>
-	 * 発行SQLのプレースホルダにバインドするパラメータを設定する。
+	 * {@link Query#setParameter(String, Object)}で設定したパラメータを1件分のバッチとして追加し、
+	 * 次のバッチの為にパラメータをクリアする。
+	 * 追加したバッチは{@link Query#executeBatch()}でまとめて実行する。
 	 * </pre>
+	 */
+	public void addBatch() {
+		_batchList.add(_parameters);
+		_parameters = this.createParameters();
+	}
+
+	/**
+	 * <p>バッチ件数取得</p>
 	 *
-	 * @param  paramName プレースホルダ名
-	 * @param  value     プレースホルダにバインドする値
+	 * @return 追加済みで未実行のバッチ件数
 	 */
-	public void setParameter(String paramName, Object value) {
+	public int getBatchCount() {
+		return _batchList.size();
+	}
+
+	/**
+	 * <p>バッチ実行</p>
+	 * <pre>
+	 * {@link Query#addBatch()}で追加したバッチを、1つのプリペアドステートメントで
+	 * まとめて実行（JDBCバッチ更新）し、バッチ毎の登録・更新・削除件数を返却する。
+	 * </pre>
+	 *
+	 * @return バッチ毎の登録・更新・削除件数（追加順）
+	 * @throws So4jException プリペアドステートメントの生成に失敗した場合<br>
+	 *                       バインドパラメータの設定に失敗した場合<br>
+	 *                       SQLの実行でエラーが発生した場合
+	 */
+	public int[] executeBatch() throws So4jException {
+
+		// 名前付きプレースホルダを「?」に変更したSQL
+		String sql = _parsedSql.getJdbcSql();
+
+		// SQL実行メトリクス（無効の場合はnull）・スロークエリ閾値（無効の場合は0）
+		StatementMetrics metrics = MetricsRegistry.get(sql);
+		long slowThreshold = SlowQueryLog.getThresholdNanos();
+		boolean timed = metrics != null || 0L < slowThreshold;
+		try {
+			// クエリ種別の判定
+			if (!(   _queryType == QueryType.INSERT
+				  || _queryType == QueryType.UPDATE
+				  || _queryType == QueryType.DELETE)) {
+				throw new Exception("mismatch the type of executed query." + " query type : " + _queryType.toString());
+			}
+			if (_batchList.isEmpty()) {
+				return new int[0];
+			}
+
+			// プリペアドステートメントを取得
+			long start = nanoTime(timed);
+			_preparedStatement = _statementCache.prepare(sql);
+			long prepared = nanoTime(timed);
+
+			// パラメータのセット
+			for (Object[] parameters : _batchList) {
+				this.bindParameter(parameters);
+				_preparedStatement.addBatch();
+			}
+			long bound = nanoTime(timed);
+
+			// SQL発行
+			int[] updatedCounts = _preparedStatement.executeBatch();
+			this.invalidateCaches();
+
+			// SQL実行メトリクス・スロークエリの記録
+			if (timed) {
+				long executed = System.nanoTime();
+				long rows = 0L;
+				for (int count : updatedCounts) {
+					rows += Math.max(count, 0);
+				}
+				this.recordExecution(metrics, slowThreshold, sql, _batchList.get(0), _batchList.size(),
+						start, prepared, bound, executed, executed, rows);
+			}
+
+			// デバッグ情報
+			if (ConfigLoader.getConfig().isVerbose()) {
+				StandartOutput.writeStatement("SimpleORM4J : execute Query#executeBatch : batch " + updatedCounts.length);
+			}
+
+			return updatedCounts;
+
+		} catch (Exception e) {
+			if (metrics != null) {
+				metrics.recordError();
+			}
+			if (_preparedStatement != null) {
+				// 途中のバッチまで実行された場合がある為、キャッシュを破棄する
+				this.invalidateCaches();
+				try {
+					_preparedStatement.clearBatch();
+				} catch (SQLException sqle) {
+					// クリア失敗は無視する
+				}
+			}
+			throw new So4jException(e.getMessage(), e);
+		} finally {
+			_batchList.clear();
+			_parameters = this.createParameters();
+			this.closeStatement();
+		}
+	}
 
-		// 名前付きプレースホルダリスト生成
-		List<String> paramList = new ArrayList<>();
-		Pattern p = Pattern.compile(":([0-9a-zA-Z_]+)");
-        Matcher m = p.matcher(_sql);
-        while (m.find()) {
-        	paramList.add(m.group(1));
-        }
+	/**
+	 * <p>現在時刻取得</p>
+	 *
+	 * @param  timed 処理時間を計測するか（SQL実行メトリクス・スロークエリログのいずれかが有効）
+	 * @return {@link System#nanoTime()}の値（計測しない場合は0）
+	 */
+	protected static long nanoTime(boolean timed) {
+		return timed ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * <p>実行記録</p>
+	 * <pre>
+	 * SQL実行メトリクスに処理時間を記録し、処理時間がスロークエリ閾値を超えた場合はスロークエリログに記録する。
+	 * バインド値の文字列化は、スロークエリとして記録する場合のみ行う。
+	 * </pre>
+	 *
+	 * @param metrics       SQL実行メトリクス（無効の場合はnull）
+	 * @param slowThreshold スロークエリ閾値（ナノ秒、無効の場合は0）
+	 * @param sql           発行SQL
+	 * @param parameters    バインドパラメータ（名前インデックス毎、バッチ実行の場合は最初のバッチ）
+	 * @param batchCount    バッチ件数（バッチ実行以外は0）
+	 * @param start         プリペアドステートメント取得開始時刻
+	 * @param prepared      プリペアドステートメント取得終了時刻
+	 * @param bound         バインド終了時刻
+	 * @param executed      実行終了時刻
+	 * @param end           マッピング終了時刻
+	 * @param rows          検索・登録・更新・削除件数
+	 */
+	protected void recordExecution(StatementMetrics metrics, long slowThreshold, String sql, Object[] parameters,
+			int batchCount, long start, long prepared, long bound, long executed, long end, long rows) {
+		if (metrics != null) {
+			metrics.record(start, prepared, bound, executed, end, rows);
+		}
+		if (0L < slowThreshold && slowThreshold <= end - start) {
+			SlowQueryLog.getInstance().record(sql, this.describeBindValues(parameters), end - start, rows, batchCount,
+					_entityManager);
+		}
+	}
 
-        // セットするプレースホルダのインデックスを取得
-        int setIndex = 1;
-        for (String param : paramList) {
-        	if (paramName.equals(param)) break;
-        	setIndex++;
-        }
+	/**
+	 * <p>バインド値文字列化</p>
+	 * <pre>
+	 * 位置指定バインド値、名前付プレースホルダの値（名前=値）の順に文字列化する。未設定のパラメータは含まない。
+	 * 設定ファイルのslowQueryRedactがtrueの場合は、値の型のみとする。
+	 * </pre>
+	 *
+	 * @param  parameters バインドパラメータ（名前インデックス毎）
+	 * @return バインド値の文字列表現
+	 */
+	protected List<String> describeBindValues(Object[] parameters) {
+		boolean redact = ConfigLoader.getConfig().isSlowQueryRedact();
+		List<String> bindValues = new ArrayList<>(_positionalValues.length + parameters.length);
+		for (Object value : _positionalValues) {
+			bindValues.add(SlowQueryLog.formatBindValue(value, redact));
+		}
+		for (int nameIndex = 0; nameIndex < parameters.length; nameIndex++) {
+			if (parameters[nameIndex] != UNSET) {
+				bindValues.add(_parsedSql.getName(nameIndex) + "="
+						+ SlowQueryLog.formatBindValue(parameters[nameIndex], redact));
+			}
+		}
+		return bindValues;
+	}
 
-        // パラメータリストに追加
-        Map<String, Object> paramMap = new HashMap<>();
-        paramMap.put(paramName, value);
-        paramMap.put("setIndex", setIndex);
-        _paramList.add(paramMap);
+	/**
+	 * <p>実行元エンティティマネージャ設定</p>
+	 *
+	 * @param  entityManager 実行元エンティティマネージャ
+	 * @return Queryインスタンス
+	 */
+	Query setEntityManager(EntityManager entityManager) {
+		_entityManager = entityManager;
+		return this;
 	}
 
 	/**
-	 * <p>発行SQLの名前付きプレースホルダを「?」に変更</p>
+	 * <p>エンティティ単位の登録・更新・削除設定</p>
+	 * <pre>
+	 * エンティティマネージャが主キー単位で2次キャッシュを破棄する為、実行時にテーブル単位で破棄しない。
+	 * </pre>
 	 *
-	 * @param  sql 発行SQL文（インスタンスフィールドを複製した文字列）
-	 * @return 名前付きプレースホルダを「?」に変更したSQL文
+	 * @return Queryインスタンス
+	 */
+	Query markEntityWrite() {
+		_entityWrite = true;
+		return this;
+	}
+
+	/**
+	 * <p>キャッシュ破棄</p>
+	 * <pre>
+	 * 登録・更新・削除文の対象テーブルについて、以下のキャッシュを破棄する。
+	 *    1. 2次キャッシュ領域（エンティティ単位の登録・更新・削除の場合は、エンティティマネージャが主キー単位で破棄する）
+	 *    2. クエリ結果キャッシュの検索結果
+	 * 実行元エンティティマネージャには、対象テーブルを更新したことを記録する。
+	 * </pre>
+	 */
+	protected void invalidateCaches() {
+		String tableName = _parsedSql.getWriteTable();
+		if (tableName == null) {
+			return;
+		}
+		if (!_entityWrite) {
+			SecondLevelCache.getInstance().evictTable(tableName);
+		}
+		QueryResultCache.getInstance().invalidate(tableName);
+		if (_entityManager != null) {
+			_entityManager.markDirtyTable(tableName);
+		}
+	}
+
+	/**
+	 * <p>ステートメントの使用終了</p>
+	 * <pre>
+	 * リザルトセットをクローズし、プリペアドステートメントをステートメントキャッシュに戻す。
+	 * （ステートメントキャッシュが無効の場合は、プリペアドステートメントをクローズする）
+	 * </pre>
 	 */
-	protected String convertNamedPlaceholder(String sql) {
-		for (Map<String, Object> paramMap : _paramList) {
-			for (Map.Entry<String, Object> entry : paramMap.entrySet()) {
-				if (!"setIndex".equals(entry.getKey())) {
-					sql = sql.replace(":" + entry.getKey(), "?");
+	protected void closeStatement() {
+		try {
+			if (_resultSet != null) {
+				_resultSet.close();
+			}
+		} catch (SQLException sqle) {
+			// クローズ失敗は無視する
+		}
+		_resultSet = null;
+		if (_preparedStatement != null) {
+			if (0 < _maxRows) {
+				try {
+					// ステートメントキャッシュで共有する為、最大取得件数を戻す
+					_preparedStatement.setMaxRows(0);
+				} catch (SQLException sqle) {
+					// 設定失敗は無視する
 				}
 			}
+			_statementCache.release(_preparedStatement);
+			_preparedStatement = null;
+		}
+	}
+
+	/**
+	 * <p>SQLバインドパラメータ設定</p>
+	 * <pre>
+	 * 発行SQLのプレースホルダにバインドするパラメータを設定する。
+	 * 同じ名前のプレースホルダが複数ある場合は、全てのプレースホルダにバインドする。
+	 * </pre>
+	 *
+	 * @param  paramName プレースホルダ名
+	 * @param  value     プレースホルダにバインドする値
+	 * @throws IllegalArgumentException 発行SQLに存在しないプレースホルダ名の場合
+	 */
+	public void setParameter(String paramName, Object value) {
+		int nameIndex = _parsedSql.indexOf(paramName);
+		if (nameIndex < 0) {
+			throw new IllegalArgumentException("named placeholder is not found. name : " + paramName);
 		}
-		return sql;
+		_parameters[nameIndex] = value;
+	}
+
+	/**
+	 * <p>SQLバインドパラメータクリア</p>
+	 * <pre>
+	 * {@link Query#setParameter(String, Object)}で設定したパラメータをクリアする。
+	 * 同じQueryインスタンスを異なるパラメータで繰り返し実行する場合に使用する。
+	 * </pre>
+	 */
+	public void clearParameters() {
+		Arrays.fill(_parameters, UNSET);
+	}
+
+	/**
+	 * <p>バインドパラメータ配列生成</p>
+	 *
+	 * @return 全て未設定のバインドパラメータ配列
+	 */
+	protected Object[] createParameters() {
+		Object[] parameters = new Object[_parsedSql.getNameCount()];
+		Arrays.fill(parameters, UNSET);
+		return parameters;
 	}
 
 	/**
 	 * <p>パラメータバインド</p>
 	 * <pre>
-	 * {@link Query#setParameter(String, Object)}で設定したパラメータをプレースホルダにバインドする。
+	 * 位置指定バインド値（式に指定した値）と、{@link Query#setParameter(String, Object)}で設定したパラメータを、
+	 * 解析済みSQLのパラメータインデックスにバインドする。
+	 * 未設定のパラメータはバインドしない。
 	 * </pre>
 	 *
+	 * @param  parameters バインドパラメータ（名前インデックス毎）
 	 * @throws So4jException パラメータのバインドに失敗した場合
 	 */
-	protected void bindParameter() throws So4jException {
+	protected void bindParameter(Object[] parameters) throws So4jException {
 
 		try {
-			for (Map<String, Object> paramMap : _paramList) {
-				int i = 1;
-				Object obj = null;
-				for (Map.Entry<String, Object> entry : paramMap.entrySet()) {
-					if ("setIndex".equals(entry.getKey())) {
-						i = (int) entry.getValue();
-					} else {
-						obj = entry.getValue();
-					}
+			int[] positionalPositions = _parsedSql.getPositionalPositions();
+			for (int i = 0; i < positionalPositions.length && i < _positionalValues.length; i++) {
+				this.bindValue(positionalPositions[i], _positionalValues[i]);
+			}
+			for (int nameIndex = 0; nameIndex < parameters.length; nameIndex++) {
+				Object obj = parameters[nameIndex];
+				if (obj == UNSET) {
+					continue;
 				}
-				// プレースホルダへのバインド
-				if (obj == null) {
-					_preparedStatement.setString(i, "");
-				} else if (obj instanceof String) {
-					_preparedStatement.setString(i, (String) obj);
-				} else if (obj instanceof Long) {
-					_preparedStatement.setLong(i, (Long) obj);
-				} else if (obj instanceof Integer) {
-					_preparedStatement.setInt(i, (Integer) obj);
-				} else if (obj instanceof Double) {
-					_preparedStatement.setDouble(i, (Double) obj);
-				} else if (obj instanceof Float) {
-					_preparedStatement.setFloat(i, (Float) obj);
-				} else if (obj instanceof java.util.Date) {
-					_preparedStatement.setTimestamp(i, new java.sql.Timestamp(((java.util.Date) obj).getTime()));
-				} else if (obj instanceof java.time.LocalDate) {
-					LocalDate dateTime = (java.time.LocalDate) obj;
-					ZoneId zone = ZoneId.systemDefault();
-					ZonedDateTime zonedDateTime = ZonedDateTime.of(
-							LocalDateTime.of(
-									dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), 0, 0, 0), zone);
-					_preparedStatement.setTimestamp(i, new java.sql.Timestamp(zonedDateTime.toInstant().toEpochMilli()));
-				} else if (obj instanceof java.time.LocalDateTime) {
-					ZoneId zone = ZoneId.systemDefault();
-					ZonedDateTime zonedDateTime = ZonedDateTime.of((java.time.LocalDateTime) obj, zone);;
-					_preparedStatement.setTimestamp(i, new java.sql.Timestamp(zonedDateTime.toInstant().toEpochMilli()));
-				} else {
-					_preparedStatement.setObject(i, obj);
+				for (int i : _parsedSql.getPositions(nameIndex)) {
+					this.bindValue(i, obj);
 				}
 			}
 		} catch (SQLException sqle) {
@@ -314,6 +1101,54 @@ public class Query {
 		}
 	}
 
+	/**
+	 * <p>値バインド</p>
+	 *
+	 * @param  i   パラメータインデックス
+	 * @param  obj バインドする値
+	 * @throws SQLException 値のバインドに失敗した場合
+	 */
+	protected void bindValue(int i, Object obj) throws SQLException {
+		// プレースホルダへのバインド
+		if (obj == null) {
+			_preparedStatement.setNull(i, Types.NULL);
+		} else if (obj instanceof String) {
+			_preparedStatement.setString(i, (String) obj);
+		} else if (obj instanceof Long) {
+			_preparedStatement.setLong(i, (Long) obj);
+		} else if (obj instanceof Integer) {
+			_preparedStatement.setInt(i, (Integer) obj);
+		} else if (obj instanceof Double) {
+			_preparedStatement.setDouble(i, (Double) obj);
+		} else if (obj instanceof Float) {
+			_preparedStatement.setFloat(i, (Float) obj);
+		} else if (obj instanceof java.util.Date) {
+			_preparedStatement.setTimestamp(i, new java.sql.Timestamp(((java.util.Date) obj).getTime()));
+		} else if (obj instanceof java.time.LocalDate) {
+			LocalDate dateTime = (java.time.LocalDate) obj;
+			ZoneId zone = ZoneId.systemDefault();
+			ZonedDateTime zonedDateTime = ZonedDateTime.of(
+					LocalDateTime.of(
+							dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), 0, 0, 0), zone);
+			_preparedStatement.setTimestamp(i, new java.sql.Timestamp(zonedDateTime.toInstant().toEpochMilli()));
+		} else if (obj instanceof java.time.LocalDateTime) {
+			ZoneId zone = ZoneId.systemDefault();
+			ZonedDateTime zonedDateTime = ZonedDateTime.of((java.time.LocalDateTime) obj, zone);;
+			_preparedStatement.setTimestamp(i, new java.sql.Timestamp(zonedDateTime.toInstant().toEpochMilli()));
+		} else {
+			_preparedStatement.setObject(i, obj);
+		}
+	}
+
+	/**
+	 * <p>位置指定バインド値リスト取得</p>
+	 *
+	 * @return 位置指定バインド値リスト（発行SQLの位置指定プレースホルダ（?）の順）
+	 */
+	public List<Object> getBindValueList() {
+		return Collections.unmodifiableList(Arrays.asList(_positionalValues));
+	}
+
 	/**
 	 * <p>発行SQL取得</p>
 	 * <pre>
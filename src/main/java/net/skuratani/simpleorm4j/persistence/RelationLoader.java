@@ -0,0 +1,728 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.skuratani.simpleorm4j.cache.EntityRegion;
+import net.skuratani.simpleorm4j.cache.IdentityMap;
+import net.skuratani.simpleorm4j.cache.SecondLevelCache;
+import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.expression.Expression;
+import net.skuratani.simpleorm4j.io.StandartOutput;
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
+import net.skuratani.simpleorm4j.metadata.RelationMetadata;
+import net.skuratani.simpleorm4j.type.FetchType;
+
+/**
+ * <p>関連取得クラス</p>
+ * <pre>
+ * 検索結果のエンティティに、ManyToOne・OneToManyアノテーションを指定したフィールドの関連エンティティを設定する。
+ * 関連元毎に検索せず（N+1問題）、検索結果の外部キー・主キーの値をまとめたIN句で関連エンティティを取得する。
+ *    1. 多対一関連：識別マップに保持している関連エンティティのみを設定し、未取得の関連元を一括取得単位に登録する
+ *                   （{@link EntityManager#fetch(Object, String)}で参照した時に、未取得の関連元とまとめて取得する）
+ *                   EAGERの場合は、2次キャッシュに保持していない関連エンティティを検索結果の直後にまとめて取得する
+ *    2. 一対多関連：遅延取得リスト（{@link LazyList}）を設定し、初めて参照した時に未取得の関連元とまとめて取得する
+ *                   （EAGERの場合は、検索結果の直後にまとめて取得する）
+ * IN句の値の数は、設定ファイルのrelationBatchSizeを上限とし、2のべき乗に切り上げて最後の値で埋める
+ * （値の数毎に異なるSQLを発行し、ステートメントキャッシュ・SQLキャッシュを使い切らない為）。
+ * 関連エンティティの検索結果にも、同様に関連エンティティを設定する。
+ * 関連エンティティの検索は関連を取得しない検索で行い、1回の関連取得で設定したエンティティを
+ * クラス・主キー毎に保持して、同じエンティティの関連を2度取得しない（識別マップの使用有無に関わらず、
+ * 循環する関連を無限に辿らない）。
+ * </pre>
+ */
+final class RelationLoader {
+
+	/**
+	 * コンストラクタ
+	 */
+	private RelationLoader() {}
+
+	/**
+	 * <p>関連取得</p>
+	 * <pre>
+	 * 関連フィールドに値が設定済みのエンティティ（識別マップで返却したインスタンスなど）は対象外とする。
+	 * </pre>
+	 *
+	 * @param  entityManager エンティティマネージャ
+	 * @param  entityClass   エンティティクラス
+	 * @param  entityList    検索結果リスト
+	 * @throws So4jException 関連先エンティティ・外部キーのフィールドを解決できない場合<br>
+	 *                       関連エンティティの検索に失敗した場合
+	 */
+	static void load(EntityManager entityManager, Class<?> entityClass, List<?> entityList) throws So4jException {
+		load(entityManager, entityClass, entityList, new LoadContext());
+	}
+
+	/**
+	 * <p>関連取得（取得済みエンティティ指定）</p>
+	 * <pre>
+	 * 同じ関連取得で既に対象としたエンティティは対象外とする。
+	 * </pre>
+	 *
+	 * @param  entityManager エンティティマネージャ
+	 * @param  entityClass   エンティティクラス
+	 * @param  entityList    検索結果リスト
+	 * @param  context       関連取得で設定したエンティティ
+	 * @throws So4jException {@link RelationLoader#load(EntityManager, Class, List)}と同様
+	 */
+	private static void load(EntityManager entityManager, Class<?> entityClass, List<?> entityList, LoadContext context)
+			throws So4jException {
+		if (entityList.isEmpty()) {
+			return;
+		}
+		EntityMetadata metadata = EntityMetadataRegistry.get(entityClass);
+		if (!metadata.isEntity()) {
+			return;
+		}
+		try {
+			List<Object> visitedList = new ArrayList<>();
+			for (Object entity : entityList) {
+				if (metadata.getEntityClass().isInstance(entity) && context.visit(metadata, entity)) {
+					visitedList.add(entity);
+				}
+			}
+			if (visitedList.isEmpty() || metadata.getRelationList().isEmpty()) {
+				return;
+			}
+			for (RelationMetadata relation : metadata.getRelationList()) {
+				if (relation.isCollection()) {
+					loadOneToMany(entityManager, metadata, relation, visitedList, context);
+				} else {
+					ReferenceBatch batch = relation.getFetchType() == FetchType.LAZY
+												? new ReferenceBatch(entityManager, metadata, relation)
+												: null;
+					loadManyToOne(entityManager, metadata, relation, visitedList, context, batch);
+				}
+			}
+		} catch (ReflectiveOperationException e) {
+			throw new So4jException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>関連取得（エンティティ配列）</p>
+	 * <pre>
+	 * 複数のエンティティクラスを指定した検索結果（ROW毎のエンティティ配列）の、
+	 * 全てのエンティティ（重複を除く）の関連をエンティティクラス毎に取得する。
+	 * </pre>
+	 *
+	 * @param  entityManager エンティティマネージャ
+	 * @param  rowList       検索結果リスト（エンティティ配列のリスト）
+	 * @throws So4jException {@link RelationLoader#load(EntityManager, Class, List)}と同様
+	 */
+	static void loadRows(EntityManager entityManager, List<?> rowList) throws So4jException {
+		LoadContext context = new LoadContext();
+		Map<Class<?>, List<Object>> entityMap = new LinkedHashMap<>();
+		Set<Object> entitySet = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Object row : rowList) {
+			if (!(row instanceof Object[])) {
+				continue;
+			}
+			for (Object entity : (Object[]) row) {
+				if (entity != null && entitySet.add(entity)) {
+					entityMap.computeIfAbsent(entity.getClass(), k -> new ArrayList<>()).add(entity);
+				}
+			}
+		}
+		for (Map.Entry<Class<?>, List<Object>> entry : entityMap.entrySet()) {
+			load(entityManager, entry.getKey(), entry.getValue(), context);
+		}
+	}
+
+	/**
+	 * <p>多対一関連取得</p>
+	 * <pre>
+	 * 関連エンティティは、同じ関連取得で設定したエンティティ・識別マップ・2次キャッシュ・IN句の検索の順に取得し、
+	 * 2次キャッシュ・検索で取得した関連エンティティの関連を続けて取得する。
+	 * 一括取得単位を指定した場合（LAZY）は、識別マップ等に保持していない関連元を一括取得単位に登録し、検索しない。
+	 * </pre>
+	 *
+	 * @param  entityManager エンティティマネージャ
+	 * @param  metadata      関連元のエンティティメタデータ
+	 * @param  relation      関連メタデータ
+	 * @param  entityList    関連元リスト
+	 * @param  context       関連取得で設定したエンティティ
+	 * @param  batch         未取得の関連元を登録する一括取得単位（検索直後に取得する場合はnull）
+	 * @throws So4jException                関連エンティティの検索に失敗した場合
+	 * @throws ReflectiveOperationException 関連フィールド・外部キーの値の取得・設定に失敗した場合
+	 */
+	private static void loadManyToOne(EntityManager entityManager, EntityMetadata metadata, RelationMetadata relation,
+			List<?> entityList, LoadContext context, ReferenceBatch batch)
+					throws So4jException, ReflectiveOperationException {
+
+		ColumnMetadata joinColumn = getColumn(metadata, relation.getJoinFieldName(), relation);
+		Class<?> targetClass = getTargetClass(relation);
+		ColumnMetadata targetIdColumn = getIdColumn(EntityMetadataRegistry.get(targetClass), relation);
+
+		// 取得済み・識別マップに保持していない外部キーの値毎に関連元をまとめる
+		IdentityMap identityMap = entityManager.getIdentityMap();
+		Map<Object, Object> idMap = new LinkedHashMap<>();
+		Map<Object, List<Object>> ownerMap = new HashMap<>();
+		for (Object entity : entityList) {
+			if (relation.getValue(entity) != null) {
+				continue;
+			}
+			Object[] ids = { joinColumn.getValue(entity) };
+			if (ids[0] == null) {
+				continue;
+			}
+			Object current = context.get(targetClass, ids);
+			if (current == null && identityMap != null) {
+				current = identityMap.get(targetClass, ids);
+			}
+			if (current != null) {
+				relation.setValue(entity, current);
+				continue;
+			}
+			if (batch != null) {
+				batch.add(entity);
+				continue;
+			}
+			Object key = IdentityMap.toKey(ids);
+			idMap.putIfAbsent(key, ids[0]);
+			ownerMap.computeIfAbsent(key, k -> new ArrayList<>()).add(entity);
+		}
+		if (idMap.isEmpty()) {
+			return;
+		}
+
+		// 2次キャッシュ（トランザクション中に更新した場合は参照しない）
+		EntityRegion region = SecondLevelCache.getInstance().getRegion(targetClass);
+		boolean shared = region != null && !entityManager.isDirty(new String[] { region.getTableName() });
+		long generation = 0L;
+		if (shared) {
+			generation = region.getGeneration();
+			List<Object> cachedList = new ArrayList<>();
+			for (Iterator<Map.Entry<Object, Object>> it = idMap.entrySet().iterator(); it.hasNext();) {
+				Map.Entry<Object, Object> entry = it.next();
+				Object cached = region.get(new Object[] { entry.getValue() });
+				if (cached != null) {
+					if (identityMap != null) {
+						identityMap.put(cached);
+					}
+					setValue(relation, ownerMap.get(entry.getKey()), cached);
+					cachedList.add(cached);
+					it.remove();
+				}
+			}
+			load(entityManager, targetClass, cachedList, context);
+		}
+
+		// 関連エンティティの一括取得（関連エンティティの関連は、全件の取得後に続けて取得する）
+		List<Object> idList = new ArrayList<>(idMap.values());
+		List<Object> targetList = new ArrayList<>();
+		int batchSize = getBatchSize();
+		for (int from = 0; from < idList.size(); from += batchSize) {
+			Object[] ids = padValues(idList.subList(from, Math.min(from + batchSize, idList.size())), batchSize);
+			Criteria criteria = entityManager.getCriteria()
+											 .select(targetClass)
+											 .from(targetClass)
+											 .where(Expression.inValues(targetIdColumn.getField(), ids));
+			for (Object target : entityManager.createQuery(criteria).setLoadRelations(false).getResultList()) {
+				Object key = IdentityMap.toKey(new Object[] { targetIdColumn.getValue(target) });
+				setValue(relation, ownerMap.get(key), target);
+				targetList.add(target);
+				if (shared) {
+					region.put(target, generation);
+				}
+			}
+		}
+		load(entityManager, targetClass, targetList, context);
+
+		// デバッグ情報
+		if (ConfigLoader.getConfig().isVerbose()) {
+			StandartOutput.writeStatement("SimpleORM4J : fetch relation : " + metadata.getEntityClass().getSimpleName()
+					+ "." + relation.getFieldName() + " : count " + idList.size());
+		}
+	}
+
+	/**
+	 * <p>一対多関連設定</p>
+	 * <pre>
+	 * 検索結果の関連元に、同じ一括取得単位の遅延取得リストを設定する。
+	 * </pre>
+	 *
+	 * @param  entityManager エンティティマネージャ
+	 * @param  metadata      関連元のエンティティメタデータ
+	 * @param  relation      関連メタデータ
+	 * @param  entityList    関連元リスト
+	 * @param  context       関連取得で設定したエンティティ
+	 * @throws So4jException                関連エンティティの検索に失敗した場合（EAGERの場合）
+	 * @throws ReflectiveOperationException 関連フィールド・主キーの値の取得・設定に失敗した場合
+	 */
+	private static void loadOneToMany(EntityManager entityManager, EntityMetadata metadata, RelationMetadata relation,
+			List<?> entityList, LoadContext context) throws So4jException, ReflectiveOperationException {
+
+		ColumnMetadata idColumn = getIdColumn(metadata, relation);
+		EntityMetadata targetMetadata = EntityMetadataRegistry.get(getTargetClass(relation));
+		CollectionBatch batch = new CollectionBatch(entityManager, metadata, relation, targetMetadata,
+				getColumn(targetMetadata, relation.getJoinFieldName(), relation));
+
+		for (Object entity : entityList) {
+			if (relation.getValue(entity) instanceof LazyList) {
+				continue;
+			}
+			Object id = idColumn.getValue(entity);
+			if (id == null) {
+				continue;
+			}
+			LazyList<Object> list = new LazyList<>(batch, id);
+			batch.add(list, entity);
+			relation.setValue(entity, list);
+		}
+
+		if (relation.getFetchType() == FetchType.EAGER) {
+			batch.fetchAll(context);
+		}
+	}
+
+	/**
+	 * <p>関連値設定</p>
+	 *
+	 * @param  relation  関連メタデータ
+	 * @param  ownerList 関連元リスト（存在しない場合はnull）
+	 * @param  value     関連エンティティ
+	 * @throws ReflectiveOperationException 関連フィールドの設定に失敗した場合
+	 */
+	private static void setValue(RelationMetadata relation, List<Object> ownerList, Object value)
+			throws ReflectiveOperationException {
+		if (ownerList != null) {
+			for (Object owner : ownerList) {
+				relation.setValue(owner, value);
+			}
+		}
+	}
+
+	/**
+	 * <p>関連先エンティティクラス取得</p>
+	 *
+	 * @param  relation 関連メタデータ
+	 * @return 関連先エンティティクラス
+	 * @throws So4jException 関連先エンティティクラスを解決できない場合
+	 */
+	private static Class<?> getTargetClass(RelationMetadata relation) throws So4jException {
+		Class<?> targetClass = relation.getTargetClass();
+		if (targetClass == null || !EntityMetadataRegistry.get(targetClass).isEntity()) {
+			String message = "target entity of relation is not resolved. field : " + relation.getFieldName();
+			throw new So4jException(message, new IllegalArgumentException(message));
+		}
+		return targetClass;
+	}
+
+	/**
+	 * <p>外部キーのカラム取得</p>
+	 *
+	 * @param  metadata  外部キーを保持するエンティティのメタデータ
+	 * @param  fieldName 外部キーのフィールド名
+	 * @param  relation  関連メタデータ
+	 * @return 外部キーのカラムメタデータ
+	 * @throws So4jException 外部キーのフィールドが存在しない場合
+	 */
+	private static ColumnMetadata getColumn(EntityMetadata metadata, String fieldName, RelationMetadata relation)
+			throws So4jException {
+		ColumnMetadata[] columns = metadata.getMappingColumns(fieldName);
+		if (columns == null) {
+			String message = "join field is not found. field : " + relation.getFieldName()
+								+ ", join field : " + metadata.getEntityClass().getSimpleName() + "." + fieldName;
+			throw new So4jException(message, new IllegalArgumentException(message));
+		}
+		return columns[0];
+	}
+
+	/**
+	 * <p>主キーのカラム取得</p>
+	 *
+	 * @param  metadata エンティティメタデータ
+	 * @param  relation 関連メタデータ
+	 * @return 主キーのカラムメタデータ
+	 * @throws So4jException 主キーが1カラムでない場合
+	 */
+	private static ColumnMetadata getIdColumn(EntityMetadata metadata, RelationMetadata relation)
+			throws So4jException {
+		List<ColumnMetadata> idColumnList = metadata.getIdColumnList();
+		if (idColumnList.size() != 1) {
+			String message = "relation requires a single id field. field : " + relation.getFieldName()
+								+ ", class : " + metadata.getEntityClass().getName();
+			throw new So4jException(message, new IllegalArgumentException(message));
+		}
+		return idColumnList.get(0);
+	}
+
+	/**
+	 * <p>一括取得件数取得</p>
+	 *
+	 * @return 設定ファイルのrelationBatchSize（1未満の場合は1）
+	 */
+	private static int getBatchSize() {
+		return Math.max(ConfigLoader.getConfig().getRelationBatchSize(), 1);
+	}
+
+	/**
+	 * <p>IN句の値の埋め込み</p>
+	 * <pre>
+	 * 値の数を2のべき乗（一括取得件数を上限とする）に切り上げ、不足分を最後の値で埋める。
+	 * (ex.) 3件 → 4件、5件 → 8件、100件（一括取得件数100件） → 100件
+	 * </pre>
+	 *
+	 * @param  values    値リスト（1件以上、一括取得件数以下）
+	 * @param  batchSize 一括取得件数
+	 * @return IN句の値配列
+	 */
+	static Object[] padValues(List<Object> values, int batchSize) {
+		int size = values.size();
+		int padded = size <= 1 ? size : Math.max(Math.min(Integer.highestOneBit(size - 1) << 1, batchSize), size);
+		Object[] array = values.toArray(new Object[padded]);
+		for (int i = size; i < padded; i++) {
+			array[i] = values.get(size - 1);
+		}
+		return array;
+	}
+
+	/**
+	 * <p>一対多関連の一括取得単位</p>
+	 * <pre>
+	 * 1回の検索で設定した遅延取得リストを保持し、遅延取得リストを初めて参照した時に、
+	 * 未取得の遅延取得リスト（最大で一括取得件数）の関連エンティティをまとめて取得する。
+	 * 関連エンティティの関連は、関連元を取得済みとして取得する（関連元への多対一関連は関連元のインスタンスを設定する）。
+	 * </pre>
+	 */
+	static final class CollectionBatch {
+
+		/** エンティティマネージャ */
+		private final EntityManager _entityManager;
+
+		/** 関連元のエンティティメタデータ */
+		private final EntityMetadata _ownerMetadata;
+
+		/** 関連メタデータ */
+		private final RelationMetadata _relation;
+
+		/** 関連先のエンティティメタデータ */
+		private final EntityMetadata _targetMetadata;
+
+		/** 関連先の外部キーのカラム */
+		private final ColumnMetadata _mappedByColumn;
+
+		/** 未取得の遅延取得リスト */
+		private final List<LazyList<Object>> _pendingList = new ArrayList<>();
+
+		/** 未取得の遅延取得リストと関連元の対応（内容で比較しない為、IdentityHashMapで保持する） */
+		private final Map<LazyList<Object>, Object> _ownerMap = new IdentityHashMap<>();
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param entityManager  エンティティマネージャ
+		 * @param ownerMetadata  関連元のエンティティメタデータ
+		 * @param relation       関連メタデータ
+		 * @param targetMetadata 関連先のエンティティメタデータ
+		 * @param mappedByColumn 関連先の外部キーのカラム
+		 */
+		CollectionBatch(EntityManager entityManager, EntityMetadata ownerMetadata, RelationMetadata relation,
+				EntityMetadata targetMetadata, ColumnMetadata mappedByColumn) {
+			_entityManager  = entityManager;
+			_ownerMetadata  = ownerMetadata;
+			_relation       = relation;
+			_targetMetadata = targetMetadata;
+			_mappedByColumn = mappedByColumn;
+		}
+
+		/**
+		 * <p>遅延取得リスト追加</p>
+		 *
+		 * @param list  遅延取得リスト
+		 * @param owner 関連元
+		 */
+		void add(LazyList<Object> list, Object owner) {
+			_pendingList.add(list);
+			_ownerMap.put(list, owner);
+		}
+
+		/**
+		 * <p>全件取得</p>
+		 *
+		 * @param  context 関連取得で設定したエンティティ
+		 * @throws So4jException 関連エンティティの検索に失敗した場合
+		 */
+		void fetchAll(LoadContext context) throws So4jException {
+			while (!_pendingList.isEmpty()) {
+				this.fetch(_pendingList.get(0), context);
+			}
+		}
+
+		/**
+		 * <p>一括取得</p>
+		 * <pre>
+		 * 参照した遅延取得リストと、未取得の遅延取得リスト（先頭から一括取得件数まで）の
+		 * 関連エンティティを1回の検索で取得する。
+		 * </pre>
+		 *
+		 * @param  requested 参照した遅延取得リスト
+		 * @throws So4jException         関連エンティティの検索に失敗した場合
+		 * @throws IllegalStateException エンティティマネージャをクローズした場合
+		 *                               （プールに返却した接続でSQLを発行しない）
+		 */
+		void fetch(LazyList<?> requested) throws So4jException {
+			if (_entityManager.isClosed()) {
+				throw new IllegalStateException("entity manager is closed. relation : " + _relation.getFieldName());
+			}
+			this.fetch(requested, null);
+		}
+
+		/**
+		 * <p>一括取得（関連取得で設定したエンティティ指定）</p>
+		 *
+		 * @param  requested 参照した遅延取得リスト
+		 * @param  context   関連取得で設定したエンティティ（nullの場合は、取得する関連元のみを取得済みとする）
+		 * @throws So4jException 関連エンティティの検索に失敗した場合
+		 */
+		@SuppressWarnings("unchecked")
+		private void fetch(LazyList<?> requested, LoadContext context) throws So4jException {
+			int batchSize = getBatchSize();
+			List<LazyList<Object>> chunk = new ArrayList<>();
+			chunk.add((LazyList<Object>) requested);
+			for (LazyList<Object> list : _pendingList) {
+				if (batchSize <= chunk.size()) {
+					break;
+				}
+				if (list != requested && !list.isLoaded()) {
+					chunk.add(list);
+				}
+			}
+
+			Map<Object, Object> idMap = new LinkedHashMap<>();
+			for (LazyList<Object> list : chunk) {
+				idMap.putIfAbsent(IdentityMap.toKey(new Object[] { list.getOwnerId() }), list.getOwnerId());
+			}
+			Class<?> targetClass = _targetMetadata.getEntityClass();
+			Criteria criteria = _entityManager.getCriteria()
+											  .select(targetClass)
+											  .from(targetClass)
+											  .where(Expression.inValues(_mappedByColumn.getField(),
+													  padValues(new ArrayList<>(idMap.values()), batchSize)));
+			if (_targetMetadata.getIdColumnList().size() == 1) {
+				criteria.orderyBy(Expression.asc(_targetMetadata.getIdColumnList().get(0).getField()));
+			}
+
+			// 外部キーの値毎に関連エンティティをまとめる
+			Map<Object, List<Object>> targetMap = new HashMap<>();
+			List<?> resultList = _entityManager.createQuery(criteria).setLoadRelations(false).getResultList();
+			LoadContext loadContext = context != null ? context : new LoadContext();
+			try {
+				for (Object target : resultList) {
+					Object[] ids = { _mappedByColumn.getValue(target) };
+					if (ids[0] != null) {
+						targetMap.computeIfAbsent(IdentityMap.toKey(ids), k -> new ArrayList<>()).add(target);
+					}
+				}
+				for (LazyList<Object> list : chunk) {
+					List<Object> targetList = targetMap.get(IdentityMap.toKey(new Object[] { list.getOwnerId() }));
+					list.setLoaded(targetList != null ? new ArrayList<>(targetList) : new ArrayList<>());
+					Object owner = _ownerMap.remove(list);
+					if (context == null && owner != null) {
+						loadContext.visit(_ownerMetadata, owner);
+					}
+				}
+			} catch (ReflectiveOperationException e) {
+				throw new So4jException(e.getMessage(), e);
+			}
+			_pendingList.removeIf(LazyList::isLoaded);
+
+			// 関連エンティティの関連取得（関連元を取得済みとする）
+			load(_entityManager, targetClass, resultList, loadContext);
+
+			// デバッグ情報
+			if (ConfigLoader.getConfig().isVerbose()) {
+				StandartOutput.writeStatement("SimpleORM4J : fetch relation : " + _relation.getFieldName()
+						+ " : count " + chunk.size());
+			}
+		}
+	}
+
+	/**
+	 * <p>多対一関連の一括取得</p>
+	 * <pre>
+	 * 関連元のエンティティ（検索結果以外を含む）の多対一関連を、未取得の一括取得単位があればまとめて取得する。
+	 * </pre>
+	 *
+	 * @param  entityManager エンティティマネージャ
+	 * @param  metadata      関連元のエンティティメタデータ
+	 * @param  relation      関連メタデータ
+	 * @param  entity        関連元
+	 * @return 関連エンティティ（外部キーの値がnullの場合・存在しない場合はnull）
+	 * @throws So4jException 関連エンティティの検索に失敗した場合
+	 */
+	static Object fetchReference(EntityManager entityManager, EntityMetadata metadata, RelationMetadata relation,
+			Object entity) throws So4jException {
+		ReferenceBatch batch = entityManager.getPendingReference(relation.getField(), entity);
+		if (batch == null) {
+			batch = new ReferenceBatch(entityManager, metadata, relation);
+			batch.add(entity);
+		}
+		return batch.fetch(entity);
+	}
+
+	/**
+	 * <p>多対一関連の一括取得単位</p>
+	 * <pre>
+	 * 1回の検索で関連エンティティを設定しなかった関連元を保持し、いずれかの関連元の関連を参照した時に、
+	 * 未取得の関連元（外部キーの値が最大で一括取得件数）の関連エンティティをまとめて取得する。
+	 * 関連元はエンティティマネージャに登録し、取得済み・クリア・クローズ時に登録を解除する。
+	 * </pre>
+	 */
+	static final class ReferenceBatch {
+
+		/** エンティティマネージャ */
+		private final EntityManager _entityManager;
+
+		/** 関連元のエンティティメタデータ */
+		private final EntityMetadata _ownerMetadata;
+
+		/** 関連メタデータ */
+		private final RelationMetadata _relation;
+
+		/** 未取得の関連元 */
+		private final List<Object> _pendingList = new ArrayList<>();
+
+		/**
+		 * <p>コンストラクタ</p>
+		 *
+		 * @param entityManager エンティティマネージャ
+		 * @param ownerMetadata 関連元のエンティティメタデータ
+		 * @param relation      関連メタデータ
+		 */
+		ReferenceBatch(EntityManager entityManager, EntityMetadata ownerMetadata, RelationMetadata relation) {
+			_entityManager = entityManager;
+			_ownerMetadata = ownerMetadata;
+			_relation      = relation;
+		}
+
+		/**
+		 * <p>関連元追加</p>
+		 *
+		 * @param owner 関連元
+		 */
+		void add(Object owner) {
+			_pendingList.add(owner);
+			_entityManager.addPendingReference(_relation.getField(), owner, this);
+		}
+
+		/**
+		 * <p>一括取得</p>
+		 * <pre>
+		 * 参照した関連元と、未取得の関連元（先頭から外部キーの値が一括取得件数まで）の
+		 * 関連エンティティをまとめて取得する。
+		 * </pre>
+		 *
+		 * @param  requested 参照した関連元
+		 * @return 参照した関連元の関連エンティティ
+		 * @throws So4jException         関連エンティティの検索に失敗した場合
+		 * @throws IllegalStateException エンティティマネージャをクローズした場合
+		 */
+		Object fetch(Object requested) throws So4jException {
+			if (_entityManager.isClosed()) {
+				throw new IllegalStateException("entity manager is closed. relation : " + _relation.getFieldName());
+			}
+			int batchSize = getBatchSize();
+			try {
+				ColumnMetadata joinColumn = getColumn(_ownerMetadata, _relation.getJoinFieldName(), _relation);
+				List<Object> chunk = new ArrayList<>();
+				Set<Object> keySet = new HashSet<>();
+				chunk.add(requested);
+				keySet.add(IdentityMap.toKey(new Object[] { joinColumn.getValue(requested) }));
+				for (Object owner : _pendingList) {
+					if (owner == requested) {
+						continue;
+					}
+					Object key = IdentityMap.toKey(new Object[] { joinColumn.getValue(owner) });
+					if (keySet.contains(key) || keySet.size() < batchSize) {
+						keySet.add(key);
+						chunk.add(owner);
+					}
+				}
+
+				// 取得する関連元を取得済みとして、関連エンティティの関連を取得する
+				LoadContext context = new LoadContext();
+				for (Object owner : chunk) {
+					context.visit(_ownerMetadata, owner);
+				}
+				loadManyToOne(_entityManager, _ownerMetadata, _relation, chunk, context, null);
+
+				Set<Object> chunkSet = Collections.newSetFromMap(new IdentityHashMap<>());
+				chunkSet.addAll(chunk);
+				_pendingList.removeIf(chunkSet::contains);
+				for (Object owner : chunk) {
+					_entityManager.removePendingReference(_relation.getField(), owner);
+				}
+				return _relation.getValue(requested);
+			} catch (ReflectiveOperationException e) {
+				throw new So4jException(e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * <p>関連取得で設定したエンティティ</p>
+	 * <pre>
+	 * 1回の関連取得で対象としたエンティティをインスタンス毎に、主キーの値をクラス・主キー毎に保持する。
+	 * 識別マップを使用しない場合も、同じ主キーの関連エンティティを2度検索せず、循環する関連を辿らない為に使用する。
+	 * </pre>
+	 */
+	private static final class LoadContext {
+
+		/** 対象としたエンティティ */
+		private final Set<Object> _visitedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		/** クラス・主キーとエンティティの対応 */
+		private final Map<List<Object>, Object> _entityMap = new HashMap<>();
+
+		/**
+		 * <p>エンティティ登録</p>
+		 *
+		 * @param  metadata エンティティメタデータ
+		 * @param  entity   エンティティインスタンス
+		 * @return boolean
+		 *           true  : 登録した
+		 *           false : 登録済み
+		 * @throws ReflectiveOperationException 主キーの値の取得に失敗した場合
+		 */
+		boolean visit(EntityMetadata metadata, Object entity) throws ReflectiveOperationException {
+			if (!_visitedSet.add(entity)) {
+				return false;
+			}
+			List<ColumnMetadata> idColumnList = metadata.getIdColumnList();
+			if (!idColumnList.isEmpty()) {
+				Object[] ids = new Object[idColumnList.size()];
+				for (int i = 0; i < ids.length; i++) {
+					ids[i] = idColumnList.get(i).getValue(entity);
+				}
+				_entityMap.putIfAbsent(Arrays.asList(metadata.getEntityClass(), IdentityMap.toKey(ids)), entity);
+			}
+			return true;
+		}
+
+		/**
+		 * <p>エンティティ取得</p>
+		 *
+		 * @param  clazz エンティティクラス
+		 * @param  ids   主キーの値
+		 * @return エンティティインスタンス（登録していない場合はnull）
+		 */
+		Object get(Class<?> clazz, Object[] ids) {
+			return _entityMap.get(Arrays.asList(clazz, IdentityMap.toKey(ids)));
+		}
+	}
+}
@@ -0,0 +1,175 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import net.skuratani.simpleorm4j.exception.So4jException;
+import net.skuratani.simpleorm4j.io.StandartOutput;
+import net.skuratani.simpleorm4j.loader.ConfigLoader;
+import net.skuratani.simpleorm4j.mapper.IfRowMapper;
+
+/**
+ * <p>検索結果イテレータ</p>
+ * <pre>
+ * {@link Query#getResultIterator()}・{@link Query#getResultStream()}で生成する。
+ * 前方スクロール・読み取り専用のカーソルから1件ずつROWを読み込み、ROWマッパでマッピングする。
+ * 全件を読み終えた場合、又は{@link ResultIterator#close()}を呼び出した場合に、
+ * リザルトセットとプリペアドステートメントをクローズする。
+ * </pre>
+ */
+public class ResultIterator<T> implements Iterator<T>, AutoCloseable {
+
+	/** プリペアドステートメント */
+	protected PreparedStatement _preparedStatement;
+
+	/** リザルトセット */
+	protected ResultSet _resultSet;
+
+	/** ROWマッパ */
+	protected IfRowMapper<T> _rowMapper;
+
+	/** 次のROWの読み込み済みフラグ */
+	protected boolean _fetched;
+
+	/** 次のROWの存在フラグ */
+	protected boolean _hasNext;
+
+	/** 読み込み件数 */
+	protected long _count;
+
+	/** クローズ済みフラグ */
+	protected boolean _closed;
+
+	/** インスタンス再利用フラグ */
+	protected boolean _reuseInstance;
+
+	/** 再利用するインスタンス */
+	protected T _instance;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param preparedStatement プリペアドステートメント（実行済み）
+	 * @param resultSet         リザルトセット
+	 * @param rowMapper         ROWマッパ
+	 */
+	ResultIterator(PreparedStatement preparedStatement, ResultSet resultSet, IfRowMapper<T> rowMapper) {
+		_preparedStatement = preparedStatement;
+		_resultSet         = resultSet;
+		_rowMapper         = rowMapper;
+	}
+
+	/**
+	 * <p>次のROWの存在判定</p>
+	 * <pre>
+	 * 次のROWが存在しない場合は、リザルトセットとプリペアドステートメントをクローズする。
+	 * </pre>
+	 *
+	 * @return boolean
+	 *           true  : 次のROWが存在する
+	 *           false : 上記以外
+	 * @throws IllegalStateException カーソルの移動に失敗した場合
+	 */
+	@Override
+	public boolean hasNext() {
+		if (_closed) {
+			return false;
+		}
+		if (!_fetched) {
+			try {
+				_hasNext = _resultSet.next();
+			} catch (SQLException sqle) {
+				this.close();
+				throw new IllegalStateException(sqle.getMessage(), sqle);
+			}
+			_fetched = true;
+			if (!_hasNext) {
+				this.close();
+			}
+		}
+		return _hasNext;
+	}
+
+	/**
+	 * <p>次のROW取得</p>
+	 *
+	 * @return ROWをマッピングしたインスタンス
+	 * @throws NoSuchElementException 次のROWが存在しない場合
+	 * @throws IllegalStateException  マッピングに失敗した場合
+	 */
+	@Override
+	public T next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		_fetched = false;
+		try {
+			T instance = _reuseInstance
+							? (_instance = _rowMapper.mapRow(_resultSet, _instance))
+							: _rowMapper.mapRow(_resultSet);
+			_count++;
+			return instance;
+		} catch (So4jException e) {
+			this.close();
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>インスタンス再利用設定</p>
+	 * <pre>
+	 * trueを設定すると、全てのROWを1つのインスタンスに上書きしてマッピングする（フライウェイト）。
+	 * {@link ResultIterator#next()}が返却したインスタンスは次の呼び出しで上書きされる為、
+	 * 必要な値は呼び出し側で複写すること。
+	 * </pre>
+	 *
+	 * @param  reuseInstance インスタンス再利用フラグ
+	 * @return 本イテレータ
+	 */
+	public ResultIterator<T> setReuseInstance(boolean reuseInstance) {
+		_reuseInstance = reuseInstance;
+		return this;
+	}
+
+	/**
+	 * <p>読み込み件数取得</p>
+	 *
+	 * @return 読み込み件数
+	 */
+	public long getCount() {
+		return _count;
+	}
+
+	/**
+	 * <p>クローズ</p>
+	 * <pre>
+	 * リザルトセットとプリペアドステートメントをクローズする。
+	 * クローズ済みの場合は何もしない。
+	 * </pre>
+	 */
+	@Override
+	public void close() {
+		if (_closed) {
+			return;
+		}
+		_closed = true;
+		try {
+			_resultSet.close();
+		} catch (SQLException sqle) {
+			// クローズ失敗は無視する
+		}
+		try {
+			_preparedStatement.close();
+		} catch (SQLException sqle) {
+			// クローズ失敗は無視する
+		}
+
+		// デバッグ情報
+		if (ConfigLoader.getConfig().isVerbose()) {
+			StandartOutput.writeStatement("SimpleORM4J : close result cursor : count " + _count);
+		}
+	}
+}
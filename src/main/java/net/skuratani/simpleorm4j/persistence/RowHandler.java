@@ -0,0 +1,21 @@
+package net.skuratani.simpleorm4j.persistence;
+
+import net.skuratani.simpleorm4j.exception.So4jException;
+
+/**
+ * <p>ROWハンドラインターフェイス</p>
+ * <pre>
+ * {@link Query#forEach(RowHandler)}で、検索結果を1件読み込む毎に呼び出す処理を定義する。
+ * </pre>
+ */
+@FunctionalInterface
+public interface RowHandler<T> {
+
+	/**
+	 * <p>ROW処理</p>
+	 *
+	 * @param  row 検索結果をエンティティにマッピングしたインスタンス
+	 * @throws So4jException SimpleORM4J例外
+	 */
+	public void handleRow(T row) throws So4jException;
+}
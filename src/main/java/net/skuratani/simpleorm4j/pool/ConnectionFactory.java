@@ -0,0 +1,107 @@
+package net.skuratani.simpleorm4j.pool;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+
+import net.skuratani.simpleorm4j.io.StandartOutput;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
+
+/**
+ * <p>データベース接続生成クラス</p>
+ * <pre>
+ * 設定ファイルの内容に従って、データベースへの物理接続を生成する。
+ *    1. データソース指定の場合：JNDIからデータソースを取得して接続を生成
+ *    2. URL指定の場合：DriverManagerで接続を生成
+ * JNDIから取得したデータソースは保持し、2回目以降のルックアップを省略する。
+ * </pre>
+ */
+public class ConnectionFactory {
+
+	/** ルックアップ済みデータソース */
+	private static volatile DataSource _dataSource;
+
+	/**
+	 * コンストラクタ
+	 */
+	protected ConnectionFactory() {}
+
+	/**
+	 * <p>データベース接続生成</p>
+	 * <pre>
+	 * データベースへの物理接続を生成し、設定ファイルのオートコミットモード・
+	 * トランザクション分離レベルを設定する。
+	 * </pre>
+	 *
+	 * @param  config 設定ファイルVO
+	 * @return データベース接続
+	 * @throws SQLException    データベース接続の生成に失敗した場合
+	 * @throws NamingException データソースのルックアップに失敗した場合
+	 */
+	public static Connection openConnection(ConfigVO config) throws SQLException, NamingException {
+
+		Connection connection = null;
+		// データソース指定の場合
+		if (config.getDsn() != null) {
+			connection = lookupDataSource(config).getConnection();
+		// URL指定の場合
+		} else if (config.getUrl() != null) {
+			if (   config.getUser() != null
+				&& config.getPassword() != null) {
+				connection = DriverManager.getConnection(
+						config.getUrl(), config.getUser(), config.getPassword());
+			} else {
+				connection = DriverManager.getConnection(config.getUrl());
+			}
+		}
+		// オートコミットモード指定
+		if (config.isAutoCommitSpecified()) {
+			connection.setAutoCommit(config.isAutoCommit());
+		}
+		// トランザクション分離レベル指定
+		if (config.isTransactionIsolationSpecified()) {
+			connection.setTransactionIsolation(config.getTransactionIsolation());
+		}
+
+		// デバッグ情報
+		if (config.isVerbose()) {
+			if (config.getDsn() != null) {
+				StandartOutput.writeln("SimpleORM4J : connect database : " + config.getDsn());
+			} else {
+				StandartOutput.writeln("SimpleORM4J : connect database : " + config.getUrl());
+			}
+		}
+
+		return connection;
+	}
+
+	/**
+	 * <p>データソース取得</p>
+	 * <pre>
+	 * JNDIからデータソースをルックアップする。
+	 * ルックアップ結果は保持し、2回目以降は保持したデータソースを返却する。
+	 * </pre>
+	 *
+	 * @param  config 設定ファイルVO
+	 * @return データソース
+	 * @throws NamingException データソースのルックアップに失敗した場合
+	 */
+	protected static DataSource lookupDataSource(ConfigVO config) throws NamingException {
+		DataSource ds = _dataSource;
+		if (ds == null) {
+			Context ctx = new InitialContext();
+			try {
+				ds = (DataSource)ctx.lookup(config.getDsn());
+			} catch (NamingException e) {
+				ds = (DataSource)ctx.lookup("java:comp/env/" + config.getDsn());
+			}
+			_dataSource = ds;
+		}
+		return ds;
+	}
+}
@@ -0,0 +1,445 @@
+package net.skuratani.simpleorm4j.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.naming.NamingException;
+
+import net.skuratani.simpleorm4j.io.StandartOutput;
+import net.skuratani.simpleorm4j.vo.ConfigVO;
+
+/**
+ * <p>コネクションプールクラス</p>
+ * <pre>
+ * データベースの物理接続をプールし、エンティティマネージャに貸し出す。
+ * 貸出処理はグローバルなロックを取得せず、以下の順で接続を探索する。
+ *    1. スレッド専用スロット：同一スレッドが前回返却した接続
+ *    2. 共有リスト：全ての接続からCASで貸出可能な接続を取得
+ *    3. 新規生成：最大接続数に達していない場合
+ *    4. 返却待ち：他スレッドからの返却を取得待ちタイムアウトまで待機
+ * アイドルタイムアウト・最大生存期間を超過した接続は、バックグラウンドスレッドで除去し、
+ * 最小接続数まで補充する。
+ * </pre>
+ */
+public class ConnectionPool {
+
+	/** ハウスキーピング間隔の上限（ミリ秒） */
+	private static final long HOUSEKEEPING_PERIOD = 30000L;
+
+	/** 返却待ちの再探索間隔（ミリ秒） */
+	private static final long HANDOFF_POLL_INTERVAL = 10L;
+
+	/** 設定ファイルVO */
+	protected final ConfigVO _config;
+
+	/** 最小接続数 */
+	protected final int _minSize;
+
+	/** 最大接続数 */
+	protected final int _maxSize;
+
+	/** アイドルタイムアウト（ミリ秒） */
+	protected final long _idleTimeout;
+
+	/** 最大生存期間（ミリ秒） */
+	protected final long _maxLifetime;
+
+	/** 取得待ちタイムアウト（ミリ秒） */
+	protected final long _borrowTimeout;
+
+	/** 共有接続リスト */
+	protected final CopyOnWriteArrayList<PooledConnection> _sharedList = new CopyOnWriteArrayList<>();
+
+	/** スレッド専用スロット */
+	protected final ThreadLocal<PooledConnection> _threadSlot = new ThreadLocal<>();
+
+	/** 返却接続の受け渡しキュー */
+	protected final SynchronousQueue<PooledConnection> _handoffQueue = new SynchronousQueue<>(true);
+
+	/** 接続総数（生成中を含む） */
+	protected final AtomicInteger _totalCount = new AtomicInteger();
+
+	/** 貸出中接続数 */
+	protected final AtomicInteger _activeCount = new AtomicInteger();
+
+	/** 返却待ちスレッド数 */
+	protected final AtomicInteger _waiterCount = new AtomicInteger();
+
+	/** 貸出回数 */
+	protected final LongAdder _borrowCount = new LongAdder();
+
+	/** 貸出待ち時間の合計（ナノ秒） */
+	protected final LongAdder _borrowWaitNanos = new LongAdder();
+
+	/** 取得待ちタイムアウト回数 */
+	protected final LongAdder _borrowTimeoutCount = new LongAdder();
+
+	/** ハウスキーピングスレッド */
+	protected final ScheduledExecutorService _housekeeper;
+
+	/** シャットダウン済みフラグ */
+	protected volatile boolean _shutdown;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param config 設定ファイルVO
+	 */
+	public ConnectionPool(ConfigVO config) {
+		_config        = config;
+		_maxSize       = config.getPoolMaxSize();
+		_minSize       = Math.min(Math.max(config.getPoolMinSize(), 0), _maxSize);
+		_idleTimeout   = config.getPoolIdleTimeout();
+		_maxLifetime   = config.getPoolMaxLifetime();
+		_borrowTimeout = config.getPoolBorrowTimeout();
+
+		_housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "SimpleORM4J-pool-housekeeper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long period = Math.min(HOUSEKEEPING_PERIOD,
+				Math.max(1000L, Math.min(
+						0 < _idleTimeout ? _idleTimeout : HOUSEKEEPING_PERIOD,
+						0 < _maxLifetime ? _maxLifetime : HOUSEKEEPING_PERIOD)));
+		_housekeeper.scheduleWithFixedDelay(this::housekeep, 0L, period, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * <p>接続貸出</p>
+	 * <pre>
+	 * プールから貸出可能な接続を取得する。
+	 * 最大接続数まで貸出中の場合は、取得待ちタイムアウトまで返却を待機する。
+	 * </pre>
+	 *
+	 * @return プール管理接続
+	 * @throws SQLException 取得待ちタイムアウトした場合<br>
+	 *                      データベース接続の生成に失敗した場合
+	 */
+	public PooledConnection borrow() throws SQLException {
+
+		if (_shutdown) {
+			throw new SQLException("connection pool has been shut down.");
+		}
+		long start = System.nanoTime();
+
+		// スレッド専用スロット
+		PooledConnection pc = _threadSlot.get();
+		if (pc != null && pc.compareAndSetState(PooledConnection.STATE_IDLE, PooledConnection.STATE_IN_USE)) {
+			if (this.acceptBorrowed(pc)) {
+				return this.onBorrowed(pc, start);
+			}
+		}
+
+		// 共有リスト
+		pc = this.scanSharedList();
+		if (pc != null) {
+			return this.onBorrowed(pc, start);
+		}
+
+		// 新規生成
+		pc = this.createIfBelowMax();
+		if (pc != null) {
+			return this.onBorrowed(pc, start);
+		}
+
+		// 返却待ち
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(_borrowTimeout);
+		_waiterCount.incrementAndGet();
+		try {
+			while (!_shutdown) {
+				long remaining = deadline - System.nanoTime();
+				if (remaining <= 0) {
+					break;
+				}
+				pc = _handoffQueue.poll(
+						Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(HANDOFF_POLL_INTERVAL)), TimeUnit.NANOSECONDS);
+				if (pc != null
+					&& pc.compareAndSetState(PooledConnection.STATE_IDLE, PooledConnection.STATE_IN_USE)
+					&& this.acceptBorrowed(pc)) {
+					return this.onBorrowed(pc, start);
+				}
+				pc = this.scanSharedList();
+				if (pc == null) {
+					pc = this.createIfBelowMax();
+				}
+				if (pc != null) {
+					return this.onBorrowed(pc, start);
+				}
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("interrupted while waiting for a pooled connection.", ie);
+		} finally {
+			_waiterCount.decrementAndGet();
+		}
+
+		_borrowTimeoutCount.increment();
+		_borrowWaitNanos.add(System.nanoTime() - start);
+		throw new SQLException("connection pool timeout." + " timeout : " + _borrowTimeout + "ms"
+				+ ", active : " + _activeCount.get() + ", max : " + _maxSize);
+	}
+
+	/**
+	 * <p>接続返却</p>
+	 * <pre>
+	 * 接続の状態を初期化して貸出可能に戻す。
+	 * 初期化に失敗した接続・最大生存期間を超過した接続はプールから除去する。
+	 * 貸出中の状態から返却処理中にCASで遷移できた場合のみ返却する
+	 * （同じ接続を重複して返却した場合・並行して返却した場合は、2回目以降の返却を無視する）。
+	 * </pre>
+	 *
+	 * @param pc プール管理接続
+	 */
+	public void release(PooledConnection pc) {
+
+		if (!pc.compareAndSetState(PooledConnection.STATE_IN_USE, PooledConnection.STATE_RELEASING)) {
+			return;
+		}
+		_activeCount.decrementAndGet();
+
+		try {
+			pc.reset();
+		} catch (SQLException sqle) {
+			this.retire(pc);
+			return;
+		}
+		if (_shutdown || pc.isExpired(System.currentTimeMillis(), _maxLifetime)) {
+			this.retire(pc);
+			return;
+		}
+
+		pc.setState(PooledConnection.STATE_IDLE);
+		_threadSlot.set(pc);
+		// 返却待ちスレッドが存在する場合は直接受け渡す
+		if (0 < _waiterCount.get()) {
+			_handoffQueue.offer(pc);
+		}
+	}
+
+	/**
+	 * <p>プールのシャットダウン</p>
+	 * <pre>
+	 * ハウスキーピングを停止し、貸出可能な接続をクローズする。
+	 * 貸出中の接続は返却時にクローズされる。
+	 * </pre>
+	 */
+	public void shutdown() {
+		_shutdown = true;
+		_housekeeper.shutdownNow();
+		for (PooledConnection pc : _sharedList) {
+			if (pc.compareAndSetState(PooledConnection.STATE_IDLE, PooledConnection.STATE_REMOVED)) {
+				this.remove(pc);
+			}
+		}
+	}
+
+	/**
+	 * <p>貸出中接続数取得</p>
+	 *
+	 * @return 貸出中接続数
+	 */
+	public int getActiveCount() {
+		return _activeCount.get();
+	}
+
+	/**
+	 * <p>貸出可能接続数取得</p>
+	 *
+	 * @return 貸出可能接続数
+	 */
+	public int getIdleCount() {
+		int idle = 0;
+		for (PooledConnection pc : _sharedList) {
+			if (pc.getState() == PooledConnection.STATE_IDLE) {
+				idle++;
+			}
+		}
+		return idle;
+	}
+
+	/**
+	 * <p>接続総数取得</p>
+	 *
+	 * @return 接続総数
+	 */
+	public int getTotalCount() {
+		return _totalCount.get();
+	}
+
+	/**
+	 * <p>返却待ちスレッド数取得</p>
+	 *
+	 * @return 返却待ちスレッド数
+	 */
+	public int getWaitingCount() {
+		return _waiterCount.get();
+	}
+
+	/**
+	 * <p>貸出回数取得</p>
+	 *
+	 * @return 貸出回数
+	 */
+	public long getBorrowCount() {
+		return _borrowCount.sum();
+	}
+
+	/**
+	 * <p>貸出待ち時間の合計取得</p>
+	 *
+	 * @return 貸出待ち時間の合計（ナノ秒）
+	 */
+	public long getTotalBorrowWaitNanos() {
+		return _borrowWaitNanos.sum();
+	}
+
+	/**
+	 * <p>取得待ちタイムアウト回数取得</p>
+	 *
+	 * @return 取得待ちタイムアウト回数
+	 */
+	public long getBorrowTimeoutCount() {
+		return _borrowTimeoutCount.sum();
+	}
+
+	/**
+	 * <p>貸出完了処理</p>
+	 *
+	 * @param  pc    貸し出すプール管理接続
+	 * @param  start 貸出開始時刻（ナノ秒）
+	 * @return 貸し出すプール管理接続
+	 */
+	protected PooledConnection onBorrowed(PooledConnection pc, long start) {
+		_activeCount.incrementAndGet();
+		_borrowCount.increment();
+		_borrowWaitNanos.add(System.nanoTime() - start);
+		return pc;
+	}
+
+	/**
+	 * <p>貸出可否判定</p>
+	 * <pre>
+	 * CASで貸出中に遷移させた接続が最大生存期間を超過していないかを判定する。
+	 * 超過している場合はプールから除去する。
+	 * </pre>
+	 *
+	 * @param  pc 貸出中に遷移させたプール管理接続
+	 * @return boolean
+	 *           true  : 貸出可能
+	 *           false : 除去した
+	 */
+	protected boolean acceptBorrowed(PooledConnection pc) {
+		if (pc.isExpired(System.currentTimeMillis(), _maxLifetime)) {
+			this.retire(pc);
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * <p>共有リスト探索</p>
+	 *
+	 * @return 貸出中に遷移させたプール管理接続（存在しない場合はnull）
+	 */
+	protected PooledConnection scanSharedList() {
+		for (PooledConnection pc : _sharedList) {
+			if (   pc.compareAndSetState(PooledConnection.STATE_IDLE, PooledConnection.STATE_IN_USE)
+				&& this.acceptBorrowed(pc)) {
+				return pc;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>最大接続数未満の場合に接続を生成</p>
+	 *
+	 * @return 貸出中の状態で生成したプール管理接続（最大接続数に達している場合はnull）
+	 * @throws SQLException データベース接続の生成に失敗した場合
+	 */
+	protected PooledConnection createIfBelowMax() throws SQLException {
+		int total;
+		while ((total = _totalCount.get()) < _maxSize) {
+			if (_totalCount.compareAndSet(total, total + 1)) {
+				try {
+					PooledConnection pc = new PooledConnection(
+							ConnectionFactory.openConnection(_config), this, _config.getStatementCacheSize());
+					_sharedList.add(pc);
+					return pc;
+				} catch (SQLException | NamingException | RuntimeException e) {
+					_totalCount.decrementAndGet();
+					if (e instanceof SQLException) {
+						throw (SQLException) e;
+					}
+					throw new SQLException(e.getMessage(), e);
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * <p>接続除去（貸出中・除去対象として確保済みの接続）</p>
+	 *
+	 * @param pc プール管理接続
+	 */
+	protected void retire(PooledConnection pc) {
+		pc.setState(PooledConnection.STATE_REMOVED);
+		this.remove(pc);
+	}
+
+	/**
+	 * <p>接続をプールから除去してクローズ</p>
+	 *
+	 * @param pc プール管理接続
+	 */
+	protected void remove(PooledConnection pc) {
+		if (_sharedList.remove(pc)) {
+			_totalCount.decrementAndGet();
+		}
+		pc.closeQuietly();
+	}
+
+	/**
+	 * <p>ハウスキーピング</p>
+	 * <pre>
+	 * アイドルタイムアウト（最小接続数を超える分のみ）・最大生存期間を超過した
+	 * 貸出可能な接続を除去し、最小接続数まで接続を補充する。
+	 * </pre>
+	 */
+	protected void housekeep() {
+		try {
+			long now = System.currentTimeMillis();
+			for (PooledConnection pc : _sharedList) {
+				boolean expired = pc.isExpired(now, _maxLifetime);
+				boolean idleOut = _minSize < _totalCount.get() && pc.isIdleTimeout(now, _idleTimeout);
+				if (   (expired || idleOut)
+					&& pc.compareAndSetState(PooledConnection.STATE_IDLE, PooledConnection.STATE_REMOVED)) {
+					this.remove(pc);
+				}
+			}
+			while (!_shutdown && _totalCount.get() < _minSize) {
+				PooledConnection pc = this.createIfBelowMax();
+				if (pc == null) {
+					break;
+				}
+				pc.setState(PooledConnection.STATE_IDLE);
+				if (0 < _waiterCount.get()) {
+					_handoffQueue.offer(pc);
+				}
+			}
+		} catch (SQLException | RuntimeException e) {
+			// 補充に失敗した場合は次回のハウスキーピングで再試行する
+			if (_config.isVerbose()) {
+				StandartOutput.writeln("SimpleORM4J : pool housekeeping failed : " + e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,196 @@
+package net.skuratani.simpleorm4j.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>プール管理接続クラス</p>
+ * <pre>
+ * コネクションプールが管理するデータベースの物理接続と、その状態を保持する。
+ * 状態はCAS（compare-and-set）で遷移させ、貸出処理でロックを取得しない。
+ *    1. STATE_IDLE      ：貸出可能
+ *    2. STATE_IN_USE    ：貸出中
+ *    3. STATE_RELEASING ：返却処理中（返却した接続の初期化中）
+ *    4. STATE_REMOVED   ：プールから除去済み
+ * </pre>
+ */
+public class PooledConnection {
+
+	/** 状態：貸出可能 */
+	static final int STATE_IDLE = 0;
+
+	/** 状態：貸出中 */
+	static final int STATE_IN_USE = 1;
+
+	/** 状態：返却処理中 */
+	static final int STATE_RELEASING = 2;
+
+	/** 状態：プールから除去済み */
+	static final int STATE_REMOVED = -1;
+
+	/** 物理接続 */
+	protected final Connection _connection;
+
+	/** 管理元コネクションプール */
+	protected final ConnectionPool _pool;
+
+	/** 状態 */
+	protected final AtomicInteger _state = new AtomicInteger(STATE_IN_USE);
+
+	/** 生成時刻（ミリ秒） */
+	protected final long _createdTime;
+
+	/** 最終返却時刻（ミリ秒） */
+	protected volatile long _lastAccessedTime;
+
+	/** 生成時のオートコミットモード */
+	protected final boolean _defaultAutoCommit;
+
+	/** 生成時のトランザクション分離レベル */
+	protected final int _defaultTransactionIsolation;
+
+	/** ステートメントキャッシュ */
+	protected final StatementCache _statementCache;
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param  connection         物理接続
+	 * @param  pool               管理元コネクションプール
+	 * @param  statementCacheSize ステートメントキャッシュサイズ
+	 * @throws SQLException 接続の状態取得に失敗した場合
+	 */
+	PooledConnection(Connection connection, ConnectionPool pool, int statementCacheSize) throws SQLException {
+		_connection                  = connection;
+		_pool                        = pool;
+		_createdTime                 = System.currentTimeMillis();
+		_lastAccessedTime            = _createdTime;
+		_defaultAutoCommit           = connection.getAutoCommit();
+		_defaultTransactionIsolation = connection.getTransactionIsolation();
+		_statementCache              = new StatementCache(connection, statementCacheSize);
+	}
+
+	/**
+	 * <p>物理接続取得</p>
+	 *
+	 * @return 物理接続
+	 */
+	public Connection getConnection() {
+		return _connection;
+	}
+
+	/**
+	 * <p>ステートメントキャッシュ取得</p>
+	 * <pre>
+	 * ステートメントキャッシュは物理接続に紐付き、エンティティマネージャを跨いで再利用される。
+	 * </pre>
+	 *
+	 * @return ステートメントキャッシュ
+	 */
+	public StatementCache getStatementCache() {
+		return _statementCache;
+	}
+
+	/**
+	 * <p>プールへ返却</p>
+	 * <pre>
+	 * 接続をコネクションプールに返却する。
+	 * 返却済みの接続に対して呼び出した場合は何もしない。
+	 * </pre>
+	 */
+	public void release() {
+		_pool.release(this);
+	}
+
+	/**
+	 * <p>状態遷移</p>
+	 *
+	 * @param  expect 現在の状態
+	 * @param  update 遷移後の状態
+	 * @return boolean
+	 *           true  : 遷移成功
+	 *           false : 遷移失敗（他スレッドが先に遷移させた）
+	 */
+	boolean compareAndSetState(int expect, int update) {
+		return _state.compareAndSet(expect, update);
+	}
+
+	/**
+	 * <p>状態取得</p>
+	 *
+	 * @return 状態
+	 */
+	int getState() {
+		return _state.get();
+	}
+
+	/**
+	 * <p>状態設定</p>
+	 *
+	 * @param state 状態
+	 */
+	void setState(int state) {
+		_state.set(state);
+	}
+
+	/**
+	 * <p>最大生存期間超過判定</p>
+	 *
+	 * @param  now         現在時刻（ミリ秒）
+	 * @param  maxLifetime 最大生存期間（ミリ秒、0以下の場合は無期限）
+	 * @return boolean
+	 *           true  : 超過
+	 *           false : 未超過
+	 */
+	boolean isExpired(long now, long maxLifetime) {
+		return 0 < maxLifetime && maxLifetime <= now - _createdTime;
+	}
+
+	/**
+	 * <p>アイドルタイムアウト判定</p>
+	 *
+	 * @param  now         現在時刻（ミリ秒）
+	 * @param  idleTimeout アイドルタイムアウト（ミリ秒、0以下の場合は無期限）
+	 * @return boolean
+	 *           true  : タイムアウト
+	 *           false : 上記以外
+	 */
+	boolean isIdleTimeout(long now, long idleTimeout) {
+		return 0 < idleTimeout && idleTimeout <= now - _lastAccessedTime;
+	}
+
+	/**
+	 * <p>接続状態の初期化</p>
+	 * <pre>
+	 * 返却時に未確定のトランザクションをロールバックし、オートコミットモード・
+	 * トランザクション分離レベルを生成時の状態に戻す。
+	 * </pre>
+	 *
+	 * @throws SQLException 接続状態の初期化に失敗した場合
+	 */
+	void reset() throws SQLException {
+		if (!_connection.getAutoCommit()) {
+			_connection.rollback();
+		}
+		if (_connection.getAutoCommit() != _defaultAutoCommit) {
+			_connection.setAutoCommit(_defaultAutoCommit);
+		}
+		if (_connection.getTransactionIsolation() != _defaultTransactionIsolation) {
+			_connection.setTransactionIsolation(_defaultTransactionIsolation);
+		}
+		_lastAccessedTime = System.currentTimeMillis();
+	}
+
+	/**
+	 * <p>物理接続クローズ</p>
+	 */
+	void closeQuietly() {
+		_statementCache.clear();
+		try {
+			_connection.close();
+		} catch (SQLException sqle) {
+			// クローズ失敗は無視する（既に切断済みの接続を含む）
+		}
+	}
+}
@@ -0,0 +1,193 @@
+package net.skuratani.simpleorm4j.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>プリペアドステートメントキャッシュクラス</p>
+ * <pre>
+ * データベース接続毎に、発行SQL（名前付きプレースホルダを「?」に変換した後のSQL）をキーとして
+ * プリペアドステートメントをLRU（Least Recently Used）方式でキャッシュする。
+ * キャッシュサイズを超えた場合は、最も長く使用されていないステートメントをクローズして破棄する。
+ * 接続は同時に1つのエンティティマネージャからのみ使用される為、本クラスはスレッドセーフではない。
+ * （ヒット・ミス件数のみ、他スレッドから参照可能）
+ * </pre>
+ */
+public class StatementCache {
+
+	/** データベース接続 */
+	protected final Connection _connection;
+
+	/** キャッシュサイズ */
+	protected final int _maxSize;
+
+	/** ステートメントキャッシュ（アクセス順） */
+	protected final LinkedHashMap<String, PreparedStatement> _cache;
+
+	/** ヒット件数 */
+	protected final LongAdder _hitCount = new LongAdder();
+
+	/** ミス件数 */
+	protected final LongAdder _missCount = new LongAdder();
+
+	/** 破棄件数 */
+	protected final LongAdder _evictionCount = new LongAdder();
+
+	/**
+	 * <p>コンストラクタ</p>
+	 *
+	 * @param connection データベース接続
+	 * @param maxSize    キャッシュサイズ（0以下の場合はキャッシュしない）
+	 */
+	public StatementCache(Connection connection, int maxSize) {
+		_connection = connection;
+		_maxSize    = maxSize;
+		_cache      = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+				if (_maxSize < size()) {
+					closeQuietly(eldest.getValue());
+					_evictionCount.increment();
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * <p>キャッシュ有効判定</p>
+	 *
+	 * @return boolean
+	 *           true  : キャッシュする
+	 *           false : キャッシュしない（取得したステートメントは呼び出し元でクローズする）
+	 */
+	public boolean isEnabled() {
+		return 0 < _maxSize;
+	}
+
+	/**
+	 * <p>プリペアドステートメント取得</p>
+	 * <pre>
+	 * キャッシュに存在する場合は、バインドパラメータをクリアしたステートメントを返却する。
+	 * 存在しない場合は、ステートメントを生成してキャッシュに登録する。
+	 * キャッシュが無効の場合は、毎回ステートメントを生成する。
+	 * </pre>
+	 *
+	 * @param  sql 発行SQL
+	 * @return プリペアドステートメント
+	 * @throws SQLException プリペアドステートメントの生成に失敗した場合
+	 */
+	public PreparedStatement prepare(String sql) throws SQLException {
+
+		if (!this.isEnabled()) {
+			_missCount.increment();
+			return _connection.prepareStatement(sql);
+		}
+
+		PreparedStatement ps = _cache.get(sql);
+		if (ps != null && !ps.isClosed()) {
+			_hitCount.increment();
+			ps.clearParameters();
+			return ps;
+		}
+
+		_missCount.increment();
+		ps = _connection.prepareStatement(sql);
+		_cache.put(sql, ps);
+		return ps;
+	}
+
+	/**
+	 * <p>ステートメントの使用終了</p>
+	 * <pre>
+	 * キャッシュが無効の場合はステートメントをクローズする。
+	 * キャッシュが有効の場合は、再利用の為にクローズしない。
+	 * </pre>
+	 *
+	 * @param ps プリペアドステートメント
+	 */
+	public void release(PreparedStatement ps) {
+		if (!this.isEnabled()) {
+			closeQuietly(ps);
+		}
+	}
+
+	/**
+	 * <p>キャッシュクリア</p>
+	 * <pre>
+	 * キャッシュしている全てのステートメントをクローズして破棄する。
+	 * </pre>
+	 */
+	public void clear() {
+		for (PreparedStatement ps : _cache.values()) {
+			closeQuietly(ps);
+		}
+		_cache.clear();
+	}
+
+	/**
+	 * <p>キャッシュ件数取得</p>
+	 *
+	 * @return キャッシュ件数
+	 */
+	public int size() {
+		return _cache.size();
+	}
+
+	/**
+	 * <p>キャッシュサイズ取得</p>
+	 *
+	 * @return キャッシュサイズ
+	 */
+	public int getMaxSize() {
+		return _maxSize;
+	}
+
+	/**
+	 * <p>ヒット件数取得</p>
+	 *
+	 * @return ヒット件数
+	 */
+	public long getHitCount() {
+		return _hitCount.sum();
+	}
+
+	/**
+	 * <p>ミス件数取得</p>
+	 *
+	 * @return ミス件数
+	 */
+	public long getMissCount() {
+		return _missCount.sum();
+	}
+
+	/**
+	 * <p>破棄件数取得</p>
+	 *
+	 * @return キャッシュサイズ超過で破棄した件数
+	 */
+	public long getEvictionCount() {
+		return _evictionCount.sum();
+	}
+
+	/**
+	 * <p>ステートメントクローズ</p>
+	 *
+	 * @param ps プリペアドステートメント
+	 */
+	protected static void closeQuietly(PreparedStatement ps) {
+		try {
+			if (ps != null) {
+				ps.close();
+			}
+		} catch (SQLException sqle) {
+			// クローズ失敗は無視する
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package net.skuratani.simpleorm4j.type;
+
+/**
+ * <p>関連取得種別</p>
+ * <pre>
+ * 関連エンティティを取得するタイミングを表す。
+ *    1. LAZY  : 関連を初めて参照した時に取得する
+ *    2. EAGER : 関連元を検索した直後に取得する
+ * </pre>
+ */
+public enum FetchType {
+	LAZY, EAGER
+}
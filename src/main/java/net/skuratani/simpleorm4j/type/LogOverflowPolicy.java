@@ -0,0 +1,13 @@
+package net.skuratani.simpleorm4j.type;
+
+/**
+ * <p>ログバッファ溢れ時の動作</p>
+ * <pre>
+ * 非同期ログ出力のバッファに空きがない場合の動作を表す。
+ *    1. DROP  : ログを破棄する（呼び出し元スレッドを待たせない）
+ *    2. BLOCK : バッファに空きができるまで待つ（ログを失わない）
+ * </pre>
+ */
+public enum LogOverflowPolicy {
+	DROP, BLOCK
+}
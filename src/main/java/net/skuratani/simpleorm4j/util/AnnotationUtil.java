@@ -1,16 +1,12 @@
 package net.skuratani.simpleorm4j.util;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import net.skuratani.simpleorm4j.annotation.Column;
-import net.skuratani.simpleorm4j.annotation.Entity;
 import net.skuratani.simpleorm4j.annotation.GenerateValue;
 import net.skuratani.simpleorm4j.annotation.Id;
 import net.skuratani.simpleorm4j.annotation.Table;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
 
 /**
  * <p>アノテーションに関するユーティリティクラス</p>
@@ -30,11 +26,7 @@ public class AnnotationUtil {
      *         false : 存在しない
      */
 	public static boolean hasEntityAnnotation(Class<?> clazz) {
-
-		List<Annotation> annotationList = Stream.of(clazz.getDeclaredAnnotations())
-										.filter(a -> a.annotationType().equals(Entity.class))
-										.collect(Collectors.toList());
-        return annotationList.isEmpty() ? false : true;
+		return EntityMetadataRegistry.get(clazz).isEntity();
     }
 
 	/**
@@ -46,10 +38,7 @@ public class AnnotationUtil {
      *           false : 存在しない
      */
 	public static boolean hasColumnAnnotation(Field field) {
-		List<Annotation> annotationList = Stream.of(field.getDeclaredAnnotations())
-										.filter(a -> a.annotationType().equals(Column.class))
-										.collect(Collectors.toList());
-        return annotationList.isEmpty() ? false : true;
+		return field.getDeclaredAnnotation(Column.class) != null;
     }
 
 	/**
@@ -61,10 +50,7 @@ public class AnnotationUtil {
      *           false : 存在しない
      */
 	public static boolean hasTableAnnotation(Class<?> clazz) {
-		List<Annotation> annotationList = Stream.of(clazz.getDeclaredAnnotations())
-										.filter(a -> a.annotationType().equals(Table.class))
-										.collect(Collectors.toList());
-        return annotationList.isEmpty() ? false : true;
+		return clazz.getDeclaredAnnotation(Table.class) != null;
     }
 
 	/**
@@ -76,10 +62,7 @@ public class AnnotationUtil {
      *           false : 存在しない
      */
 	public static boolean hasIdAnnotation(Field field) {
-		List<Annotation> annotationList = Stream.of(field.getDeclaredAnnotations())
-												.filter(a -> a.annotationType().equals(Id.class))
-												.collect(Collectors.toList());
-        return annotationList.isEmpty() ? false : true;
+		return field.getDeclaredAnnotation(Id.class) != null;
     }
 
 	/**
@@ -91,10 +74,7 @@ public class AnnotationUtil {
      *           false : 存在しない
      */
 	public static boolean hasGenerationValueAnnotation(Field field) {
-		List<Annotation> annotationList = Stream.of(field.getDeclaredAnnotations())
-												.filter(a -> a.annotationType().equals(GenerateValue.class))
-												.collect(Collectors.toList());
-        return annotationList.isEmpty() ? false : true;
+		return field.getDeclaredAnnotation(GenerateValue.class) != null;
     }
 
 }
@@ -4,6 +4,9 @@ import java.lang.reflect.Field;
 
 import net.skuratani.simpleorm4j.annotation.Column;
 import net.skuratani.simpleorm4j.annotation.Table;
+import net.skuratani.simpleorm4j.metadata.ColumnMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadata;
+import net.skuratani.simpleorm4j.metadata.EntityMetadataRegistry;
 
 /**
  * <p>フィールドに関するユーティリティクラス</p>
@@ -17,15 +20,23 @@ public class FieldUtil {
 	 * <p>フィールドのカラム名を取得</p>
 	 * <pre>
 	 * エンティティクラスのフィールドから「テーブル名.カラム名」を取得する。
+	 * カラム名はエンティティメタデータで解決済みの値を使用する。
 	 * </pre>
 	 *
 	 * @param  field エンティティフィールド
 	 * @return カラム名
 	 */
 	public static String getFiledName(Field field) {
+		EntityMetadata metadata = EntityMetadataRegistry.get(field.getDeclaringClass());
+		ColumnMetadata column = metadata.getColumn(field);
+		if (column != null) {
+			return column.getQualifiedName();
+		}
+
+		// カラムとして扱わないフィールド（staticフィールドなど）の場合
 		StringBuilder builder = new StringBuilder();
 		Class<?> clazz = field.getDeclaringClass();
-		if (AnnotationUtil.hasEntityAnnotation(clazz)) {
+		if (metadata.isEntity()) {
 			builder.append(AnnotationUtil.hasTableAnnotation(clazz)
 							? clazz.getDeclaredAnnotation(Table.class).name()
 							: clazz.getSimpleName());
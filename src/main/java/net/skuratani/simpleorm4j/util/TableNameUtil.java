@@ -0,0 +1,77 @@
+package net.skuratani.simpleorm4j.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * <p>テーブル名に関するユーティリティクラス</p>
+ * <pre>
+ * キャッシュの破棄に使用するテーブル名の正規化、SQL文からの参照テーブル名の抽出を実行するユーティリティクラス。
+ * </pre>
+ */
+public class TableNameUtil {
+
+	/** テーブル参照（FROM句・JOIN句の開始） */
+	private static final Pattern TABLE_REFERENCE = Pattern.compile("\\b(?:FROM|JOIN)\\s+", Pattern.CASE_INSENSITIVE);
+
+	/** テーブル名（スキーマ名・引用符を含む） */
+	private static final Pattern TABLE_NAME = Pattern.compile("(?:\"[^\"]+\"|[A-Za-z_][\\w$]*)(?:\\.(?:\"[^\"]+\"|[A-Za-z_][\\w$]*))*");
+
+	/** 別名・カンマ（FROM句のテーブルの並び） */
+	private static final Pattern NEXT_TABLE = Pattern.compile("\\s*(?:(?:AS\\s+)?[A-Za-z_]\\w*\\s*)?,\\s*", Pattern.CASE_INSENSITIVE);
+
+	/**
+	 * <p>テーブル名正規化</p>
+	 * <pre>
+	 * テーブル名からスキーマ名・引用符を除いて大文字にする。
+	 * (ex.) "public"."mst_user" → MST_USER
+	 * </pre>
+	 *
+	 * @param  tableName テーブル名
+	 * @return 正規化したテーブル名
+	 */
+	public static String normalize(String tableName) {
+		String name = tableName.trim();
+		int dot = name.lastIndexOf('.');
+		if (0 <= dot) {
+			name = name.substring(dot + 1);
+		}
+		return name.replace("\"", "").replace("`", "").toUpperCase(Locale.ROOT);
+	}
+
+	/**
+	 * <p>参照テーブル名抽出</p>
+	 * <pre>
+	 * SQL文のFROM句・JOIN句に記述したテーブル名（正規化済み、重複なし）を抽出する。
+	 * FROM句のカンマ区切りのテーブルの並びに対応する。副問い合わせ（FROM (SELECT ...)）は、
+	 * 副問い合わせ内のFROM句から抽出する。
+	 * (ex.) SELECT * FROM A a, B b INNER JOIN C ON ... → [A, B, C]
+	 * </pre>
+	 *
+	 * @param  sql SQL文
+	 * @return 正規化したテーブル名の配列
+	 */
+	public static String[] extractTables(String sql) {
+		List<String> tableList = new ArrayList<>();
+		Matcher reference = TABLE_REFERENCE.matcher(sql);
+		Matcher name = TABLE_NAME.matcher(sql);
+		Matcher next = NEXT_TABLE.matcher(sql);
+		while (reference.find()) {
+			int position = reference.end();
+			while (name.region(position, sql.length()).lookingAt()) {
+				String tableName = normalize(name.group());
+				if (!tableList.contains(tableName)) {
+					tableList.add(tableName);
+				}
+				if (!next.region(name.end(), sql.length()).lookingAt()) {
+					break;
+				}
+				position = next.end();
+			}
+		}
+		return tableList.toArray(new String[0]);
+	}
+}
@@ -2,10 +2,13 @@ package net.skuratani.simpleorm4j.vo;
 
 import java.util.Properties;
 
+import net.skuratani.simpleorm4j.type.LogOverflowPolicy;
+
 /**
  * <p>設定ファイルバリューオブジェクト</p>
  * <pre>
  * 設定ファイルで定義された各プロパティを格納するValue Objectクラス。
+ * 設定ファイルの読み込み時に1度だけ生成する不変クラスで、複数のスレッドで共有できる。
  * </pre>
  */
 public class ConfigVO {
@@ -31,43 +34,284 @@ public class ConfigVO {
 	/** 定数：冗長モード */
 	public static final String VERBOSE = "verbose";
 
+	/** 定数：コネクションプール最小接続数 */
+	public static final String POOL_MIN_SIZE = "poolMinSize";
+
+	/** 定数：コネクションプール最大接続数 */
+	public static final String POOL_MAX_SIZE = "poolMaxSize";
+
+	/** 定数：コネクションプールアイドルタイムアウト（ミリ秒） */
+	public static final String POOL_IDLE_TIMEOUT = "poolIdleTimeout";
+
+	/** 定数：コネクションプール最大生存期間（ミリ秒） */
+	public static final String POOL_MAX_LIFETIME = "poolMaxLifetime";
+
+	/** 定数：コネクションプール取得待ちタイムアウト（ミリ秒） */
+	public static final String POOL_BORROW_TIMEOUT = "poolBorrowTimeout";
+
+	/** 定数：ステートメントキャッシュサイズ */
+	public static final String STATEMENT_CACHE_SIZE = "statementCacheSize";
+
+	/** 定数：バッチサイズ */
+	public static final String BATCH_SIZE = "batchSize";
+
+	/** 定数：1文あたりの最大バインドパラメータ数 */
+	public static final String MAX_PARAMETERS_PER_STATEMENT = "maxParametersPerStatement";
+
+	/** 定数：フェッチサイズ */
+	public static final String FETCH_SIZE = "fetchSize";
+
+	/** 定数：SQLキャッシュサイズ */
+	public static final String SQL_CACHE_SIZE = "sqlCacheSize";
+
+	/** 定数：設定ファイル監視 */
+	public static final String CONFIG_WATCH = "configWatch";
+
+	/** 定数：ログバッファサイズ */
+	public static final String LOG_BUFFER_SIZE = "logBufferSize";
+
+	/** 定数：ログ出力バッチサイズ */
+	public static final String LOG_BATCH_SIZE = "logBatchSize";
+
+	/** 定数：ログバッファ溢れ時の動作 */
+	public static final String LOG_OVERFLOW_POLICY = "logOverflowPolicy";
+
+	/** 定数：SQLログサンプリング率 */
+	public static final String LOG_SAMPLING_RATE = "logSamplingRate";
+
+	/** 定数：SQLログ出力上限 */
+	public static final String LOG_RATE_LIMIT = "logRateLimit";
+
+	/** 定数：ログ出力先クラス */
+	public static final String LOG_SINK = "logSink";
+
+	/** 定数：SQL実行メトリクス */
+	public static final String METRICS_ENABLED = "metricsEnabled";
+
+	/** 定数：SQL実行メトリクス最大SQL数 */
+	public static final String METRICS_MAX_STATEMENTS = "metricsMaxStatements";
+
+	/** 定数：スロークエリ閾値 */
+	public static final String SLOW_QUERY_THRESHOLD = "slowQueryThreshold";
+
+	/** 定数：スロークエリ保持件数 */
+	public static final String SLOW_QUERY_BUFFER_SIZE = "slowQueryBufferSize";
+
+	/** 定数：スロークエリログファイル */
+	public static final String SLOW_QUERY_LOG_FILE = "slowQueryLogFile";
+
+	/** 定数：スロークエリのバインド値の秘匿 */
+	public static final String SLOW_QUERY_REDACT = "slowQueryRedact";
+
+	/** 定数：識別マップ */
+	public static final String IDENTITY_MAP = "identityMap";
+
+	/** 定数：2次キャッシュ対象エンティティ */
+	public static final String CACHE_ENTITIES = "cacheEntities";
+
+	/** 定数：2次キャッシュ最大件数 */
+	public static final String CACHE_MAX_ENTRIES = "cacheMaxEntries";
+
+	/** 定数：2次キャッシュ保持秒数 */
+	public static final String CACHE_TTL_SECONDS = "cacheTtlSeconds";
+
+	/** 定数：クエリ結果キャッシュの最大件数 */
+	public static final String QUERY_CACHE_MAX_ENTRIES = "queryCacheMaxEntries";
+
+	/** 定数：クエリ結果キャッシュの保持秒数 */
+	public static final String QUERY_CACHE_TTL_SECONDS = "queryCacheTtlSeconds";
+
+	/** 定数：クエリ結果キャッシュの最大ROW数 */
+	public static final String QUERY_CACHE_MAX_ROWS = "queryCacheMaxRows";
+
+	/** 定数：変更カラム判定 */
+	public static final String DIRTY_CHECKING = "dirtyChecking";
+
+	/** 定数：関連一括取得件数 */
+	public static final String RELATION_BATCH_SIZE = "relationBatchSize";
+
 	/** データソース名 */
-	protected String dsn;
+	protected final String dsn;
 
 	/** データベースURL */
-	protected String url;
+	protected final String url;
 
 	/** データベースユーザ名 */
-	protected String user;
+	protected final String user;
 
 	/** データベースパスワード */
-	protected String password;
+	protected final String password;
 
 	/** オートコミット */
-	protected boolean autoCommit;
+	protected final boolean autoCommit;
+
+	/** オートコミット指定有無 */
+	protected final boolean autoCommitSpecified;
 
 	/** トランザクション分離レベル */
-	protected int transactionIsolation;
+	protected final int transactionIsolation;
+
+	/** トランザクション分離レベル指定有無 */
+	protected final boolean transactionIsolationSpecified;
 
 	/** 冗長モード */
-	protected boolean verbose;
+	protected final boolean verbose;
+
+	/** コネクションプール最小接続数 */
+	protected final int poolMinSize;
+
+	/** コネクションプール最大接続数（0の場合はプールを使用しない） */
+	protected final int poolMaxSize;
+
+	/** コネクションプールアイドルタイムアウト（ミリ秒） */
+	protected final long poolIdleTimeout;
+
+	/** コネクションプール最大生存期間（ミリ秒） */
+	protected final long poolMaxLifetime;
+
+	/** コネクションプール取得待ちタイムアウト（ミリ秒） */
+	protected final long poolBorrowTimeout;
+
+	/** ステートメントキャッシュサイズ（接続毎、0の場合はキャッシュしない） */
+	protected final int statementCacheSize;
+
+	/** バッチサイズ（JDBCバッチ更新で1度に実行する件数） */
+	protected final int batchSize;
+
+	/** 1文あたりの最大バインドパラメータ数（複数行INSERTの分割単位） */
+	protected final int maxParametersPerStatement;
+
+	/** フェッチサイズ（ストリーム検索で1度に取得する件数、0の場合はドライバの既定値） */
+	protected final int fetchSize;
+
+	/** SQLキャッシュサイズ（Criteriaの構造毎にキャッシュする生成SQLの件数、0の場合はキャッシュしない） */
+	protected final int sqlCacheSize;
+
+	/** 設定ファイル監視（trueの場合は設定ファイルの変更を監視して再読み込みする） */
+	protected final boolean configWatch;
+
+	/** ログバッファサイズ（非同期出力で保持する未出力ログの最大件数、2のべき乗に切り上げる） */
+	protected final int logBufferSize;
+
+	/** ログ出力バッチサイズ（出力スレッドが1度に出力するログの最大件数） */
+	protected final int logBatchSize;
+
+	/** ログバッファ溢れ時の動作（DROP：破棄、BLOCK：空きを待つ） */
+	protected final LogOverflowPolicy logOverflowPolicy;
+
+	/** SQLログサンプリング率（SQL実行毎のログを出力する割合（%）、100の場合は全て出力） */
+	protected final int logSamplingRate;
+
+	/** SQLログ出力上限（1秒あたりに出力するSQL実行毎のログの件数、0の場合は上限なし） */
+	protected final int logRateLimit;
+
+	/** ログ出力先クラス（LogSinkの実装クラス名、未指定の場合は標準出力） */
+	protected final String logSink;
+
+	/** SQL実行メトリクス（trueの場合はSQL毎の処理時間・件数を集計する） */
+	protected final boolean metricsEnabled;
+
+	/** SQL実行メトリクス最大SQL数（集計するSQLフィンガープリントの最大数） */
+	protected final int metricsMaxStatements;
+
+	/** スロークエリ閾値（ミリ秒、0以下の場合は記録しない） */
+	protected final long slowQueryThreshold;
+
+	/** スロークエリ保持件数 */
+	protected final int slowQueryBufferSize;
+
+	/** スロークエリログファイル（nullの場合はファイルに出力しない） */
+	protected final String slowQueryLogFile;
+
+	/** スロークエリのバインド値の秘匿（trueの場合はバインド値の型のみを記録する） */
+	protected final boolean slowQueryRedact;
+
+	/** 識別マップ（エンティティマネージャ毎の1次キャッシュ）使用フラグ */
+	protected final boolean identityMap;
+
+	/** 2次キャッシュに保持するエンティティクラス名（カンマ区切り） */
+	protected final String cacheEntities;
+
+	/** 2次キャッシュのエンティティクラス毎の最大件数 */
+	protected final int cacheMaxEntries;
+
+	/** 2次キャッシュの保持秒数（0の場合は期限なし） */
+	protected final long cacheTtlSeconds;
+
+	/** クエリ結果キャッシュの最大件数 */
+	protected final int queryCacheMaxEntries;
+
+	/** クエリ結果キャッシュの保持秒数（0以下の場合は期限なし） */
+	protected final long queryCacheTtlSeconds;
+
+	/** クエリ結果キャッシュに保持する検索結果の最大ROW数（超えた検索結果は保持しない） */
+	protected final int queryCacheMaxRows;
+
+	/** 変更カラム判定（更新時に変更したカラムのみを更新する） */
+	protected final boolean dirtyChecking;
+
+	/** 関連一括取得件数（1回のIN句で取得する関連元の最大件数） */
+	protected final int relationBatchSize;
 
 	/**
-	 * <p>データソース名取得</p>
+	 * <p>コンストラクタ</p>
+	 * <pre>
+	 * 設定ファイルのプロパティをマッピングする。指定のないプロパティはデフォルト値とする。
+	 * </pre>
 	 *
-	 * @return データソース名
+	 * @param props プロパティ
 	 */
-	public String getDsn() {
-		return dsn;
+	protected ConfigVO(Properties props) {
+		dsn                           = props.getProperty(DSN);
+		url                           = props.getProperty(URL);
+		user                          = props.getProperty(USER);
+		password                      = props.getProperty(PASSWORD);
+		autoCommit                    = Boolean.valueOf(props.getProperty(AUTO_COMMIT));
+		autoCommitSpecified           = props.getProperty(AUTO_COMMIT) != null;
+		transactionIsolation          = intProperty(props, TRANSACTION_ISOLATION, 0);
+		transactionIsolationSpecified = props.getProperty(TRANSACTION_ISOLATION) != null;
+		verbose                       = Boolean.valueOf(props.getProperty(VERBOSE));
+		poolMinSize                   = intProperty(props, POOL_MIN_SIZE, 0);
+		poolMaxSize                   = intProperty(props, POOL_MAX_SIZE, 0);
+		poolIdleTimeout               = longProperty(props, POOL_IDLE_TIMEOUT, 600000L);
+		poolMaxLifetime               = longProperty(props, POOL_MAX_LIFETIME, 1800000L);
+		poolBorrowTimeout             = longProperty(props, POOL_BORROW_TIMEOUT, 30000L);
+		statementCacheSize            = intProperty(props, STATEMENT_CACHE_SIZE, 50);
+		batchSize                     = intProperty(props, BATCH_SIZE, 100);
+		maxParametersPerStatement     = intProperty(props, MAX_PARAMETERS_PER_STATEMENT, 1000);
+		fetchSize                     = intProperty(props, FETCH_SIZE, 0);
+		sqlCacheSize                  = intProperty(props, SQL_CACHE_SIZE, 256);
+		configWatch                   = Boolean.valueOf(props.getProperty(CONFIG_WATCH));
+		logBufferSize                 = intProperty(props, LOG_BUFFER_SIZE, 8192);
+		logBatchSize                  = intProperty(props, LOG_BATCH_SIZE, 256);
+		logOverflowPolicy             = LogOverflowPolicy.valueOf(props.getProperty(LOG_OVERFLOW_POLICY, "BLOCK").trim().toUpperCase());
+		logSamplingRate               = intProperty(props, LOG_SAMPLING_RATE, 100);
+		logRateLimit                  = intProperty(props, LOG_RATE_LIMIT, 0);
+		logSink                       = props.getProperty(LOG_SINK);
+		metricsEnabled                = Boolean.valueOf(props.getProperty(METRICS_ENABLED));
+		metricsMaxStatements          = intProperty(props, METRICS_MAX_STATEMENTS, 1000);
+		slowQueryThreshold            = longProperty(props, SLOW_QUERY_THRESHOLD, 0L);
+		slowQueryBufferSize           = intProperty(props, SLOW_QUERY_BUFFER_SIZE, 100);
+		slowQueryLogFile              = props.getProperty(SLOW_QUERY_LOG_FILE);
+		slowQueryRedact               = Boolean.valueOf(props.getProperty(SLOW_QUERY_REDACT));
+		identityMap                   = Boolean.valueOf(props.getProperty(IDENTITY_MAP, "true"));
+		cacheEntities                 = props.getProperty(CACHE_ENTITIES);
+		cacheMaxEntries               = intProperty(props, CACHE_MAX_ENTRIES, 1000);
+		cacheTtlSeconds               = longProperty(props, CACHE_TTL_SECONDS, 0L);
+		queryCacheMaxEntries          = intProperty(props, QUERY_CACHE_MAX_ENTRIES, 1000);
+		queryCacheTtlSeconds          = longProperty(props, QUERY_CACHE_TTL_SECONDS, 60L);
+		queryCacheMaxRows             = intProperty(props, QUERY_CACHE_MAX_ROWS, 1000);
+		dirtyChecking                 = Boolean.valueOf(props.getProperty(DIRTY_CHECKING, "true"));
+		relationBatchSize             = intProperty(props, RELATION_BATCH_SIZE, 100);
 	}
 
 	/**
-	 * <p>データソース名設定</p>
+	 * <p>データソース名取得</p>
 	 *
-	 * @param dsn データソース名
+	 * @return データソース名
 	 */
-	public void setDsn(String dsn) {
-		this.dsn = dsn;
+	public String getDsn() {
+		return dsn;
 	}
 
 	/**
@@ -79,15 +323,6 @@ public class ConfigVO {
 		return url;
 	}
 
-	/**
-	 * <p>url設定</p>
-	 *
-	 * @param url URL
-	 */
-	public void setUrl(String url) {
-		this.url = url;
-	}
-
 	/**
 	 * <p>データベースユーザ名取得</p>
 	 *
@@ -97,15 +332,6 @@ public class ConfigVO {
 		return user;
 	}
 
-	/**
-	 * <p>データベースユーザ名設定</p>
-	 *
-	 * @param user データベースユーザ名
-	 */
-	public void setUser(String user) {
-		this.user = user;
-	}
-
 	/**
 	 * <p>データベースパスワード取得</p>
 	 *
@@ -115,15 +341,6 @@ public class ConfigVO {
 		return password;
 	}
 
-	/**
-	 * <p>データベースパスワード設定</p>
-	 *
-	 * @param password データベースパスワード
-	 */
-	public void setPassword(String password) {
-		this.password = password;
-	}
-
 	/**
 	 * <p>オートコミット取得</p>
 	 *
@@ -134,12 +351,14 @@ public class ConfigVO {
 	}
 
 	/**
-	 * <p>オートコミット設定</p>
+	 * <p>オートコミット指定有無取得</p>
 	 *
-	 * @param autoCommit オートコミット値
+	 * @return boolean
+	 *           true  : 設定ファイルにオートコミットの指定がある
+	 *           false : 上記以外
 	 */
-	public void setAutoCommit(boolean autoCommit) {
-		this.autoCommit = autoCommit;
+	public boolean isAutoCommitSpecified() {
+		return autoCommitSpecified;
 	}
 
 	/**
@@ -152,12 +371,14 @@ public class ConfigVO {
 	}
 
 	/**
-	 * <p>トランザクション分離レベル設定</p>
+	 * <p>トランザクション分離レベル指定有無取得</p>
 	 *
-	 * @param transactionIsolation トランザクション分離レベル
+	 * @return boolean
+	 *           true  : 設定ファイルにトランザクション分離レベルの指定がある
+	 *           false : 上記以外
 	 */
-	public void setTransactionIsolation(int transactionIsolation) {
-		this.transactionIsolation = transactionIsolation;
+	public boolean isTransactionIsolationSpecified() {
+		return transactionIsolationSpecified;
 	}
 
 	/**
@@ -170,12 +391,293 @@ public class ConfigVO {
 	}
 
 	/**
-	 * <p>冗長モード設定</p>
+	 * <p>コネクションプール最小接続数取得</p>
+	 *
+	 * @return コネクションプール最小接続数
+	 */
+	public int getPoolMinSize() {
+		return poolMinSize;
+	}
+
+	/**
+	 * <p>コネクションプール最大接続数取得</p>
+	 *
+	 * @return コネクションプール最大接続数
+	 */
+	public int getPoolMaxSize() {
+		return poolMaxSize;
+	}
+
+	/**
+	 * <p>コネクションプールアイドルタイムアウト取得</p>
+	 *
+	 * @return コネクションプールアイドルタイムアウト（ミリ秒）
+	 */
+	public long getPoolIdleTimeout() {
+		return poolIdleTimeout;
+	}
+
+	/**
+	 * <p>コネクションプール最大生存期間取得</p>
+	 *
+	 * @return コネクションプール最大生存期間（ミリ秒）
+	 */
+	public long getPoolMaxLifetime() {
+		return poolMaxLifetime;
+	}
+
+	/**
+	 * <p>コネクションプール取得待ちタイムアウト取得</p>
+	 *
+	 * @return コネクションプール取得待ちタイムアウト（ミリ秒）
+	 */
+	public long getPoolBorrowTimeout() {
+		return poolBorrowTimeout;
+	}
+
+	/**
+	 * <p>ステートメントキャッシュサイズ取得</p>
+	 *
+	 * @return ステートメントキャッシュサイズ
+	 */
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	/**
+	 * <p>バッチサイズ取得</p>
+	 *
+	 * @return バッチサイズ
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * <p>1文あたりの最大バインドパラメータ数取得</p>
+	 *
+	 * @return 1文あたりの最大バインドパラメータ数
+	 */
+	public int getMaxParametersPerStatement() {
+		return maxParametersPerStatement;
+	}
+
+	/**
+	 * <p>フェッチサイズ取得</p>
+	 *
+	 * @return フェッチサイズ
+	 */
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * <p>SQLキャッシュサイズ取得</p>
+	 *
+	 * @return SQLキャッシュサイズ
+	 */
+	public int getSqlCacheSize() {
+		return sqlCacheSize;
+	}
+
+	/**
+	 * <p>設定ファイル監視取得</p>
+	 *
+	 * @return 設定ファイル監視
+	 */
+	public boolean isConfigWatch() {
+		return configWatch;
+	}
+
+	/**
+	 * <p>ログバッファサイズ取得</p>
+	 *
+	 * @return ログバッファサイズ
+	 */
+	public int getLogBufferSize() {
+		return logBufferSize;
+	}
+
+	/**
+	 * <p>ログ出力バッチサイズ取得</p>
+	 *
+	 * @return ログ出力バッチサイズ
+	 */
+	public int getLogBatchSize() {
+		return logBatchSize;
+	}
+
+	/**
+	 * <p>ログバッファ溢れ時の動作取得</p>
+	 *
+	 * @return ログバッファ溢れ時の動作
+	 */
+	public LogOverflowPolicy getLogOverflowPolicy() {
+		return logOverflowPolicy;
+	}
+
+	/**
+	 * <p>SQLログサンプリング率取得</p>
+	 *
+	 * @return SQLログサンプリング率
+	 */
+	public int getLogSamplingRate() {
+		return logSamplingRate;
+	}
+
+	/**
+	 * <p>SQLログ出力上限取得</p>
+	 *
+	 * @return SQLログ出力上限
+	 */
+	public int getLogRateLimit() {
+		return logRateLimit;
+	}
+
+	/**
+	 * <p>ログ出力先クラス取得</p>
+	 *
+	 * @return ログ出力先クラス
+	 */
+	public String getLogSink() {
+		return logSink;
+	}
+
+	/**
+	 * <p>SQL実行メトリクス取得</p>
 	 *
-	 * @param verbose 冗長モード
+	 * @return SQL実行メトリクス
 	 */
-	public void setVerbose(boolean verbose) {
-		this.verbose = verbose;
+	public boolean isMetricsEnabled() {
+		return metricsEnabled;
+	}
+
+	/**
+	 * <p>SQL実行メトリクス最大SQL数取得</p>
+	 *
+	 * @return SQL実行メトリクス最大SQL数
+	 */
+	public int getMetricsMaxStatements() {
+		return metricsMaxStatements;
+	}
+
+	/**
+	 * <p>スロークエリ閾値取得</p>
+	 *
+	 * @return スロークエリ閾値（ミリ秒）
+	 */
+	public long getSlowQueryThreshold() {
+		return slowQueryThreshold;
+	}
+
+	/**
+	 * <p>スロークエリ保持件数取得</p>
+	 *
+	 * @return スロークエリ保持件数
+	 */
+	public int getSlowQueryBufferSize() {
+		return slowQueryBufferSize;
+	}
+
+	/**
+	 * <p>スロークエリログファイル取得</p>
+	 *
+	 * @return スロークエリログファイル
+	 */
+	public String getSlowQueryLogFile() {
+		return slowQueryLogFile;
+	}
+
+	/**
+	 * <p>スロークエリのバインド値秘匿判定</p>
+	 *
+	 * @return boolean
+	 *           true  : バインド値を秘匿する
+	 *           false : バインド値を記録する
+	 */
+	public boolean isSlowQueryRedact() {
+		return slowQueryRedact;
+	}
+
+	/**
+	 * <p>識別マップ使用フラグ取得</p>
+	 *
+	 * @return 識別マップ使用フラグ
+	 */
+	public boolean isIdentityMap() {
+		return identityMap;
+	}
+
+	/**
+	 * <p>2次キャッシュ対象エンティティ取得</p>
+	 *
+	 * @return 2次キャッシュ対象エンティティ
+	 */
+	public String getCacheEntities() {
+		return cacheEntities;
+	}
+
+	/**
+	 * <p>2次キャッシュ最大件数取得</p>
+	 *
+	 * @return 2次キャッシュ最大件数
+	 */
+	public int getCacheMaxEntries() {
+		return cacheMaxEntries;
+	}
+
+	/**
+	 * <p>2次キャッシュ保持秒数取得</p>
+	 *
+	 * @return 2次キャッシュ保持秒数
+	 */
+	public long getCacheTtlSeconds() {
+		return cacheTtlSeconds;
+	}
+
+	/**
+	 * <p>クエリ結果キャッシュの最大件数取得</p>
+	 *
+	 * @return クエリ結果キャッシュの最大件数
+	 */
+	public int getQueryCacheMaxEntries() {
+		return queryCacheMaxEntries;
+	}
+
+	/**
+	 * <p>クエリ結果キャッシュの保持秒数取得</p>
+	 *
+	 * @return クエリ結果キャッシュの保持秒数
+	 */
+	public long getQueryCacheTtlSeconds() {
+		return queryCacheTtlSeconds;
+	}
+
+	/**
+	 * <p>クエリ結果キャッシュの最大ROW数取得</p>
+	 *
+	 * @return クエリ結果キャッシュの最大ROW数
+	 */
+	public int getQueryCacheMaxRows() {
+		return queryCacheMaxRows;
+	}
+
+	/**
+	 * <p>変更カラム判定取得</p>
+	 *
+	 * @return 変更カラム判定
+	 */
+	public boolean isDirtyChecking() {
+		return dirtyChecking;
+	}
+
+	/**
+	 * <p>関連一括取得件数取得</p>
+	 *
+	 * @return 関連一括取得件数
+	 */
+	public int getRelationBatchSize() {
+		return relationBatchSize;
 	}
 
 	/**
@@ -185,18 +687,32 @@ public class ConfigVO {
 	 * @return プロパティをマッピングした設定ファイルVO
 	 */
 	public static ConfigVO mapProps(Properties props) {
+		return new ConfigVO(props);
+	}
 
-		ConfigVO cvo = new ConfigVO();
-		cvo.setDsn(props.getProperty(DSN));
-		cvo.setUrl(props.getProperty(URL));
-		cvo.setUser(props.getProperty(USER));
-		cvo.setPassword(props.getProperty(PASSWORD));
-		cvo.setAutoCommit(Boolean.valueOf(props.getProperty(AUTO_COMMIT)));
-		if (props.getProperty(TRANSACTION_ISOLATION) != null) {
-			cvo.setTransactionIsolation(Integer.valueOf(props.getProperty(TRANSACTION_ISOLATION)));
-		}
-		cvo.setVerbose(Boolean.valueOf(props.getProperty(VERBOSE)));
-
-		return cvo;
+	/**
+	 * <p>int型プロパティ取得</p>
+	 *
+	 * @param  props        プロパティ
+	 * @param  key          プロパティキー
+	 * @param  defaultValue デフォルト値（プロパティが存在しない場合）
+	 * @return プロパティ値
+	 */
+	protected static int intProperty(Properties props, String key, int defaultValue) {
+		String value = props.getProperty(key);
+		return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+	}
+
+	/**
+	 * <p>long型プロパティ取得</p>
+	 *
+	 * @param  props        プロパティ
+	 * @param  key          プロパティキー
+	 * @param  defaultValue デフォルト値（プロパティが存在しない場合）
+	 * @return プロパティ値
+	 */
+	protected static long longProperty(Properties props, String key, long defaultValue) {
+		String value = props.getProperty(key);
+		return value != null ? Long.parseLong(value.trim()) : defaultValue;
 	}
 }